@@ -0,0 +1,26 @@
+package com.biolab.gateway.config;
+
+import com.biolab.gateway.util.FlightRecorder;
+import com.biolab.gateway.util.RequestTimeline;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connects the routing {@code HttpClient} to the {@link FlightRecorder}: once
+ * the client has acquired a connection and is about to send the request, it
+ * marks the {@link RequestTimeline} that {@code UpstreamTimingFilter} put in
+ * the Reactor context.
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public HttpClientCustomizer requestTimelineHttpClientCustomizer() {
+        return httpClient -> httpClient.doOnRequest((request, connection) ->
+                RequestTimeline.connected(request.currentContextView()));
+    }
+}
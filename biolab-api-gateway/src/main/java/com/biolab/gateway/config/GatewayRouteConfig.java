@@ -1,9 +1,31 @@
 package com.biolab.gateway.config;
 
+import com.biolab.gateway.controller.DashboardController;
+import com.biolab.gateway.filter.HedgingFilter;
+import com.biolab.gateway.filter.RequestCoalescingFilter;
+import com.biolab.gateway.filter.RequestCoalescingFilter.Scope;
+import com.biolab.gateway.filter.ResponseCacheFilter;
+import com.biolab.gateway.filter.StreamingTransferFilter;
+import com.biolab.gateway.filter.TrafficMirrorFilter;
+import com.biolab.gateway.util.HedgingPolicy;
+import com.biolab.gateway.util.InstanceLoadTracker;
+import com.biolab.gateway.util.RequestCoalescer;
+import com.biolab.gateway.util.ResponseCache;
+import com.biolab.gateway.util.TrafficMirror;
+import com.biolab.gateway.util.TransferMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
 
 /**
  * Programmatic route configuration for the API Gateway.
@@ -25,22 +47,69 @@ import org.springframework.context.annotation.Configuration;
  *   /api/categories/**    → BIOLAB-CATALOG-SERVICE
  *   /api/service-requests/** → BIOLAB-CATALOG-SERVICE
  *   /api/projects/**      → BIOLAB-PROJECT-SERVICE
+ *   /api/documents/project/{id}/upload,
+ *   /api/documents/{id}/download → BIOLAB-DOCUMENT-SERVICE (streamed)
  *   /api/documents/**     → BIOLAB-DOCUMENT-SERVICE
  *   /api/invoices/**      → BIOLAB-INVOICE-SERVICE
  *   /api/conversations/** → BIOLAB-MESSAGING-SERVICE
  *   /api/notifications/** → BIOLAB-NOTIFICATION-SERVICE
  *   /api/audit/**         → BIOLAB-AUDIT-SERVICE
  *   /api/compliance/**    → BIOLAB-AUDIT-SERVICE
+ *   /api/dashboard        → forward:/internal/dashboard (gateway-side fan-out)
  * </pre>
  *
+ * <p>Public catalog reads ({@code app.response-cache.catalog.paths}: the
+ * category tree, the service listing and single services — not the
+ * supplier's own {@code /api/services/supplier} or {@code /stats}) are served
+ * through the shared {@link ResponseCacheFilter}. Identical concurrent GETs on
+ * the public catalog reads ({@code app.coalescing.catalog.paths}, shared by
+ * role; per-organisation catalog reads are not coalesced) and on
+ * projects ({@code app.coalescing.project.paths}, shared within an organisation
+ * and role set) are collapsed by {@link RequestCoalescingFilter}.</p>
+ *
+ * <p>GETs on the catalog, project, invoice and messaging routes are hedged
+ * ({@link HedgingFilter}): a slow first attempt gets a second one on another
+ * instance, within {@code app.hedging.budget-percent} extra load.</p>
+ *
+ * <p>Document uploads and downloads ({@code app.transfer.documents.paths}) are
+ * streamed through {@link StreamingTransferFilter} under a per-route maximum
+ * body size and idle timeout.</p>
+ *
+ * <p>The service routes (except authentication and streamed transfers) can
+ * mirror a sampled share of their requests to a shadow {@code lb://} service
+ * ({@link TrafficMirrorFilter}, {@code app.mirroring.routes.<route-id>}), e.g.
+ * to load-test a new build with production traffic.</p>
+ *
+ * <p>{@code /api/dashboard} is answered by the gateway itself
+ * ({@link DashboardController}): the stats, unread-count and conversation
+ * calls of a dashboard are made in parallel and returned as one document.</p>
+ *
  * @author BioLab Engineering Team
- * @version 1.1.0
+ * @version 1.7.0
  */
 @Configuration
 public class GatewayRouteConfig {
 
     @Bean
-    public RouteLocator biolabRoutes(RouteLocatorBuilder builder) {
+    public RouteLocator biolabRoutes(
+            RouteLocatorBuilder builder,
+            ResponseCache responseCache,
+            @Value("${app.response-cache.catalog.paths:/api/categories/**,/api/services,/api/services/{id:[0-9a-fA-F-]{36}}}")
+            List<String> catalogCachePaths,
+            @Value("${app.response-cache.catalog.ttl-ms:60000}") long catalogCacheTtlMs,
+            RequestCoalescer coalescer,
+            @Value("${app.coalescing.catalog.paths:/api/categories/**,/api/services,/api/services/{id:[0-9a-fA-F-]{36}}}")
+            List<String> catalogCoalescePaths,
+            @Value("${app.coalescing.project.paths:/api/projects/**}") List<String> projectCoalescePaths,
+            HedgingPolicy hedgingPolicy,
+            InstanceLoadTracker instanceLoadTracker,
+            NettyRoutingFilter routingFilter,
+            TransferMetrics transferMetrics,
+            @Value("${app.transfer.documents.paths:/api/documents/project/*/upload,/api/documents/*/download}")
+            List<String> documentTransferPaths,
+            @Value("${app.transfer.documents.max-body-size:10GB}") DataSize documentMaxBodySize,
+            @Value("${app.transfer.documents.idle-timeout-ms:60000}") long documentIdleTimeoutMs,
+            TrafficMirror trafficMirror) {
         return builder.routes()
 
                 // ─── Auth Service ─────────────────────────────────────────────
@@ -66,6 +135,7 @@ public class GatewayRouteConfig {
                 .route("user-service", r -> r
                         .path("/api/users/**", "/api/organizations/**", "/api/roles/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "user-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("userServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
@@ -75,6 +145,13 @@ public class GatewayRouteConfig {
                 .route("catalog-service", r -> r
                         .path("/api/services/**", "/api/categories/**", "/api/service-requests/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "catalog-service"))
+                                .filter(new ResponseCacheFilter(responseCache, "catalog-service",
+                                        catalogCachePaths, Duration.ofMillis(catalogCacheTtlMs)))
+                                .filter(new RequestCoalescingFilter(coalescer, "catalog-service",
+                                        Scope.PUBLIC, catalogCoalescePaths))
+                                .filter(new HedgingFilter(hedgingPolicy, instanceLoadTracker, routingFilter,
+                                        "catalog-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("catalogServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
@@ -84,15 +161,35 @@ public class GatewayRouteConfig {
                 .route("project-service", r -> r
                         .path("/api/projects/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "project-service"))
+                                .filter(new RequestCoalescingFilter(coalescer, "project-service",
+                                        Scope.ORG, projectCoalescePaths))
+                                .filter(new HedgingFilter(hedgingPolicy, instanceLoadTracker, routingFilter,
+                                        "project-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("projectServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
                         .uri("lb://BIOLAB-PROJECT-SERVICE"))
 
+                // ─── Document transfers (streamed) ────────────────────────────
+                // Before document-service so that these paths match here first.
+                // No whole-request response timeout and no circuit breaker: a
+                // multi-GB body can take far longer than either allows, and a
+                // half-sent upload cannot be answered by a fallback. The idle
+                // timeout in StreamingTransferFilter replaces both.
+                .route("document-transfer", r -> r
+                        .path(documentTransferPaths.toArray(String[]::new))
+                        .filters(f -> f
+                                .filter(new StreamingTransferFilter(transferMetrics, "document-transfer",
+                                        documentMaxBodySize, Duration.ofMillis(documentIdleTimeoutMs))))
+                        .metadata(RESPONSE_TIMEOUT_ATTR, -1)
+                        .uri("lb://BIOLAB-DOCUMENT-SERVICE"))
+
                 // ─── Document Service ─────────────────────────────────────────
                 .route("document-service", r -> r
                         .path("/api/documents/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "document-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("documentServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
@@ -102,6 +199,9 @@ public class GatewayRouteConfig {
                 .route("invoice-service", r -> r
                         .path("/api/invoices/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "invoice-service"))
+                                .filter(new HedgingFilter(hedgingPolicy, instanceLoadTracker, routingFilter,
+                                        "invoice-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("invoiceServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
@@ -111,6 +211,9 @@ public class GatewayRouteConfig {
                 .route("messaging-service", r -> r
                         .path("/api/conversations/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "messaging-service"))
+                                .filter(new HedgingFilter(hedgingPolicy, instanceLoadTracker, routingFilter,
+                                        "messaging-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("messagingServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
@@ -120,6 +223,7 @@ public class GatewayRouteConfig {
                 .route("notification-service", r -> r
                         .path("/api/notifications/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "notification-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("notificationServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
@@ -129,11 +233,18 @@ public class GatewayRouteConfig {
                 .route("audit-service", r -> r
                         .path("/api/audit/**", "/api/compliance/**")
                         .filters(f -> f
+                                .filter(new TrafficMirrorFilter(trafficMirror, "audit-service"))
                                 .circuitBreaker(cb -> cb
                                         .setName("auditServiceCB")
                                         .setFallbackUri("forward:/fallback/service")))
                         .uri("lb://BIOLAB-AUDIT-SERVICE"))
 
+                // ─── Dashboard (aggregated in the gateway) ────────────────────
+                .route(DashboardController.ROUTE_ID, r -> r
+                        .path("/api/dashboard")
+                        .and().method(HttpMethod.GET)
+                        .uri("forward:/internal/dashboard"))
+
                 .build();
     }
 }
\ No newline at end of file
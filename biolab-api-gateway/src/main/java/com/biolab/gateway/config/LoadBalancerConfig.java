@@ -0,0 +1,48 @@
+package com.biolab.gateway.config;
+
+import com.biolab.gateway.util.InstanceLoadTracker;
+import com.biolab.gateway.util.PeakEwmaLoadBalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces Spring Cloud LoadBalancer's round-robin default with
+ * {@link PeakEwmaLoadBalancer} for every {@code lb://} route.
+ *
+ * <p>Each service gets its own balancer in its own load-balancer child
+ * context; all of them share the gateway-wide {@link InstanceLoadTracker}.
+ * Disable with {@code app.loadbalancer.enabled=false} to fall back to
+ * round-robin.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.loadbalancer.enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfig.PeakEwmaConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Per-service load-balancer configuration. Deliberately not a
+     * {@code @Configuration}: it is registered only in the child contexts
+     * created by {@link LoadBalancerClientFactory}.
+     */
+    public static class PeakEwmaConfiguration {
+
+        @Bean
+        public ReactorLoadBalancer<ServiceInstance> peakEwmaLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory factory,
+                                                                         InstanceLoadTracker tracker) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            return new PeakEwmaLoadBalancer(
+                    factory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, tracker);
+        }
+    }
+}
@@ -1,42 +1,48 @@
 package com.biolab.gateway.config;
 
+import com.biolab.gateway.filter.RateLimitFilter;
+import com.biolab.gateway.util.HierarchicalRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
-import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import reactor.core.publisher.Mono;
-
-import java.util.Objects;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 
 /**
  * Redis-backed rate limiting configuration for the API Gateway.
  *
  * <p>Only activated when {@code app.rate-limit.enabled=true} (default: true in prod).
  * Set {@code app.rate-limit.enabled=false} in local dev to run without Redis.</p>
+ *
+ * <p>Registers the hierarchical user / organisation / global limiter and the
+ * global filter applying it. The former {@code RedisRateLimiter} and
+ * {@code KeyResolver} beans cost a Redis round trip per request and resolved
+ * the key from {@code X-User-Id} before {@code JwtAuthenticationFilter} had
+ * set it; {@link RateLimitFilter} runs once the identity headers are applied.
+ * Limits and plans are bound from {@code app.rate-limit}
+ * ({@link HierarchicalRateLimiter.Policy}).</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 2.0.0
  */
 @Configuration
 @ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
 public class RateLimitConfig {
 
     @Bean
-    public RedisRateLimiter defaultRateLimiter() {
-        return new RedisRateLimiter(2, 120, 1);
+    public HierarchicalRateLimiter hierarchicalRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                                           Environment environment,
+                                                           MeterRegistry meterRegistry) {
+        HierarchicalRateLimiter.Policy policy = Binder.get(environment)
+                .bind("app.rate-limit", HierarchicalRateLimiter.Policy.class)
+                .orElseThrow(() -> new IllegalStateException("app.rate-limit.global and plans are not configured"));
+        return new HierarchicalRateLimiter(redisTemplate, policy, meterRegistry);
     }
 
     @Bean
-    public KeyResolver userOrIpKeyResolver() {
-        return exchange -> {
-            String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
-            if (userId != null && !userId.isBlank()) {
-                return Mono.just("user:" + userId);
-            }
-            String ip = exchange.getRequest().getHeaders().getFirst("X-Forwarded-For");
-            if (ip != null && !ip.isBlank()) {
-                return Mono.just("ip:" + ip.split(",")[0].trim());
-            }
-            return Mono.just("ip:" + Objects.requireNonNull(exchange.getRequest()
-                    .getRemoteAddress()).getAddress().getHostAddress());
-        };
+    public RateLimitFilter rateLimitFilter(HierarchicalRateLimiter hierarchicalRateLimiter) {
+        return new RateLimitFilter(hierarchicalRateLimiter);
     }
-}
\ No newline at end of file
+}
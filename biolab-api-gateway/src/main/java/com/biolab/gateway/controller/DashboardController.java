@@ -0,0 +1,65 @@
+package com.biolab.gateway.controller;
+
+import com.biolab.gateway.dto.DashboardResponse;
+import com.biolab.gateway.dto.DashboardSection;
+import com.biolab.gateway.util.DashboardAggregator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Aggregated dashboard: {@code GET /api/dashboard} is routed here
+ * ({@code forward:/internal/dashboard}) after the global filters have
+ * authenticated the caller and set the {@code X-User-*} headers.
+ *
+ * <p>Annotated controllers are matched before gateway routes, so this handler
+ * only answers requests that arrived through the {@value #ROUTE_ID} route —
+ * a direct call to {@code /internal/dashboard} would bypass JWT validation and
+ * gets a 404.</p>
+ *
+ * <p>Returns {@code 200} with every section that could be loaded and the rest
+ * marked {@code DEGRADED}; {@code 503} only if no section could be loaded.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/internal/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "Aggregated buyer/supplier dashboard")
+public class DashboardController {
+
+    public static final String ROUTE_ID = "dashboard";
+
+    private final DashboardAggregator aggregator;
+
+    @GetMapping
+    @Operation(summary = "Project, invoice, catalog, notification and conversation summaries in one call")
+    public Mono<ResponseEntity<DashboardResponse>> dashboard(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || !ROUTE_ID.equals(route.getId())) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return aggregator.aggregate(exchange.getRequest().getHeaders())
+                .map(dashboard -> ResponseEntity.status(allDegraded(dashboard)
+                                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK)
+                        .cacheControl(CacheControl.noStore())
+                        .body(dashboard));
+    }
+
+    private static boolean allDegraded(DashboardResponse dashboard) {
+        return !dashboard.getSections().isEmpty() && dashboard.getSections().values().stream()
+                .allMatch(section -> DashboardSection.DEGRADED.equals(section.getStatus()));
+    }
+}
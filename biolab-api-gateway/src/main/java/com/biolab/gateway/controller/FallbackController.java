@@ -1,14 +1,22 @@
 package com.biolab.gateway.controller;
 
 import com.biolab.gateway.dto.ErrorResponse;
+import com.biolab.gateway.filter.ResponseCacheFilter;
+import com.biolab.gateway.util.ResponseCache;
+import com.biolab.gateway.util.ResponseCache.CachedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
 /**
  * Circuit breaker fallback controller.
@@ -24,14 +32,17 @@ import org.springframework.web.server.ServerWebExchange;
  * (e.g. {@code POST /api/auth/reset-password} triggering the auth circuit breaker).</p>
  *
  * @author BioLab Engineering Team
- * @version 1.1.0
+ * @version 1.2.0
  */
 @RestController
 @RequestMapping("/fallback")
+@RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Fallback", description = "Circuit breaker fallback endpoints")
 public class FallbackController {
 
+    private final ResponseCache responseCache;
+
     /**
      * Fallback for the Auth Service circuit breaker.
      * Handles ALL HTTP methods — GET, POST, PUT, PATCH, DELETE.
@@ -59,22 +70,46 @@ public class FallbackController {
      * Generic fallback for all other service circuit breakers.
      * Handles ALL HTTP methods — GET, POST, PUT, PATCH, DELETE.
      *
+     * <p>For a GET on a cached route ({@link ResponseCacheFilter}) the last good
+     * response is served instead while it is within the stale window
+     * (stale-if-error), marked with {@code X-Cache: STALE} and a
+     * {@code Warning: 110} header.</p>
+     *
      * @param exchange the current server exchange
-     * @return 503 Service Unavailable
+     * @return the stale cached response, or 503 Service Unavailable
      */
     @RequestMapping("/service")
     @Operation(summary = "Generic service fallback — circuit breaker open")
-    public ResponseEntity<ErrorResponse> serviceFallback(ServerWebExchange exchange) {
-        log.warn("Backend service unavailable — circuit breaker open for: {} {}",
-                exchange.getRequest().getMethod(),
-                exchange.getRequest().getURI().getPath());
+    public Mono<ResponseEntity<?>> serviceFallback(ServerWebExchange exchange) {
+        String cacheKey = exchange.getAttribute(ResponseCacheFilter.CACHE_KEY_ATTR);
+        Mono<CachedResponse> stale = cacheKey != null && HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                ? responseCache.get(cacheKey)
+                : Mono.empty();
 
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(ErrorResponse.builder()
-                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
-                        .error("SERVICE_UNAVAILABLE")
-                        .message("The requested service is temporarily unavailable. Please try again shortly.")
-                        .path(exchange.getRequest().getURI().getPath())
-                        .build());
+        return stale.<ResponseEntity<?>>map(entry -> {
+                    log.warn("Backend service unavailable — serving stale cached response for: {}", cacheKey);
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                            .eTag(entry.etag())
+                            .header(HttpHeaders.AGE, Long.toString(entry.ageSeconds(System.currentTimeMillis())))
+                            .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"")
+                            .header(ResponseCacheFilter.X_CACHE, "STALE");
+                    if (entry.contentType() != null) {
+                        builder.contentType(MediaType.parseMediaType(entry.contentType()));
+                    }
+                    return builder.body(entry.body());
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("Backend service unavailable — circuit breaker open for: {} {}",
+                            exchange.getRequest().getMethod(),
+                            exchange.getRequest().getURI().getPath());
+
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .body(ErrorResponse.builder()
+                                    .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                    .error("SERVICE_UNAVAILABLE")
+                                    .message("The requested service is temporarily unavailable. Please try again shortly.")
+                                    .path(exchange.getRequest().getURI().getPath())
+                                    .build());
+                }));
     }
 }
\ No newline at end of file
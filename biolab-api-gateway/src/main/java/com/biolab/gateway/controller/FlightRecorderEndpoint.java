@@ -0,0 +1,52 @@
+package com.biolab.gateway.controller;
+
+import com.biolab.gateway.util.FlightRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator view of the slow-request flight recorder ({@code /actuator/flightrecorder}).
+ *
+ * <ul>
+ *   <li>{@code GET} — the retained slow and failed exchanges, newest first,
+ *       with their phase timings</li>
+ *   <li>{@code GET /{correlationId}} — the entries of one request, e.g. the
+ *       {@code X-Correlation-Id} a user reported</li>
+ * </ul>
+ *
+ * <p>Entries carry request paths and correlation IDs, so the endpoint is
+ * left out of the default {@code management.endpoints.web.exposure.include}:
+ * {@code /actuator} is an open path at the gateway. Expose it only on a
+ * non-public {@code management.server.port}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorder recorder;
+
+    @ReadOperation
+    public Map<String, Object> entries() {
+        return Map.of(
+            "enabled", recorder.isEnabled(),
+            "slowThresholdMs", recorder.slowThresholdMs(),
+            "capacity", recorder.capacity(),
+            "recorded", recorder.recorded(),
+            "entries", recorder.snapshot(null));
+    }
+
+    @ReadOperation
+    public List<FlightRecorder.Entry> request(@Selector String correlationId) {
+        return recorder.snapshot(correlationId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.biolab.gateway.controller;
+
+import com.biolab.gateway.util.InstanceLoadTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator view of the latency-aware load balancer ({@code /actuator/loadbalancer}).
+ *
+ * <ul>
+ *   <li>{@code GET} — score, latency, outstanding requests, warm-up weight and
+ *       ejection state of every instance, by service</li>
+ *   <li>{@code GET /{serviceId}} — the same for one service</li>
+ * </ul>
+ *
+ * <p>It shows upstream hosts and ports, so it is left out of the default
+ * {@code management.endpoints.web.exposure.include}: {@code /actuator} is an
+ * open path at the gateway. Expose it only on a non-public
+ * {@code management.server.port}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+@RequiredArgsConstructor
+public class LoadBalancerEndpoint {
+
+    private final InstanceLoadTracker tracker;
+
+    @ReadOperation
+    public Map<String, Object> scores() {
+        return Map.of(
+            "enabled", tracker.isEnabled(),
+            "services", tracker.snapshot());
+    }
+
+    @ReadOperation
+    public List<InstanceLoadTracker.InstanceSnapshot> service(@Selector String serviceId) {
+        return tracker.snapshot().getOrDefault(serviceId, List.of());
+    }
+}
@@ -0,0 +1,53 @@
+package com.biolab.gateway.controller;
+
+import com.biolab.gateway.util.ResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Actuator hook for the gateway response cache ({@code /actuator/responsecache}).
+ *
+ * <ul>
+ *   <li>{@code GET} — local tier size</li>
+ *   <li>{@code DELETE ?prefix=catalog-service:/api/services} — purges matching
+ *       entries on every replica; without {@code prefix} the whole cache</li>
+ * </ul>
+ *
+ * <p>{@code /actuator} is an open path at the gateway, so the endpoint is
+ * read-only by default and anyone can only read the size. Enable the purge
+ * with {@code management.endpoint.responsecache.access=unrestricted} only
+ * where {@code /actuator} is not publicly reachable, e.g. on a separate
+ * {@code management.server.port}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "responsecache", defaultAccess = Access.READ_ONLY)
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of(
+            "enabled", responseCache.isEnabled(),
+            "localEntries", responseCache.localSize());
+    }
+
+    @DeleteOperation
+    public Mono<Map<String, Object>> purge(@Nullable String prefix) {
+        String p = prefix != null ? prefix : "";
+        return responseCache.purge(p)
+                .map(deleted -> Map.of("prefix", p, "sharedEntriesDeleted", deleted));
+    }
+}
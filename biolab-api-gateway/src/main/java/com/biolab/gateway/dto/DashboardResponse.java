@@ -0,0 +1,35 @@
+package com.biolab.gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Composite dashboard document returned by {@code GET /api/dashboard}.
+ *
+ * <p>Sections that could not be loaded are still listed, marked
+ * {@code DEGRADED}; {@link #degraded} is {@code true} if any is.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+
+    /** Section name (e.g. "projects", "invoices") → section, in display order */
+    private Map<String, DashboardSection> sections;
+
+    /** {@code true} if at least one section is degraded */
+    private boolean degraded;
+
+    /** ISO-8601 timestamp of the aggregation */
+    @Builder.Default
+    private String generatedAt = Instant.now().toString();
+}
@@ -0,0 +1,38 @@
+package com.biolab.gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One section of the aggregated dashboard — the body of a single downstream
+ * call, or the reason it is missing.
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardSection {
+
+    public static final String OK = "OK";
+    public static final String DEGRADED = "DEGRADED";
+
+    /** {@code OK} or {@code DEGRADED} */
+    private String status;
+
+    /** Time the downstream call took, or until it was given up */
+    private long latencyMs;
+
+    /** Downstream response body, unchanged (only when {@code OK}) */
+    private JsonNode data;
+
+    /** Why the section is degraded, e.g. {@code "timeout"} or {@code "HTTP 503"} */
+    private String error;
+}
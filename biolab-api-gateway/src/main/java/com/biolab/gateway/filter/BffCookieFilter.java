@@ -1,6 +1,7 @@
 package com.biolab.gateway.filter;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import com.biolab.gateway.util.StreamingJsonFieldRemover;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,11 @@ import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Backend-for-Frontend (BFF) filter — Sprint 1, GAP-04.
@@ -35,7 +41,8 @@ import java.nio.charset.StandardCharsets;
  *       <ul>
  *         <li>Rewrites path to {@code /api/auth/login} and forwards to auth service</li>
  *         <li>On 200: extracts {@code refreshToken} from JSON response body,
- *             sets httpOnly cookie, returns response WITHOUT {@code refreshToken} field</li>
+ *             sets httpOnly cookie, returns response WITHOUT {@code refreshToken} field
+ *             (streamed token-by-token, see {@link StreamingJsonFieldRemover})</li>
  *       </ul>
  *   </li>
  *   <li><b>/api/auth/bff/refresh-token</b>
@@ -61,7 +68,7 @@ import java.nio.charset.StandardCharsets;
  * </ol>
  *
  * @author BioLab Engineering Team
- * @version 1.0.0
+ * @version 1.1.0
  */
 @Component
 @RequiredArgsConstructor
@@ -69,6 +76,7 @@ import java.nio.charset.StandardCharsets;
 public class BffCookieFilter implements GlobalFilter, Ordered {
 
     private final ObjectMapper objectMapper;
+    private final RouteSecurityMatcher routeSecurityMatcher;
 
     @Value("${app.jwt.refresh-token-cookie-name:biolab_rt}")
     private String cookieName;
@@ -83,6 +91,11 @@ public class BffCookieFilter implements GlobalFilter, Ordered {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // Non-BFF traffic (app.route-security.bff-paths) skips the dispatch below
+        if (!routeSecurityMatcher.classify(exchange).isBff()) {
+            return chain.filter(exchange);
+        }
+
         String path = exchange.getRequest().getURI().getPath();
 
         if (path.equals(BFF_LOGIN)) {
@@ -222,49 +235,81 @@ public class BffCookieFilter implements GlobalFilter, Ordered {
             this.setCookie = setCookie;
         }
 
+        /**
+         * Streams the upstream body through a {@link StreamingJsonFieldRemover}
+         * that drops the top-level {@code refreshToken} field into the cookie.
+         * Upstream chunks are only retained (not copied) until the body is
+         * complete, so that a body that is not valid JSON can still be passed
+         * through unchanged; the rewritten body is written once, after the
+         * cookie and {@code Content-Length} have been set. A parse failure
+         * stops the rewriting but not the reading: the rest of the body is
+         * still collected, so the pass-through matches the declared length.
+         */
         @Override
         public Mono<Void> writeWith(org.reactivestreams.Publisher<? extends DataBuffer> body) {
             if (!setCookie || !getStatusCode().is2xxSuccessful()) {
                 return super.writeWith(body);
             }
 
-            return DataBufferUtils.join(Flux.from(body)).flatMap(dataBuffer -> {
-                byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                dataBuffer.read(bytes);
-                DataBufferUtils.release(dataBuffer);
-
-                String responseBody = new String(bytes, StandardCharsets.UTF_8);
-
-                try {
-                    JsonNode json = objectMapper.readTree(responseBody);
-                    JsonNode rtNode = json.get("refreshToken");
-
-                    if (rtNode != null && !rtNode.isNull()) {
-                        String refreshToken = rtNode.asText();
-                        // Set httpOnly cookie on the response
-                        JwtAuthenticationFilter.setRefreshCookie(
-                                getDelegate(), refreshToken,
-                                cookieName, refreshTokenExpirationMs);
-
-                        // Remove refreshToken from the JSON body sent to the browser
-                        com.fasterxml.jackson.databind.node.ObjectNode cleaned =
-                                ((com.fasterxml.jackson.databind.node.ObjectNode) json)
-                                        .deepCopy();
-                        cleaned.remove("refreshToken");
-                        responseBody = objectMapper.writeValueAsString(cleaned);
-                        bytes = responseBody.getBytes(StandardCharsets.UTF_8);
-
-                        // Update Content-Length
-                        getHeaders().setContentLength(bytes.length);
-                        log.debug("BFF: refresh token moved to httpOnly cookie");
-                    }
-                } catch (IOException e) {
-                    log.warn("BFF: could not parse auth response body: {}", e.getMessage());
-                }
-
-                DataBuffer newBuffer = exchange.getResponse().bufferFactory().wrap(bytes);
-                return super.writeWith(Mono.just(newBuffer));
-            });
+            long upstreamLength = getHeaders().getContentLength();
+            DataBuffer output = exchange.getResponse().bufferFactory().allocateBuffer(
+                    upstreamLength > 0 ? (int) Math.min(upstreamLength, 64 * 1024) : 1024);
+            List<DataBuffer> upstream = new ArrayList<>();
+
+            StreamingJsonFieldRemover remover;
+            try {
+                remover = new StreamingJsonFieldRemover(objectMapper.getFactory(), "refreshToken", output);
+            } catch (IOException e) {
+                DataBufferUtils.release(output);
+                return super.writeWith(body);
+            }
+
+            AtomicBoolean handedOff = new AtomicBoolean();
+            AtomicReference<IOException> parseFailure = new AtomicReference<>();
+            return Flux.<DataBuffer>from(body)
+                    .doOnNext(chunk -> {
+                        upstream.add(chunk);
+                        if (parseFailure.get() != null) return;
+                        try {
+                            remover.feed(chunk);
+                        } catch (IOException e) {
+                            // Keep reading: the whole body is passed through below
+                            parseFailure.set(e);
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        if (parseFailure.get() != null) throw parseFailure.get();
+                        return Optional.of(remover.finish());
+                    }))
+                    .onErrorResume(IOException.class, e -> {
+                        log.warn("BFF: could not parse auth response body: {}", e.getMessage());
+                        return Mono.just(Optional.empty());
+                    })
+                    .flatMap(rewritten -> {
+                        handedOff.set(true);
+                        if (rewritten.isEmpty()) {
+                            // Not JSON: pass the upstream body through untouched
+                            DataBufferUtils.release(output);
+                            return super.writeWith(Flux.fromIterable(upstream));
+                        }
+                        upstream.forEach(DataBufferUtils::release);
+                        if (remover.removedValue() != null) {
+                            // Set httpOnly cookie on the response
+                            JwtAuthenticationFilter.setRefreshCookie(
+                                    getDelegate(), remover.removedValue(),
+                                    cookieName, refreshTokenExpirationMs);
+                            log.debug("BFF: refresh token moved to httpOnly cookie");
+                        }
+                        getHeaders().setContentLength(rewritten.get().readableByteCount());
+                        return super.writeWith(Mono.just(rewritten.get()));
+                    })
+                    .doFinally(signal -> {
+                        if (!handedOff.get()) {
+                            // Cancelled or failed before anything reached the response
+                            upstream.forEach(DataBufferUtils::release);
+                            DataBufferUtils.release(output);
+                        }
+                    });
         }
     }
 
@@ -1,11 +1,11 @@
 package com.biolab.gateway.filter;
 
+import com.biolab.gateway.util.RequestHeaderEdits;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -27,7 +27,7 @@ import reactor.core.publisher.Mono;
  * </pre>
  *
  * @author BioLab Engineering Team
- * @version 1.1.0
+ * @version 1.2.0
  */
 @Component
 @Slf4j
@@ -56,11 +56,9 @@ public class GatewayTokenFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        ServerHttpRequest enriched = exchange.getRequest().mutate()
-                .header(HEADER_GATEWAY_TOKEN, gatewayInternalToken)
-                .build();
-
-        return chain.filter(exchange.mutate().request(enriched).build());
+        // Applied together with the other header edits by HeaderEnrichmentFilter
+        RequestHeaderEdits.of(exchange).set(HEADER_GATEWAY_TOKEN, gatewayInternalToken);
+        return chain.filter(exchange);
     }
 
     @Override
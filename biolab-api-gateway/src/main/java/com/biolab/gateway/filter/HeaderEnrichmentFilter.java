@@ -0,0 +1,43 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.RequestHeaderEdits;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the downstream header changes registered in
+ * {@link RequestHeaderEdits} in a single request mutation.
+ *
+ * <p>{@link RequestLoggingFilter} (tracing headers), {@link JwtAuthenticationFilter}
+ * (strip inbound {@code X-User-*}, then identity headers) and
+ * {@link GatewayTokenFilter} ({@code X-Gateway-Token}) used to rebuild the
+ * request and the exchange themselves — four header-map copies per
+ * authenticated request. They now only register their edits, and this stage
+ * copies the headers once.</p>
+ *
+ * <p>Runs after the last registering filter and before everything that reads
+ * the identity headers — the rate limiter ({@code -30}), the response cache,
+ * request coalescing and the concurrency limiter ({@code -10} and later).</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class HeaderEnrichmentFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = -40;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(RequestHeaderEdits.apply(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,291 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.HedgingPolicy;
+import com.biolab.gateway.util.HedgingPolicy.Outcome;
+import com.biolab.gateway.util.InstanceLoadTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ALREADY_ROUTED_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+
+/**
+ * Hedged requests for idempotent GETs: if the first upstream attempt has not
+ * answered within the route's hedge delay ({@link HedgingPolicy}), a second
+ * attempt goes to a different instance of the service, and whichever answers
+ * first is used. The other attempt is cancelled and its connection closed.
+ *
+ * <p>Applied in {@code GatewayRouteConfig} to read-heavy routes. Runs after
+ * load balancing, so the first attempt goes to the instance chosen by the
+ * {@code lb://} load balancer, and inside the route's circuit breaker, whose
+ * time limiter bounds both attempts together.</p>
+ *
+ * <p>Each attempt is executed by the gateway's own {@link NettyRoutingFilter}
+ * on an isolated view of the exchange (own attributes, own response status and
+ * headers), so header filtering, timeouts and body streaming are exactly those
+ * of an unhedged request. The winner's status, headers and client connection
+ * are then moved onto the real exchange and the body is streamed by
+ * {@code NettyWriteResponseFilter} as usual; {@code NettyRoutingFilter} itself
+ * sees the exchange as already routed.</p>
+ *
+ * <p>When the hedge wins, {@link #HEDGE_WON_ATTR} is set so that
+ * {@link LoadBalancerFeedbackFilter} only counts the first instance as slow,
+ * not as answered; the hedge's instance reports to {@link InstanceLoadTracker}
+ * directly.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class HedgingFilter implements GatewayFilter, Ordered {
+
+    /** Exchange attribute set to {@code Boolean.TRUE} when the second attempt answered first. */
+    public static final String HEDGE_WON_ATTR = HedgingFilter.class.getName() + ".hedgeWon";
+
+    /** Attributes that describe the routed upstream response and move with the winning attempt. */
+    private static final List<String> ROUTING_ATTRS = List.of(
+            CLIENT_RESPONSE_ATTR, CLIENT_RESPONSE_CONN_ATTR, CLIENT_RESPONSE_HEADER_NAMES,
+            ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, GATEWAY_ALREADY_ROUTED_ATTR, GATEWAY_REQUEST_URL_ATTR);
+
+    private static final GatewayFilterChain END_OF_CHAIN = exchange -> Mono.empty();
+
+    private final HedgingPolicy policy;
+    private final InstanceLoadTracker tracker;
+    private final NettyRoutingFilter router;
+    private final String routeId;
+
+    /**
+     * @param policy  hedge delay, budget and instance choice
+     * @param tracker per-instance load, fed with the hedge's outcome
+     * @param router  the gateway's routing filter, used to execute each attempt
+     * @param routeId id of the route this instance is applied to
+     */
+    public HedgingFilter(HedgingPolicy policy, InstanceLoadTracker tracker, NettyRoutingFilter router,
+                         String routeId) {
+        this.policy = policy;
+        this.tracker = tracker;
+        this.router = router;
+        this.routeId = routeId;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (!policy.isEnabled() || !HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                || chosen == null || !chosen.hasServer() || !isHttp(url) || isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        long delayNanos = policy.begin(routeId);
+        if (delayNanos < 0) {
+            // Still learning the route's latency: route normally, just sample it
+            long start = System.nanoTime();
+            return chain.filter(exchange).doOnSuccess(done -> {
+                policy.recordLatency(routeId, System.nanoTime() - start);
+                policy.recordOutcome(routeId, Outcome.NONE);
+            });
+        }
+
+        Attempt primary = new Attempt(exchange, url, null);
+        AtomicReference<Attempt> hedge = new AtomicReference<>();
+        AtomicReference<Outcome> hedgeState = new AtomicReference<>(Outcome.NONE);
+
+        Mono<Attempt> second = Mono.delay(Duration.ofNanos(delayNanos))
+                .flatMap(tick -> policy.alternative(chosen.getServer()))
+                .flatMap(instance -> {
+                    if (instance.isEmpty() || !policy.tryAcquireHedge(routeId)) {
+                        hedgeState.set(Outcome.DENIED);
+                        return Mono.empty();
+                    }
+                    hedgeState.set(Outcome.PRIMARY);
+                    Attempt attempt = new Attempt(exchange, urlFor(url, instance.get()), instance.get());
+                    hedge.set(attempt);
+                    log.debug("Hedging {} {} to {} after {} ms", routeId, exchange.getRequest().getURI().getPath(),
+                            instance.get().getHost(), delayNanos / 1_000_000);
+                    return attempt.route();
+                });
+
+        return Mono.firstWithValue(primary.route(), second)
+                .onErrorMap(NoSuchElementException.class,
+                        e -> e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e)
+                .flatMap(winner -> {
+                    adopt(exchange, winner);
+                    Outcome outcome = winner == primary ? hedgeState.get() : Outcome.HEDGE;
+                    policy.recordOutcome(routeId, outcome);
+                    policy.recordLatency(routeId, primary.elapsedNanos());
+                    if (winner != primary) {
+                        exchange.getAttributes().put(HEDGE_WON_ATTR, Boolean.TRUE);
+                    }
+                    return chain.filter(exchange);
+                })
+                .doFinally(signal -> {
+                    primary.finish();
+                    Attempt h = hedge.get();
+                    if (h != null) h.finish();
+                });
+    }
+
+    /** After load balancing and its feedback filter, directly before upstream timing and routing. */
+    @Override
+    public int getOrder() { return NettyRoutingFilter.ORDER - 2; }
+
+    private static boolean isHttp(URI url) {
+        return url != null && ("http".equals(url.getScheme()) || "https".equals(url.getScheme()));
+    }
+
+    private static URI urlFor(URI primaryUrl, ServiceInstance instance) {
+        return UriComponentsBuilder.fromUri(primaryUrl)
+                .scheme(instance.isSecure() ? "https" : "http")
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    /** Moves the winning attempt's response onto the real exchange. */
+    private static void adopt(ServerWebExchange exchange, Attempt winner) {
+        winner.won = true;
+        ServerHttpResponse response = exchange.getResponse();
+        if (winner.response.status != null) {
+            response.setStatusCode(winner.response.status);
+        }
+        response.getHeaders().addAll(winner.response.headers);
+        for (String name : ROUTING_ATTRS) {
+            Object value = winner.attributes.get(name);
+            if (value != null) exchange.getAttributes().put(name, value);
+        }
+        exchange.getAttributes().put(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR, winner.elapsedNanos());
+    }
+
+    /** One upstream attempt, executed by {@link NettyRoutingFilter} on an isolated exchange. */
+    private final class Attempt {
+        final ServiceInstance instance;          // null for the first attempt (tracked by the feedback filter)
+        final IsolatedResponse response;
+        final Map<String, Object> attributes;
+        final ServerWebExchange isolated;
+        final InstanceLoadTracker.Call call;
+        volatile boolean won;
+        private volatile boolean finished;
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        Attempt(ServerWebExchange exchange, URI url, ServiceInstance instance) {
+            this.instance = instance;
+            this.response = new IsolatedResponse(exchange.getResponse());
+            this.attributes = new ConcurrentHashMap<>(exchange.getAttributes()) {
+                @Override
+                public Object put(String key, Object value) {
+                    Object previous = super.put(key, value);
+                    if (finished && !won && CLIENT_RESPONSE_CONN_ATTR.equals(key)) {
+                        dispose(value);          // answered after losing the race
+                    }
+                    return previous;
+                }
+            };
+            this.attributes.put(GATEWAY_REQUEST_URL_ATTR, url);
+            this.isolated = new ServerWebExchangeDecorator(exchange) {
+                @Override
+                public ServerHttpResponse getResponse() {
+                    return response;
+                }
+
+                @Override
+                public Map<String, Object> getAttributes() {
+                    return attributes;
+                }
+            };
+            this.call = instance != null ? tracker.start(instance).orElse(null) : null;
+        }
+
+        Mono<Attempt> route() {
+            return Mono.defer(() -> {
+                        startNanos = System.nanoTime();
+                        return router.filter(isolated, END_OF_CHAIN);
+                    })
+                    .doOnSuccess(done -> endNanos = System.nanoTime())
+                    .doOnError(ex -> {
+                        if (call != null) call.onFailure();
+                    })
+                    .thenReturn(this);
+        }
+
+        long elapsedNanos() {
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            return startNanos != 0 ? end - startNanos : 0;
+        }
+
+        /** Called once the race is over: reports the hedge's outcome and closes a losing connection. */
+        void finish() {
+            finished = true;
+            if (call != null) {
+                if (won) call.onSuccess(elapsedNanos());
+                else call.onCancel(elapsedNanos());
+            }
+            if (!won) {
+                dispose(attributes.get(CLIENT_RESPONSE_CONN_ATTR));
+            }
+        }
+
+        private void dispose(Object connection) {
+            if (connection instanceof Connection c && !c.isDisposed()) {
+                c.dispose();
+            }
+        }
+    }
+
+    /** Response view that keeps status and headers to itself until the attempt wins. */
+    private static final class IsolatedResponse extends ServerHttpResponseDecorator {
+        final HttpHeaders headers = new HttpHeaders();
+        volatile HttpStatusCode status;
+
+        IsolatedResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
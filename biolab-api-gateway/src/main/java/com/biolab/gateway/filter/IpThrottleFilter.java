@@ -1,5 +1,8 @@
 package com.biolab.gateway.filter;
 
+import com.biolab.gateway.util.RedisSlidingWindowLimiter;
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -9,18 +12,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
- * In-memory IP throttle filter for brute-force protection on auth endpoints.
+ * Distributed IP throttle filter for brute-force protection on auth endpoints.
  *
  * <h3>Protection (Slide 10 — Network Security):</h3>
  * <ul>
- *   <li>Limits failed auth requests to 20 per IP per 5-minute window</li>
- *   <li>Returns 429 Too Many Requests when threshold exceeded</li>
- *   <li>Production: Replace with Redis-backed implementation</li>
+ *   <li>Limits auth attempts to {@code app.ip-throttle.max-attempts} (default 20)
+ *       per IP per sliding {@code app.ip-throttle.window-ms} (default 5 minutes)</li>
+ *   <li>Returns 429 Too Many Requests with {@code Retry-After} when exceeded</li>
+ *   <li>Counted in Redis by {@link RedisSlidingWindowLimiter}, so the limit is
+ *       shared by all gateway replicas</li>
  * </ul>
  *
  * <p>This provides an additional layer beyond the general rate limiter,
@@ -28,38 +29,35 @@ import java.util.concurrent.atomic.AtomicInteger;
  * stuffing and brute-force attacks.</p>
  *
  * @author BioLab Engineering Team
+ * @version 2.0.0
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class IpThrottleFilter implements GlobalFilter, Ordered {
 
-    private static final int MAX_AUTH_ATTEMPTS = 20;
-    private static final long WINDOW_MS = 300_000; // 5 minutes
-
-    /** In-memory store — replace with Redis in production. */
-    private final Map<String, WindowCounter> authAttempts = new ConcurrentHashMap<>();
+    private final RouteSecurityMatcher routeSecurityMatcher;
+    private final RedisSlidingWindowLimiter limiter;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getPath().value();
-
-        // Only throttle authentication endpoints
-        if (!path.startsWith("/api/auth/login") && !path.startsWith("/api/auth/register")) {
+        // Only throttle authentication endpoints (app.route-security.throttled-auth-paths)
+        if (!routeSecurityMatcher.classify(exchange).isThrottledAuth()) {
             return chain.filter(exchange);
         }
 
         String clientIp = getClientIp(exchange);
-        WindowCounter counter = authAttempts.computeIfAbsent(clientIp, k -> new WindowCounter());
-
-        if (counter.isExceeded()) {
-            log.warn("IP throttle: {} exceeded {} auth attempts in 5min window", clientIp, MAX_AUTH_ATTEMPTS);
+        return limiter.tryAcquire(clientIp).flatMap(decision -> {
+            if (decision.allowed()) {
+                return chain.filter(exchange);
+            }
+            log.warn("IP throttle: {} exceeded auth attempt limit, retry in {}s",
+                    clientIp, decision.retryAfterSeconds());
             exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-            exchange.getResponse().getHeaders().set("Retry-After", "300");
+            exchange.getResponse().getHeaders().set("Retry-After",
+                    Long.toString(decision.retryAfterSeconds()));
             return exchange.getResponse().setComplete();
-        }
-
-        counter.increment();
-        return chain.filter(exchange);
+        });
     }
 
     @Override
@@ -71,27 +69,4 @@ public class IpThrottleFilter implements GlobalFilter, Ordered {
         var addr = exchange.getRequest().getRemoteAddress();
         return addr != null ? addr.getAddress().getHostAddress() : "unknown";
     }
-
-    /** Simple sliding window counter. */
-    private static class WindowCounter {
-        private final AtomicInteger count = new AtomicInteger(0);
-        private volatile long windowStart = System.currentTimeMillis();
-
-        void increment() {
-            resetIfExpired();
-            count.incrementAndGet();
-        }
-
-        boolean isExceeded() {
-            resetIfExpired();
-            return count.get() >= MAX_AUTH_ATTEMPTS;
-        }
-
-        private void resetIfExpired() {
-            if (System.currentTimeMillis() - windowStart > WINDOW_MS) {
-                count.set(0);
-                windowStart = System.currentTimeMillis();
-            }
-        }
-    }
 }
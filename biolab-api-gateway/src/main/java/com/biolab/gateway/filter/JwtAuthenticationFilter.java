@@ -1,7 +1,10 @@
 package com.biolab.gateway.filter;
 
 import com.biolab.gateway.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.biolab.gateway.util.RequestHeaderEdits;
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import com.biolab.gateway.util.TokenRevocationRegistry;
+import com.biolab.gateway.util.VerifiedClaims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -18,7 +21,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Global Gateway filter — JWT validation + X-User-* header enrichment.
@@ -44,14 +47,28 @@ import java.util.List;
  * removed. This prevents a malicious or misconfigured client from injecting
  * spoofed identity headers that downstream services might trust.</p>
  *
+ * <h4>Revocation</h4>
+ * <p>After signature/expiry checks, the token is looked up in the local
+ * {@link TokenRevocationRegistry}, which the Auth Service feeds with logged-out
+ * JTIs and per-user revocation epochs over Redis pub/sub.</p>
+ *
+ * <p>The header changes are registered in {@link RequestHeaderEdits} and
+ * applied by {@link HeaderEnrichmentFilter} in one request mutation, together
+ * with those of the tracing and gateway-token filters.</p>
+ *
+ * <p>Open paths are no longer listed here; they come from
+ * {@code app.route-security.open-paths} via {@link RouteSecurityMatcher}.</p>
+ *
  * @author BioLab Engineering Team
- * @version 2.0.0
+ * @version 2.1.0
  */
 @Component
 @Slf4j
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     private final JwtUtil jwtUtil;
+    private final RouteSecurityMatcher routeSecurityMatcher;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Value("${app.jwt.refresh-token-cookie-name:biolab_rt}")
     private String refreshTokenCookieName;
@@ -59,37 +76,12 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     @Value("${app.jwt.refresh-token-expiration-ms:604800000}")
     private long refreshTokenExpirationMs;
 
-    /**
-     * Paths that do NOT require JWT authentication.
-     */
-    private static final List<String> OPEN_PATHS = List.of(
-        "/api/auth/login",
-        "/api/auth/register",
-        "/api/auth/forgot-password",
-        "/api/auth/reset-password",
-        "/api/auth/refresh-token",
-        "/api/auth/logout",
-        "/api/auth/mfa/verify",
-        "/api/auth/verify-email",
-        "/api/auth/resend-verification",
-        "/api/auth/validate-token",
-        // GAP-04: BFF endpoints handle their own auth logic
-        "/api/auth/bff/login",
-        "/api/auth/bff/refresh-token",
-        "/api/auth/bff/logout",
-        "/api/auth/bff/mfa/verify",
-        "/api/categories",
-        "/actuator",
-        "/swagger-ui",
-        "/v3/api-docs",
-        "/webjars",
-        "/eureka",
-        "/api/discovery",
-        "/api/config"
-    );
-
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   RouteSecurityMatcher routeSecurityMatcher,
+                                   TokenRevocationRegistry revocationRegistry) {
         this.jwtUtil = jwtUtil;
+        this.routeSecurityMatcher = routeSecurityMatcher;
+        this.revocationRegistry = revocationRegistry;
     }
 
     @Override
@@ -98,24 +90,21 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String path = request.getURI().getPath();
 
         // GAP-14: strip ALL inbound X-User-* headers before any processing
-        // This prevents clients from injecting spoofed identity headers
-        ServerHttpRequest sanitised = request.mutate()
-                .headers(headers -> {
-                    headers.remove("X-User-Id");
-                    headers.remove("X-User-Email");
-                    headers.remove("X-User-Roles");
-                    headers.remove("X-User-OrgId");
-                })
-                .build();
-        exchange = exchange.mutate().request(sanitised).build();
+        // This prevents clients from injecting spoofed identity headers.
+        // Applied together with the other header edits by HeaderEnrichmentFilter.
+        RequestHeaderEdits headerEdits = RequestHeaderEdits.of(exchange)
+                .remove("X-User-Id")
+                .remove("X-User-Email")
+                .remove("X-User-Roles")
+                .remove("X-User-OrgId");
 
         // Open paths — pass through without JWT check (but already sanitised)
-        if (isOpenPath(path)) {
+        if (routeSecurityMatcher.classify(exchange).isOpen()) {
             return chain.filter(exchange);
         }
 
         // Extract and validate Authorization header
-        String authHeader = sanitised.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.warn("Missing or invalid Authorization header for path: {}", path);
@@ -124,28 +113,29 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         String token = authHeader.substring(7);
 
-        if (!jwtUtil.validateToken(token)) {
+        // Single parse per token lifetime — claims come from the verified-claims cache
+        Optional<VerifiedClaims> verified = jwtUtil.verify(token);
+        if (verified.isEmpty()) {
             log.warn("Invalid JWT token for path: {}", path);
             return onUnauthorized(exchange, "Invalid or expired JWT token");
         }
 
-        try {
-            Claims claims = jwtUtil.extractAllClaims(token);
-            ServerHttpRequest enriched = exchange.getRequest().mutate()
-                    .header("X-User-Id",    claims.getSubject())
-                    .header("X-User-Email", claims.get("email", String.class))
-                    .header("X-User-Roles", String.join(",", jwtUtil.extractRoles(token)))
-                    .header("X-User-OrgId",
-                            claims.get("orgId", String.class) != null
-                                    ? claims.get("orgId", String.class) : "")
-                    .build();
-
-            log.debug("JWT validated for user: {} on path: {}", claims.getSubject(), path);
-            return chain.filter(exchange.mutate().request(enriched).build());
-        } catch (Exception ex) {
-            log.error("Error processing JWT token: {}", ex.getMessage());
-            return onUnauthorized(exchange, "Token processing error");
+        VerifiedClaims claims = verified.get();
+
+        // Logout / password change / force-logout — local lookup, no network call
+        if (revocationRegistry.isRevoked(claims)) {
+            log.warn("Revoked JWT presented by user: {} on path: {}", claims.subject(), path);
+            return onUnauthorized(exchange, "Token has been revoked");
         }
+
+        headerEdits
+                .set("X-User-Id",    claims.subject())
+                .set("X-User-Email", claims.email())
+                .set("X-User-Roles", claims.rolesHeader())
+                .set("X-User-OrgId", claims.orgId() != null ? claims.orgId() : "");
+
+        log.debug("JWT validated for user: {} on path: {}", claims.subject(), path);
+        return chain.filter(exchange);
     }
 
     /**
@@ -201,10 +191,6 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     @Override
     public int getOrder() { return -100; }
 
-    private boolean isOpenPath(String path) {
-        return OPEN_PATHS.stream().anyMatch(path::startsWith);
-    }
-
     private Mono<Void> onUnauthorized(ServerWebExchange exchange, String message) {
         exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
         exchange.getResponse().getHeaders().add("X-Auth-Error", message);
@@ -0,0 +1,89 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.InstanceLoadTracker;
+import com.biolab.gateway.util.InstanceLoadTracker.Call;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Reports every call to a load-balanced instance back to
+ * {@link InstanceLoadTracker}: the instance is counted as busy while the call
+ * is outstanding, and the time to the upstream response (or the failure) feeds
+ * its score.
+ *
+ * <p>Runs directly after {@link ReactiveLoadBalancerClientFilter}, which stores
+ * the chosen instance in the exchange. Connection errors and
+ * {@code 502}/{@code 503}/{@code 504} answers count as failures of the
+ * instance; other statuses, including {@code 500}, are application outcomes and
+ * only contribute their latency. A request whose hedge ({@link HedgingFilter})
+ * answered first only tells that the first instance was slower than that.
+ * Streamed transfers ({@link StreamingTransferFilter}) take as long as their
+ * body does and are not sampled.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.1.0
+ */
+@Component
+public class LoadBalancerFeedbackFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLoadTracker tracker;
+
+    public LoadBalancerFeedbackFilter(InstanceLoadTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (!tracker.isEnabled() || chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+        Optional<Call> started = tracker.start(chosen.getServer());
+        if (started.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        Call call = started.get();
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> complete(exchange, call, signal, System.nanoTime() - start));
+    }
+
+    /** Directly after the load balancer has chosen the instance. */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    private static void complete(ServerWebExchange exchange, Call call, SignalType signal, long elapsedNanos) {
+        boolean transfer = exchange.getAttribute(StreamingTransferFilter.TRANSFER_ATTR) != null;
+        if (signal == SignalType.CANCEL || Boolean.TRUE.equals(exchange.getAttribute(HedgingFilter.HEDGE_WON_ATTR))) {
+            if (transfer) call.onTransferred(); else call.onCancel(elapsedNanos);
+            return;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (signal == SignalType.ON_ERROR || (status != null && isInstanceFailure(status.value()))) {
+            call.onFailure();
+        } else if (transfer) {
+            call.onTransferred();
+        } else {
+            call.onSuccess(elapsedNanos);
+        }
+    }
+
+    private static boolean isInstanceFailure(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+}
@@ -0,0 +1,37 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.RequestTimeline;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks the end of the gateway filter chain and the start of the instance
+ * choice in the exchange's {@link RequestTimeline}; {@link UpstreamTimingFilter}
+ * marks the end of it.
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class LoadBalancerTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTimeline timeline = RequestTimeline.of(exchange);
+        if (timeline != null) {
+            timeline.loadBalancing();
+        }
+        return chain.filter(exchange);
+    }
+
+    /** Directly before the load balancer chooses the instance. */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,256 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.RequestCoalescer;
+import com.biolab.gateway.util.RequestCoalescer.Flight;
+import com.biolab.gateway.util.RequestCoalescer.Joined;
+import com.biolab.gateway.util.RequestCoalescer.SharedResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Collapses identical concurrent GETs on a route into one upstream call
+ * ("single flight"), using {@link RequestCoalescer}.
+ *
+ * <p>Applied in {@code GatewayRouteConfig} to the routes and path patterns
+ * that opt in, each with the {@link Scope} within which responses may be
+ * shared. {@link Scope#PUBLIC} paths must be ones whose response does not
+ * depend on the caller's organisation or identity — e.g. the public catalog
+ * reads, not {@code /api/services/supplier}.</p>
+ *
+ * <h3>Key</h3>
+ * <p>Route id, path, sorted query, the caller's authorization scope and the
+ * request headers responses vary by ({@code Accept}, {@code Accept-Encoding},
+ * {@code Accept-Language}, {@code Origin}). The scope is built from the
+ * {@code X-User-*} headers set by {@code JwtAuthenticationFilter} after it has
+ * stripped any client-supplied ones, so it cannot be spoofed:</p>
+ * <ul>
+ *   <li>{@link Scope#USER} — user id, organisation and roles</li>
+ *   <li>{@link Scope#ORG} — organisation and roles (requests without an
+ *       organisation fall back to {@code USER})</li>
+ *   <li>{@link Scope#PUBLIC} — roles only; anonymous requests share with each other</li>
+ * </ul>
+ *
+ * <h3>Guards</h3>
+ * <ul>
+ *   <li>Only plain GETs: conditional and {@code Range} requests are never coalesced.</li>
+ *   <li>Only a {@code 200} that did not come from the circuit-breaker fallback,
+ *       carries no {@code Set-Cookie}, no {@code Vary: *}, and fits
+ *       {@code app.coalescing.max-body-bytes} is shared. For scopes wider than
+ *       {@code USER} the downstream service can also refuse sharing with
+ *       {@code Cache-Control: private} or {@code no-store}.</li>
+ *   <li>Any other outcome abandons the flight; the waiting requests then make
+ *       their own upstream calls, exactly as without this filter.</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public class RequestCoalescingFilter implements GatewayFilter, Ordered {
+
+    /** How widely a route's responses may be shared. */
+    public enum Scope { USER, ORG, PUBLIC }
+
+    private static final List<String> VARY_HEADERS = List.of(
+            HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ORIGIN);
+
+    private static final List<String> UNCOALESCIBLE_REQUEST_HEADERS = List.of(
+            HttpHeaders.RANGE, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE,
+            HttpHeaders.IF_MATCH, HttpHeaders.IF_UNMODIFIED_SINCE);
+
+    /** Not replayed to followers; the follower's own response sets its length. */
+    private static final Set<String> NOT_REPLAYED = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(), HttpHeaders.SET_COOKIE.toLowerCase());
+
+    private final RequestCoalescer coalescer;
+    private final String routeId;
+    private final Scope scope;
+    private final List<PathPattern> paths;
+
+    /**
+     * @param coalescer the shared single-flight registry
+     * @param routeId   id of the route this instance is applied to
+     * @param scope     how widely responses of these paths may be shared
+     * @param paths     path patterns whose GETs may be coalesced; {@code /**} at the
+     *                  end matches a whole subtree
+     */
+    public RequestCoalescingFilter(RequestCoalescer coalescer, String routeId, Scope scope, List<String> paths) {
+        this.coalescer = coalescer;
+        this.routeId = routeId;
+        this.scope = scope;
+        this.paths = ResponseCacheFilter.parsePaths(paths);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String key = coalescer.isEnabled() ? coalescingKey(exchange.getRequest()) : null;
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+
+        Joined joined = coalescer.join(routeId, key);
+        Flight flight = joined.flight();
+        if (!joined.leader()) {
+            return coalescer.await(flight).flatMap(shared -> shared.isPresent()
+                    ? replay(exchange.getResponse(), shared.get())
+                    : chain.filter(exchange));
+        }
+        return chain.filter(exchange.mutate().response(new SharingResponse(exchange, flight)).build())
+                .doFinally(signal -> flight.abandon());    // no-op once the response was shared
+    }
+
+    /** After the response cache (-10), so cache hits are never coalesced; before the concurrency limit (-8). */
+    @Override
+    public int getOrder() { return -9; }
+
+    /**
+     * The coalescing key, or {@code null} if the request must not be coalesced.
+     */
+    String coalescingKey(ServerHttpRequest request) {
+        if (!HttpMethod.GET.equals(request.getMethod()) || !isCoalescedPath(request.getURI().getPath())) {
+            return null;
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (String header : UNCOALESCIBLE_REQUEST_HEADERS) {
+            if (headers.containsKey(header)) return null;
+        }
+        String authScope = authorizationScope(headers);
+        if (authScope == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(128)
+                .append(ResponseCacheFilter.cacheKey(routeId, request.getURI().getPath(), request.getURI().getRawQuery()))
+                .append('|').append(authScope);
+        for (String header : VARY_HEADERS) {
+            key.append('|').append(String.join(",", headers.getOrEmpty(header)));
+        }
+        return key.toString();
+    }
+
+    private String authorizationScope(HttpHeaders headers) {
+        String userId = headers.getFirst("X-User-Id");
+        String orgId = headers.getFirst("X-User-OrgId");
+        String roles = sortedRoles(headers.getFirst("X-User-Roles"));
+        boolean hasOrg = orgId != null && !orgId.isBlank();
+        return switch (scope) {
+            case PUBLIC -> "public:" + roles;
+            case ORG -> hasOrg ? "org:" + orgId + ":" + roles : userScope(userId, orgId, roles);
+            case USER -> userScope(userId, orgId, roles);
+        };
+    }
+
+    private static String userScope(String userId, String orgId, String roles) {
+        if (userId == null || userId.isBlank()) return null;     // anonymous: nothing to scope to
+        return "user:" + userId + ":" + (orgId != null ? orgId : "") + ":" + roles;
+    }
+
+    private static String sortedRoles(String roles) {
+        if (roles == null || roles.isBlank()) return "";
+        String[] parts = roles.split(",");
+        Arrays.sort(parts);
+        return String.join(",", parts);
+    }
+
+    boolean isCoalescedPath(String path) {
+        return ResponseCacheFilter.matchesAny(paths, path, PathPattern::matches);
+    }
+
+    private boolean isShareable(HttpStatusCode status, HttpHeaders headers, ServerWebExchange exchange) {
+        if (status == null || status.value() != HttpStatus.OK.value()
+                || exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")
+                || headers.getContentLength() > coalescer.maxBodyBytes()) {
+            return false;
+        }
+        if (scope == Scope.USER) return true;
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("private") || cacheControl.contains("no-store"));
+    }
+
+    private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!NOT_REPLAYED.contains(name.toLowerCase())) headers.put(name, new ArrayList<>(values));
+        });
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * Buffers the leader's response and, if it may be shared, publishes it to the
+     * followers with the headers as finally committed (including those added by
+     * later filters just before commit).
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final Flight flight;
+
+        SharingResponse(ServerWebExchange exchange, Flight flight) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (!isShareable(status, getHeaders(), exchange)) {
+                flight.abandon();
+                return getDelegate().writeWith(body);
+            }
+            return Flux.<DataBuffer>from(body).collectList().flatMap(buffers -> {
+                int total = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+                if (total > coalescer.maxBodyBytes()) {
+                    flight.abandon();
+                    return getDelegate().writeWith(Flux.fromIterable(buffers));
+                }
+                byte[] bytes = new byte[total];
+                int offset = 0;
+                for (DataBuffer buffer : buffers) {
+                    int n = buffer.readableByteCount();
+                    buffer.read(bytes, offset, n);
+                    offset += n;
+                    DataBufferUtils.release(buffer);
+                }
+                beforeCommit(() -> {
+                    HttpHeaders committed = new HttpHeaders();
+                    committed.putAll(getHeaders());
+                    flight.complete(new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(committed), bytes));
+                    return Mono.empty();
+                });
+                getHeaders().setContentLength(bytes.length);
+                return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            flight.abandon();     // streaming responses are never shared
+            return getDelegate().writeAndFlushWith(body);
+        }
+    }
+}
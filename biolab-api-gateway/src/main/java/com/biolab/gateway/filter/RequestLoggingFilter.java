@@ -1,19 +1,42 @@
 package com.biolab.gateway.filter;
 
+import com.biolab.gateway.util.FlightRecorder;
+import com.biolab.gateway.util.GatewayRequestMetrics;
+import com.biolab.gateway.util.RequestHeaderEdits;
+import com.biolab.gateway.util.RequestTimeline;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
 import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
 
 /**
- * Global filter that logs every request passing through the API Gateway.
+ * Global filter that traces, times and logs every request passing through
+ * the API Gateway.
  *
  * <p>Generates a unique correlation ID for each request and attaches it
  * to the downstream request headers. This enables end-to-end request
@@ -25,16 +48,53 @@ import java.util.UUID;
  *   <li><b>X-Request-Timestamp:</b> ISO-8601 timestamp of gateway receipt</li>
  * </ul>
  *
+ * <h3>Metrics</h3>
+ * <p>On completion the request is recorded in {@link GatewayRequestMetrics}
+ * per route: total latency, upstream time (measured by
+ * {@link UpstreamTimingFilter}), gateway filter-chain time, status class and
+ * response size.</p>
+ *
+ * <h3>Access log</h3>
+ * <p>One structured event per request on the {@code com.biolab.gateway.access}
+ * logger (fields become JSON properties under the Logstash encoder). Successful
+ * fast requests are sampled at {@code app.access-log.sample-rate}; server
+ * errors, failed/cancelled requests and requests slower than
+ * {@code app.access-log.slow-threshold-ms} are always logged.</p>
+ *
+ * <h3>Flight recorder</h3>
+ * <p>Starts the request's {@link RequestTimeline} and hands slow and failed
+ * requests, with their phase breakdown, to the {@link FlightRecorder}.</p>
+ *
  * @author BioLab Engineering Team
- * @version 1.0.0
+ * @version 2.1.0
  */
 @Component
 @Slf4j
 public class RequestLoggingFilter implements GlobalFilter, Ordered {
 
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("com.biolab.gateway.access");
+
+    private final GatewayRequestMetrics metrics;
+    private final FlightRecorder flightRecorder;
+
+    @Value("${app.access-log.enabled:true}")
+    private boolean accessLogEnabled = true;
+
+    /** Fraction (0.0–1.0) of successful, fast requests that are logged. */
+    @Value("${app.access-log.sample-rate:0.05}")
+    private double sampleRate = 0.05;
+
+    @Value("${app.access-log.slow-threshold-ms:1000}")
+    private long slowThresholdMs = 1000;
+
+    public RequestLoggingFilter(GatewayRequestMetrics metrics, FlightRecorder flightRecorder) {
+        this.metrics = metrics;
+        this.flightRecorder = flightRecorder;
+    }
+
     /**
-     * Logs the request method, path, and client IP, then generates
-     * a correlation ID and forwards it to the backend service.
+     * Generates a correlation ID, forwards it to the backend service, and
+     * records metrics and the access-log event once the response completes.
      *
      * @param exchange the current server exchange
      * @param chain    the gateway filter chain
@@ -42,36 +102,22 @@ public class RequestLoggingFilter implements GlobalFilter, Ordered {
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-        String correlationId = UUID.randomUUID().toString();
-        Instant requestTime = Instant.now();
-
-        // Log the incoming request
-        log.info("Gateway Request  | {} {} | IP: {} | Correlation: {}",
-                request.getMethod(),
-                request.getURI().getPath(),
-                request.getRemoteAddress() != null
-                        ? request.getRemoteAddress().getAddress().getHostAddress()
-                        : "unknown",
-                correlationId
-        );
-
-        // Enrich request with tracing headers
-        ServerHttpRequest enrichedRequest = request.mutate()
-                .header("X-Correlation-Id", correlationId)
-                .header("X-Request-Timestamp", requestTime.toString())
-                .build();
-
-        return chain.filter(exchange.mutate().request(enrichedRequest).build())
-                .then(Mono.fromRunnable(() -> {
-                    // Log the response after processing
-                    log.info("Gateway Response | {} {} | Status: {} | Correlation: {}",
-                            request.getMethod(),
-                            request.getURI().getPath(),
-                            exchange.getResponse().getStatusCode(),
-                            correlationId
-                    );
-                }));
+        long startNanos = System.nanoTime();
+        String correlationId = newCorrelationId();
+        if (flightRecorder.isEnabled()) {
+            RequestTimeline.start(exchange, startNanos);
+        }
+
+        // Tracing headers — applied together with the other header edits by HeaderEnrichmentFilter
+        RequestHeaderEdits.of(exchange)
+                .set("X-Correlation-Id", correlationId)
+                .set("X-Request-Timestamp", Instant.now().toString());
+
+        ByteCountingResponse response = new ByteCountingResponse(exchange.getResponse());
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> complete(exchange, response, correlationId, signal,
+                        System.nanoTime() - startNanos));
     }
 
     /**
@@ -84,4 +130,114 @@ public class RequestLoggingFilter implements GlobalFilter, Ordered {
     public int getOrder() {
         return -200;
     }
+
+    private void complete(ServerWebExchange exchange, ByteCountingResponse response,
+                          String correlationId, SignalType signal, long totalNanos) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        String method = exchange.getRequest().getMethod().name();
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        Integer status = statusCode != null ? statusCode.value() : null;
+        String statusClass = switch (signal) {
+            case CANCEL   -> "CANCELLED";
+            case ON_ERROR -> "5xx";     // the error handler sets the final status later
+            default       -> GatewayRequestMetrics.statusClass(status);
+        };
+        Long upstream = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR);
+        long upstreamNanos = upstream != null ? upstream : -1;
+
+        try {
+            metrics.record(routeId, method, statusClass, totalNanos, upstreamNanos, response.bytesWritten());
+        } catch (RuntimeException e) {
+            log.warn("Could not record request metrics: {}", e.getMessage());
+        }
+
+        boolean failed = signal != SignalType.ON_COMPLETE || (status != null && status >= 500);
+        RequestTimeline timeline = RequestTimeline.of(exchange);
+        if (timeline != null && flightRecorder.qualifies(totalNanos, failed)) {
+            flightRecorder.record(new FlightRecorder.Entry(Instant.now(), correlationId, method,
+                    exchange.getRequest().getURI().getPath(), routeId, instance(exchange),
+                    switch (signal) {
+                        case CANCEL   -> "CANCELLED";
+                        case ON_ERROR -> "ERROR";
+                        default       -> status != null ? status.toString() : statusClass;
+                    },
+                    totalNanos / 1_000 / 1_000.0, timeline.phases(totalNanos)));
+        }
+
+        if (!accessLogEnabled) return;
+        long durationMs = totalNanos / 1_000_000;
+        boolean alwaysLog = failed || durationMs >= slowThresholdMs;
+        if (!alwaysLog && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Object[] fields = {
+                kv("method", method),
+                kv("path", request.getURI().getPath()),
+                kv("route", routeId != null ? routeId : GatewayRequestMetrics.NO_ROUTE),
+                kv("status", status != null ? status : statusClass),
+                kv("durationMs", durationMs),
+                kv("upstreamMs", upstreamNanos >= 0 ? upstreamNanos / 1_000_000 : null),
+                kv("bytes", response.bytesWritten()),
+                kv("clientIp", request.getRemoteAddress() != null
+                        ? request.getRemoteAddress().getAddress().getHostAddress()
+                        : "unknown"),
+                kv("correlationId", correlationId),
+                kv("sampled", !alwaysLog)
+        };
+        if (failed) {
+            ACCESS_LOG.warn("Gateway access | {} {} | {} | {} | {} | upstream {} | {} | {} | {} | {}", fields);
+        } else {
+            ACCESS_LOG.info("Gateway access | {} {} | {} | {} | {} | upstream {} | {} | {} | {} | {}", fields);
+        }
+    }
+
+    /** {@code host:port} of the instance the load balancer chose, if any. */
+    private static String instance(ServerWebExchange exchange) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        return chosen != null && chosen.hasServer()
+                ? chosen.getServer().getHost() + ':' + chosen.getServer().getPort()
+                : null;
+    }
+
+    /**
+     * Random (version 4) UUID from {@link ThreadLocalRandom} — same format as
+     * {@link UUID#randomUUID()} but without contending on the shared
+     * {@code SecureRandom}; correlation IDs need uniqueness, not secrecy.
+     */
+    static String newCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+    /** Counts the response body bytes as they are written. */
+    private static final class ByteCountingResponse extends ServerHttpResponseDecorator {
+        private volatile long bytes;
+
+        ByteCountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::count));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(part -> Flux.from(part).doOnNext(this::count)));
+        }
+
+        private void count(DataBuffer buffer) {
+            bytes += buffer.readableByteCount();
+        }
+
+        long bytesWritten() {
+            return bytes;
+        }
+    }
 }
@@ -0,0 +1,329 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.ResponseCache;
+import com.biolab.gateway.util.ResponseCache.CachedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Per-route response cache for public, read-mostly GET endpoints, backed by
+ * the two-tier {@link ResponseCache}.
+ *
+ * <p>Applied in {@code GatewayRouteConfig} to the routes that opt in, with the
+ * path patterns whose responses do not depend on the caller (e.g.
+ * {@code /api/categories/**}, {@code /api/services},
+ * {@code /api/services/{id:<uuid>}}). The key carries no user or organisation,
+ * so per-user or per-organisation resources — {@code /api/service-requests},
+ * {@code /api/services/supplier}, {@code /api/services/stats} — must never
+ * match one of them.</p>
+ *
+ * <h3>GET</h3>
+ * <ul>
+ *   <li>Key: route id + path + query parameters in sorted order.</li>
+ *   <li>Fresh hit: answered from the cache without touching the circuit breaker
+ *       or the downstream service ({@code X-Cache: HIT}, {@code Age}). The
+ *       chain stops here, so the hit adds the {@link SecurityHeadersFilter}
+ *       headers itself and carries the same set as a miss.</li>
+ *   <li>Miss: the 200 response is stored if it carries no {@code Set-Cookie},
+ *       no {@code Cache-Control: private/no-store}, no {@code Content-Encoding}
+ *       and fits {@code app.response-cache.max-body-bytes} ({@code X-Cache: MISS}).
+ *       The downstream service has to mark these reads cacheable, since
+ *       every other {@code /api} response is sent with {@code no-store}.</li>
+ *   <li>Every cached or cacheable response carries an {@code ETag};
+ *       a matching {@code If-None-Match} gets {@code 304 Not Modified}.</li>
+ *   <li>{@code Cache-Control: no-cache} on the request skips the lookup and
+ *       refreshes the entry.</li>
+ *   <li>The key is exposed as {@link #CACHE_KEY_ATTR} so that the fallback
+ *       controller can serve the stale copy while the circuit breaker is open.</li>
+ * </ul>
+ *
+ * <h3>Invalidation</h3>
+ * <ul>
+ *   <li>A successful POST/PUT/PATCH/DELETE on or below a cached path (e.g.
+ *       {@code PATCH /api/services/{id}/toggle}) purges the route.</li>
+ *   <li>A change of the {@code X-Cache-Version} response header sent by the
+ *       downstream service purges the route. A freshly started replica adopts
+ *       the first version it sees; older entries then age out within the TTL.</li>
+ *   <li>{@code DELETE /actuator/responsecache} purges on demand, where the
+ *       endpoint's access has been raised from read-only.</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class ResponseCacheFilter implements GatewayFilter, Ordered {
+
+    /** Exchange attribute holding the cache key of a cacheable GET. */
+    public static final String CACHE_KEY_ATTR = ResponseCacheFilter.class.getName() + ".cacheKey";
+
+    /** Response header marking how the response was produced: HIT, MISS or STALE. */
+    public static final String X_CACHE = "X-Cache";
+
+    /** Response header by which the downstream service announces a new data version. */
+    public static final String X_CACHE_VERSION = "X-Cache-Version";
+
+    private final ResponseCache cache;
+    private final String routeId;
+    private final List<PathPattern> paths;
+    private final Duration ttl;
+
+    /** Last {@code X-Cache-Version} seen on this route; {@code Long.MIN_VALUE} until the first. */
+    private final AtomicLong knownVersion = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param cache   the shared response cache
+     * @param routeId id of the route this instance is applied to
+     * @param paths   path patterns whose GET responses may be cached; {@code /**}
+     *                at the end matches a whole subtree
+     * @param ttl     how long an entry stays fresh
+     */
+    public ResponseCacheFilter(ResponseCache cache, String routeId, List<String> paths, Duration ttl) {
+        this.cache = cache;
+        this.routeId = routeId;
+        this.paths = parsePaths(paths);
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        if (!cache.isEnabled() || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+            return chain.filter(exchange);
+        }
+        if (HttpMethod.GET.equals(method)) {
+            return isCachedPath(request.getURI().getPath()) ? handleGet(exchange, chain) : chain.filter(exchange);
+        }
+        if (!isBelowCachedPath(request.getURI().getPath())) {
+            return chain.filter(exchange);
+        }
+        // Mutation on a cached path: drop the route's entries once it succeeded
+        return chain.filter(exchange.mutate().response(new VersionTrackingResponse(exchange.getResponse())).build())
+                .doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        purgeRoute("successful " + method + " " + request.getURI().getPath());
+                    }
+                });
+    }
+
+    /** Runs after authentication (-100) and before the response writer (-1). */
+    @Override
+    public int getOrder() { return -10; }
+
+    // ── GET ───────────────────────────────────────────────────────────────
+
+    private Mono<Void> handleGet(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = cacheKey(routeId, request.getURI().getPath(), request.getURI().getRawQuery());
+        exchange.getAttributes().put(CACHE_KEY_ATTR, key);
+
+        String cacheControl = request.getHeaders().getCacheControl();
+        boolean revalidate = cacheControl != null && cacheControl.contains("no-cache");
+        Mono<CachedResponse> lookup = revalidate ? Mono.empty() : cache.get(key);
+
+        long now = System.currentTimeMillis();
+        return lookup.filter(entry -> entry.isFresh(now))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(hit -> hit.isPresent()
+                        ? serve(exchange, hit.get(), now)
+                        : chain.filter(exchange.mutate()
+                                .response(new CachingResponse(exchange, key))
+                                .build()));
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse entry, long now) {
+        // SecurityHeadersFilter (-2) is never reached on a hit
+        SecurityHeadersFilter.addOnCommit(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.set(HttpHeaders.AGE, Long.toString(entry.ageSeconds(now)));
+        headers.set(X_CACHE, "HIT");
+        if (entry.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, entry.contentType());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+
+    /** Whether GETs on {@code path} are cached. A trailing slash is ignored. */
+    boolean isCachedPath(String path) {
+        return matchesAny(paths, path, PathPattern::matches);
+    }
+
+    /** Whether a mutation on {@code path} can change a cached response: on or below a cached path. */
+    boolean isBelowCachedPath(String path) {
+        return matchesAny(paths, path, (pattern, container) -> pattern.matchStartOfPath(container) != null);
+    }
+
+    /** Parses configured paths, e.g. {@code /api/categories/**} or {@code /api/services/{id:<regex>}}. */
+    static List<PathPattern> parsePaths(List<String> paths) {
+        return paths.stream().map(String::trim).filter(p -> !p.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    static boolean matchesAny(List<PathPattern> patterns, String path,
+                              BiPredicate<PathPattern, PathContainer> test) {
+        if (patterns.isEmpty()) return false;
+        String normalized = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        PathContainer container = PathContainer.parsePath(normalized);
+        for (PathPattern pattern : patterns) {
+            if (test.test(pattern, container)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Normalised cache key: {@code <routeId>:<path>[?<sorted query>]}. A trailing
+     * slash is ignored and query parameters are sorted, so equivalent URLs share
+     * one entry.
+     */
+    static String cacheKey(String routeId, String path, String rawQuery) {
+        String normalizedPath = path.length() > 1 && path.endsWith("/")
+                ? path.substring(0, path.length() - 1) : path;
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return routeId + ":" + normalizedPath;
+        }
+        String[] params = rawQuery.split("&");
+        Arrays.sort(params);
+        return routeId + ":" + normalizedPath + "?" + String.join("&", params);
+    }
+
+    private void purgeRoute(String reason) {
+        log.info("Response cache: purging route {} ({})", routeId, reason);
+        cache.purge(routeId + ":").subscribe();
+    }
+
+    private void trackVersion(HttpHeaders headers) {
+        String value = headers.getFirst(X_CACHE_VERSION);
+        if (value == null) return;
+        long version;
+        try {
+            version = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        long previous = knownVersion.getAndSet(version);
+        if (previous != Long.MIN_VALUE && previous != version) {
+            purgeRoute("version " + previous + " -> " + version);
+        }
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                || headers.containsKey(X_CACHE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────
+    // Response decorators
+    // ─────────────────────────────────────────────────────────────────────
+
+    /** Watches {@code X-Cache-Version} on responses that are not cached. */
+    private class VersionTrackingResponse extends ServerHttpResponseDecorator {
+        VersionTrackingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            trackVersion(getHeaders());
+            return super.writeWith(body);
+        }
+    }
+
+    /** Buffers a cacheable 200 response, stores it and answers conditional requests. */
+    private class CachingResponse extends VersionTrackingResponse {
+        private final ServerWebExchange exchange;
+        private final String key;
+
+        CachingResponse(ServerWebExchange exchange, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            trackVersion(getHeaders());
+            HttpStatusCode status = getStatusCode();
+            long declaredLength = getHeaders().getContentLength();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null
+                    || !isStorable(getHeaders())
+                    || declaredLength > cache.maxBodyBytes()) {
+                return getDelegate().writeWith(body);
+            }
+
+            return Flux.<DataBuffer>from(body).collectList().flatMap(buffers -> {
+                int total = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+                if (total > cache.maxBodyBytes()) {
+                    return getDelegate().writeWith(Flux.fromIterable(buffers));
+                }
+                byte[] bytes = new byte[total];
+                int offset = 0;
+                for (DataBuffer buffer : buffers) {
+                    int n = buffer.readableByteCount();
+                    buffer.read(bytes, offset, n);
+                    offset += n;
+                    DataBufferUtils.release(buffer);
+                }
+
+                HttpHeaders headers = getHeaders();
+                CachedResponse entry = cache.put(key,
+                        headers.getFirst(HttpHeaders.CONTENT_TYPE), headers.getETag(), bytes, ttl);
+                headers.setETag(entry.etag());
+                headers.set(X_CACHE, "MISS");
+                if (entry.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    return getDelegate().setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
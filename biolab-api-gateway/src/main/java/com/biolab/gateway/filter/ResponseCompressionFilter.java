@@ -0,0 +1,125 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.ResponseCompressor;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Gzips routed responses for clients that accept it, as decided by
+ * {@link ResponseCompressor} (content type and size thresholds, adaptive
+ * level).
+ *
+ * <p>The decision is made when the body is written, from the downstream
+ * response headers. Left untouched: responses that already carry a
+ * {@code Content-Encoding}, {@code HEAD} requests and bodiless statuses,
+ * streamed transfers ({@link StreamingTransferFilter}), routes listed in
+ * {@code app.compression.excluded-routes}, and streaming media types such as
+ * server-sent events, which {@code NettyWriteResponseFilter} writes with
+ * {@code writeAndFlushWith}. Compressed responses lose their
+ * {@code Content-Length}, get {@code Vary: Accept-Encoding}, and a strong
+ * {@code ETag} becomes weak.</p>
+ *
+ * <p>Runs outside every filter that reads or rewrites the body — the BFF
+ * filter, which moves {@code refreshToken} out of the JSON into a cookie, the
+ * response cache and request coalescing — so they all see the plain body, and
+ * cached and shared bodies are stored uncompressed and encoded per client.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class ResponseCompressionFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = -210;
+
+    private final ResponseCompressor compressor;
+
+    @Value("${app.compression.excluded-routes:}")
+    private Set<String> excludedRoutes = Set.of();
+
+    public ResponseCompressionFilter(ResponseCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!compressor.isEnabled() || route == null || excludedRoutes.contains(route.getId())
+                || HttpMethod.HEAD.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        if (!compressor.acceptsGzip(exchange.getRequest().getHeaders())) {
+            compressor.skipped("not_accepted");
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange)).build());
+    }
+
+    /**
+     * Outermost body filter: before {@link BffCookieFilter} and request logging
+     * (-200). Its decorator must wrap theirs, or it would compress the body
+     * before they read it. Streamed transfers are recognised when the body is
+     * written, so running before {@link StreamingTransferFilter} (-20) is fine.
+     */
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+
+        CompressingResponse(ServerWebExchange exchange) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            String reason = skipReason();
+            if (reason != null) {
+                compressor.skipped(reason);
+                return super.writeWith(body);
+            }
+            HttpHeaders headers = getHeaders();
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, ResponseCompressor.GZIP);
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                headers.setETag("W/" + etag);
+            }
+            return super.writeWith(compressor.encode(Flux.from(body), bufferFactory()));
+        }
+
+        private String skipReason() {
+            if (exchange.getAttribute(StreamingTransferFilter.TRANSFER_ATTR) != null) {
+                return "transfer";
+            }
+            HttpStatusCode status = getStatusCode();
+            if (status != null && (status.is1xxInformational() || status.value() == 204 || status.value() == 304)) {
+                return "status";
+            }
+            return compressor.skipReason(getHeaders());
+        }
+    }
+}
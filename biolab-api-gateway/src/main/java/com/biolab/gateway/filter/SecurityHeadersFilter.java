@@ -35,6 +35,16 @@ public class SecurityHeadersFilter implements GlobalFilter, Ordered {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        addOnCommit(exchange);
+        return chain.filter(exchange);
+    }
+
+    /**
+     * Registers the security headers on the exchange's response. Also used by
+     * filters that answer before the chain reaches this one, such as a
+     * {@link ResponseCacheFilter} hit.
+     */
+    static void addOnCommit(ServerWebExchange exchange) {
         // Add security headers BEFORE the response is committed.
         // Using beforeCommit() ensures headers are set while they are still mutable.
         // Previously, .then(Mono.fromRunnable(...)) ran AFTER the response was already
@@ -62,8 +72,6 @@ public class SecurityHeadersFilter implements GlobalFilter, Ordered {
 
             return Mono.empty();
         });
-
-        return chain.filter(exchange);
     }
 
     /** Runs after JWT filter but before response is sent. */
@@ -0,0 +1,251 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.TransferMetrics;
+import com.biolab.gateway.util.TransferMetrics.Direction;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.TimeoutException;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming pass-through policy for routes that carry large bodies (document
+ * uploads and downloads).
+ *
+ * <p>Bodies are never aggregated by the gateway: the request body goes to
+ * {@code NettyRoutingFilter} and the response body to the client chunk by chunk,
+ * with the backpressure of both connections, so memory use does not depend on
+ * the file size. This filter only observes the chunks as they pass:</p>
+ * <ul>
+ *   <li><b>Maximum body size</b> — a {@code Content-Length} above
+ *       {@code maxBodySize} is rejected with {@code 413} before anything is
+ *       forwarded; a chunked body is cut off with {@code 413} (or a closed
+ *       connection once the upstream has answered) when it grows past it.</li>
+ *   <li><b>Idle timeout</b> — the transfer is aborted when no chunk has moved in
+ *       either direction, and no response has arrived, for {@code idleTimeout}.
+ *       Routes using this filter disable the whole-request
+ *       {@code response-timeout}, which would otherwise cut off any upload
+ *       longer than it; the idle timeout replaces it ({@code 504} before the
+ *       response has started).</li>
+ *   <li><b>Metrics</b> — bytes and throughput per direction, aborted and active
+ *       transfers ({@link TransferMetrics}).</li>
+ * </ul>
+ *
+ * <p>Runs before {@code NettyWriteResponseFilter} so that the response body
+ * is observed too, and before the concurrency limiter so that oversized
+ * uploads are rejected without taking a slot. Exchanges are marked with
+ * {@link #TRANSFER_ATTR}; the load-balancer feedback does not take their
+ * duration as a latency sample.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class StreamingTransferFilter implements GatewayFilter, Ordered {
+
+    /** Exchange attribute present on exchanges handled as streamed transfers. */
+    public static final String TRANSFER_ATTR = StreamingTransferFilter.class.getName() + ".transfer";
+
+    public static final int ORDER = -20;
+
+    private final TransferMetrics metrics;
+    private final String routeId;
+    private final long maxBodyBytes;
+    private final Duration idleTimeout;
+
+    /**
+     * @param metrics     the shared transfer meters
+     * @param routeId     id of the route this instance is applied to
+     * @param maxBodySize largest accepted request body
+     * @param idleTimeout longest pause without any transfer progress
+     */
+    public StreamingTransferFilter(TransferMetrics metrics, String routeId, DataSize maxBodySize,
+                                   Duration idleTimeout) {
+        this.metrics = metrics;
+        this.routeId = routeId;
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long contentLength = exchange.getRequest().getHeaders().getContentLength();
+        if (contentLength > maxBodyBytes) {
+            log.warn("Rejecting {} byte upload on route {} (limit {} bytes)", contentLength, routeId, maxBodyBytes);
+            metrics.aborted(routeId, "too_large");
+            return payloadTooLarge(exchange);
+        }
+
+        Transfer transfer = new Transfer();
+        exchange.getAttributes().put(TRANSFER_ATTR, Boolean.TRUE);
+        ServerWebExchange streaming = exchange.mutate()
+                .request(new ObservedRequest(exchange, transfer))
+                .response(new ObservedResponse(exchange.getResponse(), transfer))
+                .build();
+        AtomicInteger active = metrics.started(routeId);
+
+        return chain.filter(streaming)
+                .or(transfer.watchdog())
+                .onErrorResume(error -> abort(exchange, transfer, error))
+                .doOnTerminate(() -> complete(active, transfer, false))
+                .doOnCancel(() -> complete(active, transfer, true));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Mono<Void> abort(ServerWebExchange exchange, Transfer transfer, Throwable error) {
+        String reason = transfer.abortReason.get();
+        if (reason == null) {
+            transfer.abortReason.compareAndSet(null, "error");
+            return Mono.error(error);
+        }
+        log.warn("Transfer on route {} aborted ({}) after {} bytes up, {} bytes down: {} {}", routeId, reason,
+                transfer.up.bytes, transfer.down.bytes,
+                exchange.getRequest().getMethod(), exchange.getRequest().getURI().getPath());
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(error);       // closes the client connection mid-body
+        }
+        if ("too_large".equals(reason)) {
+            return payloadTooLarge(exchange);
+        }
+        exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+        return exchange.getResponse().setComplete();
+    }
+
+    private void complete(AtomicInteger active, Transfer transfer, boolean cancelled) {
+        active.decrementAndGet();
+        String reason = transfer.abortReason.get();
+        if (reason == null && cancelled) reason = "cancelled";
+        if (reason != null) {
+            metrics.aborted(routeId, reason);
+            return;
+        }
+        if (transfer.up.bytes > 0) {
+            metrics.record(routeId, Direction.UPLOAD, transfer.up.bytes, transfer.up.durationNanos());
+        }
+        if (transfer.down.bytes > 0) {
+            metrics.record(routeId, Direction.DOWNLOAD, transfer.down.bytes, transfer.down.durationNanos());
+        }
+    }
+
+    private Mono<Void> payloadTooLarge(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+        exchange.getResponse().getHeaders().set("X-Max-Body-Bytes", Long.toString(maxBodyBytes));
+        return exchange.getResponse().setComplete();
+    }
+
+    /** Progress of one direction. Chunks of one direction arrive serially. */
+    private static final class Progress {
+        volatile long bytes;
+        private long firstNanos;
+        private long lastNanos;
+
+        void add(DataBuffer buffer, long now) {
+            if (bytes == 0) firstNanos = now;
+            lastNanos = now;
+            bytes += buffer.readableByteCount();
+        }
+
+        long durationNanos() {
+            return lastNanos - firstNanos;
+        }
+    }
+
+    /** State of one streamed exchange. */
+    private final class Transfer {
+        final Progress up = new Progress();
+        final Progress down = new Progress();
+        final AtomicReference<String> abortReason = new AtomicReference<>();
+        private volatile long lastActivityNanos = System.nanoTime();
+
+        void touch(long now) {
+            lastActivityNanos = now;
+        }
+
+        /** Errors once nothing has moved for the idle timeout; never completes otherwise. */
+        Mono<Void> watchdog() {
+            long timeoutNanos = idleTimeout.toNanos();
+            Duration checkEvery = Duration.ofNanos(Math.max(timeoutNanos / 4, 10_000_000));
+            return Flux.interval(checkEvery)
+                    .filter(tick -> System.nanoTime() - lastActivityNanos >= timeoutNanos)
+                    .next()
+                    .then(Mono.error(() -> {
+                        abortReason.compareAndSet(null, "idle_timeout");
+                        return new TimeoutException(
+                                "No transfer progress for " + idleTimeout.toMillis() + " ms");
+                    }));
+        }
+    }
+
+    /** Counts request body chunks and enforces the maximum body size. */
+    private final class ObservedRequest extends ServerHttpRequestDecorator {
+        private final Transfer transfer;
+
+        ObservedRequest(ServerWebExchange exchange, Transfer transfer) {
+            super(exchange.getRequest());
+            this.transfer = transfer;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().handle((buffer, sink) -> {
+                long now = System.nanoTime();
+                transfer.touch(now);
+                transfer.up.add(buffer, now);
+                if (transfer.up.bytes > maxBodyBytes) {
+                    DataBufferUtils.release(buffer);
+                    transfer.abortReason.compareAndSet(null, "too_large");
+                    sink.error(new IllegalStateException("Request body exceeds " + maxBodyBytes + " bytes"));
+                } else {
+                    sink.next(buffer);
+                }
+            });
+        }
+    }
+
+    /** Counts response body chunks. */
+    private static final class ObservedResponse extends ServerHttpResponseDecorator {
+        private final Transfer transfer;
+
+        ObservedResponse(ServerHttpResponse delegate, Transfer transfer) {
+            super(delegate);
+            this.transfer = transfer;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            transfer.touch(System.nanoTime());      // response headers arrived
+            return super.writeWith(Flux.from(body).doOnNext(this::observe));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            transfer.touch(System.nanoTime());
+            return super.writeAndFlushWith(Flux.from(body).map(part -> Flux.from(part).doOnNext(this::observe)));
+        }
+
+        private void observe(DataBuffer buffer) {
+            long now = System.nanoTime();
+            transfer.touch(now);
+            transfer.down.add(buffer, now);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.TrafficMirror;
+import com.biolab.gateway.util.TrafficMirror.Mirrored;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Per-route traffic mirroring (shadow mode): a sampled share of the route's
+ * requests is also sent to a shadow service through {@link TrafficMirror},
+ * whose responses are discarded.
+ *
+ * <p>Requests without a body are copied as soon as they reach this filter.
+ * Requests with a body (only for methods explicitly allowed per route) are
+ * copied once the primary has read the body, from the chunks it read — the
+ * body is never buffered ahead of the primary. The primary response is
+ * neither delayed nor changed; its latency and status are recorded next to
+ * the shadow's.</p>
+ *
+ * <p>Runs after the identity headers are applied and after the response
+ * cache, coalescing and the concurrency limiter, so the shadow receives the
+ * requests that actually reach the primary service, with the same headers.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public class TrafficMirrorFilter implements GatewayFilter, Ordered {
+
+    public static final int ORDER = 0;
+
+    private final TrafficMirror mirror;
+    private final String routeId;
+
+    /**
+     * @param mirror  the shared shadow client
+     * @param routeId id of the route this instance is applied to; mirrored only
+     *                if {@code app.mirroring.routes.<routeId>} is configured
+     */
+    public TrafficMirrorFilter(TrafficMirror mirror, String routeId) {
+        this.mirror = mirror;
+        this.routeId = routeId;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Mirrored mirrored = mirror.sample(routeId, request.getMethod());
+        if (mirrored == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerWebExchange primary = exchange;
+        if (hasBody(request.getHeaders())) {
+            primary = exchange.mutate().request(new TeeRequest(request, mirrored)).build();
+        } else {
+            mirrored.send(request.getMethod(), request.getURI(), request.getHeaders(), null);
+        }
+        return chain.filter(primary)
+                .doFinally(signal -> {
+                    mirrored.abandon(null);         // no-op once the copy was sent
+                    if (signal != SignalType.CANCEL) {
+                        mirrored.primaryCompleted(exchange.getResponse().getStatusCode());
+                    }
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static boolean hasBody(HttpHeaders headers) {
+        return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    /** Copies the body chunks the primary reads; sends the mirror when the body is complete. */
+    private class TeeRequest extends ServerHttpRequestDecorator {
+        private final Mirrored mirrored;
+
+        TeeRequest(ServerHttpRequest delegate, Mirrored mirrored) {
+            super(delegate);
+            this.mirrored = mirrored;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] tooLarge = {false};
+            return super.getBody()
+                    .doOnNext(buffer -> {
+                        if (tooLarge[0]) return;
+                        if (copy.size() + buffer.readableByteCount() > mirror.maxBodyBytes()) {
+                            tooLarge[0] = true;
+                            mirrored.abandon("body_too_large");
+                            return;
+                        }
+                        int length = buffer.readableByteCount();
+                        byte[] bytes = new byte[length];        // the primary's read position is unchanged
+                        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+                        copy.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (!tooLarge[0]) {
+                            mirrored.send(getMethod(), getURI(), getHeaders(), copy.toByteArray());
+                        }
+                    });
+        }
+    }
+}
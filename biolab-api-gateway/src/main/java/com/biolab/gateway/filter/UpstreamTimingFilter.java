@@ -0,0 +1,71 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.RequestTimeline;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+
+/**
+ * Measures how long the downstream service takes to answer.
+ *
+ * <p>Runs immediately before {@link NettyRoutingFilter}, whose {@code Mono}
+ * completes once the downstream response headers have arrived. The elapsed
+ * time is stored in the {@link #UPSTREAM_NANOS_ATTR} exchange attribute and
+ * picked up by {@link RequestLoggingFilter}, which reports the rest of the
+ * request time as gateway filter-chain time.</p>
+ *
+ * <p>Only {@code http}/{@code https} requests are timed — forwards to the local
+ * fallback controller have no upstream. Requests already routed by
+ * {@link HedgingFilter} carry the winning attempt's time instead.</p>
+ *
+ * <p>For the flight recorder it also marks the routing start and the
+ * response headers in the exchange's {@link RequestTimeline}, and passes the
+ * timeline to the Netty client in the Reactor context, where the connection
+ * acquisition is marked ({@code FlightRecorderConfig}).</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.1.0
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    /** Exchange attribute holding the upstream time in nanoseconds ({@code Long}). */
+    public static final String UPSTREAM_NANOS_ATTR = UpstreamTimingFilter.class.getName() + ".upstreamNanos";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        String scheme = url != null ? url.getScheme() : null;
+        if ((!"http".equals(scheme) && !"https".equals(scheme)) || isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        RequestTimeline timeline = RequestTimeline.of(exchange);
+        if (timeline == null) {
+            return chain.filter(exchange)
+                    .doFinally(signal -> exchange.getAttributes()
+                            .put(UPSTREAM_NANOS_ATTR, System.nanoTime() - start));
+        }
+        timeline.routed(start);
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    long end = System.nanoTime();
+                    exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, end - start);
+                    timeline.responded(end);
+                })
+                .contextWrite(context -> context.put(RequestTimeline.ATTR, timeline));
+    }
+
+    /** Directly before the routing filter, after load balancing. */
+    @Override
+    public int getOrder() { return NettyRoutingFilter.ORDER - 1; }
+}
@@ -0,0 +1,198 @@
+package com.biolab.gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-route adaptive concurrency limits, so a downstream service that is slow
+ * but not failing cannot absorb an unbounded amount of gateway work.
+ *
+ * <h3>Algorithm (latency gradient with multiplicative decrease)</h3>
+ * <p>For each route two exponentially weighted averages of upstream latency
+ * are kept: a short one (last ~{@code short-window} samples) and a long one
+ * (~{@code long-window} samples) that stands for the service's healthy
+ * latency. After every successful response:</p>
+ * <pre>
+ *   gradient = clamp(tolerance × longRtt / shortRtt, 0.5, 1.0)
+ *   target   = limit × gradient + √limit          // √limit = queue allowance
+ *   limit    = limit × (1 − smoothing) + target × smoothing
+ * </pre>
+ * <p>While latency stays near its long-term level the limit creeps up by
+ * about √limit; when latency rises the gradient drops below 1 and the limit
+ * shrinks in proportion. A 5xx or failed upstream call multiplies the limit by
+ * {@code backoff-ratio} (AIMD). The limit only grows while at least half of it
+ * is in use. A permanently slower service is re-learned as the long average
+ * follows it; a permanently faster one (long average over 2× the short one)
+ * additionally decays the long average so the limit can grow again.
+ * Limits are clamped to {@code [min-limit, max-limit]}.</p>
+ *
+ * <h3>Metrics (tag {@code route})</h3>
+ * <ul>
+ *   <li>{@code biolab.gateway.concurrency.limit} — current limit</li>
+ *   <li>{@code biolab.gateway.concurrency.inflight} — requests in flight</li>
+ *   <li>{@code biolab.gateway.concurrency.rejected} — requests shed</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final MeterRegistry registry;
+    private final Map<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    @Value("${app.concurrency-limit.initial-limit:50}")
+    private int initialLimit = 50;
+
+    @Value("${app.concurrency-limit.min-limit:10}")
+    private int minLimit = 10;
+
+    @Value("${app.concurrency-limit.max-limit:500}")
+    private int maxLimit = 500;
+
+    /** How much slower than its long-term average a service may get before the limit shrinks. */
+    @Value("${app.concurrency-limit.tolerance:1.5}")
+    private double tolerance = 1.5;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing = 0.2;
+
+    @Value("${app.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio = 0.9;
+
+    @Value("${app.concurrency-limit.short-window:10}")
+    private int shortWindow = 10;
+
+    @Value("${app.concurrency-limit.long-window:600}")
+    private int longWindow = 600;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Takes a slot for a request on {@code routeId}.
+     *
+     * @param routeId the route id
+     * @return the permit to release when the request completes, or empty if the
+     *         route is at its limit and the request must be shed
+     */
+    public Optional<Permit> tryAcquire(String routeId) {
+        RouteLimit limit = limits.computeIfAbsent(routeId, RouteLimit::new);
+        if (!limit.tryAcquire()) {
+            limit.rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new Permit(limit));
+    }
+
+    /** Current limit of a route, or the initial limit if it has not been used yet. */
+    public int currentLimit(String routeId) {
+        RouteLimit limit = limits.get(routeId);
+        return limit != null ? limit.intLimit() : initialLimit;
+    }
+
+    /** Requests currently in flight on a route. */
+    public int inFlight(String routeId) {
+        RouteLimit limit = limits.get(routeId);
+        return limit != null ? limit.inFlight.get() : 0;
+    }
+
+    /**
+     * A held concurrency slot. Exactly one of the release methods takes effect.
+     */
+    public static final class Permit {
+        private final RouteLimit limit;
+        private final AtomicInteger released = new AtomicInteger();
+
+        private Permit(RouteLimit limit) {
+            this.limit = limit;
+        }
+
+        /** The upstream answered normally after {@code rttNanos}. */
+        public void onSuccess(long rttNanos) {
+            if (released.compareAndSet(0, 1)) limit.onSample(rttNanos, false);
+        }
+
+        /** The upstream failed or answered 5xx — the limit backs off. */
+        public void onDropped() {
+            if (released.compareAndSet(0, 1)) limit.onSample(-1, true);
+        }
+
+        /** The request ended without a usable sample (client cancel, no upstream call). */
+        public void onIgnore() {
+            if (released.compareAndSet(0, 1)) limit.inFlight.decrementAndGet();
+        }
+    }
+
+    private final class RouteLimit {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final Counter rejected;
+
+        private volatile double limit = initialLimit;
+        private double shortRtt;
+        private double longRtt;
+
+        RouteLimit(String routeId) {
+            Gauge.builder("biolab.gateway.concurrency.limit", this, RouteLimit::intLimit)
+                    .description("Adaptive concurrency limit")
+                    .tag("route", routeId)
+                    .register(registry);
+            Gauge.builder("biolab.gateway.concurrency.inflight", inFlight, AtomicInteger::get)
+                    .description("Requests in flight to the downstream service")
+                    .tag("route", routeId)
+                    .register(registry);
+            rejected = Counter.builder("biolab.gateway.concurrency.rejected")
+                    .description("Requests shed because the route was at its concurrency limit")
+                    .tag("route", routeId)
+                    .register(registry);
+        }
+
+        int intLimit() {
+            return (int) limit;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= (int) limit) return false;
+                if (inFlight.compareAndSet(current, current + 1)) return true;
+            }
+        }
+
+        synchronized void onSample(long rttNanos, boolean dropped) {
+            int inFlightBefore = inFlight.getAndDecrement();
+            double current = limit;
+            double next;
+            if (dropped) {
+                next = current * backoffRatio;
+            } else {
+                double rtt = Math.max(1, rttNanos);
+                if (longRtt == 0) {
+                    shortRtt = longRtt = rtt;
+                }
+                shortRtt += (rtt - shortRtt) * (2.0 / (shortWindow + 1));
+                longRtt += (rtt - longRtt) * (2.0 / (longWindow + 1));
+                if (longRtt / shortRtt > 2) {
+                    longRtt *= 0.95;   // service got permanently faster
+                }
+                if (inFlightBefore < current / 2) {
+                    return;            // app-limited: no evidence the limit is too low
+                }
+                double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+                double target = current * gradient + Math.sqrt(current);
+                next = current * (1 - smoothing) + target * smoothing;
+            }
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        }
+    }
+}
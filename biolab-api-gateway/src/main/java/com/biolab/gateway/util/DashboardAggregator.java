@@ -0,0 +1,217 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.dto.DashboardResponse;
+import com.biolab.gateway.dto.DashboardSection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the buyer/supplier dashboard from the downstream stats endpoints in
+ * one parallel fan-out, so a client makes one round trip instead of five.
+ *
+ * <h3>Sections</h3>
+ * <pre>
+ *   projects       /api/projects/stats              all roles
+ *   invoices       /api/invoices/stats/supplier     SUPPLIER
+ *                  /api/invoices/stats/buyer        BUYER (if not SUPPLIER)
+ *   catalog        /api/services/stats              SUPPLIER
+ *   notifications  /api/notifications/unread-count  all roles
+ *   conversations  /api/conversations               all roles
+ * </pre>
+ * <p>Paths are the ones the gateway routes forward (overridable under
+ * {@code app.dashboard.paths.*}); calls go straight to a load-balanced
+ * instance of the owning service with the caller's identity headers, as the
+ * route would have sent them.</p>
+ *
+ * <h3>Degradation</h3>
+ * <p>Every call has its own {@code app.dashboard.section-timeout-ms}. A call
+ * that times out, fails or answers with a non-2xx status yields a
+ * {@code DEGRADED} section; the other sections are returned regardless.</p>
+ *
+ * <h3>Metrics</h3>
+ * <p>{@code biolab.gateway.dashboard.section} — call latency per
+ * {@code section} and {@code outcome} ({@code ok}, {@code timeout},
+ * {@code http_error}, {@code error}).</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class DashboardAggregator {
+
+    /** Request headers copied to every downstream call. */
+    static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT_LANGUAGE,
+            "X-User-Id", "X-User-Email", "X-User-Roles", "X-User-OrgId",
+            "X-Gateway-Token", "X-Correlation-Id", "X-Request-Timestamp");
+
+    /**
+     * One downstream call of the dashboard.
+     *
+     * @param roles roles allowed to see the section; empty means everyone
+     */
+    record Section(String name, String serviceId, String path, Set<String> roles) {
+        boolean visibleTo(Set<String> userRoles) {
+            return roles.isEmpty() || roles.stream().anyMatch(userRoles::contains);
+        }
+    }
+
+    private final WebClient webClient;
+    private final MeterRegistry registry;
+
+    @Value("${app.dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs = 2000;
+
+    @Value("${app.dashboard.paths.projects:/api/projects/stats}")
+    private String projectsPath = "/api/projects/stats";
+
+    @Value("${app.dashboard.paths.supplier-invoices:/api/invoices/stats/supplier}")
+    private String supplierInvoicesPath = "/api/invoices/stats/supplier";
+
+    @Value("${app.dashboard.paths.buyer-invoices:/api/invoices/stats/buyer}")
+    private String buyerInvoicesPath = "/api/invoices/stats/buyer";
+
+    @Value("${app.dashboard.paths.catalog:/api/services/stats}")
+    private String catalogPath = "/api/services/stats";
+
+    @Value("${app.dashboard.paths.notifications:/api/notifications/unread-count}")
+    private String notificationsPath = "/api/notifications/unread-count";
+
+    @Value("${app.dashboard.paths.conversations:/api/conversations}")
+    private String conversationsPath = "/api/conversations";
+
+    public DashboardAggregator(WebClient.Builder webClientBuilder,
+                               ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancer,
+                               MeterRegistry registry) {
+        loadBalancer.ifAvailable(webClientBuilder::filter);
+        this.webClient = webClientBuilder.build();
+        this.registry = registry;
+    }
+
+    /**
+     * Calls all sections visible to the user in parallel.
+     *
+     * @param requestHeaders headers of the authenticated dashboard request
+     * @return the composite document; never fails because of a section
+     */
+    public Mono<DashboardResponse> aggregate(HttpHeaders requestHeaders) {
+        Set<String> roles = roles(requestHeaders.getFirst("X-User-Roles"));
+        List<Section> visible = sectionsFor(roles);
+        return Flux.fromIterable(visible)
+                .flatMapSequential(section -> fetch(section, requestHeaders), visible.size())
+                .collectList()
+                .map(results -> {
+                    Map<String, DashboardSection> sections = new LinkedHashMap<>();
+                    for (int i = 0; i < visible.size(); i++) {
+                        sections.put(visible.get(i).name(), results.get(i));
+                    }
+                    return DashboardResponse.builder()
+                            .sections(sections)
+                            .degraded(results.stream().anyMatch(s -> DashboardSection.DEGRADED.equals(s.getStatus())))
+                            .build();
+                });
+    }
+
+    /** The sections a user with {@code roles} sees, one per name, in display order. */
+    List<Section> sectionsFor(Set<String> roles) {
+        Set<String> names = new HashSet<>();
+        return sections().stream()
+                .filter(section -> section.visibleTo(roles) && names.add(section.name()))
+                .toList();
+    }
+
+    private List<Section> sections() {
+        return List.of(
+                new Section("projects", "BIOLAB-PROJECT-SERVICE", projectsPath, Set.of()),
+                new Section("invoices", "BIOLAB-INVOICE-SERVICE", supplierInvoicesPath, Set.of("SUPPLIER")),
+                new Section("invoices", "BIOLAB-INVOICE-SERVICE", buyerInvoicesPath, Set.of("BUYER")),
+                new Section("catalog", "BIOLAB-CATALOG-SERVICE", catalogPath, Set.of("SUPPLIER")),
+                new Section("notifications", "BIOLAB-NOTIFICATION-SERVICE", notificationsPath, Set.of()),
+                new Section("conversations", "BIOLAB-MESSAGING-SERVICE", conversationsPath, Set.of()));
+    }
+
+    private Mono<DashboardSection> fetch(Section section, HttpHeaders requestHeaders) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri("http://" + section.serviceId() + section.path())
+                    .headers(headers -> FORWARDED_HEADERS.forEach(name -> {
+                        List<String> values = requestHeaders.get(name);
+                        if (values != null) headers.put(name, values);
+                    }))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .defaultIfEmpty(NullNode.getInstance())
+                    .timeout(Duration.ofMillis(sectionTimeoutMs))
+                    .map(body -> section(section, start, "ok", DashboardSection.builder()
+                            .status(DashboardSection.OK)
+                            .data(body)))
+                    .onErrorResume(e -> Mono.just(degraded(section, start, e)));
+        });
+    }
+
+    private DashboardSection degraded(Section section, long start, Throwable error) {
+        String outcome;
+        String reason;
+        if (error instanceof TimeoutException) {
+            outcome = "timeout";
+            reason = "timeout";
+        } else if (error instanceof WebClientResponseException response) {
+            outcome = "http_error";
+            reason = "HTTP " + response.getStatusCode().value();
+        } else {
+            outcome = "error";
+            reason = "unavailable";
+        }
+        log.warn("Dashboard section '{}' degraded: {} ({})", section.name(), reason, error.toString());
+        return section(section, start, outcome, DashboardSection.builder()
+                .status(DashboardSection.DEGRADED)
+                .error(reason));
+    }
+
+    private DashboardSection section(Section section, long start, String outcome,
+                                     DashboardSection.DashboardSectionBuilder builder) {
+        long nanos = System.nanoTime() - start;
+        Timer.builder("biolab.gateway.dashboard.section")
+                .description("Dashboard fan-out calls")
+                .tag("section", section.name())
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        return builder.latencyMs(nanos / 1_000_000).build();
+    }
+
+    /** Roles from the {@code X-User-Roles} header, without any {@code ROLE_} prefix. */
+    static Set<String> roles(String header) {
+        if (header == null || header.isBlank()) return Set.of();
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .map(role -> role.startsWith("ROLE_") ? role.substring(5) : role)
+                .filter(role -> !role.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
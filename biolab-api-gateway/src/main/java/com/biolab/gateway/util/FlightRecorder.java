@@ -0,0 +1,109 @@
+package com.biolab.gateway.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Flight recorder for slow and failed exchanges: keeps the last
+ * {@code app.flight-recorder.capacity} of them, each with its
+ * {@link RequestTimeline.Phases} breakdown and correlation ID, for
+ * {@code /actuator/flightrecorder}.
+ *
+ * <p>Recorded are requests slower than
+ * {@code app.flight-recorder.slow-threshold-ms}, {@code 5xx} answers, errors
+ * and cancellations. Writers claim a slot with one atomic increment and
+ * overwrite the oldest entry; nothing is locked and fast requests never reach
+ * the buffer. Reads are a best-effort snapshot while writers keep going.</p>
+ *
+ * <p>Entries hold the path without the query string, which may carry
+ * personal data.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class FlightRecorder {
+
+    /**
+     * One recorded exchange.
+     *
+     * @param status HTTP status, or {@code ERROR} / {@code CANCELLED}
+     */
+    public record Entry(Instant time,
+                        String correlationId,
+                        String method,
+                        String path,
+                        String route,
+                        String instance,
+                        String status,
+                        double durationMs,
+                        RequestTimeline.Phases phases) { }
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong written = new AtomicLong();
+
+    @Value("${app.flight-recorder.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.flight-recorder.slow-threshold-ms:1000}")
+    private long slowThresholdMs = 1000;
+
+    public FlightRecorder(@Value("${app.flight-recorder.capacity:256}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("app.flight-recorder.capacity must be positive: " + capacity);
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long slowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    /** @return whether an exchange that took {@code totalNanos} is kept */
+    public boolean qualifies(long totalNanos, boolean failed) {
+        return enabled && (failed || totalNanos >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMs));
+    }
+
+    public void record(Entry entry) {
+        long sequence = written.getAndIncrement();
+        ring.set((int) (sequence % ring.length()), entry);
+    }
+
+    public int capacity() {
+        return ring.length();
+    }
+
+    /** Exchanges recorded since startup, including the overwritten ones. */
+    public long recorded() {
+        return written.get();
+    }
+
+    /**
+     * @param correlationId only entries with this correlation ID, or
+     *                      {@code null} for all
+     * @return the retained entries, newest first
+     */
+    public List<Entry> snapshot(String correlationId) {
+        long end = written.get();
+        long start = Math.max(0, end - ring.length());
+        List<Entry> entries = new ArrayList<>();
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            Entry entry = ring.get((int) (sequence % ring.length()));
+            if (entry != null && (correlationId == null || correlationId.equals(entry.correlationId()))) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
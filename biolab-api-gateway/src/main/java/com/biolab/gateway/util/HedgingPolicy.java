@@ -0,0 +1,229 @@
+package com.biolab.gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When and where {@code HedgingFilter} sends a second attempt of an idempotent
+ * GET, and how often it may.
+ *
+ * <h3>Delay</h3>
+ * <p>Per route, the {@code percentile} (default p95) of the last
+ * {@code window-size} upstream latencies, recomputed every 50 samples and
+ * clamped to {@code [min-delay-ms, max-delay-ms]}. Routes are not hedged until
+ * {@code min-samples} latencies have been seen. Only first attempts are sampled
+ * (a first attempt that lost to its hedge is sampled with the time it had
+ * taken so far), so hedging does not drag its own threshold down.</p>
+ *
+ * <h3>Budget</h3>
+ * <p>Every request deposits {@code budget-percent}/100 of a token into its
+ * route's bucket (at most {@code budget-burst} tokens); a hedge costs one
+ * token. Hedges can therefore add at most {@code budget-percent} extra
+ * upstream load — during a general slowdown, when every request crosses the
+ * threshold, hedging switches itself off instead of doubling the load.</p>
+ *
+ * <h3>Instance</h3>
+ * <p>The hedge goes to the instance of the same service with the lowest
+ * {@link InstanceLoadTracker} score other than the one already tried, skipping
+ * ejected instances. Single-instance services are not hedged.</p>
+ *
+ * <h3>Metrics (tag {@code route})</h3>
+ * <ul>
+ *   <li>{@code biolab.gateway.hedging.requests} (tag {@code outcome}):
+ *       {@code none} (answered before the delay), {@code primary} / {@code hedge}
+ *       (hedge sent; which attempt won) and {@code denied} (delay passed but no
+ *       budget or no other instance). Hedge rate = (primary + hedge) / total,
+ *       hedge win rate = hedge / (primary + hedge).</li>
+ *   <li>{@code biolab.gateway.hedging.delay} — current hedge delay in ms</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class HedgingPolicy {
+
+    /** How a hedge-eligible request ended. */
+    public enum Outcome { NONE, PRIMARY, HEDGE, DENIED }
+
+    private static final int RECOMPUTE_EVERY = 50;
+
+    private final MeterRegistry registry;
+    private final LoadBalancerClientFactory clientFactory;
+    private final InstanceLoadTracker tracker;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    @Value("${app.hedging.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.hedging.percentile:0.95}")
+    private double percentile = 0.95;
+
+    @Value("${app.hedging.window-size:1000}")
+    private int windowSize = 1000;
+
+    @Value("${app.hedging.min-samples:100}")
+    private int minSamples = 100;
+
+    @Value("${app.hedging.min-delay-ms:10}")
+    private long minDelayMs = 10;
+
+    @Value("${app.hedging.max-delay-ms:2000}")
+    private long maxDelayMs = 2000;
+
+    @Value("${app.hedging.budget-percent:10}")
+    private double budgetPercent = 10;
+
+    @Value("${app.hedging.budget-burst:10}")
+    private double budgetBurst = 10;
+
+    public HedgingPolicy(MeterRegistry registry, LoadBalancerClientFactory clientFactory,
+                         InstanceLoadTracker tracker) {
+        this.registry = registry;
+        this.clientFactory = clientFactory;
+        this.tracker = tracker;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a hedge-eligible request on {@code routeId}: deposits its share of
+     * the hedge budget and returns the current hedge delay.
+     *
+     * @return the delay in nanoseconds, or {@code -1} if the route has not
+     *         seen enough traffic to be hedged yet
+     */
+    public long begin(String routeId) {
+        RouteStats stats = stats(routeId);
+        stats.deposit();
+        return stats.delayNanos;
+    }
+
+    /** Records the upstream latency of a first attempt. */
+    public void recordLatency(String routeId, long nanos) {
+        stats(routeId).record(nanos);
+    }
+
+    /** Records how a hedge-eligible request ended. */
+    public void recordOutcome(String routeId, Outcome outcome) {
+        stats(routeId).outcomes.get(outcome).increment();
+    }
+
+    /** Takes one hedge from the route's budget. */
+    public boolean tryAcquireHedge(String routeId) {
+        return stats(routeId).withdraw();
+    }
+
+    /** Current hedge delay of a route in ms, or {@code -1} if it is not hedged yet. */
+    public long delayMs(String routeId) {
+        RouteStats stats = routes.get(routeId);
+        return stats != null && stats.delayNanos >= 0 ? stats.delayNanos / 1_000_000 : -1;
+    }
+
+    /**
+     * Picks the instance for a hedge: the best-scored other, non-ejected
+     * instance of the primary's service.
+     *
+     * @param primary the instance the first attempt went to
+     * @return the instance, or empty if the service has no other instance
+     */
+    public Mono<Optional<ServiceInstance>> alternative(ServiceInstance primary) {
+        ServiceInstanceListSupplier supplier =
+                clientFactory.getInstance(primary.getServiceId(), ServiceInstanceListSupplier.class);
+        if (supplier == null) {
+            return Mono.just(Optional.empty());
+        }
+        return supplier.get().next()
+                .map(instances -> pick(instances, primary))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Optional<ServiceInstance> pick(List<ServiceInstance> instances, ServiceInstance primary) {
+        int size = instances.size();
+        int offset = size > 0 ? ThreadLocalRandom.current().nextInt(size) : 0;   // random among equal scores
+        ServiceInstance best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance candidate = instances.get((offset + i) % size);
+            if (sameInstance(candidate, primary) || tracker.isEjected(candidate)) continue;
+            double score = tracker.score(candidate);
+            if (best == null || score < bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equalsIgnoreCase(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    private RouteStats stats(String routeId) {
+        return routes.computeIfAbsent(routeId, RouteStats::new);
+    }
+
+    private final class RouteStats {
+        final Map<Outcome, Counter> outcomes = new ConcurrentHashMap<>();
+        private final long[] samples = new long[windowSize];
+        private int count;
+        private int next;
+        private int sinceRecompute;
+        private double tokens = budgetBurst;
+        volatile long delayNanos = -1;
+
+        RouteStats(String routeId) {
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, Counter.builder("biolab.gateway.hedging.requests")
+                        .description("Hedge-eligible GETs by outcome")
+                        .tag("route", routeId)
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(registry));
+            }
+            Gauge.builder("biolab.gateway.hedging.delay", this, s -> s.delayNanos / 1_000_000.0)
+                    .description("Delay after which a second attempt is sent (ms, -1 while learning)")
+                    .tag("route", routeId)
+                    .register(registry);
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(budgetBurst, tokens + budgetPercent / 100.0);
+        }
+
+        synchronized boolean withdraw() {
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) count++;
+            sinceRecompute++;
+            if (count >= minSamples && (delayNanos < 0 || sinceRecompute >= RECOMPUTE_EVERY)) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                long quantile = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+                delayNanos = Math.max(minDelayMs * 1_000_000, Math.min(maxDelayMs * 1_000_000, quantile));
+            }
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.biolab.gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical token-bucket rate limiter: every request needs a token from
+ * the caller's bucket (user, or client IP when anonymous), from the caller's
+ * organisation bucket and from the global bucket. Bucket sizes come from the
+ * organisation's plan ({@code app.rate-limit.plans}).
+ *
+ * <h3>Locally pre-reserved quotas</h3>
+ * <p>The buckets live in Redis ({@code META-INF/scripts/hierarchical_token_bucket.lua}),
+ * so the limits hold across all gateway replicas. Instead of one round trip
+ * per request, each replica reserves a batch of tokens per bucket and spends
+ * them locally; only buckets whose local allowance has run out are refilled,
+ * all in a single script call. Reserved tokens expire after
+ * {@code app.rate-limit.lease-ms} if unused.</p>
+ *
+ * <p>The batch size adapts per bucket: it doubles when a batch is used up
+ * within its lease and shrinks to the observed use when one expires, bounded
+ * by {@code app.rate-limit.reserve-fraction} of the bucket's burst capacity.
+ * Busy buckets (the global one, active organisations and users) therefore go
+ * to Redis once per batch, idle ones strand at most a token or two.</p>
+ *
+ * <h3>Accuracy</h3>
+ * <p>Replicas only spend tokens Redis handed out, so all replicas together
+ * never admit more than the buckets allow; a key spread over several replicas
+ * can be under-admitted by the tokens held unused by the others, at most one
+ * batch per replica for one lease. A bucket that Redis reports empty is
+ * remembered until its next token is due, without further round trips.</p>
+ *
+ * <h3>Redis outage</h3>
+ * <p>Reservations that fail or exceed {@code app.rate-limit.redis-timeout-ms}
+ * let the request through (like the IP throttle); tokens already reserved
+ * locally keep being enforced. Tokens granted to a reservation that timed out
+ * are lost, which errs on the strict side.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class HierarchicalRateLimiter {
+
+    private static final RedisScript<List<Long>> SCRIPT = loadScript();
+
+    /** Bucket that rejected a request. */
+    public enum Scope { USER, ORG, GLOBAL }
+
+    /**
+     * One token bucket.
+     *
+     * @param replenishRate tokens added per second
+     * @param burstCapacity maximum tokens held
+     */
+    public record Limit(double replenishRate, long burstCapacity) {}
+
+    /**
+     * Limits of a plan; organisations get one through {@code app.rate-limit.org-plans}.
+     *
+     * @param user per user (or per client IP for anonymous requests)
+     * @param org  shared by all users of an organisation
+     */
+    public record Plan(Limit user, Limit org) {}
+
+    /**
+     * The configured limits, bound from {@code app.rate-limit}.
+     *
+     * @param global      bucket shared by all requests
+     * @param plans       plan name → limits
+     * @param orgPlans    organisation id → plan name
+     * @param defaultPlan plan of organisations not listed in {@code orgPlans} and of anonymous requests
+     */
+    public record Policy(Limit global,
+                         Map<String, Plan> plans,
+                         @DefaultValue Map<String, String> orgPlans,
+                         @DefaultValue("standard") String defaultPlan) {
+
+        public Policy {
+            if (plans == null || !plans.containsKey(defaultPlan)) {
+                throw new IllegalArgumentException("app.rate-limit.plans must define the default plan '"
+                        + defaultPlan + "'");
+            }
+        }
+
+        /** Plan of the organisation, or the default plan. */
+        public Plan planFor(String orgId) {
+            String plan = orgId != null ? orgPlans.get(orgId) : null;
+            return plans.getOrDefault(plan != null ? plan : defaultPlan, plans.get(defaultPlan));
+        }
+    }
+
+    /**
+     * Outcome of one request.
+     *
+     * @param allowed      whether the request may proceed
+     * @param scope        bucket that rejected it ({@code null} if allowed)
+     * @param retryAfterMs milliseconds until that bucket has a token again (0 if allowed)
+     */
+    public record Decision(boolean allowed, Scope scope, long retryAfterMs) {
+        static final Decision ALLOWED = new Decision(true, null, 0);
+
+        /** Whole seconds for the {@code Retry-After} header, never below 1. */
+        public long retryAfterSeconds() {
+            return Math.max(1, (retryAfterMs + 999) / 1000);
+        }
+    }
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Policy policy;
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter allowed;
+    private final Counter reservations;
+    private final Counter reservationErrors;
+    private final Map<Scope, Counter> rejected = new ConcurrentHashMap<>();
+
+    @Value("${app.rate-limit.reserve-fraction:0.25}")
+    private double reserveFraction = 0.25;
+
+    @Value("${app.rate-limit.lease-ms:1000}")
+    private long leaseMs = 1000;
+
+    @Value("${app.rate-limit.redis-timeout-ms:200}")
+    private long redisTimeoutMs = 200;
+
+    @Value("${app.rate-limit.max-local-buckets:100000}")
+    private int maxLocalBuckets = 100_000;
+
+    @Value("${app.rate-limit.key-prefix:biolab:rate-limit:}")
+    private String keyPrefix = "biolab:rate-limit:";
+
+    public HierarchicalRateLimiter(ReactiveStringRedisTemplate redisTemplate, Policy policy,
+                                   MeterRegistry registry) {
+        this.redisTemplate = redisTemplate;
+        this.policy = policy;
+        this.allowed = Counter.builder("biolab.gateway.rate-limit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("outcome", "allowed")
+                .tag("scope", "none")
+                .register(registry);
+        for (Scope scope : Scope.values()) {
+            rejected.put(scope, Counter.builder("biolab.gateway.rate-limit.requests")
+                    .description("Requests checked by the rate limiter")
+                    .tag("outcome", "rejected")
+                    .tag("scope", scope.name().toLowerCase())
+                    .register(registry));
+        }
+        this.reservations = Counter.builder("biolab.gateway.rate-limit.reservations")
+                .description("Token reservations sent to Redis")
+                .tag("outcome", "ok")
+                .register(registry);
+        this.reservationErrors = Counter.builder("biolab.gateway.rate-limit.reservations")
+                .description("Token reservations sent to Redis")
+                .tag("outcome", "error")
+                .register(registry);
+    }
+
+    /**
+     * Takes one token from each bucket of the caller.
+     *
+     * @param callerKey {@code user:<id>} or {@code ip:<address>}
+     * @param orgId     the caller's organisation, or {@code null}
+     * @return the decision; never errors
+     */
+    public Mono<Decision> tryAcquire(String callerKey, String orgId) {
+        Plan plan = policy.planFor(orgId);
+        List<LocalBucket> needed = new ArrayList<>(3);
+        needed.add(bucket(callerKey, Scope.USER, plan.user()));
+        if (orgId != null) {
+            needed.add(bucket("org:" + orgId, Scope.ORG, plan.org()));
+        }
+        needed.add(bucket("global", Scope.GLOBAL, policy.global()));
+
+        long now = System.nanoTime();
+        List<LocalBucket> taken = new ArrayList<>(needed.size());
+        List<LocalBucket> refill = new ArrayList<>(needed.size());
+        for (LocalBucket bucket : needed) {
+            long deniedForNanos = bucket.deniedForNanos(now);
+            if (deniedForNanos > 0) {
+                taken.forEach(LocalBucket::giveBack);
+                return Mono.just(reject(bucket.scope, TimeUnit.NANOSECONDS.toMillis(deniedForNanos)));
+            }
+            (bucket.tryTake(now) ? taken : refill).add(bucket);
+        }
+        if (refill.isEmpty()) {
+            allowed.increment();
+            return Mono.just(Decision.ALLOWED);
+        }
+        return reserve(refill, taken);
+    }
+
+    /** Number of buckets with local state on this replica. */
+    int localBuckets() {
+        return buckets.size();
+    }
+
+    private Mono<Decision> reserve(List<LocalBucket> refill, List<LocalBucket> taken) {
+        List<String> keys = new ArrayList<>(refill.size());
+        List<String> args = new ArrayList<>(refill.size() * 3);
+        for (LocalBucket bucket : refill) {
+            keys.add(keyPrefix + bucket.key);
+            args.add(Double.toString(bucket.limit.replenishRate()));
+            args.add(Long.toString(bucket.limit.burstCapacity()));
+            args.add(Integer.toString(bucket.batchSize()));
+        }
+        return redisTemplate.execute(SCRIPT, keys, args)
+                .reduce(new ArrayList<Long>(), (all, part) -> {
+                    all.addAll(part);
+                    return all;
+                })
+                .timeout(Duration.ofMillis(redisTimeoutMs))
+                .map(result -> {
+                    reservations.increment();
+                    return apply(refill, taken, result);
+                })
+                .onErrorResume(ex -> {
+                    reservationErrors.increment();
+                    log.warn("Rate limit: Redis unavailable, allowing request ({})", ex.getMessage());
+                    allowed.increment();
+                    return Mono.just(Decision.ALLOWED);
+                });
+    }
+
+    private Decision apply(List<LocalBucket> refill, List<LocalBucket> taken, List<Long> result) {
+        long now = System.nanoTime();
+        LocalBucket denied = null;
+        long retryAfterMs = 0;
+        for (int i = 0; i < refill.size(); i++) {
+            long granted = result.size() > 2 * i ? result.get(2 * i) : 0;
+            long retryMs = Math.max(1, result.size() > 2 * i + 1 ? result.get(2 * i + 1) : 1);
+            if (granted <= 0) {
+                refill.get(i).deny(now + TimeUnit.MILLISECONDS.toNanos(retryMs));
+                if (denied == null) {
+                    denied = refill.get(i);
+                    retryAfterMs = retryMs;
+                }
+            }
+        }
+        for (int i = 0; i < refill.size(); i++) {
+            long granted = result.size() > 2 * i ? result.get(2 * i) : 0;
+            if (granted > 0) {
+                refill.get(i).deposit(granted, denied == null, now);
+            }
+        }
+        if (denied != null) {
+            taken.forEach(LocalBucket::giveBack);
+            return reject(denied.scope, retryAfterMs);
+        }
+        allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    private Decision reject(Scope scope, long retryAfterMs) {
+        rejected.get(scope).increment();
+        return new Decision(false, scope, retryAfterMs);
+    }
+
+    private LocalBucket bucket(String key, Scope scope, Limit limit) {
+        LocalBucket bucket = buckets.get(key);
+        if (bucket != null && bucket.limit.equals(limit)) {
+            return bucket;
+        }
+        if (bucket == null && buckets.size() >= maxLocalBuckets) {
+            long now = System.nanoTime();
+            buckets.values().removeIf(b -> b.isIdle(now));
+        }
+        // New key, or the organisation changed plan: Redis keeps the bucket's tokens
+        return buckets.compute(key, (k, old) -> old != null && old.limit.equals(limit) ? old
+                : new LocalBucket(key, scope, limit,
+                        (int) Math.max(1, Math.min(Integer.MAX_VALUE, limit.burstCapacity() * reserveFraction)),
+                        TimeUnit.MILLISECONDS.toNanos(leaseMs)));
+    }
+
+    /**
+     * Tokens of one bucket reserved by this replica. Sized in whole tokens;
+     * the refill happens in Redis.
+     */
+    private static final class LocalBucket {
+        final String key;
+        final Scope scope;
+        final Limit limit;
+        private final int maxBatch;
+        private final long leaseNanos;
+
+        private long tokens;
+        private long expiresAt;
+        private long deniedUntil;
+        private int used;
+        private int batch;
+        private boolean resized;
+
+        LocalBucket(String key, Scope scope, Limit limit, int maxBatch, long leaseNanos) {
+            this.key = key;
+            this.scope = scope;
+            this.limit = limit;
+            this.maxBatch = maxBatch;
+            this.leaseNanos = leaseNanos;
+            this.batch = maxBatch;
+            long now = System.nanoTime();
+            this.expiresAt = now;
+            this.deniedUntil = now;
+        }
+
+        /** Spends one reserved token; on a miss, sizes the next batch after this lease's use. */
+        synchronized boolean tryTake(long now) {
+            boolean live = now - expiresAt < 0;
+            if (live && tokens > 0) {
+                tokens--;
+                used++;
+                return true;
+            }
+            if (!resized && used > 0) {
+                batch = tokens == 0
+                        ? (int) Math.min(maxBatch, batch * 2L)     // the batch was used up
+                        : Math.max(1, Math.min(maxBatch, used + 1)); // the lease expired with tokens left
+                resized = true;
+            }
+            tokens = 0;
+            return false;
+        }
+
+        synchronized void giveBack() {
+            tokens++;
+            used--;
+        }
+
+        /** Adds tokens granted by Redis and starts a new lease. */
+        synchronized void deposit(long granted, boolean takeOne, long now) {
+            tokens += takeOne ? granted - 1 : granted;
+            used = takeOne ? 1 : 0;
+            expiresAt = now + leaseNanos;
+            resized = false;
+        }
+
+        synchronized void deny(long until) {
+            deniedUntil = until;
+        }
+
+        synchronized long deniedForNanos(long now) {
+            return deniedUntil - now;
+        }
+
+        synchronized int batchSize() {
+            return batch;
+        }
+
+        synchronized boolean isIdle(long now) {
+            return now - expiresAt >= 0 && now - deniedUntil >= 0;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> loadScript() {
+        return (RedisScript) RedisScript.of(
+                new ClassPathResource("META-INF/scripts/hierarchical_token_bucket.lua"), List.class);
+    }
+}
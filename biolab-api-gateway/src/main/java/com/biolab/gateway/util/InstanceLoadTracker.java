@@ -0,0 +1,362 @@
+package com.biolab.gateway.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Load and health of every downstream instance the gateway balances across,
+ * used by {@link PeakEwmaLoadBalancer} to score instances.
+ *
+ * <h3>Score (peak EWMA)</h3>
+ * <pre>
+ *   score = latency × (outstanding + 1) / warmUpWeight
+ * </pre>
+ * <p>{@code latency} is an exponentially weighted average of the time to the
+ * upstream response, weighted by elapsed time ({@code decay-time-ms}) rather
+ * than by sample count. A sample above the average replaces it outright, so a
+ * replica that stalls (GC pause, noisy host) is penalised on its next response;
+ * while an instance receives no traffic its latency decays towards zero so it
+ * is retried eventually. {@code outstanding} counts requests currently sent to
+ * the instance. An instance that has not answered yet has no latency and gets
+ * one request at a time until it does.</p>
+ *
+ * <h3>Warm-up</h3>
+ * <p>An instance first seen after the gateway has started tracking its
+ * service ramps from {@code min-warm-up-weight} to full weight over
+ * {@code warm-up-ms}, so a freshly started JVM is not flooded before its
+ * caches and JIT have warmed up. Instances present at gateway start-up are
+ * considered warm.</p>
+ *
+ * <h3>Ejection</h3>
+ * <p>After {@code failure-threshold} consecutive failures (a connection error
+ * or a 502/503/504 answer — other 5xx are the application's, not the
+ * instance's; each also counts as a {@code failure-penalty-ms} latency sample) an
+ * instance is ejected for {@code ejection-ms}, doubling with every
+ * repeated ejection up to {@code max-ejection-ms}. A success resets both.
+ * At most {@code max-ejected-percent} of a service's instances are ejected at
+ * the same time.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class InstanceLoadTracker {
+
+    /** Score of an unsampled instance that already has a request in flight. */
+    private static final double UNSAMPLED_PENALTY = 1e15;
+
+    private final Map<String, ServiceLoad> services = new ConcurrentHashMap<>();
+
+    private LongSupplier clock = System::nanoTime;
+
+    @Value("${app.loadbalancer.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.loadbalancer.decay-time-ms:10000}")
+    private long decayTimeMs = 10_000;
+
+    @Value("${app.loadbalancer.warm-up-ms:30000}")
+    private long warmUpMs = 30_000;
+
+    @Value("${app.loadbalancer.min-warm-up-weight:0.1}")
+    private double minWarmUpWeight = 0.1;
+
+    /** Latency sample recorded for a failed call, so failing-fast instances do not look fast. */
+    @Value("${app.loadbalancer.failure-penalty-ms:1000}")
+    private long failurePenaltyMs = 1000;
+
+    @Value("${app.loadbalancer.failure-threshold:5}")
+    private int failureThreshold = 5;
+
+    @Value("${app.loadbalancer.ejection-ms:30000}")
+    private long ejectionMs = 30_000;
+
+    @Value("${app.loadbalancer.max-ejection-ms:300000}")
+    private long maxEjectionMs = 300_000;
+
+    @Value("${app.loadbalancer.max-ejected-percent:50}")
+    private int maxEjectedPercent = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Synchronises the tracked instances of a service with the registry:
+     * new instances start warming up, vanished ones are forgotten.
+     *
+     * @param serviceId the service id
+     * @param instances the instances currently registered
+     */
+    public void update(String serviceId, List<ServiceInstance> instances) {
+        services.computeIfAbsent(serviceId, ServiceLoad::new).update(instances, clock.getAsLong());
+    }
+
+    /**
+     * Current score of an instance; lower is better.
+     *
+     * @return the score, or {@code 0} for an instance that is not tracked
+     */
+    public double score(ServiceInstance instance) {
+        InstanceLoad load = find(instance);
+        return load != null ? load.score(clock.getAsLong()) : 0;
+    }
+
+    /** Whether the instance is currently ejected. */
+    public boolean isEjected(ServiceInstance instance) {
+        InstanceLoad load = find(instance);
+        return load != null && load.isEjected(clock.getAsLong());
+    }
+
+    /**
+     * Records that a request is being sent to {@code instance}.
+     *
+     * @return the call to complete when the response arrives, or empty if the
+     *         instance is not tracked (e.g. chosen by another load balancer)
+     */
+    public Optional<Call> start(ServiceInstance instance) {
+        InstanceLoad load = find(instance);
+        if (load == null) return Optional.empty();
+        load.outstanding.incrementAndGet();
+        return Optional.of(new Call(load));
+    }
+
+    /**
+     * Per-instance state for the actuator endpoint, by service id.
+     */
+    public Map<String, List<InstanceSnapshot>> snapshot() {
+        long now = clock.getAsLong();
+        Map<String, List<InstanceSnapshot>> result = new TreeMap<>();
+        services.forEach((serviceId, service) -> {
+            List<InstanceSnapshot> list = new ArrayList<>();
+            service.instances.values().forEach(load -> list.add(load.snapshot(now)));
+            list.sort(Comparator.comparing(InstanceSnapshot::instance));
+            result.put(serviceId, list);
+        });
+        return result;
+    }
+
+    /**
+     * Point-in-time view of one instance.
+     *
+     * @param instance            instance id ({@code host:port} if the registry has none)
+     * @param score               current score, lower is better
+     * @param latencyMs           decayed peak-EWMA latency; {@code -1} before the first sample
+     * @param outstanding         requests in flight
+     * @param warmUpWeight        {@code 0 < w ≤ 1}; below 1 while warming up
+     * @param consecutiveFailures failures since the last success
+     * @param ejected             whether the instance is currently ejected
+     * @param ejectedForMs        remaining ejection time
+     */
+    public record InstanceSnapshot(String instance, double score, double latencyMs, int outstanding,
+                                   double warmUpWeight, int consecutiveFailures,
+                                   boolean ejected, long ejectedForMs) {
+    }
+
+    /**
+     * One request in flight to a tracked instance. Exactly one of the completion
+     * methods takes effect.
+     */
+    public final class Call {
+        private final InstanceLoad load;
+        private final AtomicInteger completed = new AtomicInteger();
+
+        private Call(InstanceLoad load) {
+            this.load = load;
+        }
+
+        /** The instance answered after {@code rttNanos}. */
+        public void onSuccess(long rttNanos) {
+            if (completed.compareAndSet(0, 1)) load.onSuccess(rttNanos, clock.getAsLong());
+        }
+
+        /** The call failed with a connection error or the instance answered 502/503/504. */
+        public void onFailure() {
+            if (completed.compareAndSet(0, 1)) load.onFailure(clock.getAsLong());
+        }
+
+        /**
+         * The call was cancelled after {@code elapsedNanos} — by the client or by
+         * the circuit breaker's time limiter. The instance took at least that
+         * long, which only ever raises its latency.
+         */
+        public void onCancel(long elapsedNanos) {
+            if (completed.compareAndSet(0, 1)) load.onCancel(elapsedNanos, clock.getAsLong());
+        }
+
+        /**
+         * A streamed transfer ended without an instance failure. Its duration
+         * follows the body size, not the instance's latency, so it is not sampled.
+         */
+        public void onTransferred() {
+            if (completed.compareAndSet(0, 1)) load.onTransferred();
+        }
+    }
+
+    private InstanceLoad find(ServiceInstance instance) {
+        ServiceLoad service = services.get(instance.getServiceId());
+        return service != null ? service.instances.get(keyOf(instance)) : null;
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class ServiceLoad {
+        final String serviceId;
+        final Map<String, InstanceLoad> instances = new ConcurrentHashMap<>();
+        private List<ServiceInstance> lastSeen;
+        private boolean initialised;
+
+        ServiceLoad(String serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        synchronized void update(List<ServiceInstance> current, long now) {
+            if (current == lastSeen) return;      // cached suppliers hand out the same list
+            Set<String> keys = new HashSet<>();
+            for (ServiceInstance instance : current) {
+                String key = keyOf(instance);
+                keys.add(key);
+                instances.computeIfAbsent(key, k -> {
+                    if (initialised) log.info("Load balancer: new instance {} of {}, warming up", k, serviceId);
+                    return new InstanceLoad(this, k, initialised ? now : now - warmUpMs * 1_000_000);
+                });
+            }
+            instances.keySet().retainAll(keys);
+            lastSeen = current;
+            initialised = true;
+        }
+
+        int ejectedCount(long now) {
+            int count = 0;
+            for (InstanceLoad load : instances.values()) {
+                if (load.isEjected(now)) count++;
+            }
+            return count;
+        }
+    }
+
+    private final class InstanceLoad {
+        final AtomicInteger outstanding = new AtomicInteger();
+        private final ServiceLoad service;
+        private final String key;
+        private final long firstSeenNanos;
+
+        private double latencyNanos;
+        private long lastSampleNanos;
+        private int consecutiveFailures;
+        private int ejections;
+        private volatile long ejectedUntilNanos;
+
+        InstanceLoad(ServiceLoad service, String key, long firstSeenNanos) {
+            this.service = service;
+            this.key = key;
+            this.firstSeenNanos = firstSeenNanos;
+            this.ejectedUntilNanos = firstSeenNanos;
+        }
+
+        boolean isEjected(long now) {
+            return now - ejectedUntilNanos < 0;
+        }
+
+        synchronized double latency(long now) {
+            return latencyNanos * decayWeight(now);
+        }
+
+        double warmUpWeight(long now) {
+            double elapsed = (now - firstSeenNanos) / 1_000_000.0;
+            return elapsed >= warmUpMs ? 1.0 : Math.max(minWarmUpWeight, elapsed / warmUpMs);
+        }
+
+        double score(long now) {
+            double latency = latency(now);
+            int inFlight = outstanding.get();
+            if (latency == 0) {
+                return inFlight > 0 ? UNSAMPLED_PENALTY : 0;
+            }
+            return latency * (inFlight + 1) / warmUpWeight(now);
+        }
+
+        synchronized void onSuccess(long rttNanos, long now) {
+            outstanding.decrementAndGet();
+            sample(rttNanos, now);
+            consecutiveFailures = 0;
+            ejections = 0;
+        }
+
+        synchronized void onTransferred() {
+            outstanding.decrementAndGet();
+            consecutiveFailures = 0;
+            ejections = 0;
+        }
+
+        synchronized void onCancel(long elapsedNanos, long now) {
+            outstanding.decrementAndGet();
+            if (elapsedNanos > latency(now)) sample(elapsedNanos, now);
+        }
+
+        void onFailure(long now) {
+            outstanding.decrementAndGet();
+            synchronized (service) {
+                synchronized (this) {
+                    sample(failurePenaltyMs * 1_000_000, now);
+                    if (++consecutiveFailures < failureThreshold || isEjected(now)) return;
+                    int total = service.instances.size();
+                    if ((service.ejectedCount(now) + 1) * 100 > total * maxEjectedPercent) return;
+                    long duration = Math.min(maxEjectionMs, ejectionMs << Math.min(ejections, 20));
+                    ejections++;
+                    consecutiveFailures = 0;
+                    ejectedUntilNanos = now + duration * 1_000_000;
+                    log.warn("Load balancer: ejecting {} of {} for {} ms after {} consecutive failures",
+                            key, service.serviceId, duration, failureThreshold);
+                }
+            }
+        }
+
+        /** Peak EWMA: a slower sample replaces the average, a faster one is blended in by elapsed time. */
+        private void sample(long rttNanos, long now) {
+            double rtt = Math.max(1, rttNanos);
+            if (rtt > latencyNanos) {
+                latencyNanos = rtt;
+            } else {
+                double w = decayWeight(now);
+                latencyNanos = latencyNanos * w + rtt * (1 - w);
+            }
+            lastSampleNanos = now;
+        }
+
+        /** {@code e^(−Δt/τ)} since the last sample. */
+        private double decayWeight(long now) {
+            return Math.exp(-Math.max(0, now - lastSampleNanos) / (decayTimeMs * 1_000_000.0));
+        }
+
+        InstanceSnapshot snapshot(long now) {
+            double latency = latency(now);
+            int failures;
+            synchronized (this) {
+                failures = consecutiveFailures;
+            }
+            return new InstanceSnapshot(key, score(now), latency == 0 ? -1 : latency / 1_000_000.0,
+                    outstanding.get(), warmUpWeight(now), failures, isEjected(now),
+                    Math.max(0, (ejectedUntilNanos - now) / 1_000_000));
+        }
+    }
+}
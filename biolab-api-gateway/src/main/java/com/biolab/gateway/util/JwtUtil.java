@@ -2,6 +2,8 @@ package com.biolab.gateway.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -14,8 +16,16 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for JWT token parsing and validation.
@@ -38,8 +48,16 @@ import java.util.List;
  * }
  * </pre>
  *
+ * <h3>Verified-claims cache</h3>
+ * <p>An access token is re-sent unchanged on every request for its whole
+ * 15-minute lifetime, so {@link #verify(String)} parses and checks each token
+ * once and caches the resulting {@link VerifiedClaims} snapshot. Entries are
+ * keyed by the SHA-256 digest of the token (the raw bearer string is never
+ * retained), bounded by {@code app.jwt.claims-cache-max-entries}, and dropped
+ * as soon as the token's {@code exp} is reached.</p>
+ *
  * @author BioLab Engineering Team
- * @version 1.0.0
+ * @version 1.1.0
  */
 @Component
 @Slf4j
@@ -51,44 +69,88 @@ public class JwtUtil {
     @Value("${app.jwt.issuer:biolab-auth-service}")
     private String expectedIssuer;
 
+    /** Upper bound on cached verified tokens; roughly one entry per active session. */
+    @Value("${app.jwt.claims-cache-max-entries:10000}")
+    private int claimsCacheMaxEntries = 10_000;
+
     /** HMAC-SHA key derived from the secret string. */
     private SecretKey signingKey;
 
+    /** Thread-safe parser, built once instead of per call. */
+    private JwtParser parser;
+
+    /** token digest → verified snapshot; entries are valid until {@code exp}. */
+    private final Map<String, VerifiedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
     /**
-     * Initializes the HMAC signing key from the configured secret.
+     * Initializes the HMAC signing key and the shared parser from the configured secret.
      * Called once after dependency injection.
      */
     @PostConstruct
     public void init() {
         this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        log.info("JWT signing key initialized (issuer: {})", expectedIssuer);
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        claimsCache.clear();
+        log.info("JWT signing key initialized (issuer: {}, claims cache: {} entries)",
+                expectedIssuer, claimsCacheMaxEntries);
     }
 
     /**
-     * Validates the given JWT token string.
+     * Verifies the token and returns its claims snapshot, parsing it at most once
+     * per token lifetime.
      *
-     * <p>Checks signature integrity, expiration, issuer, and structural validity.</p>
+     * <p>Checks signature integrity, expiration, issuer, and structural validity
+     * on the first sighting; later calls with the same token are served from the
+     * cache until the token expires.</p>
      *
      * @param token the raw JWT string (without "Bearer " prefix)
-     * @return {@code true} if the token is valid, {@code false} otherwise
+     * @return the verified claims, or empty if the token is invalid or expired
      */
-    public boolean validateToken(String token) {
+    public Optional<VerifiedClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            log.warn("JWT claims string is empty");
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        String key = digest(token);
+        VerifiedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (!cached.isExpiredAt(now)) {
+                return Optional.of(cached);
+            }
+            claimsCache.remove(key, cached);
+            log.warn("JWT token expired for subject: {}", cached.subject());
+            return Optional.empty();
+        }
+
         try {
             Claims claims = extractAllClaims(token);
 
             // Verify issuer matches expected auth service
             if (!expectedIssuer.equals(claims.getIssuer())) {
                 log.warn("JWT issuer mismatch: expected={}, actual={}", expectedIssuer, claims.getIssuer());
-                return false;
+                return Optional.empty();
             }
 
             // Verify token is not expired
-            if (claims.getExpiration().before(new Date())) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null || !now.isBefore(expiration.toInstant())) {
                 log.warn("JWT token expired for subject: {}", claims.getSubject());
-                return false;
+                return Optional.empty();
             }
 
-            return true;
+            VerifiedClaims verified = toSnapshot(claims);
+            cache(key, verified, now);
+            return Optional.of(verified);
         } catch (ExpiredJwtException ex) {
             log.warn("JWT expired: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -99,8 +161,22 @@ public class JwtUtil {
             log.warn("JWT signature invalid: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.warn("JWT claims string is empty: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            log.warn("JWT rejected: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Validates the given JWT token string.
+     *
+     * <p>Checks signature integrity, expiration, issuer, and structural validity.</p>
+     *
+     * @param token the raw JWT string (without "Bearer " prefix)
+     * @return {@code true} if the token is valid, {@code false} otherwise
+     */
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 
     /**
@@ -110,11 +186,7 @@ public class JwtUtil {
      * @return the parsed {@link Claims} object
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -157,4 +229,47 @@ public class JwtUtil {
     public String extractOrgId(String token) {
         return extractAllClaims(token).get("orgId", String.class);
     }
+
+    /** Number of tokens currently held in the verified-claims cache. */
+    int cachedTokenCount() {
+        return claimsCache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VerifiedClaims toSnapshot(Claims claims) {
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("roles", List.class),
+                claims.get("orgId", String.class),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant());
+    }
+
+    /**
+     * Adds an entry, keeping the cache within {@link #claimsCacheMaxEntries}.
+     * Expired entries are purged first; if the cache is still full (e.g. a flood
+     * of distinct valid tokens) an arbitrary tenth of it is dropped, which only
+     * costs those tokens one extra parse.
+     */
+    private void cache(String key, VerifiedClaims verified, Instant now) {
+        if (claimsCache.size() >= claimsCacheMaxEntries) {
+            claimsCache.values().removeIf(c -> c.isExpiredAt(now));
+            int excess = claimsCache.size() - (claimsCacheMaxEntries - claimsCacheMaxEntries / 10);
+            Iterator<String> it = claimsCache.keySet().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        if (claimsCacheMaxEntries > 0) {
+            claimsCache.put(key, verified);
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
 }
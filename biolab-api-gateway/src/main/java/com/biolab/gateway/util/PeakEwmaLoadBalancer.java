@@ -0,0 +1,96 @@
+package com.biolab.gateway.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * "Power of two choices" load balancer for the gateway's {@code lb://} routes.
+ *
+ * <p>For every request two distinct instances are drawn at random and the one
+ * with the lower {@link InstanceLoadTracker} score (peak-EWMA latency ×
+ * outstanding requests, reduced while warming up) is chosen. Compared with
+ * round-robin, a replica in a GC pause or on a noisy host stops receiving new
+ * requests as soon as its latency or queue grows, while the random pair keeps
+ * the choice from herding onto a single "best" instance.</p>
+ *
+ * <p>Ejected instances are skipped; if every instance is ejected the full list
+ * is used, so a bad ejection decision never leaves a service unreachable.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceLoadTracker tracker;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                String serviceId, InstanceLoadTracker tracker) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        tracker.update(serviceId, instances);
+
+        List<ServiceInstance> candidates = instances;
+        for (int i = 0; i < instances.size(); i++) {
+            if (tracker.isEjected(instances.get(i))) {
+                candidates = withoutEjected(instances);
+                break;
+            }
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(candidates.size());
+        int b = random.nextInt(candidates.size() - 1);
+        if (b >= a) b++;
+        ServiceInstance first = candidates.get(a);
+        ServiceInstance second = candidates.get(b);
+        return new DefaultResponse(tracker.score(second) < tracker.score(first) ? second : first);
+    }
+
+    private List<ServiceInstance> withoutEjected(List<ServiceInstance> instances) {
+        List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!tracker.isEjected(instance)) healthy.add(instance);
+        }
+        return healthy.isEmpty() ? instances : healthy;
+    }
+}
@@ -0,0 +1,149 @@
+package com.biolab.gateway.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distributed sliding-window limiter for the authentication IP throttle.
+ *
+ * <h3>Why Redis</h3>
+ * <p>The former in-memory counter was per gateway instance (N replicas allowed
+ * N × the limit), never evicted idle IPs, and reset its window non-atomically.
+ * Here every attempt is recorded in a per-IP sorted set by the atomic Lua script
+ * {@code META-INF/scripts/ip_throttle_sliding_window.lua}, so the limit holds
+ * across all replicas and idle keys expire with the window.</p>
+ *
+ * <h3>Near-cache</h3>
+ * <p>Once Redis reports an IP as blocked, the block expiry is remembered locally
+ * and further attempts from that IP are rejected without a Redis round trip
+ * until it passes. The near-cache is bounded by
+ * {@code app.ip-throttle.near-cache-max-entries}; when full, expired blocks are
+ * purged and, failing that, new blocks are simply not cached (Redis stays
+ * authoritative).</p>
+ *
+ * <h3>Redis outage</h3>
+ * <p>If Redis is unreachable the limiter fails open (like Spring Cloud Gateway's
+ * {@code RedisRateLimiter}) so logins keep working; IPs already in the
+ * near-cache stay blocked.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class RedisSlidingWindowLimiter {
+
+    private static final RedisScript<List<Long>> SCRIPT = loadScript();
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${app.ip-throttle.max-attempts:20}")
+    private int maxAttempts = 20;
+
+    @Value("${app.ip-throttle.window-ms:300000}")
+    private long windowMs = 300_000;
+
+    @Value("${app.ip-throttle.near-cache-max-entries:10000}")
+    private int nearCacheMaxEntries = 10_000;
+
+    @Value("${app.ip-throttle.key-prefix:biolab:ip-throttle:}")
+    private String keyPrefix = "biolab:ip-throttle:";
+
+    /** client IP → epoch millis until which it is known to be blocked. */
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+
+    public RedisSlidingWindowLimiter(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Outcome of one attempt.
+     *
+     * @param allowed      whether the attempt may proceed
+     * @param retryAfterMs milliseconds until the oldest attempt leaves the window (0 if allowed)
+     */
+    public record Decision(boolean allowed, long retryAfterMs) {
+        static final Decision ALLOWED = new Decision(true, 0);
+
+        /** Whole seconds for the {@code Retry-After} header, never below 1. */
+        public long retryAfterSeconds() {
+            return Math.max(1, (retryAfterMs + 999) / 1000);
+        }
+    }
+
+    /**
+     * Records an attempt for the client and decides whether it is within the limit.
+     *
+     * @param clientIp the resolved client IP
+     * @return the decision; never errors
+     */
+    public Mono<Decision> tryAcquire(String clientIp) {
+        long now = System.currentTimeMillis();
+        Long until = blockedUntil.get(clientIp);
+        if (until != null) {
+            if (until > now) {
+                return Mono.just(new Decision(false, until - now));
+            }
+            blockedUntil.remove(clientIp, until);
+        }
+
+        List<String> keys = List.of(keyPrefix + clientIp);
+        List<String> args = List.of(
+                Long.toString(windowMs),
+                Integer.toString(maxAttempts),
+                Long.toHexString(now) + '-' + Long.toHexString(ThreadLocalRandom.current().nextLong()));
+
+        return redisTemplate.execute(SCRIPT, keys, args)
+                .reduce(new ArrayList<Long>(), (all, part) -> {
+                    all.addAll(part);
+                    return all;
+                })
+                .map(result -> toDecision(clientIp, result))
+                .onErrorResume(ex -> {
+                    log.warn("IP throttle: Redis unavailable, allowing {} ({})", clientIp, ex.getMessage());
+                    return Mono.just(Decision.ALLOWED);
+                });
+    }
+
+    /** Number of IPs currently held in the local blocked near-cache. */
+    int nearCacheSize() {
+        return blockedUntil.size();
+    }
+
+    private Decision toDecision(String clientIp, List<Long> result) {
+        if (result.size() < 3 || result.get(0) == 1L) {
+            return Decision.ALLOWED;
+        }
+        long retryAfterMs = Math.max(0, result.get(2));
+        remember(clientIp, System.currentTimeMillis() + retryAfterMs);
+        return new Decision(false, retryAfterMs);
+    }
+
+    private void remember(String clientIp, long until) {
+        if (blockedUntil.size() >= nearCacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            blockedUntil.values().removeIf(expiry -> expiry <= now);
+            if (blockedUntil.size() >= nearCacheMaxEntries) {
+                return;
+            }
+        }
+        blockedUntil.put(clientIp, until);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> loadScript() {
+        return (RedisScript) RedisScript.of(
+                new ClassPathResource("META-INF/scripts/ip_throttle_sliding_window.lua"), List.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.biolab.gateway.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+
+/**
+ * Downstream request header changes collected from several global filters
+ * and applied in one request mutation by {@code HeaderEnrichmentFilter}.
+ *
+ * <p>Every {@code request.mutate()...build()} copies the whole header map and
+ * every {@code exchange.mutate()} wraps the exchange once more. Filters that
+ * only add or strip headers register the change here instead; the edits live
+ * in the {@link #ATTRIBUTE} exchange attribute, which mutated exchanges share.</p>
+ *
+ * <p>Header names are case-insensitive. The last call for a name wins:
+ * {@link #set} replaces all values (including ones from the client), and
+ * {@link #remove} drops the header together with any value set earlier.
+ * Not thread-safe — filters register their edits on the request path, one
+ * after the other.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public final class RequestHeaderEdits {
+
+    /** Exchange attribute holding the pending edits. */
+    public static final String ATTRIBUTE = RequestHeaderEdits.class.getName();
+
+    /** Header name → value to set, or {@code null} to remove it. */
+    private final Map<String, String> edits = new LinkedCaseInsensitiveMap<>(8);
+
+    /**
+     * Returns the edits of the exchange, creating them on first use.
+     *
+     * @param exchange the current server exchange
+     * @return the pending edits, never {@code null}
+     */
+    public static RequestHeaderEdits of(ServerWebExchange exchange) {
+        return (RequestHeaderEdits) exchange.getAttributes()
+                .computeIfAbsent(ATTRIBUTE, key -> new RequestHeaderEdits());
+    }
+
+    /** Sets the header to a single value, replacing any value the request carries. */
+    public RequestHeaderEdits set(String name, String value) {
+        edits.put(name, value);
+        return this;
+    }
+
+    /** Removes the header from the request. */
+    public RequestHeaderEdits remove(String name) {
+        edits.put(name, null);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return edits.isEmpty();
+    }
+
+    /** Applies all edits to a writable header map. */
+    public void applyTo(HttpHeaders headers) {
+        edits.forEach((name, value) -> {
+            if (value == null) {
+                headers.remove(name);
+            } else {
+                headers.set(name, value);
+            }
+        });
+    }
+
+    /**
+     * Applies and clears the pending edits of the exchange.
+     *
+     * @param exchange the current server exchange
+     * @return an exchange carrying the edited request, or {@code exchange}
+     *         itself if nothing was registered
+     */
+    public static ServerWebExchange apply(ServerWebExchange exchange) {
+        RequestHeaderEdits pending = (RequestHeaderEdits) exchange.getAttributes().remove(ATTRIBUTE);
+        if (pending == null || pending.isEmpty()) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(exchange.getRequest().mutate().headers(pending::applyTo).build())
+                .build();
+    }
+}
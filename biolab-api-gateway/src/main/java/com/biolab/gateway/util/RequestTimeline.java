@@ -0,0 +1,101 @@
+package com.biolab.gateway.util;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.ContextView;
+
+/**
+ * Phase timestamps of one gateway exchange, for the {@link FlightRecorder}.
+ *
+ * <p>Created by {@code RequestLoggingFilter} and stored in the exchange
+ * attribute {@link #ATTR}; marked by the filters at the phase boundaries and,
+ * for the connection, by the Netty client through the Reactor context. Each
+ * mark is one {@link System#nanoTime()} call and one volatile write, so the
+ * timeline costs next to nothing for the requests that are never recorded.
+ * Retried and hedged requests keep the marks of their last attempt.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public final class RequestTimeline {
+
+    /** Exchange attribute (and Reactor context key) holding the timeline. */
+    public static final String ATTR = RequestTimeline.class.getName();
+
+    /**
+     * Phase durations in milliseconds; {@code null} for phases the request
+     * never reached (e.g. rejected by a gateway filter, or not load balanced).
+     *
+     * @param filterChainMs  receipt until the load balancer is consulted
+     * @param loadBalancerMs instance choice and the filters up to routing
+     * @param connectMs      until a pooled or new upstream connection is acquired
+     * @param firstByteMs    request sent until the upstream response headers
+     * @param bodyMs         response headers until the response is complete
+     */
+    public record Phases(Double filterChainMs, Double loadBalancerMs, Double connectMs,
+                         Double firstByteMs, Double bodyMs) { }
+
+    private final long startNanos;
+    private volatile long loadBalancingNanos;
+    private volatile long routedNanos;
+    private volatile long connectedNanos;
+    private volatile long respondedNanos;
+
+    private RequestTimeline(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /** Starts the timeline of {@code exchange} at {@code startNanos}. */
+    public static RequestTimeline start(ServerWebExchange exchange, long startNanos) {
+        RequestTimeline timeline = new RequestTimeline(startNanos);
+        exchange.getAttributes().put(ATTR, timeline);
+        return timeline;
+    }
+
+    /** @return the timeline of {@code exchange}, or {@code null} if not recorded */
+    public static RequestTimeline of(ServerWebExchange exchange) {
+        return exchange.getAttribute(ATTR);
+    }
+
+    /** Marks the connection of the upstream call running in {@code context}, if timed. */
+    public static void connected(ContextView context) {
+        RequestTimeline timeline = context.getOrDefault(ATTR, null);
+        if (timeline != null) {
+            timeline.connectedNanos = System.nanoTime();
+        }
+    }
+
+    public void loadBalancing() {
+        loadBalancingNanos = System.nanoTime();
+    }
+
+    public void routed(long nanos) {
+        routedNanos = nanos;
+        connectedNanos = 0;     // a retry starts over
+        respondedNanos = 0;
+    }
+
+    public void responded(long nanos) {
+        respondedNanos = nanos;
+    }
+
+    /** @param totalNanos time from the start of the timeline to the completion of the exchange */
+    public Phases phases(long totalNanos) {
+        long endNanos = startNanos + totalNanos;
+        long lb = loadBalancingNanos;
+        long routed = routedNanos;
+        long connected = connectedNanos;
+        long responded = respondedNanos;
+        long firstPhaseEnd = lb > 0 ? lb : routed > 0 ? routed : endNanos;
+        return new Phases(
+                millis(startNanos, firstPhaseEnd),
+                lb > 0 && routed > 0 ? millis(lb, routed) : null,
+                routed > 0 && connected > 0 ? millis(routed, connected) : null,
+                responded > 0 ? millis(connected > 0 ? connected : routed, responded) : null,
+                responded > 0 ? millis(responded, endNanos) : null);
+    }
+
+    /** Milliseconds with microsecond resolution. */
+    private static double millis(long from, long to) {
+        return Math.max(0, to - from) / 1_000 / 1_000.0;
+    }
+}
@@ -0,0 +1,315 @@
+package com.biolab.gateway.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Two-tier store for cached gateway responses: an in-memory LRU in front of
+ * Redis, which is shared by all gateway replicas.
+ *
+ * <h3>Lookup</h3>
+ * <p>{@link #get(String)} checks the local LRU first and falls back to Redis,
+ * copying Redis hits into the LRU. Redis errors and slow replies
+ * ({@code app.response-cache.redis-timeout-ms}) count as a miss, so a Redis
+ * outage only costs hit rate.</p>
+ *
+ * <h3>Freshness</h3>
+ * <p>Each entry is fresh for the TTL of its route and then kept for another
+ * {@code app.response-cache.stale-ttl-ms} as a <em>stale</em> copy, which the
+ * fallback controller serves while the route's circuit breaker is open
+ * (stale-if-error). Redis keys expire at the end of the stale window.</p>
+ *
+ * <h3>Invalidation</h3>
+ * <p>{@link #purge(String)} removes every entry whose key starts with the given
+ * prefix from Redis and from the local LRU, and publishes the prefix on
+ * {@code app.response-cache.purge-channel} so the other replicas drop their
+ * local copies as well.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final ReactiveStringRedisTemplate stringTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> bytesTemplate;
+
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.response-cache.l1-max-entries:1000}")
+    private int l1MaxEntries = 1000;
+
+    @Value("${app.response-cache.max-body-bytes:262144}")
+    private int maxBodyBytes = 262_144;
+
+    @Value("${app.response-cache.stale-ttl-ms:3600000}")
+    private long staleTtlMs = 3_600_000;
+
+    @Value("${app.response-cache.redis-timeout-ms:200}")
+    private long redisTimeoutMs = 200;
+
+    @Value("${app.response-cache.key-prefix:biolab:response-cache:}")
+    private String keyPrefix = "biolab:response-cache:";
+
+    @Value("${app.response-cache.purge-channel:biolab:response-cache:purge}")
+    private String purgeChannel = "biolab:response-cache:purge";
+
+    /** Access-ordered LRU; guarded by its own monitor. */
+    private final LinkedHashMap<String, CachedResponse> l1 = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > l1MaxEntries;
+        }
+    };
+
+    private Disposable subscription;
+
+    public ResponseCache(ReactiveRedisConnectionFactory connectionFactory,
+                         ReactiveStringRedisTemplate stringTemplate) {
+        this.connectionFactory = connectionFactory;
+        this.stringTemplate = stringTemplate;
+        this.bytesTemplate = new ReactiveRedisTemplate<>(connectionFactory,
+                RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+                        .value(RedisSerializer.byteArray())
+                        .build());
+    }
+
+    /**
+     * A cached response body with the metadata needed to replay it.
+     *
+     * @param contentType    {@code Content-Type} of the original response, may be {@code null}
+     * @param etag           strong entity tag (quoted)
+     * @param body           response body
+     * @param storedAtMs     when the response was cached
+     * @param freshUntilMs   end of the fresh period; stale afterwards
+     */
+    public record CachedResponse(String contentType, String etag, byte[] body,
+                                 long storedAtMs, long freshUntilMs) {
+
+        public boolean isFresh(long nowMs) {
+            return nowMs < freshUntilMs;
+        }
+
+        /** Seconds since the response was cached, for the {@code Age} header. */
+        public long ageSeconds(long nowMs) {
+            return Math.max(0, (nowMs - storedAtMs) / 1000);
+        }
+
+        /** Whether an {@code If-None-Match} header value matches this entry. */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) return false;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.startsWith("W/")) t = t.substring(2);
+                if (t.equals("*") || t.equals(etag)) return true;
+            }
+            return false;
+        }
+
+        byte[] encode() {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 128);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeByte(1);
+                out.writeLong(storedAtMs);
+                out.writeLong(freshUntilMs);
+                out.writeUTF(contentType != null ? contentType : "");
+                out.writeUTF(etag);
+                out.writeInt(body.length);
+                out.write(body);
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        static CachedResponse decode(byte[] data) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readByte() != 1) throw new IOException("Unknown cache entry format");
+            long storedAt = in.readLong();
+            long freshUntil = in.readLong();
+            String contentType = in.readUTF();
+            String etag = in.readUTF();
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new CachedResponse(contentType.isEmpty() ? null : contentType, etag, body, storedAt, freshUntil);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        subscription = Flux.usingWhen(
+                        Mono.fromCallable(() -> new ReactiveRedisMessageListenerContainer(connectionFactory)),
+                        container -> container.receive(ChannelTopic.of(purgeChannel))
+                                .map(ReactiveSubscription.Message::getMessage)
+                                .doOnNext(this::purgeLocal),
+                        ReactiveRedisMessageListenerContainer::destroyLater)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.debug("Response cache purge subscription lost, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) subscription.dispose();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Largest body that is cached; larger responses pass through uncached. */
+    public int maxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Looks up an entry, fresh or stale.
+     *
+     * @param key the cache key
+     * @return the entry, or empty on a miss
+     */
+    public Mono<CachedResponse> get(String key) {
+        if (!enabled) return Mono.empty();
+        CachedResponse local;
+        synchronized (l1) {
+            local = l1.get(key);
+            if (local != null && local.freshUntilMs() + staleTtlMs <= System.currentTimeMillis()) {
+                l1.remove(key);
+                local = null;
+            }
+        }
+        if (local != null) {
+            return Mono.just(local);
+        }
+        return bytesTemplate.opsForValue().get(keyPrefix + key)
+                .timeout(Duration.ofMillis(redisTimeoutMs))
+                .flatMap(data -> {
+                    try {
+                        return Mono.just(CachedResponse.decode(data));
+                    } catch (IOException e) {
+                        log.warn("Discarding unreadable response cache entry {}: {}", key, e.getMessage());
+                        return Mono.empty();
+                    }
+                })
+                .doOnNext(entry -> putLocal(key, entry))
+                .onErrorResume(ex -> {
+                    log.debug("Response cache: Redis lookup failed for {} ({})", key, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Stores a response in both tiers. The Redis write is asynchronous and
+     * best-effort.
+     *
+     * @param key         the cache key
+     * @param contentType response content type
+     * @param etag        entity tag, or {@code null} to derive one from the body
+     * @param body        response body
+     * @param ttl         how long the entry is fresh
+     * @return the stored entry
+     */
+    public CachedResponse put(String key, String contentType, String etag, byte[] body, Duration ttl) {
+        long now = System.currentTimeMillis();
+        CachedResponse entry = new CachedResponse(contentType, etag != null ? etag : etagOf(body),
+                body, now, now + ttl.toMillis());
+        if (!enabled) return entry;
+        putLocal(key, entry);
+        bytesTemplate.opsForValue()
+                .set(keyPrefix + key, entry.encode(), ttl.plusMillis(staleTtlMs))
+                .subscribe(ok -> { }, ex -> log.debug("Response cache: Redis write failed for {} ({})",
+                        key, ex.getMessage()));
+        return entry;
+    }
+
+    /**
+     * Removes every entry whose key starts with {@code prefix} on all replicas.
+     *
+     * @param prefix key prefix, e.g. {@code "catalog-service:"}; empty purges everything
+     * @return the number of Redis entries deleted
+     */
+    public Mono<Long> purge(String prefix) {
+        purgeLocal(prefix);
+        if (!enabled) return Mono.just(0L);
+        ScanOptions scan = ScanOptions.scanOptions().match(keyPrefix + escapeGlob(prefix) + "*").count(500).build();
+        return stringTemplate.scan(scan)
+                .buffer(500)
+                .concatMap(keys -> stringTemplate.delete(keys.toArray(String[]::new)))
+                .reduce(0L, Long::sum)
+                .flatMap(deleted -> stringTemplate.convertAndSend(purgeChannel, prefix).thenReturn(deleted))
+                .doOnNext(deleted -> log.info("Response cache purged '{}': {} shared entries", prefix, deleted))
+                .onErrorResume(ex -> {
+                    log.warn("Response cache purge of '{}' failed in Redis: {}", prefix, ex.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    /** Number of entries in the local tier. */
+    public int localSize() {
+        synchronized (l1) {
+            return l1.size();
+        }
+    }
+
+    /** Strong ETag derived from the body: 128 bits of its SHA-256, base64url. */
+    public static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void purgeLocal(String prefix) {
+        synchronized (l1) {
+            l1.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private void putLocal(String key, CachedResponse entry) {
+        synchronized (l1) {
+            l1.put(key, entry);
+        }
+    }
+
+    private static String escapeGlob(String s) {
+        return s.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+}
@@ -0,0 +1,67 @@
+package com.biolab.gateway.util;
+
+/**
+ * Security classification of a request path, computed once per exchange by
+ * {@link RouteSecurityMatcher} and shared by every gateway filter.
+ *
+ * <ul>
+ *   <li><b>open</b> — no JWT required ({@code app.route-security.open-paths})</li>
+ *   <li><b>bff</b> — handled by the BFF cookie filter ({@code app.route-security.bff-paths})</li>
+ *   <li><b>throttledAuth</b> — subject to the per-IP brute-force throttle
+ *       ({@code app.route-security.throttled-auth-paths})</li>
+ * </ul>
+ *
+ * <p>A path with none of the flags is <b>protected</b>. The eight possible
+ * combinations are interned, so classifying a request never allocates.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public final class RouteSecurity {
+
+    static final int OPEN = 1;
+    static final int BFF = 1 << 1;
+    static final int THROTTLED_AUTH = 1 << 2;
+
+    private static final RouteSecurity[] INTERNED = new RouteSecurity[8];
+    static {
+        for (int mask = 0; mask < INTERNED.length; mask++) {
+            INTERNED[mask] = new RouteSecurity(mask);
+        }
+    }
+
+    /** Classification of any path that matches no configured rule. */
+    public static final RouteSecurity PROTECTED = INTERNED[0];
+
+    private final int mask;
+
+    private RouteSecurity(int mask) {
+        this.mask = mask;
+    }
+
+    static RouteSecurity of(int mask) {
+        return INTERNED[mask & 7];
+    }
+
+    /** No JWT is required on this path. */
+    public boolean isOpen() { return (mask & OPEN) != 0; }
+
+    /** The path is one of the BFF refresh-token cookie endpoints. */
+    public boolean isBff() { return (mask & BFF) != 0; }
+
+    /** The path is an authentication endpoint subject to the IP throttle. */
+    public boolean isThrottledAuth() { return (mask & THROTTLED_AUTH) != 0; }
+
+    /** A valid JWT is required on this path. */
+    public boolean isProtected() { return !isOpen(); }
+
+    @Override
+    public String toString() {
+        if (mask == 0) return "PROTECTED";
+        StringBuilder sb = new StringBuilder();
+        if (isOpen()) sb.append("OPEN");
+        if (isBff()) sb.append(sb.isEmpty() ? "" : "|").append("BFF");
+        if (isThrottledAuth()) sb.append(sb.isEmpty() ? "" : "|").append("THROTTLED_AUTH");
+        return sb.toString();
+    }
+}
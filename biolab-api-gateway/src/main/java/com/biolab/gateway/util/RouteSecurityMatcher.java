@@ -0,0 +1,230 @@
+package com.biolab.gateway.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precompiled path classifier shared by all gateway global filters.
+ *
+ * <p>Replaces the per-filter string scans ({@code OPEN_PATHS.stream().anyMatch(...)}
+ * in the JWT filter, {@code startsWith} checks in the IP throttle, {@code equals}
+ * checks in the BFF filter) with one character trie built from configuration.
+ * A lookup walks the request path once and returns an interned
+ * {@link RouteSecurity}; {@link #classify(ServerWebExchange)} stores it as the
+ * {@link #ATTRIBUTE} exchange attribute so later filters reuse the result.</p>
+ *
+ * <h3>Configuration ({@code biolab-api-gateway.yml})</h3>
+ * <pre>
+ * app:
+ *   route-security:
+ *     open-paths:           /api/auth/login,/api/categories,...   # prefix match
+ *     bff-paths:            /api/auth/bff/login,...               # exact match
+ *     throttled-auth-paths: /api/auth/login,/api/auth/register    # prefix match
+ * </pre>
+ *
+ * <p>The trie is rebuilt and swapped atomically whenever an
+ * {@link EnvironmentChangeEvent} touches {@code app.route-security.*}
+ * (e.g. {@code POST /actuator/refresh} after a config-repo change), so rules
+ * can be changed without a restart. Missing properties fall back to the
+ * built-in defaults below.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class RouteSecurityMatcher {
+
+    /** Exchange attribute holding the {@link RouteSecurity} of the original request path. */
+    public static final String ATTRIBUTE = RouteSecurityMatcher.class.getName() + ".routeSecurity";
+
+    private static final String PREFIX = "app.route-security";
+
+    static final List<String> DEFAULT_OPEN_PATHS = List.of(
+        "/api/auth/login",
+        "/api/auth/register",
+        "/api/auth/forgot-password",
+        "/api/auth/reset-password",
+        "/api/auth/refresh-token",
+        "/api/auth/logout",
+        "/api/auth/mfa/verify",
+        "/api/auth/verify-email",
+        "/api/auth/resend-verification",
+        "/api/auth/validate-token",
+        // GAP-04: BFF endpoints handle their own auth logic
+        "/api/auth/bff/login",
+        "/api/auth/bff/refresh-token",
+        "/api/auth/bff/logout",
+        "/api/auth/bff/mfa/verify",
+        "/api/categories",
+        "/actuator",
+        "/swagger-ui",
+        "/v3/api-docs",
+        "/webjars",
+        "/eureka",
+        "/api/discovery",
+        "/api/config"
+    );
+
+    static final List<String> DEFAULT_BFF_PATHS = List.of(
+        "/api/auth/bff/login",
+        "/api/auth/bff/refresh-token",
+        "/api/auth/bff/logout",
+        "/api/auth/bff/mfa/verify"
+    );
+
+    /** BFF login is rewritten to {@code /api/auth/login}, so it is throttled too. */
+    static final List<String> DEFAULT_THROTTLED_AUTH_PATHS = List.of(
+        "/api/auth/login",
+        "/api/auth/register",
+        "/api/auth/bff/login"
+    );
+
+    private final Environment environment;
+
+    private volatile Trie trie;
+
+    public RouteSecurityMatcher(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /** Rebuilds the trie when route-security properties change at runtime. */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(PREFIX))) {
+            reload();
+        }
+    }
+
+    /**
+     * Re-reads {@code app.route-security.*} and atomically swaps in a new trie.
+     * In-flight requests keep the classification they already computed.
+     */
+    public void reload() {
+        Binder binder = Binder.get(environment);
+        List<String> open = bind(binder, "open-paths", DEFAULT_OPEN_PATHS);
+        List<String> bff = bind(binder, "bff-paths", DEFAULT_BFF_PATHS);
+        List<String> throttled = bind(binder, "throttled-auth-paths", DEFAULT_THROTTLED_AUTH_PATHS);
+        this.trie = compile(open, bff, throttled);
+        log.info("Route security rules compiled: {} open, {} BFF, {} throttled-auth",
+                open.size(), bff.size(), throttled.size());
+    }
+
+    /**
+     * Classifies a path against the current rules.
+     *
+     * @param path the request path
+     * @return the interned classification, never {@code null}
+     */
+    public RouteSecurity match(String path) {
+        return trie.match(path);
+    }
+
+    /**
+     * Returns the classification of the exchange, computing it on first use
+     * and caching it in the {@link #ATTRIBUTE} attribute. Mutated exchanges share
+     * attributes, so a BFF path rewrite does not change the classification.
+     *
+     * @param exchange the current server exchange
+     * @return the classification of the original request path
+     */
+    public RouteSecurity classify(ServerWebExchange exchange) {
+        RouteSecurity security = exchange.getAttribute(ATTRIBUTE);
+        if (security == null) {
+            security = match(exchange.getRequest().getURI().getPath());
+            exchange.getAttributes().put(ATTRIBUTE, security);
+        }
+        return security;
+    }
+
+    private static List<String> bind(Binder binder, String name, List<String> defaults) {
+        return binder.bind(PREFIX + "." + name, Bindable.listOf(String.class))
+                .map(paths -> paths.stream().map(String::trim).filter(p -> !p.isEmpty()).toList())
+                .orElse(defaults);
+    }
+
+    static Trie compile(List<String> openPaths, List<String> bffPaths, List<String> throttledAuthPaths) {
+        Node root = new Node();
+        openPaths.forEach(p -> root.insert(p).prefixMask |= RouteSecurity.OPEN);
+        bffPaths.forEach(p -> root.insert(p).exactMask |= RouteSecurity.BFF);
+        throttledAuthPaths.forEach(p -> root.insert(p).prefixMask |= RouteSecurity.THROTTLED_AUTH);
+        return new Trie(root);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────
+    // Immutable-after-build character trie
+    // ─────────────────────────────────────────────────────────────────────
+
+    static final class Trie {
+        private final Node root;
+
+        Trie(Node root) {
+            this.root = root;
+        }
+
+        /**
+         * Walks the path once, OR-ing the prefix flags of every rule passed on
+         * the way and the exact flags of the node the path ends on.
+         */
+        RouteSecurity match(String path) {
+            Node node = root;
+            int mask = node.prefixMask;
+            for (int i = 0, n = path.length(); i < n; i++) {
+                node = node.child(path.charAt(i));
+                if (node == null) {
+                    return RouteSecurity.of(mask);
+                }
+                mask |= node.prefixMask;
+            }
+            return RouteSecurity.of(mask | node.exactMask);
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int prefixMask;
+        private int exactMask;
+
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        Node insert(String path) {
+            Node node = this;
+            for (int i = 0; i < path.length(); i++) {
+                char c = path.charAt(i);
+                Node next = node.child(c);
+                if (next == null) {
+                    next = new Node();
+                    int n = node.keys.length;
+                    node.keys = Arrays.copyOf(node.keys, n + 1);
+                    node.children = Arrays.copyOf(node.children, n + 1);
+                    node.keys[n] = c;
+                    node.children[n] = next;
+                }
+                node = next;
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.biolab.gateway.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Token-level JSON rewriter that removes one top-level field while the body
+ * streams through, capturing its value on the way.
+ *
+ * <p>Used by the BFF filter to move {@code refreshToken} out of auth responses
+ * into the httpOnly cookie. Compared with joining the body and round-tripping
+ * it through a {@code JsonNode} tree, each upstream chunk is fed to Jackson's
+ * non-blocking parser as it arrives and every token except the removed field is
+ * copied straight into a single output {@link DataBuffer} (pooled when the
+ * server's buffer factory is) — one copy of the body instead of five, and no
+ * {@code String} or tree allocation.</p>
+ *
+ * <p>Only a field of the root object is removed; fields of the same name in
+ * nested objects are copied unchanged. A structured (object/array) value is
+ * dropped without being captured, and a {@code null} value is left in place, as
+ * there is no token to move. Numbers are copied exactly.</p>
+ *
+ * <p>Not thread-safe: one instance per response, fed in publisher order.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public final class StreamingJsonFieldRemover {
+
+    private final String fieldName;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final JsonGenerator generator;
+    private final DataBuffer output;
+
+    /** Nesting depth of the token just read; 1 = inside the root object/array. */
+    private int depth;
+    /** Set after the removed field's name until its value token arrives. */
+    private boolean pendingValue;
+    /** Remaining nesting of a structured value being skipped. */
+    private int skipDepth;
+    private String removedValue;
+    private boolean removed;
+
+    /**
+     * @param factory   JSON factory, normally {@code objectMapper.getFactory()}
+     * @param fieldName top-level field to remove
+     * @param output    buffer receiving the rewritten body; grows as needed
+     * @throws IOException if the parser or generator cannot be created
+     */
+    public StreamingJsonFieldRemover(JsonFactory factory, String fieldName, DataBuffer output)
+            throws IOException {
+        this.fieldName = fieldName;
+        this.output = output;
+        this.parser = factory.createNonBlockingByteBufferParser();
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.generator = factory.createGenerator(output.asOutputStream());
+    }
+
+    /**
+     * Parses one chunk and writes the tokens it completes. The chunk is not
+     * retained or released.
+     *
+     * @param chunk the next part of the body
+     * @throws IOException if the chunk is not valid JSON
+     */
+    public void feed(DataBuffer chunk) throws IOException {
+        try (DataBuffer.ByteBufferIterator buffers = chunk.readableByteBuffers()) {
+            while (buffers.hasNext()) {
+                ByteBuffer buffer = buffers.next();
+                if (buffer.hasRemaining()) {
+                    feeder.feedInput(buffer);
+                    drain();
+                }
+            }
+        }
+    }
+
+    /**
+     * Signals end of input, writes any remaining tokens and flushes the output.
+     *
+     * @return the rewritten body (the buffer passed to the constructor)
+     * @throws IOException if the body ends inside a JSON value
+     */
+    public DataBuffer finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        if (depth != 0 || pendingValue) {
+            throw new IOException("Unexpected end of JSON input");
+        }
+        generator.flush();
+        parser.close();
+        return output;
+    }
+
+    /** Whether the field was found at top level and removed. */
+    public boolean removed() {
+        return removed;
+    }
+
+    /** Text of the removed scalar value, or {@code null} if none was captured. */
+    public String removedValue() {
+        return removedValue;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (token.isStructStart()) depth++;
+            else if (token.isStructEnd()) depth--;
+
+            if (skipDepth > 0) {
+                if (token.isStructStart()) skipDepth++;
+                else if (token.isStructEnd()) skipDepth--;
+                continue;
+            }
+            if (pendingValue) {
+                pendingValue = false;
+                if (token == JsonToken.VALUE_NULL) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeNull();
+                    continue;
+                }
+                removed = true;
+                if (token.isStructStart()) {
+                    skipDepth = 1;
+                } else {
+                    removedValue = parser.getText();
+                }
+                continue;
+            }
+            if (token == JsonToken.FIELD_NAME && depth == 1 && fieldName.equals(parser.currentName())) {
+                pendingValue = true;
+                continue;
+            }
+            generator.copyCurrentEventExact(parser);
+        }
+    }
+}
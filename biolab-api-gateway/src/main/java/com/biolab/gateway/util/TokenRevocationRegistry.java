@@ -0,0 +1,206 @@
+package com.biolab.gateway.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local, TTL-bounded set of revoked access tokens, fed by the Auth Service.
+ *
+ * <p>The Auth Service writes every revocation to Redis (see its
+ * {@code TokenRevocationPublisher}) and publishes it on
+ * {@code app.jwt.revocation.channel}. This registry subscribes to that channel
+ * and keeps two in-memory maps so {@link #isRevoked(VerifiedClaims)} is a pair
+ * of hash lookups with no per-request network call:</p>
+ * <ul>
+ *   <li><b>revoked JTIs</b> → token expiry: a single logged-out token</li>
+ *   <li><b>user epochs</b> → revocation time: every token of the user issued
+ *       before it (password change/reset, admin force-logout)</li>
+ * </ul>
+ *
+ * <p>{@code iat} has second precision, so user epochs are compared per
+ * second: tokens issued in an earlier second are revoked, tokens issued in the
+ * epoch's own second are not. This keeps the token from a re-login right after
+ * "log out everywhere" valid, at the cost of a window of up to one second in
+ * which a token issued just before the revocation survives it.</p>
+ *
+ * <h3>Bootstrap</h3>
+ * <p>On (re)subscription the current revocation set is loaded from the
+ * {@code app.jwt.revocation.jti-key} / {@code user-key} sorted sets, so a new
+ * gateway instance — or one that lost its Redis connection — starts with every
+ * revocation that can still match a live token. Subscription failures are
+ * retried with back-off and never block startup.</p>
+ *
+ * <h3>Bounds</h3>
+ * <p>JTIs are dropped once the token has expired and user epochs once
+ * {@code app.jwt.revocation.user-epoch-retention-ms} (the access-token TTL)
+ * has passed, so the maps only ever hold revocations from the last access-token
+ * lifetime. At that size an exact hash set is already a single probe, so no
+ * Bloom-filter pre-check is used.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${app.jwt.revocation.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.jwt.revocation.channel:biolab:token-revocation}")
+    private String channel = "biolab:token-revocation";
+
+    @Value("${app.jwt.revocation.jti-key:biolab:revoked:jti}")
+    private String jtiKey = "biolab:revoked:jti";
+
+    @Value("${app.jwt.revocation.user-key:biolab:revoked:user-epoch}")
+    private String userKey = "biolab:revoked:user-epoch";
+
+    /** How long a user epoch can still match a live token — the access-token TTL. */
+    @Value("${app.jwt.revocation.user-epoch-retention-ms:900000}")
+    private long userEpochRetentionMs = 900_000;
+
+    /** jti → token expiry (epoch millis). */
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+
+    /** user id → revocation epoch (epoch millis). */
+    private final Map<String, Long> userEpochs = new ConcurrentHashMap<>();
+
+    private Disposable subscription;
+    private Disposable pruning;
+
+    public TokenRevocationRegistry(ReactiveRedisConnectionFactory connectionFactory,
+                                   ReactiveStringRedisTemplate redisTemplate) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Token revocation registry disabled (app.jwt.revocation.enabled=false)");
+            return;
+        }
+        subscription = Flux.usingWhen(
+                        Mono.fromCallable(() -> new ReactiveRedisMessageListenerContainer(connectionFactory)),
+                        container -> container.receiveLater(ChannelTopic.of(channel))
+                                .flatMapMany(messages -> Flux.merge(
+                                        messages.map(ReactiveSubscription.Message::getMessage)
+                                                .doOnNext(this::apply)
+                                                .then(),
+                                        bootstrap())),
+                        ReactiveRedisMessageListenerContainer::destroyLater)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Token revocation subscription lost, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+        pruning = Flux.interval(Duration.ofMinutes(1)).subscribe(tick -> prune());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) subscription.dispose();
+        if (pruning != null) pruning.dispose();
+    }
+
+    /**
+     * Checks a verified token against the local revocation set.
+     *
+     * @param claims claims of a token that already passed signature and expiry checks
+     * @return {@code true} if the token was revoked
+     */
+    public boolean isRevoked(VerifiedClaims claims) {
+        if (claims.jti() != null && revokedJtis.containsKey(claims.jti())) {
+            return true;
+        }
+        Long epochMs = userEpochs.get(claims.subject());
+        if (epochMs == null) {
+            return false;
+        }
+        // iat has second precision: only tokens issued in an earlier second are revoked
+        return claims.issuedAt() == null || claims.issuedAt().getEpochSecond() < epochMs / 1000;
+    }
+
+    /** Records a single revoked token until {@code expMs}. */
+    public void revokeToken(String jti, long expMs) {
+        if (expMs > System.currentTimeMillis()) {
+            revokedJtis.merge(jti, expMs, Math::max);
+        }
+    }
+
+    /** Revokes all tokens of {@code userId} issued in a second before {@code epochMs}'s. */
+    public void revokeUser(String userId, long epochMs) {
+        if (epochMs + userEpochRetentionMs > System.currentTimeMillis()) {
+            userEpochs.merge(userId, epochMs, Math::max);
+        }
+    }
+
+    /** Drops entries that can no longer match a live access token. */
+    void prune() {
+        long now = System.currentTimeMillis();
+        revokedJtis.values().removeIf(expMs -> expMs <= now);
+        userEpochs.values().removeIf(epochMs -> epochMs + userEpochRetentionMs <= now);
+    }
+
+    /** Number of revocation entries currently held (JTIs + user epochs). */
+    int size() {
+        return revokedJtis.size() + userEpochs.size();
+    }
+
+    /** Applies a channel message: {@code "jti <jti> <expMs>"} or {@code "user <userId> <epochMs>"}. */
+    void apply(String message) {
+        String[] parts = message.split(" ");
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed revocation message: {}", message);
+            return;
+        }
+        try {
+            long millis = Long.parseLong(parts[2]);
+            switch (parts[0]) {
+                case "jti"  -> revokeToken(parts[1], millis);
+                case "user" -> revokeUser(parts[1], millis);
+                default     -> log.warn("Ignoring unknown revocation message: {}", message);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", message);
+        }
+    }
+
+    private Mono<Void> bootstrap() {
+        long now = System.currentTimeMillis();
+        Mono<Long> jtis = redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(jtiKey, Range.rightUnbounded(Range.Bound.inclusive((double) now)))
+                .doOnNext(t -> revokeToken(t.getValue(), t.getScore().longValue()))
+                .count();
+        Mono<Long> users = redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(userKey,
+                        Range.rightUnbounded(Range.Bound.inclusive((double) (now - userEpochRetentionMs))))
+                .doOnNext(t -> revokeUser(t.getValue(), t.getScore().longValue()))
+                .count();
+        return Mono.zip(jtis, users)
+                .doOnNext(counts -> log.info("Token revocation set bootstrapped: {} tokens, {} user epochs",
+                        counts.getT1(), counts.getT2()))
+                .then();
+    }
+}
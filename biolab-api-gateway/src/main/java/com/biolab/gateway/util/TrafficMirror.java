@@ -0,0 +1,280 @@
+package com.biolab.gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Shadow traffic for {@code TrafficMirrorFilter}: sends copies of sampled
+ * requests to a shadow {@code lb://} service (for example a new build
+ * registered under another service id) and discards the responses.
+ *
+ * <h3>Configuration ({@code app.mirroring.routes.<route-id>})</h3>
+ * <ul>
+ *   <li>{@code target} — {@code lb://SERVICE-ID} of the shadow</li>
+ *   <li>{@code percent} — share of eligible requests mirrored (0–100)</li>
+ *   <li>{@code methods} — methods mirrored; {@code GET}, {@code HEAD} and
+ *       {@code OPTIONS} by default, mutating methods only when listed
+ *       explicitly</li>
+ * </ul>
+ *
+ * <h3>No effect on the primary</h3>
+ * <p>Mirrored calls are fire-and-forget on their own subscription, limited to
+ * {@code app.mirroring.max-in-flight} per route and
+ * {@code app.mirroring.timeout-ms} each; over the limit a copy is dropped,
+ * never queued. Request bodies are copied as the primary reads them, up to
+ * {@code app.mirroring.max-body-bytes}. Copies carry {@code X-Mirrored: true}.</p>
+ *
+ * <h3>Meters (tag {@code route})</h3>
+ * <ul>
+ *   <li>{@code biolab.gateway.mirror.latency} (tags {@code side}:
+ *       {@code primary} / {@code shadow}, {@code status}: status class,
+ *       {@code TIMEOUT} or {@code ERROR}) — recorded for the mirrored requests
+ *       only, so both sides see the same traffic</li>
+ *   <li>{@code biolab.gateway.mirror.mismatch} — mirrored requests whose
+ *       primary and shadow status classes differ</li>
+ *   <li>{@code biolab.gateway.mirror.dropped} (tag {@code reason}:
+ *       {@code saturated}, {@code body_too_large})</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class TrafficMirror {
+
+    /** Header marking mirrored requests. */
+    public static final String MIRRORED_HEADER = "X-Mirrored";
+
+    /** Request headers not copied; the shadow connection sets its own. */
+    private static final Set<String> NOT_COPIED = Set.of(
+            HttpHeaders.HOST.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.EXPECT.toLowerCase(), HttpHeaders.UPGRADE.toLowerCase());
+
+    /**
+     * Mirroring of one route.
+     *
+     * @param target  shadow service, {@code lb://SERVICE-ID}
+     * @param percent share of eligible requests mirrored, 0–100
+     * @param methods methods eligible for mirroring
+     */
+    public record Target(URI target,
+                         double percent,
+                         @DefaultValue({"GET", "HEAD", "OPTIONS"}) Set<String> methods) {
+
+        public Target {
+            if (target == null || !"lb".equals(target.getScheme()) || target.getHost() == null) {
+                throw new IllegalArgumentException("app.mirroring target must be lb://SERVICE-ID: " + target);
+            }
+            methods = methods.stream().map(String::toUpperCase).collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    private final WebClient webClient;
+    private final MeterRegistry registry;
+    private final Map<String, Target> targets;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Value("${app.mirroring.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.mirroring.timeout-ms:5000}")
+    private long timeoutMs = 5000;
+
+    @Value("${app.mirroring.max-in-flight:100}")
+    private int maxInFlight = 100;
+
+    @Value("${app.mirroring.max-body-bytes:262144}")
+    private int maxBodyBytes = 262_144;
+
+    @Autowired
+    public TrafficMirror(WebClient.Builder webClientBuilder,
+                         ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancer,
+                         MeterRegistry registry,
+                         Environment environment) {
+        this(webClientBuilder, loadBalancer, registry, Binder.get(environment)
+                .bind("app.mirroring.routes", Bindable.mapOf(String.class, Target.class))
+                .orElse(Map.of()));
+    }
+
+    /** @param targets route id → mirroring of that route */
+    public TrafficMirror(WebClient.Builder webClientBuilder,
+                         ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancer,
+                         MeterRegistry registry,
+                         Map<String, Target> targets) {
+        loadBalancer.ifAvailable(webClientBuilder::filter);
+        this.webClient = webClientBuilder.build();
+        this.registry = registry;
+        this.targets = Map.copyOf(targets);
+        this.targets.forEach((route, target) -> log.info("Mirroring {}% of {} {} requests to {}",
+                target.percent(), route, target.methods(), target.target()));
+    }
+
+    /** Largest request body copied for the shadow. */
+    public int maxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Decides whether this request is mirrored and, if so, reserves an
+     * in-flight slot for its copy.
+     *
+     * @return the mirrored request to complete with {@link Mirrored#send}, or
+     *         {@code null} if the request is not mirrored
+     */
+    public Mirrored sample(String routeId, HttpMethod method) {
+        Target target = targets.get(routeId);
+        if (!enabled || target == null || !target.methods().contains(method.name())
+                || ThreadLocalRandom.current().nextDouble(100) >= target.percent()) {
+            return null;
+        }
+        AtomicInteger count = inFlight.computeIfAbsent(routeId, id -> new AtomicInteger());
+        if (count.incrementAndGet() > maxInFlight) {
+            count.decrementAndGet();
+            dropped(routeId, "saturated");
+            return null;
+        }
+        return new Mirrored(routeId, target, count);
+    }
+
+    private void dropped(String routeId, String reason) {
+        counters.computeIfAbsent("dropped:" + routeId + ':' + reason, k -> Counter.builder("biolab.gateway.mirror.dropped")
+                .description("Mirrored copies not sent")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(registry)).increment();
+    }
+
+    private void record(String routeId, String side, String status, long nanos) {
+        timers.computeIfAbsent(routeId + ':' + side + ':' + status, k -> Timer.builder("biolab.gateway.mirror.latency")
+                .description("Latency of mirrored requests on the primary and the shadow")
+                .tag("route", routeId)
+                .tag("side", side)
+                .tag("status", status)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String statusClass(HttpStatusCode status) {
+        return status != null ? (status.value() / 100) + "xx" : "ERROR";
+    }
+
+    /** One mirrored request: its copy and the comparison of both outcomes. */
+    public final class Mirrored {
+        private final String routeId;
+        private final Target target;
+        private final AtomicInteger slot;
+        private final long startNanos = System.nanoTime();
+        private final AtomicReference<String> primaryStatus = new AtomicReference<>();
+        private final AtomicReference<String> shadowStatus = new AtomicReference<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Mirrored(String routeId, Target target, AtomicInteger slot) {
+            this.routeId = routeId;
+            this.target = target;
+            this.slot = slot;
+        }
+
+        /**
+         * Sends the copy without waiting for it.
+         *
+         * @param method  request method
+         * @param uri     request URI as received (path and query are kept)
+         * @param headers request headers as forwarded to the primary
+         * @param body    request body, or {@code null}
+         */
+        public void send(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            URI shadowUri = URI.create("http://" + target.target().getHost() + uri.getRawPath()
+                    + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : ""));
+            long sentAt = System.nanoTime();
+            WebClient.RequestBodySpec request = webClient.method(method).uri(shadowUri)
+                    .headers(h -> {
+                        headers.forEach((name, values) -> {
+                            if (!NOT_COPIED.contains(name.toLowerCase())) h.addAll(name, values);
+                        });
+                        h.set(MIRRORED_HEADER, "true");
+                    });
+            (body != null ? request.bodyValue(body) : request)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(statusClass(response.statusCode())))
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .onErrorResume(ex -> Mono.just(ex instanceof TimeoutException ? "TIMEOUT" : "ERROR"))
+                    .subscribeOn(Schedulers.parallel())
+                    .subscribe(status -> {
+                        record(routeId, "shadow", status, System.nanoTime() - sentAt);
+                        shadowStatus.set(status);
+                        compare();
+                    }, ex -> slot.decrementAndGet(), slot::decrementAndGet);
+        }
+
+        /**
+         * Gives up the copy unless it was already sent.
+         *
+         * @param reason reason counted as dropped, or {@code null} when the
+         *               primary ended before its body was read
+         */
+        public void abandon(String reason) {
+            if (claimed.compareAndSet(false, true)) {
+                if (reason != null) {
+                    dropped(routeId, reason);
+                }
+                slot.decrementAndGet();
+            }
+        }
+
+        /** Records the primary's outcome for the side-by-side comparison. */
+        public void primaryCompleted(HttpStatusCode status) {
+            String statusClass = statusClass(status);
+            record(routeId, "primary", statusClass, System.nanoTime() - startNanos);
+            primaryStatus.set(statusClass);
+            compare();
+        }
+
+        private void compare() {
+            String primary = primaryStatus.get();
+            String shadow = shadowStatus.get();
+            if (primary != null && shadow != null && !primary.equals(shadow)
+                    && primaryStatus.compareAndSet(primary, "")) {
+                counters.computeIfAbsent("mismatch:" + routeId, k -> Counter.builder("biolab.gateway.mirror.mismatch")
+                        .description("Mirrored requests whose primary and shadow status classes differ")
+                        .tag("route", routeId)
+                        .register(registry)).increment();
+                log.debug("Mirror mismatch on {}: primary {} shadow {}", routeId, primary, shadow);
+            }
+        }
+    }
+}
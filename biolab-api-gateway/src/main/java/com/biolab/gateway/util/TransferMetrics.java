@@ -0,0 +1,94 @@
+package com.biolab.gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters for streamed transfers ({@code StreamingTransferFilter}).
+ *
+ * <h3>Meters (tag {@code route})</h3>
+ * <ul>
+ *   <li>{@code biolab.gateway.transfer.bytes} (tag {@code direction}) — body
+ *       size per transfer</li>
+ *   <li>{@code biolab.gateway.transfer.throughput} (tag {@code direction}) —
+ *       bytes per second from the first to the last chunk; transfers that fit
+ *       in a single chunk are not recorded</li>
+ *   <li>{@code biolab.gateway.transfer.aborted} (tag {@code reason}:
+ *       {@code too_large}, {@code idle_timeout}, {@code error},
+ *       {@code cancelled})</li>
+ *   <li>{@code biolab.gateway.transfer.active} — transfers in progress</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class TransferMetrics {
+
+    /** Which body a measurement is about. */
+    public enum Direction { UPLOAD, DOWNLOAD }
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    public TransferMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records one direction of a finished transfer.
+     *
+     * @param bytes         body bytes that went through the gateway
+     * @param durationNanos time from the first to the last chunk
+     */
+    public void record(String routeId, Direction direction, long bytes, long durationNanos) {
+        String dir = direction.name().toLowerCase();
+        DistributionSummary.builder("biolab.gateway.transfer.bytes")
+                .description("Streamed body size per transfer")
+                .baseUnit("bytes")
+                .tag("route", routeId)
+                .tag("direction", dir)
+                .register(registry)
+                .record(bytes);
+        if (durationNanos >= 1_000_000) {
+            DistributionSummary.builder("biolab.gateway.transfer.throughput")
+                    .description("Streamed body throughput per transfer")
+                    .baseUnit("bytes/s")
+                    .tag("route", routeId)
+                    .tag("direction", dir)
+                    .register(registry)
+                    .record(bytes * 1e9 / durationNanos);
+        }
+    }
+
+    /** Counts a transfer that did not complete. */
+    public void aborted(String routeId, String reason) {
+        Counter.builder("biolab.gateway.transfer.aborted")
+                .description("Streamed transfers that did not complete")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /** Tracks a transfer in progress; call {@link AtomicInteger#decrementAndGet()} on the result when done. */
+    public AtomicInteger started(String routeId) {
+        AtomicInteger count = active.computeIfAbsent(routeId, id -> {
+            AtomicInteger gauge = new AtomicInteger();
+            Gauge.builder("biolab.gateway.transfer.active", gauge, AtomicInteger::get)
+                    .description("Streamed transfers in progress")
+                    .tag("route", id)
+                    .register(registry);
+            return gauge;
+        });
+        count.incrementAndGet();
+        return count;
+    }
+}
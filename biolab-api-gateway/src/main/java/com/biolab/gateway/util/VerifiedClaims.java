@@ -0,0 +1,45 @@
+package com.biolab.gateway.util;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the claims of an access token that has already passed
+ * signature, issuer and expiry checks in {@link JwtUtil#verify(String)}.
+ *
+ * <p>Instances are shared across requests through the verified-claims cache,
+ * so every component is either immutable or defensively copied.</p>
+ *
+ * @param subject   user UUID ({@code sub})
+ * @param email     user email ({@code email}), may be {@code null}
+ * @param roles     role names ({@code roles}), never {@code null}
+ * @param orgId     organisation UUID ({@code orgId}), may be {@code null}
+ * @param jti       token id ({@code jti}), may be {@code null}
+ * @param issuedAt  issue time ({@code iat}), may be {@code null}
+ * @param expiresAt expiry time ({@code exp})
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public record VerifiedClaims(String subject,
+                             String email,
+                             List<String> roles,
+                             String orgId,
+                             String jti,
+                             Instant issuedAt,
+                             Instant expiresAt) {
+
+    public VerifiedClaims {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    /** Comma-separated roles, as forwarded in the {@code X-User-Roles} header. */
+    public String rolesHeader() {
+        return String.join(",", roles);
+    }
+
+    /** {@code true} once the token's {@code exp} has been reached. */
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,44 @@
+-- ════════════════════════════════════════════════════════════════════════
+-- Token-bucket reservations (RateLimitFilter / HierarchicalRateLimiter)
+--
+-- KEYS[i]        hash { tokens, ts } of one bucket (user, org or global)
+-- ARGV[3i-2]     replenish rate of bucket i, tokens per second
+-- ARGV[3i-1]     burst capacity of bucket i
+-- ARGV[3i]       tokens requested from bucket i
+--
+-- Returns { granted_1, retry_ms_1, granted_2, retry_ms_2, ... }
+--
+-- Each bucket grants as many of the requested tokens as it holds (possibly
+-- fewer than requested, possibly none); retry_ms is the time until the next
+-- whole token when nothing could be granted. The gateway spends granted
+-- tokens locally, so the total admitted by all replicas never exceeds what
+-- the buckets hand out. Uses the Redis server clock so replica clock skew
+-- does not change the refill.
+-- ════════════════════════════════════════════════════════════════════════
+local time = redis.call('TIME')
+local now  = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local result = {}
+for i, key in ipairs(KEYS) do
+  local rate      = tonumber(ARGV[3 * i - 2])
+  local capacity  = tonumber(ARGV[3 * i - 1])
+  local requested = tonumber(ARGV[3 * i])
+
+  local state  = redis.call('HMGET', key, 'tokens', 'ts')
+  local tokens = tonumber(state[1]) or capacity
+  local ts     = tonumber(state[2]) or now
+  tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+  local granted = math.min(requested, math.floor(tokens))
+  tokens = tokens - granted
+  local retry = 0
+  if granted == 0 then
+    retry = math.ceil((1 - tokens) * 1000 / rate)
+  end
+
+  redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(now))
+  redis.call('PEXPIRE', key, math.ceil(capacity * 1000 / rate) + 1000)
+  result[2 * i - 1] = granted
+  result[2 * i]     = retry
+end
+return result
@@ -0,0 +1,37 @@
+-- ════════════════════════════════════════════════════════════════════════
+-- Sliding-window auth throttle (IpThrottleFilter / RedisSlidingWindowLimiter)
+--
+-- KEYS[1]  sorted set holding one member per accepted attempt of a client IP
+-- ARGV[1]  window length in milliseconds
+-- ARGV[2]  maximum attempts per window
+-- ARGV[3]  unique member id for this attempt
+--
+-- Returns { allowed (1|0), attempts in window, retry-after ms }
+--
+-- Runs atomically, so concurrent attempts from any number of gateway
+-- replicas are counted exactly once. Uses the Redis server clock so
+-- replica clock skew does not move the window. Rejected attempts are
+-- not recorded, which keeps the set bounded by the limit.
+-- ════════════════════════════════════════════════════════════════════════
+local key    = KEYS[1]
+local window = tonumber(ARGV[1])
+local limit  = tonumber(ARGV[2])
+
+local time = redis.call('TIME')
+local now  = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+local count = redis.call('ZCARD', key)
+
+if count >= limit then
+  local retry = window
+  local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+  if oldest[2] then
+    retry = tonumber(oldest[2]) + window - now
+  end
+  return { 0, count, retry }
+end
+
+redis.call('ZADD', key, now, ARGV[3])
+redis.call('PEXPIRE', key, window)
+return { 1, count + 1, 0 }
@@ -0,0 +1,94 @@
+package com.biolab.gateway.benchmark;
+
+import com.biolab.gateway.util.RouteSecurity;
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: compiled {@link RouteSecurityMatcher} trie vs. the previous
+ * per-filter string scans (JWT open-path stream, IP-throttle {@code startsWith},
+ * BFF {@code equals}).
+ *
+ * <p>Run from {@code biolab-api-gateway}:</p>
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *      com.biolab.gateway.benchmark.RouteSecurityMatcherBenchmark
+ * </pre>
+ *
+ * @author BioLab Engineering Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteSecurityMatcherBenchmark {
+
+    /** Copy of the list previously hard-coded in JwtAuthenticationFilter. */
+    private static final List<String> LEGACY_OPEN_PATHS = List.of(
+        "/api/auth/login", "/api/auth/register", "/api/auth/forgot-password",
+        "/api/auth/reset-password", "/api/auth/refresh-token", "/api/auth/logout",
+        "/api/auth/mfa/verify", "/api/auth/verify-email", "/api/auth/resend-verification",
+        "/api/auth/validate-token", "/api/auth/bff/login", "/api/auth/bff/refresh-token",
+        "/api/auth/bff/logout", "/api/auth/bff/mfa/verify", "/api/categories", "/actuator",
+        "/swagger-ui", "/v3/api-docs", "/webjars", "/eureka", "/api/discovery", "/api/config"
+    );
+
+    @Param({"/api/projects/3f0c9a7e-1b2d-4c5e-8f90-123456789abc/milestones",
+            "/api/categories",
+            "/api/auth/login",
+            "/api/auth/bff/refresh-token"})
+    public String path;
+
+    private RouteSecurityMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        matcher = new RouteSecurityMatcher(new MockEnvironment());
+        matcher.init();
+    }
+
+    /** What the three filters did per request before the trie. */
+    @Benchmark
+    public void legacyScans(Blackhole bh) {
+        bh.consume(path.equals("/api/auth/bff/login") || path.equals("/api/auth/bff/refresh-token")
+                || path.equals("/api/auth/bff/logout") || path.equals("/api/auth/bff/mfa/verify"));
+        bh.consume(path.startsWith("/api/auth/login") || path.startsWith("/api/auth/register"));
+        bh.consume(LEGACY_OPEN_PATHS.stream().anyMatch(path::startsWith));
+    }
+
+    /** One trie walk yields all three answers. */
+    @Benchmark
+    public void compiledTrie(Blackhole bh) {
+        RouteSecurity security = matcher.match(path);
+        bh.consume(security.isBff());
+        bh.consume(security.isThrottledAuth());
+        bh.consume(security.isOpen());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteSecurityMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the response rewriting of {@link BffCookieFilter} with a stub
+ * auth service writing its body in several chunks.
+ *
+ * @author BioLab Engineering Team
+ */
+class BffCookieFilterTest {
+
+    private BffCookieFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RouteSecurityMatcher matcher = new RouteSecurityMatcher(new MockEnvironment());
+        matcher.init();
+        filter = new BffCookieFilter(new ObjectMapper(), matcher);
+        ReflectionTestUtils.setField(filter, "cookieName", "biolab_rt");
+        ReflectionTestUtils.setField(filter, "refreshTokenExpirationMs", 604_800_000L);
+    }
+
+    /** Auth service stub answering 200 with {@code body} in chunks of {@code chunkSize} bytes. */
+    private static GatewayFilterChain auth(String body, MediaType contentType, int chunkSize) {
+        return exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            List<DataBuffer> chunks = new ArrayList<>();
+            for (int i = 0; i < bytes.length; i += chunkSize) {
+                chunks.add(DefaultDataBufferFactory.sharedInstance
+                        .wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+            }
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(contentType);
+            response.getHeaders().setContentLength(bytes.length);
+            return response.writeWith(Flux.fromIterable(chunks));
+        };
+    }
+
+    private MockServerWebExchange login(GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/bff/login"));
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-505] Moves the refresh token of a chunked login response into the cookie")
+    void shouldMoveRefreshTokenToCookie() {
+        String body = "{\"accessToken\":\"" + "a".repeat(500) + "\",\"refreshToken\":\"rt-123\",\"expiresIn\":900}";
+        MockServerWebExchange exchange = login(auth(body, MediaType.APPLICATION_JSON, 64));
+
+        assertEquals("rt-123", exchange.getResponse().getCookies().getFirst("biolab_rt").getValue());
+        String rewritten = exchange.getResponse().getBodyAsString().block();
+        assertFalse(rewritten.contains("refreshToken"), rewritten);
+        assertEquals(rewritten.getBytes(StandardCharsets.UTF_8).length,
+                exchange.getResponse().getHeaders().getContentLength());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-506] Passes a non-JSON body of several chunks through whole and untouched")
+    void shouldPassThroughNonJsonBody() {
+        String page = "<html><body>" + "Service temporarily unavailable. ".repeat(40) + "</body></html>";
+        MockServerWebExchange exchange = login(auth(page, MediaType.TEXT_HTML, 100));
+
+        assertEquals(page, exchange.getResponse().getBodyAsString().block());
+        assertEquals(page.length(), exchange.getResponse().getHeaders().getContentLength());
+        assertNull(exchange.getResponse().getCookies().getFirst("biolab_rt"));
+
+        // JSON that breaks off part-way through is passed through the same way
+        String broken = "{\"accessToken\":\"" + "a".repeat(500) + "\",\"refreshToken\":\"rt-1\"}}" + "x".repeat(300);
+        MockServerWebExchange partial = login(auth(broken, MediaType.APPLICATION_JSON, 64));
+        assertEquals(broken, partial.getResponse().getBodyAsString().block());
+        assertNull(partial.getResponse().getCookies().getFirst("biolab_rt"));
+    }
+}
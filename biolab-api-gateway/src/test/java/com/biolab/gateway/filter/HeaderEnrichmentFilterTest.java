@@ -0,0 +1,156 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.FlightRecorder;
+import com.biolab.gateway.util.GatewayRequestMetrics;
+import com.biolab.gateway.util.JwtUtil;
+import com.biolab.gateway.util.RequestHeaderEdits;
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import com.biolab.gateway.util.TokenRevocationRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link HeaderEnrichmentFilter} and {@link RequestHeaderEdits}
+ * running the tracing, JWT and gateway-token filters in gateway order.
+ *
+ * @author BioLab Engineering Team
+ */
+class HeaderEnrichmentFilterTest {
+
+    private static final String SECRET = "BioLabTestSecretKeyForJWTSigningMustBeAtLeast256BitsLongForTesting!";
+
+    private List<GlobalFilter> filters;
+
+    /** Requests seen by each filter, then by the routing stub at the end of the chain. */
+    private final List<ServerHttpRequest> seen = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expectedIssuer", "biolab-auth-service");
+        jwtUtil.init();
+        RouteSecurityMatcher matcher = new RouteSecurityMatcher(new MockEnvironment());
+        matcher.init();
+
+        GatewayTokenFilter tokenFilter = new GatewayTokenFilter();
+        ReflectionTestUtils.setField(tokenFilter, "gatewayInternalToken", "gw-secret");
+        RequestLoggingFilter loggingFilter = new RequestLoggingFilter(
+                new GatewayRequestMetrics(new SimpleMeterRegistry(), new long[]{100}), new FlightRecorder(16));
+        ReflectionTestUtils.setField(loggingFilter, "accessLogEnabled", false);
+
+        filters = new ArrayList<>(List.of(
+                new HeaderEnrichmentFilter(),
+                tokenFilter,
+                new JwtAuthenticationFilter(jwtUtil, matcher, new TokenRevocationRegistry(null, null)),
+                loggingFilter));
+        filters.sort(Comparator.comparingInt(f -> ((Ordered) f).getOrder()));
+        seen.clear();
+    }
+
+    private String token() {
+        return Jwts.builder()
+                .subject("user-1")
+                .claim("email", "ana@biolab.com")
+                .claim("roles", List.of("BUYER"))
+                .claim("orgId", "org-9")
+                .issuer("biolab-auth-service")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    /** Runs the filters in order; the last element of {@link #seen} is the routed request. */
+    private HttpHeaders run(MockServerHttpRequest request) {
+        chain(0).filter(MockServerWebExchange.from(request)).block();
+        return seen.get(seen.size() - 1).getHeaders();
+    }
+
+    private GatewayFilterChain chain(int index) {
+        return exchange -> {
+            seen.add(exchange.getRequest());
+            return index < filters.size()
+                    ? filters.get(index).filter(exchange, chain(index + 1))
+                    : Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1101] Applies identity, tracing and gateway-token headers in one request mutation")
+    void shouldEnrichInOneMutation() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/projects/7")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+                .header("X-User-Id", "spoofed")
+                .header("x-user-roles", "SUPER_ADMIN")
+                .build();
+
+        HttpHeaders routed = run(request);
+
+        assertEquals(List.of("user-1"), routed.get("X-User-Id"));
+        assertEquals("ana@biolab.com", routed.getFirst("X-User-Email"));
+        assertEquals(List.of("BUYER"), routed.get("X-User-Roles"));
+        assertEquals("org-9", routed.getFirst("X-User-OrgId"));
+        assertEquals("gw-secret", routed.getFirst(GatewayTokenFilter.HEADER_GATEWAY_TOKEN));
+        assertNotNull(routed.getFirst("X-Correlation-Id"));
+        assertNotNull(routed.getFirst("X-Request-Timestamp"));
+
+        int stage = filters.indexOf(filters.stream().filter(HeaderEnrichmentFilter.class::isInstance)
+                .findFirst().orElseThrow());
+        for (int i = 0; i <= stage; i++) {
+            assertSame(request, seen.get(i), "filter " + i + " saw a rebuilt request");
+        }
+        assertEquals(1, seen.stream().skip(stage + 1).distinct().count(), "one rebuilt request downstream");
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1102] Strips spoofed identity headers on open paths")
+    void shouldStripIdentityHeadersOnOpenPaths() {
+        HttpHeaders routed = run(MockServerHttpRequest.get("/api/categories")
+                .header("X-User-Id", "spoofed")
+                .header("X-User-OrgId", "other-org")
+                .build());
+
+        assertNull(routed.get("X-User-Id"));
+        assertNull(routed.get("X-User-OrgId"));
+        assertEquals("gw-secret", routed.getFirst(GatewayTokenFilter.HEADER_GATEWAY_TOKEN));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1103] Last edit per header wins regardless of case; no edits leave the exchange untouched")
+    void shouldApplyLastEditPerHeader() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/x")
+                .header("X-A", "client").header("X-B", "client").build());
+        assertSame(exchange, RequestHeaderEdits.apply(exchange));
+
+        RequestHeaderEdits.of(exchange).set("x-a", "1").remove("X-A").set("X-B", "2").remove("x-b").set("X-b", "3");
+        ServerWebExchange edited = RequestHeaderEdits.apply(exchange);
+
+        assertNull(edited.getRequest().getHeaders().get("X-A"));
+        assertEquals(List.of("3"), edited.getRequest().getHeaders().get("X-B"));
+        assertNull(edited.getAttribute(RequestHeaderEdits.ATTRIBUTE), "edits are consumed");
+        assertSame(edited, RequestHeaderEdits.apply(edited));
+    }
+}
@@ -0,0 +1,193 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.HedgingPolicy;
+import com.biolab.gateway.util.InstanceLoadTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Tests for {@link HedgingFilter} and {@link HedgingPolicy} with a stub routing
+ * filter whose backends answer after a per-host delay.
+ *
+ * @author BioLab Engineering Team
+ */
+class HedgingFilterTest {
+
+    private static final String SERVICE = "BIOLAB-PROJECT-SERVICE";
+    private static final String ROUTE = "project-service";
+
+    private final ServiceInstance slow = new DefaultServiceInstance("p-1", SERVICE, "slow-host", 8080, false);
+    private final ServiceInstance fast = new DefaultServiceInstance("p-2", SERVICE, "fast-host", 8080, false);
+
+    private SimpleMeterRegistry registry;
+    private HedgingPolicy policy;
+    private StubRouter router;
+    private HedgingFilter filter;
+    private final AtomicInteger chainCalls = new AtomicInteger();
+
+    /** Routing filter stub: answers 200 after the delay configured for the target host. */
+    private static final class StubRouter extends NettyRoutingFilter {
+        final Map<String, Duration> delays;
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final AtomicInteger cancelled = new AtomicInteger();
+
+        StubRouter(Map<String, Duration> delays) {
+            super(HttpClient.create(), null, new HttpClientProperties());
+            this.delays = new ConcurrentHashMap<>(delays);
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            URI url = exchange.getRequiredAttribute(GATEWAY_REQUEST_URL_ATTR);
+            calls.add(url.getHost());
+            return Mono.delay(delays.get(url.getHost()))
+                    .doOnNext(tick -> {
+                        exchange.getResponse().setStatusCode(HttpStatus.OK);
+                        exchange.getResponse().getHeaders().set("X-Backend", url.getHost());
+                        setAlreadyRouted(exchange);
+                    })
+                    .doOnCancel(cancelled::incrementAndGet)
+                    .then(chain.filter(exchange));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+        when(clientFactory.getInstance(SERVICE, ServiceInstanceListSupplier.class))
+                .thenReturn(ServiceInstanceListSuppliers.from(SERVICE, slow, fast));
+        InstanceLoadTracker tracker = new InstanceLoadTracker();
+        policy = new HedgingPolicy(registry, clientFactory, tracker);
+        ReflectionTestUtils.setField(policy, "minSamples", 10);
+        ReflectionTestUtils.setField(policy, "budgetBurst", 2.0);
+        router = new StubRouter(Map.of("slow-host", Duration.ofSeconds(10), "fast-host", Duration.ofMillis(5)));
+        filter = new HedgingFilter(policy, tracker, router, ROUTE);
+        chainCalls.set(0);
+    }
+
+    private void learn(long latencyMs) {
+        for (int i = 0; i < 10; i++) {
+            policy.recordLatency(ROUTE, latencyMs * 1_000_000);
+        }
+    }
+
+    private MockServerWebExchange run(ServiceInstance primary) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects/7"));
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(primary));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://" + primary.getHost() + ":8080/api/projects/7"));
+        filter.filter(exchange, e -> {
+            chainCalls.incrementAndGet();
+            return Mono.empty();
+        }).block(Duration.ofSeconds(15));
+        return exchange;
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("biolab.gateway.hedging.requests").tag("route", ROUTE).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1001] Sends a hedge to another instance after the delay and uses the first answer")
+    void shouldUseFasterHedge() {
+        learn(20);
+        long start = System.nanoTime();
+        MockServerWebExchange exchange = run(slow);
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(tookMs < 5_000, "hedged request took " + tookMs + " ms");
+        assertEquals(List.of("slow-host", "fast-host"), router.calls);
+        assertEquals(1, router.cancelled.get(), "the losing attempt is cancelled");
+        assertEquals("fast-host", exchange.getResponse().getHeaders().getFirst("X-Backend"));
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertTrue(isAlreadyRouted(exchange));
+        assertEquals(URI.create("http://fast-host:8080/api/projects/7"), exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR));
+        assertEquals(Boolean.TRUE, exchange.getAttribute(HedgingFilter.HEDGE_WON_ATTR));
+        assertNotNull(exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR));
+        assertEquals(1, chainCalls.get());
+        assertEquals(1, outcome("hedge"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1002] Does not hedge a first attempt that answers within the delay")
+    void shouldNotHedgeFastAnswer() {
+        learn(100);
+        MockServerWebExchange exchange = run(fast);
+
+        assertEquals(List.of("fast-host"), router.calls);
+        assertEquals("fast-host", exchange.getResponse().getHeaders().getFirst("X-Backend"));
+        assertNull(exchange.getAttribute(HedgingFilter.HEDGE_WON_ATTR));
+        assertEquals(1, outcome("none"));
+        assertEquals(0, outcome("hedge") + outcome("primary"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1003] Stops hedging when the budget is spent")
+    void shouldRespectBudget() {
+        ReflectionTestUtils.setField(policy, "budgetPercent", 0.0);
+        router.delays.put("slow-host", Duration.ofMillis(300));
+        learn(20);
+
+        run(slow);
+        run(slow);
+        MockServerWebExchange third = run(slow);
+
+        assertEquals(2, outcome("hedge"));
+        assertEquals(1, outcome("denied"));
+        assertEquals("slow-host", third.getResponse().getHeaders().getFirst("X-Backend"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1004] Derives the hedge delay from the route's latency percentile within bounds")
+    void shouldDeriveDelayFromPercentile() {
+        ReflectionTestUtils.setField(policy, "minSamples", 100);
+        assertEquals(-1, policy.begin(ROUTE), "not hedged while learning");
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency(ROUTE, i * 1_000_000L);
+        }
+        assertEquals(95, policy.delayMs(ROUTE));
+
+        ReflectionTestUtils.setField(policy, "maxDelayMs", 50L);
+        for (int i = 0; i < 50; i++) {
+            policy.recordLatency(ROUTE, 1_000_000_000L);
+        }
+        assertEquals(50, policy.delayMs(ROUTE));
+        assertEquals(50.0, registry.get("biolab.gateway.hedging.delay").tag("route", ROUTE).gauge().value());
+    }
+}
@@ -0,0 +1,198 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.filter.RequestCoalescingFilter.Scope;
+import com.biolab.gateway.util.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RequestCoalescingFilter} with a stub downstream chain that
+ * is held open until the test releases it.
+ *
+ * @author BioLab Engineering Team
+ */
+class RequestCoalescingFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> gate = Sinks.empty();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(registry);
+        upstreamCalls.set(0);
+    }
+
+    /** Downstream stub: counts the call, waits for the gate, answers 200 JSON plus an optional header. */
+    private GatewayFilterChain upstream(String headerName, String headerValue) {
+        return exchange -> {
+            int call = upstreamCalls.incrementAndGet();
+            return gate.asMono().then(Mono.defer(() -> {
+                var response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                response.getHeaders().set("X-Upstream-Call", Integer.toString(call));
+                if (headerName != null) response.getHeaders().set(headerName, headerValue);
+                byte[] body = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+            }));
+        };
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> get(String path, String userId, String orgId, String roles) {
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get(path);
+        if (userId != null) builder.header("X-User-Id", userId);
+        if (orgId != null) builder.header("X-User-OrgId", orgId);
+        if (roles != null) builder.header("X-User-Roles", roles);
+        return builder;
+    }
+
+    /** Starts all requests concurrently, then releases the upstream and waits for every response. */
+    private List<MockServerWebExchange> runConcurrently(RequestCoalescingFilter filter, GatewayFilterChain chain,
+                                                        List<MockServerHttpRequest> requests) {
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> running = new ArrayList<>();
+        for (MockServerHttpRequest request : requests) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(request);
+            exchanges.add(exchange);
+            running.add(filter.filter(exchange, chain).cache());
+        }
+        running.forEach(Mono::subscribe);
+        gate.tryEmitEmpty();
+        running.forEach(mono -> mono.block(Duration.ofSeconds(5)));
+        return exchanges;
+    }
+
+    private double count(String outcome) {
+        return registry.get("biolab.gateway.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("[TC-GW-901] Collapses identical concurrent GETs into one upstream call and fans the response out")
+    void shouldCoalesceIdenticalRequests() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(coalescer, "project-service",
+                Scope.ORG, List.of("/api/projects/**"));
+        List<MockServerHttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(get("/api/projects/42?b=2&a=1", "user-" + i, "org-1", "ROLE_USER").build());
+        }
+
+        List<MockServerWebExchange> exchanges = runConcurrently(filter, upstream(null, null), requests);
+
+        assertEquals(1, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals("{\"id\":7}", exchange.getResponse().getBodyAsString().block());
+            assertEquals("1", exchange.getResponse().getHeaders().getFirst("X-Upstream-Call"));
+            assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+            assertEquals(8, exchange.getResponse().getHeaders().getContentLength());
+        }
+        assertEquals(1, count("leader"));
+        assertEquals(3, count("shared"));
+        assertEquals(3, registry.get("biolab.gateway.coalescing.fanout").summary().totalAmount());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-902] Keys on authorization scope so per-user data is never shared across users")
+    void shouldScopeKeysByAuthorization() {
+        RequestCoalescingFilter user = new RequestCoalescingFilter(coalescer, "r", Scope.USER, List.of("/api/x"));
+        RequestCoalescingFilter org = new RequestCoalescingFilter(coalescer, "r", Scope.ORG, List.of("/api/x"));
+        RequestCoalescingFilter pub = new RequestCoalescingFilter(coalescer, "r", Scope.PUBLIC, List.of("/api/x"));
+
+        assertNotEquals(user.coalescingKey(get("/api/x", "u1", "o1", "ROLE_USER").build()),
+                user.coalescingKey(get("/api/x", "u2", "o1", "ROLE_USER").build()));
+        assertNull(user.coalescingKey(get("/api/x", null, null, null).build()), "anonymous USER-scope request");
+
+        assertEquals(org.coalescingKey(get("/api/x", "u1", "o1", "ROLE_A,ROLE_B").build()),
+                org.coalescingKey(get("/api/x", "u2", "o1", "ROLE_B,ROLE_A").build()));
+        assertNotEquals(org.coalescingKey(get("/api/x", "u1", "o1", "ROLE_USER").build()),
+                org.coalescingKey(get("/api/x", "u2", "o2", "ROLE_USER").build()));
+        assertNotEquals(org.coalescingKey(get("/api/x", "u1", "o1", "ROLE_USER").build()),
+                org.coalescingKey(get("/api/x", "u2", "o1", "ROLE_ADMIN").build()));
+        assertNotEquals(org.coalescingKey(get("/api/x", "u1", "", "ROLE_USER").build()),
+                org.coalescingKey(get("/api/x", "u2", "", "ROLE_USER").build()), "no org: falls back to user");
+
+        assertEquals(pub.coalescingKey(get("/api/x", "u1", "o1", "ROLE_USER").build()),
+                pub.coalescingKey(get("/api/x", "u2", "o2", "ROLE_USER").build()));
+        assertNotEquals(pub.coalescingKey(get("/api/x", "u1", "o1", "ROLE_USER").build()),
+                pub.coalescingKey(get("/api/x", "u1", "o1", "ROLE_USER")
+                        .header(HttpHeaders.ACCEPT_LANGUAGE, "de").build()));
+
+        List<MockServerWebExchange> exchanges = runConcurrently(user, upstream(null, null), List.of(
+                get("/api/x", "u1", "o1", "ROLE_USER").build(),
+                get("/api/x", "u2", "o1", "ROLE_USER").build()));
+        assertEquals(2, upstreamCalls.get());
+        assertNotEquals(exchanges.get(0).getResponse().getHeaders().getFirst("X-Upstream-Call"),
+                exchanges.get(1).getResponse().getHeaders().getFirst("X-Upstream-Call"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-903] Followers make their own calls when the response must not be shared")
+    void shouldNotShareUnshareableResponses() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(coalescer, "project-service",
+                Scope.ORG, List.of("/api/projects/**"));
+        List<MockServerHttpRequest> requests = List.of(
+                get("/api/projects/42", "u1", "o1", "ROLE_USER").build(),
+                get("/api/projects/42", "u2", "o1", "ROLE_USER").build(),
+                get("/api/projects/42", "u3", "o1", "ROLE_USER").build());
+
+        List<MockServerWebExchange> exchanges = runConcurrently(filter,
+                upstream(HttpHeaders.CACHE_CONTROL, "private"), requests);
+
+        assertEquals(3, upstreamCalls.get());
+        exchanges.forEach(e -> assertEquals("{\"id\":7}", e.getResponse().getBodyAsString().block()));
+        assertEquals(1, count("leader"));
+        assertEquals(2, count("unshared"));
+        assertEquals(0, count("shared"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-904] Only plain GETs on opted-in paths are coalesced")
+    void shouldOnlyCoalescePlainGets() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(coalescer, "catalog-service",
+                Scope.PUBLIC, List.of("/api/services/**"));
+
+        assertNotNull(filter.coalescingKey(MockServerHttpRequest.get("/api/services/1").build()));
+        assertNull(filter.coalescingKey(MockServerHttpRequest.get("/api/service-requests/1").build()));
+        assertNull(filter.coalescingKey(MockServerHttpRequest.post("/api/services").build()));
+        assertNull(filter.coalescingKey(MockServerHttpRequest.get("/api/services")
+                .header(HttpHeaders.RANGE, "bytes=0-99").build()));
+        assertNull(filter.coalescingKey(MockServerHttpRequest.get("/api/services")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"abc\"").build()));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-905] Default PUBLIC catalog paths exclude the per-organisation service reads")
+    void shouldNotShareOrgScopedCatalogReads() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(coalescer, "catalog-service", Scope.PUBLIC,
+                List.of("/api/categories/**", "/api/services", "/api/services/{id:[0-9a-fA-F-]{36}}"));
+
+        assertNotNull(filter.coalescingKey(get("/api/services?page=0", "u1", "o1", "ROLE_BUYER").build()));
+        assertNotNull(filter.coalescingKey(get("/api/services/" + UUID.randomUUID(), "u1", "o1", "ROLE_BUYER").build()));
+        assertNotNull(filter.coalescingKey(get("/api/categories", null, null, null).build()));
+        assertNull(filter.coalescingKey(get("/api/services/supplier", "u1", "o1", "ROLE_SUPPLIER").build()));
+        assertNull(filter.coalescingKey(get("/api/services/stats", "u1", "o1", "ROLE_SUPPLIER").build()));
+    }
+}
@@ -0,0 +1,238 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.ResponseCache;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ResponseCacheFilter} with a stub downstream chain.
+ *
+ * @author BioLab Engineering Team
+ */
+class ResponseCacheFilterTest {
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate template;
+
+    /** The defaults of {@code app.response-cache.catalog.paths}. */
+    private static final List<String> CATALOG_PATHS =
+            List.of("/api/categories/**", "/api/services", "/api/services/{id:[0-9a-fA-F-]{36}}");
+
+    private ResponseCache cache;
+    private ResponseCacheFilter filter;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.execute(c -> c.serverCommands().flushAll()).blockLast();
+        cache = new ResponseCache(connectionFactory, template);
+        filter = new ResponseCacheFilter(cache, "catalog-service", CATALOG_PATHS, Duration.ofMinutes(1));
+        upstreamCalls.set(0);
+    }
+
+    /** Downstream stub answering 200 JSON with the given extra header. */
+    private GatewayFilterChain upstream(String headerName, String headerValue) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (headerName != null) response.getHeaders().set(headerName, headerValue);
+            byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest request, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-611] Caches a public GET and serves the next request without the upstream")
+    void shouldServeHitWithoutUpstream() {
+        MockServerWebExchange miss = run(MockServerHttpRequest.get("/api/categories?b=2&a=1").build(),
+                upstream(null, null));
+        assertEquals("MISS", miss.getResponse().getHeaders().getFirst(ResponseCacheFilter.X_CACHE));
+        String etag = miss.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals("[{\"id\":1}]", miss.getResponse().getBodyAsString().block());
+
+        // Same query in a different order hits the same entry
+        MockServerWebExchange hit = run(MockServerHttpRequest.get("/api/categories/?a=1&b=2").build(),
+                upstream(null, null));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.X_CACHE));
+        assertEquals(etag, hit.getResponse().getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, hit.getResponse().getHeaders().getContentType());
+        assertEquals("[{\"id\":1}]", hit.getResponse().getBodyAsString().block());
+        assertEquals("catalog-service:/api/categories?a=1&b=2",
+                hit.getAttribute(ResponseCacheFilter.CACHE_KEY_ATTR));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-612] Answers a matching If-None-Match with 304 on miss and hit")
+    void shouldAnswerNotModified() {
+        MockServerWebExchange first = run(MockServerHttpRequest.get("/api/services").build(), upstream(null, null));
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange hit = run(MockServerHttpRequest.get("/api/services")
+                .header(HttpHeaders.IF_NONE_MATCH, etag).build(), upstream(null, null));
+        assertEquals(HttpStatus.NOT_MODIFIED, hit.getResponse().getStatusCode());
+
+        // no-cache forces a refetch; the unchanged body still validates
+        MockServerWebExchange revalidated = run(MockServerHttpRequest.get("/api/services")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header(HttpHeaders.IF_NONE_MATCH, etag).build(), upstream(null, null));
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-613] Does not cache other paths or private responses")
+    void shouldNotCacheOtherPathsOrPrivateResponses() {
+        run(MockServerHttpRequest.get("/api/service-requests").build(), upstream(null, null));
+        run(MockServerHttpRequest.get("/api/service-requests").build(), upstream(null, null));
+        String service = "/api/services/" + UUID.randomUUID();
+        run(MockServerHttpRequest.get(service).build(), upstream(HttpHeaders.CACHE_CONTROL, "private"));
+        run(MockServerHttpRequest.get(service).build(), upstream(HttpHeaders.CACHE_CONTROL, "private"));
+
+        assertEquals(4, upstreamCalls.get());
+        assertEquals(0, cache.localSize());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-614] Purges the route after a successful mutation or a version change")
+    void shouldPurgeOnMutationAndVersionChange() {
+        run(MockServerHttpRequest.get("/api/services").build(), upstream(ResponseCacheFilter.X_CACHE_VERSION, "1"));
+        assertEquals(1, cache.localSize());
+
+        run(MockServerHttpRequest.post("/api/services").build(), upstream(null, null));
+        assertEquals(0, cache.localSize());
+
+        run(MockServerHttpRequest.get("/api/services").build(), upstream(ResponseCacheFilter.X_CACHE_VERSION, "1"));
+        run(MockServerHttpRequest.get("/api/categories").build(), upstream(ResponseCacheFilter.X_CACHE_VERSION, "2"));
+        // Version 2 purged the route before the categories response was stored
+        assertEquals(1, cache.localSize());
+        ServerWebExchange hit = run(MockServerHttpRequest.get("/api/categories").build(), upstream(null, null));
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.X_CACHE));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-615] Stores a catalog read sent with the catalog service's real header set")
+    void shouldStoreWithUpstreamSecurityHeaders() {
+        // As sent by biolab-catalog-service: common SecurityHeadersFilter + public-read Cache-Control
+        GatewayFilterChain catalog = exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = response.getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("X-Content-Type-Options", "nosniff");
+            headers.set("X-Frame-Options", "DENY");
+            headers.set("X-XSS-Protection", "0");
+            headers.set("Strict-Transport-Security", "max-age=31536000; includeSubDomains; preload");
+            headers.set("Content-Security-Policy", "default-src 'self'; frame-ancestors 'none'");
+            headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
+            headers.set("Permissions-Policy", "camera=(), microphone=(), geolocation=(), payment=()");
+            headers.set(HttpHeaders.CACHE_CONTROL, "max-age=60, public");
+            headers.set(HttpHeaders.PRAGMA, "");
+            byte[] body = "{\"content\":[]}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+
+        run(MockServerHttpRequest.get("/api/services?page=0").build(), catalog);
+        assertEquals(1, cache.localSize());
+        ServerWebExchange hit = run(MockServerHttpRequest.get("/api/services?page=0").build(), catalog);
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.X_CACHE));
+        assertEquals(1, upstreamCalls.get());
+
+        // The default API header set is never stored
+        run(MockServerHttpRequest.get("/api/categories").build(),
+                upstream(HttpHeaders.CACHE_CONTROL, "no-store, no-cache, must-revalidate"));
+        assertEquals(1, cache.localSize());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-616] Per-organisation service reads are not cached; mutations below a cached path purge")
+    void shouldNotCacheOrgScopedServiceReads() {
+        run(MockServerHttpRequest.get("/api/services/supplier").build(), upstream(null, null));
+        run(MockServerHttpRequest.get("/api/services/stats").build(), upstream(null, null));
+        assertEquals(0, cache.localSize());
+        assertFalse(filter.isCachedPath("/api/services/supplier"));
+        assertTrue(filter.isCachedPath("/api/services/" + UUID.randomUUID() + "/"));
+
+        String service = "/api/services/" + UUID.randomUUID();
+        run(MockServerHttpRequest.get(service).build(), upstream(null, null));
+        assertEquals(1, cache.localSize());
+        run(MockServerHttpRequest.patch(service + "/toggle?active=false").build(), upstream(null, null));
+        assertEquals(0, cache.localSize());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-617] HIT and 304 carry the same security headers as the MISS")
+    void shouldAddSecurityHeadersOnHit() {
+        SecurityHeadersFilter securityHeaders = new SecurityHeadersFilter();
+        GatewayFilterChain chain = exchange -> securityHeaders.filter(exchange, upstream(null, null));
+        List<String> names = List.of("X-Content-Type-Options", "X-Frame-Options", "Strict-Transport-Security",
+                "Content-Security-Policy", "Referrer-Policy", "Permissions-Policy",
+                HttpHeaders.CACHE_CONTROL, HttpHeaders.PRAGMA);
+
+        HttpHeaders miss = run(MockServerHttpRequest.get("/api/services").build(), chain).getResponse().getHeaders();
+        assertEquals("no-store, no-cache, must-revalidate", miss.getCacheControl());
+
+        HttpHeaders hit = run(MockServerHttpRequest.get("/api/services").build(), chain).getResponse().getHeaders();
+        HttpHeaders notModified = run(MockServerHttpRequest.get("/api/services")
+                .header(HttpHeaders.IF_NONE_MATCH, miss.getETag()).build(), chain).getResponse().getHeaders();
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("HIT", hit.getFirst(ResponseCacheFilter.X_CACHE));
+        assertEquals("HIT", notModified.getFirst(ResponseCacheFilter.X_CACHE));
+        for (String name : names) {
+            assertNotNull(miss.get(name), name);
+            assertEquals(miss.get(name), hit.get(name), name);
+            assertEquals(miss.get(name), notModified.get(name), name);
+        }
+    }
+}
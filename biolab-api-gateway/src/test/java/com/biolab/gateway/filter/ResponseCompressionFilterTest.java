@@ -0,0 +1,232 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.ResponseCompressor;
+import com.biolab.gateway.util.RouteSecurityMatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Tests for {@link ResponseCompressionFilter} and {@link ResponseCompressor}
+ * with stub upstreams writing JSON pages in several chunks.
+ *
+ * @author BioLab Engineering Team
+ */
+class ResponseCompressionFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private ResponseCompressor compressor;
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        compressor = new ResponseCompressor(registry,
+                List.of("application/json:1024", "application/*+json:1024", "text/*:2048"));
+        filter = new ResponseCompressionFilter(compressor);
+    }
+
+    /** A paginated invoice page, about 40 KB. */
+    private static String invoicePage() {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"inv-").append(i).append("\",\"status\":\"PAID\",\"currency\":\"USD\",")
+                    .append("\"items\":[{\"description\":\"Sequencing run\",\"quantity\":").append(i % 7)
+                    .append(",\"unitPrice\":125.50}]}");
+        }
+        return json.append("],\"totalElements\":200}").toString();
+    }
+
+    private MockServerWebExchange exchange(String acceptEncoding) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/invoices");
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR,
+                Route.async().id("invoice-service").uri("lb://BIOLAB-INVOICE-SERVICE").predicate(e -> true).build());
+        return exchange;
+    }
+
+    /** Upstream stub: sets the headers, then writes the body in 4 KB chunks. */
+    private static GatewayFilterChain upstream(String body, Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            headers.accept(exchange.getResponse().getHeaders());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Flux.range(0, (bytes.length + 4095) / 4096)
+                    .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                            Arrays.copyOfRange(bytes, i * 4096, Math.min(bytes.length, (i + 1) * 4096)))));
+        };
+    }
+
+    private static byte[] bodyBytes(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                })
+                .block();
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private double outcome(String outcome) {
+        var counter = registry.find("biolab.gateway.compression.responses").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1501] Gzips a large JSON page streamed in chunks")
+    void shouldCompressLargeJson() throws IOException {
+        String page = invoicePage();
+        MockServerWebExchange exchange = exchange("gzip, deflate, br");
+
+        filter.filter(exchange, upstream(page, headers -> headers.setETag("\"v7\""))).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals("W/\"v7\"", headers.getETag());
+        assertEquals(-1, headers.getContentLength());
+        byte[] raw = bodyBytes(exchange);
+        assertEquals(page, gunzip(raw));
+        assertTrue(raw.length * 5 < page.length(), raw.length + " bytes for a " + page.length() + " byte page");
+
+        double in = registry.get("biolab.gateway.compression.bytes").tag("stage", "in").counter().count();
+        double out = registry.get("biolab.gateway.compression.bytes").tag("stage", "out").counter().count();
+        assertEquals(page.length(), in);
+        assertEquals(raw.length, out);
+        assertEquals(1, registry.get("biolab.gateway.compression.cpu").timer().count());
+        assertEquals(1, outcome("gzip"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1502] Leaves small, binary, encoded, streamed and unaccepted responses untouched")
+    void shouldSkipIneligibleResponses() {
+        String page = invoicePage();
+
+        MockServerWebExchange small = exchange("gzip");
+        filter.filter(small, upstream("{\"unread\":3}", h -> h.setContentLength(12))).block();
+        assertNull(small.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"unread\":3}", small.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange pdf = exchange("gzip");
+        filter.filter(pdf, upstream(page, h -> h.setContentType(MediaType.APPLICATION_PDF))).block();
+        assertNull(pdf.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        MockServerWebExchange encoded = exchange("gzip");
+        filter.filter(encoded, upstream(page, h -> h.set(HttpHeaders.CONTENT_ENCODING, "br"))).block();
+        assertEquals("br", encoded.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        MockServerWebExchange transfer = exchange("gzip");
+        transfer.getAttributes().put(StreamingTransferFilter.TRANSFER_ATTR, Boolean.TRUE);
+        filter.filter(transfer, upstream(page, h -> { })).block();
+        assertNull(transfer.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        MockServerWebExchange refused = exchange("br, gzip;q=0");
+        filter.filter(refused, upstream(page, h -> { })).block();
+        assertNull(refused.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(page, refused.getResponse().getBodyAsString().block());
+
+        assertEquals(1, outcome("too_small"));
+        assertEquals(1, outcome("content_type"));
+        assertEquals(1, outcome("encoded"));
+        assertEquals(1, outcome("transfer"));
+        assertEquals(1, outcome("not_accepted"));
+        assertEquals(0, outcome("gzip"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1503] Lowers the deflate level as CPU headroom shrinks")
+    void shouldAdaptLevelToCpuLoad() {
+        ReflectionTestUtils.setField(compressor, "minLevel", 1);
+        ReflectionTestUtils.setField(compressor, "maxLevel", 6);
+        ReflectionTestUtils.setField(compressor, "cpuLow", 0.5);
+        ReflectionTestUtils.setField(compressor, "cpuHigh", 0.9);
+
+        assertEquals(6, compressor.levelFor(-1));       // load unknown
+        assertEquals(6, compressor.levelFor(0.3));
+        assertEquals(4, compressor.levelFor(0.65));
+        assertEquals(2, compressor.levelFor(0.8));
+        assertEquals(1, compressor.levelFor(0.97));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1504] BFF login with Accept-Encoding: gzip still moves the refresh token into the cookie")
+    void shouldCompressAfterBffRewrite() throws IOException {
+        RouteSecurityMatcher matcher = new RouteSecurityMatcher(new MockEnvironment());
+        matcher.init();
+        BffCookieFilter bff = new BffCookieFilter(new ObjectMapper(), matcher);
+        ReflectionTestUtils.setField(bff, "cookieName", "biolab_rt");
+        ReflectionTestUtils.setField(bff, "refreshTokenExpirationMs", 604_800_000L);
+
+        // AuthResponse well above the 1 KB threshold, written in chunks
+        String authResponse = "{\"accessToken\":\"" + "a".repeat(3000) + "\",\"refreshToken\":\"rt-123\","
+                + "\"user\":{\"email\":\"buyer@biolab.com\"}}";
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/bff/login")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR,
+                Route.async().id("auth-service").uri("lb://BIOLAB-AUTH-SERVICE").predicate(e -> true).build());
+        GatewayFilterChain auth = upstream(authResponse, headers -> { });
+        GatewayFilterChain upstream = e -> {
+            e.getResponse().setStatusCode(HttpStatus.OK);
+            return auth.filter(e);
+        };
+
+        // Global filters run in getOrder() order, as in the gateway: build the chain from the innermost out
+        GatewayFilterChain chain = upstream;
+        for (GlobalFilter global : List.<GlobalFilter>of(bff, filter).stream()
+                .sorted(Comparator.comparingInt((GlobalFilter f) -> ((Ordered) f).getOrder()).reversed()).toList()) {
+            GatewayFilterChain next = chain;
+            chain = e -> global.filter(e, next);
+        }
+        chain.filter(exchange).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        ResponseCookie cookie = exchange.getResponse().getCookies().getFirst("biolab_rt");
+        assertNotNull(cookie, "refresh token cookie");
+        assertEquals("rt-123", cookie.getValue());
+        assertTrue(cookie.isHttpOnly());
+        String body = gunzip(bodyBytes(exchange));
+        assertFalse(body.contains("refreshToken"), body);
+        assertTrue(body.contains("\"accessToken\""));
+    }
+}
@@ -0,0 +1,158 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.TransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StreamingTransferFilter} with generated bodies and stub
+ * upstreams that consume or produce them chunk by chunk.
+ *
+ * @author BioLab Engineering Team
+ */
+class StreamingTransferFilterTest {
+
+    private static final int CHUNK = 64 * 1024;
+
+    private SimpleMeterRegistry registry;
+    private TransferMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new TransferMetrics(registry);
+    }
+
+    private StreamingTransferFilter filter(DataSize maxBody, Duration idle) {
+        return new StreamingTransferFilter(metrics, "document-transfer", maxBody, idle);
+    }
+
+    /** {@code chunks} buffers of 64 KB, generated on demand; tracks how many are produced but not yet released. */
+    private static Flux<DataBuffer> body(int chunks, AtomicInteger unreleased, AtomicInteger maxUnreleased) {
+        AtomicInteger produced = new AtomicInteger();
+        return Flux.<DataBuffer>generate(sink -> {
+            if (produced.getAndIncrement() == chunks) {
+                sink.complete();
+                return;
+            }
+            maxUnreleased.accumulateAndGet(unreleased.incrementAndGet(), Math::max);
+            sink.next(DefaultDataBufferFactory.sharedInstance.wrap(new byte[CHUNK]));
+        });
+    }
+
+    /** Upstream stub: consumes the request body one chunk at a time, then answers 201. */
+    private static GatewayFilterChain consumingUpstream(AtomicInteger unreleased, AtomicLong received) {
+        return exchange -> exchange.getRequest().getBody()
+                .concatMap(buffer -> {
+                    received.addAndGet(buffer.readableByteCount());
+                    DataBufferUtils.release(buffer);
+                    unreleased.decrementAndGet();
+                    return Mono.empty();
+                }, 1)
+                .then(Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.CREATED)));
+    }
+
+    private double aborted(String reason) {
+        var counter = registry.find("biolab.gateway.transfer.aborted").tag("reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1301] Streams a large upload chunk by chunk without accumulating it")
+    void shouldStreamUploadWithBoundedMemory() {
+        AtomicInteger unreleased = new AtomicInteger();
+        AtomicInteger maxUnreleased = new AtomicInteger();
+        AtomicLong received = new AtomicLong();
+        int chunks = 1024;                                             // 64 MB
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/documents/project/7/upload")
+                        .body(body(chunks, unreleased, maxUnreleased)));
+
+        filter(DataSize.ofGigabytes(1), Duration.ofSeconds(5))
+                .filter(exchange, consumingUpstream(unreleased, received))
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(HttpStatus.CREATED, exchange.getResponse().getStatusCode());
+        assertEquals((long) chunks * CHUNK, received.get());
+        assertTrue(maxUnreleased.get() <= 32, "buffered " + maxUnreleased.get() + " chunks at once");
+        assertEquals((double) chunks * CHUNK, registry.get("biolab.gateway.transfer.bytes")
+                .tag("direction", "upload").summary().totalAmount());
+        assertEquals(1, registry.get("biolab.gateway.transfer.throughput")
+                .tag("direction", "upload").summary().count());
+        assertEquals(0, registry.get("biolab.gateway.transfer.active").gauge().value());
+        assertNotNull(exchange.getAttribute(StreamingTransferFilter.TRANSFER_ATTR));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1302] Rejects bodies over the route's maximum size, declared or streamed")
+    void shouldRejectOversizedBodies() {
+        AtomicBoolean forwarded = new AtomicBoolean();
+        MockServerWebExchange declared = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/documents/project/7/upload")
+                        .contentLength(DataSize.ofMegabytes(2).toBytes())
+                        .body(Flux.empty()));
+        filter(DataSize.ofMegabytes(1), Duration.ofSeconds(5))
+                .filter(declared, e -> {
+                    forwarded.set(true);
+                    return Mono.empty();
+                })
+                .block(Duration.ofSeconds(5));
+        assertFalse(forwarded.get(), "rejected before forwarding");
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, declared.getResponse().getStatusCode());
+
+        AtomicInteger unreleased = new AtomicInteger();
+        AtomicLong received = new AtomicLong();
+        MockServerWebExchange chunked = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/documents/project/7/upload")
+                        .body(body(64, unreleased, new AtomicInteger())));          // 4 MB, no Content-Length
+        filter(DataSize.ofMegabytes(1), Duration.ofSeconds(5))
+                .filter(chunked, consumingUpstream(unreleased, received))
+                .block(Duration.ofSeconds(5));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, chunked.getResponse().getStatusCode());
+        assertTrue(received.get() <= DataSize.ofMegabytes(1).toBytes());
+        assertEquals(2, aborted("too_large"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1303] Aborts stalled transfers after the idle timeout but not slow, steady ones")
+    void shouldApplyIdleTimeout() {
+        MockServerWebExchange stalled = MockServerWebExchange.from(MockServerHttpRequest.get("/api/documents/7/download"));
+        filter(DataSize.ofGigabytes(1), Duration.ofMillis(200))
+                .filter(stalled, e -> Mono.never())
+                .block(Duration.ofSeconds(5));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, stalled.getResponse().getStatusCode());
+        assertEquals(1, aborted("idle_timeout"));
+
+        MockServerWebExchange steady = MockServerWebExchange.from(MockServerHttpRequest.get("/api/documents/7/download"));
+        filter(DataSize.ofGigabytes(1), Duration.ofMillis(200))
+                .filter(steady, e -> {
+                    e.getResponse().setStatusCode(HttpStatus.OK);
+                    return e.getResponse().writeWith(Flux.interval(Duration.ofMillis(80)).take(8)
+                            .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[CHUNK])));
+                })
+                .block(Duration.ofSeconds(5));
+        assertEquals(HttpStatus.OK, steady.getResponse().getStatusCode());
+        assertEquals(8.0 * CHUNK, registry.get("biolab.gateway.transfer.bytes")
+                .tag("direction", "download").summary().totalAmount());
+        assertEquals(1, aborted("idle_timeout"));
+    }
+}
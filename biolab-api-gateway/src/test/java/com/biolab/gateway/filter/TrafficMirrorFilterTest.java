@@ -0,0 +1,198 @@
+package com.biolab.gateway.filter;
+
+import com.biolab.gateway.util.TrafficMirror;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TrafficMirrorFilter} and {@link TrafficMirror} with a stub
+ * shadow service that answers after a configurable delay.
+ *
+ * @author BioLab Engineering Team
+ */
+class TrafficMirrorFilterTest {
+
+    private static final URI SHADOW = URI.create("lb://BIOLAB-PROJECT-SERVICE-CANARY");
+
+    private SimpleMeterRegistry registry;
+    private final List<ClientRequest> received = new CopyOnWriteArrayList<>();
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private volatile Duration shadowDelay = Duration.ofMillis(10);
+    private volatile HttpStatus shadowStatus = HttpStatus.OK;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private TrafficMirror mirror(double percent, Set<String> methods) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            received.add(request);
+            MockClientHttpRequest copy = new MockClientHttpRequest(request.method(), request.url());
+            copy.setWriteHandler(body -> DataBufferUtils.join(body)
+                    .doOnNext(buffer -> receivedBodies.add(buffer.toString(StandardCharsets.UTF_8)))
+                    .then());
+            return request.body().insert(copy, new BodyInserter.Context() {
+                        @Override
+                        public List<HttpMessageWriter<?>> messageWriters() {
+                            return ExchangeStrategies.withDefaults().messageWriters();
+                        }
+
+                        @Override
+                        public Optional<ServerHttpRequest> serverRequest() {
+                            return Optional.empty();
+                        }
+
+                        @Override
+                        public Map<String, Object> hints() {
+                            return Map.of();
+                        }
+                    })
+                    .then(Mono.delay(shadowDelay))
+                    .thenReturn(ClientResponse.create(shadowStatus).build());
+        });
+        return new TrafficMirror(builder,
+                new StaticListableBeanFactory().getBeanProvider(LoadBalancedExchangeFilterFunction.class),
+                registry, Map.of("project-service", new TrafficMirror.Target(SHADOW, percent, methods)));
+    }
+
+    /** Primary stub: reads the whole request body, then answers 200. */
+    private static GatewayFilterChain primary() {
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.OK)))
+                .then(Mono.defer(() -> exchange.getResponse().setComplete()));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    private long latencyCount(String side) {
+        var timer = registry.find("biolab.gateway.mirror.latency").tag("side", side).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1601] Mirrors a GET to the shadow without delaying the primary")
+    void shouldMirrorWithoutDelayingPrimary() throws InterruptedException {
+        shadowDelay = Duration.ofMillis(800);
+        TrafficMirrorFilter filter = new TrafficMirrorFilter(mirror(100, Set.of("GET")), "project-service");
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("http://gateway/api/projects?page=2")
+                        .header("X-User-Id", "user-1")
+                        .header(HttpHeaders.CONNECTION, "keep-alive"));
+
+        long start = System.nanoTime();
+        filter.filter(exchange, primary()).block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 500, "primary took " + elapsedMs + " ms");
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals(1, latencyCount("primary"));
+        await(() -> latencyCount("shadow") == 1);
+
+        ClientRequest copy = received.get(0);
+        assertEquals("http://BIOLAB-PROJECT-SERVICE-CANARY/api/projects?page=2", copy.url().toString());
+        assertEquals("true", copy.headers().getFirst(TrafficMirror.MIRRORED_HEADER));
+        assertEquals("user-1", copy.headers().getFirst("X-User-Id"));
+        assertNull(copy.headers().getFirst(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1602] Mirrors mutating requests only when listed, copying the body the primary read")
+    void shouldMirrorBodiesOnlyForListedMethods() throws InterruptedException {
+        String body = "{\"name\":\"CRISPR screen\"}";
+        TrafficMirrorFilter readOnly = new TrafficMirrorFilter(mirror(100, Set.of("GET")), "project-service");
+        readOnly.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/projects")
+                .contentLength(body.length()).body(body)), primary()).block();
+        assertTrue(received.isEmpty());
+
+        TrafficMirrorFilter writes = new TrafficMirrorFilter(mirror(100, Set.of("GET", "post")), "project-service");
+        writes.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/projects")
+                .contentLength(body.length()).body(body)), primary()).block();
+        await(() -> latencyCount("shadow") == 1);
+        assertEquals(List.of(body), receivedBodies);
+
+        ReflectionTestUtils.setField(writes, "mirror", mirror(100, Set.of("POST")));
+        TrafficMirror small = (TrafficMirror) ReflectionTestUtils.getField(writes, "mirror");
+        ReflectionTestUtils.setField(small, "maxBodyBytes", 8);
+        writes.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/projects")
+                .contentLength(body.length()).body(body)), primary()).block();
+        assertEquals(1, registry.get("biolab.gateway.mirror.dropped").tag("reason", "body_too_large").counter().count());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1603] Honours 0%, drops copies over the in-flight limit and counts status mismatches")
+    void shouldSampleLimitAndCompare() throws InterruptedException {
+        TrafficMirrorFilter never = new TrafficMirrorFilter(mirror(0, Set.of("GET")), "project-service");
+        for (int i = 0; i < 200; i++) {
+            never.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects")), primary()).block();
+        }
+        assertTrue(received.isEmpty());
+        TrafficMirrorFilter otherRoute = new TrafficMirrorFilter(mirror(100, Set.of("GET")), "user-service");
+        otherRoute.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/users")), primary()).block();
+        assertTrue(received.isEmpty());
+
+        shadowDelay = Duration.ofMillis(300);
+        shadowStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        TrafficMirror limited = mirror(100, Set.of("GET"));
+        ReflectionTestUtils.setField(limited, "maxInFlight", 2);
+        TrafficMirrorFilter filter = new TrafficMirrorFilter(limited, "project-service");
+        for (int i = 0; i < 5; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects")), primary()).block();
+        }
+        assertEquals(3, registry.get("biolab.gateway.mirror.dropped").tag("reason", "saturated").counter().count());
+        await(() -> latencyCount("shadow") == 2);
+        await(() -> registry.find("biolab.gateway.mirror.mismatch").counter() != null
+                && registry.get("biolab.gateway.mirror.mismatch").counter().count() == 2);
+        assertEquals(2, registry.get("biolab.gateway.mirror.latency")
+                .tags("side", "shadow", "status", "5xx").timer().count());
+
+        // slots are freed once the copies complete
+        @SuppressWarnings("unchecked")
+        Map<String, AtomicInteger> inFlight = (Map<String, AtomicInteger>) ReflectionTestUtils.getField(limited, "inFlight");
+        await(() -> inFlight.get("project-service").get() == 0);
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects")), primary()).block();
+        assertEquals(3, registry.get("biolab.gateway.mirror.dropped").tag("reason", "saturated").counter().count());
+        await(() -> received.size() == 3);
+    }
+}
@@ -0,0 +1,104 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.util.AdaptiveConcurrencyLimiter.Permit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @author BioLab Engineering Team
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+    private static final String ROUTE = "document-service";
+
+    private SimpleMeterRegistry registry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(registry);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 20);
+        ReflectionTestUtils.setField(limiter, "minLimit", 5);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 100);
+    }
+
+    /** Runs {@code rounds} rounds of a full batch of concurrent requests at {@code rttMs}. */
+    private void saturate(int rounds, long rttMs) {
+        for (int r = 0; r < rounds; r++) {
+            List<Permit> batch = new ArrayList<>();
+            Optional<Permit> permit;
+            while ((permit = limiter.tryAcquire(ROUTE)).isPresent()) {
+                batch.add(permit.get());
+            }
+            batch.forEach(p -> p.onSuccess(rttMs * MS));
+        }
+    }
+
+    @Test
+    @DisplayName("[TC-GW-701] Sheds requests above the limit and exports limit, in-flight and rejections")
+    void shouldShedAboveLimit() {
+        List<Permit> held = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            held.add(limiter.tryAcquire(ROUTE).orElseThrow());
+        }
+        assertTrue(limiter.tryAcquire(ROUTE).isEmpty());
+        assertEquals(20, limiter.inFlight(ROUTE));
+
+        assertEquals(20, registry.get("biolab.gateway.concurrency.limit").tag("route", ROUTE).gauge().value());
+        assertEquals(20, registry.get("biolab.gateway.concurrency.inflight").tag("route", ROUTE).gauge().value());
+        assertEquals(1, registry.get("biolab.gateway.concurrency.rejected").tag("route", ROUTE).counter().count());
+
+        held.get(0).onIgnore();
+        held.get(0).onIgnore();   // releasing twice has no effect
+        assertEquals(19, limiter.inFlight(ROUTE));
+        assertTrue(limiter.tryAcquire(ROUTE).isPresent());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-702] Grows the limit while latency is stable and the limit is in use")
+    void shouldGrowUnderStableLatency() {
+        saturate(30, 50);
+        assertTrue(limiter.currentLimit(ROUTE) > 40, "limit was " + limiter.currentLimit(ROUTE));
+        saturate(200, 50);
+        assertEquals(100, limiter.currentLimit(ROUTE));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-703] Shrinks the limit when upstream latency rises")
+    void shouldShrinkWhenLatencyRises() {
+        saturate(30, 50);
+        int before = limiter.currentLimit(ROUTE);
+        saturate(10, 400);
+        assertTrue(limiter.currentLimit(ROUTE) < before,
+                "limit " + limiter.currentLimit(ROUTE) + " not below " + before);
+    }
+
+    @Test
+    @DisplayName("[TC-GW-704] Backs off on failures down to the minimum, and ignores idle routes")
+    void shouldBackOffOnDrops() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(ROUTE).orElseThrow().onDropped();
+        }
+        assertEquals(5, limiter.currentLimit(ROUTE));
+        assertEquals(0, limiter.inFlight(ROUTE));
+
+        // One request at a time never proves the limit is too low
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(ROUTE).orElseThrow().onSuccess(10 * MS);
+        }
+        assertEquals(5, limiter.currentLimit(ROUTE));
+    }
+}
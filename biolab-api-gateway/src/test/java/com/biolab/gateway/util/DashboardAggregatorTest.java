@@ -0,0 +1,137 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.dto.DashboardResponse;
+import com.biolab.gateway.dto.DashboardSection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DashboardAggregator} with stub backends that answer after
+ * a per-path delay.
+ *
+ * @author BioLab Engineering Team
+ */
+class DashboardAggregatorTest {
+
+    private SimpleMeterRegistry registry;
+    private DashboardAggregator aggregator;
+
+    /** Path → delay before answering; paths listed in {@link #failing} answer 503 instead. */
+    private final Map<String, Duration> delays = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> failing = new ConcurrentHashMap<>();
+    private final Map<String, ClientRequest> received = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            String path = request.url().getPath();
+            received.put(path, request);
+            ClientResponse response = failing.containsKey(path)
+                    ? ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()
+                    : ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"host\":\"" + request.url().getHost() + "\"}")
+                            .build();
+            return Mono.delay(delays.getOrDefault(path, Duration.ofMillis(50))).thenReturn(response);
+        });
+        aggregator = new DashboardAggregator(builder,
+                new StaticListableBeanFactory().getBeanProvider(LoadBalancedExchangeFilterFunction.class),
+                registry);
+        ReflectionTestUtils.setField(aggregator, "sectionTimeoutMs", 500L);
+    }
+
+    private static HttpHeaders user(String roles) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer abc");
+        headers.set("X-User-Id", "user-1");
+        headers.set("X-User-Roles", roles);
+        headers.set("X-User-OrgId", "org-9");
+        headers.set("X-Gateway-Token", "gw-secret");
+        headers.set(HttpHeaders.COOKIE, "biolab_rt=secret");
+        return headers;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1201] Loads all supplier sections in parallel with the caller's identity headers")
+    void shouldFanOutInParallel() {
+        delays.put("/api/projects/stats", Duration.ofMillis(300));
+        delays.put("/api/conversations", Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        DashboardResponse dashboard = aggregator.aggregate(user("SUPPLIER")).block();
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(dashboard);
+        assertEquals(List.of("projects", "invoices", "catalog", "notifications", "conversations"),
+                List.copyOf(dashboard.getSections().keySet()));
+        assertFalse(dashboard.isDegraded());
+        assertTrue(tookMs < 550, "sections were fetched one after another: " + tookMs + " ms");
+        DashboardSection catalog = dashboard.getSections().get("catalog");
+        assertEquals(DashboardSection.OK, catalog.getStatus());
+        assertEquals("BIOLAB-CATALOG-SERVICE", catalog.getData().get("host").asText());
+        assertNotNull(received.get("/api/invoices/stats/supplier"));
+
+        HttpHeaders forwarded = received.get("/api/projects/stats").headers();
+        assertEquals("user-1", forwarded.getFirst("X-User-Id"));
+        assertEquals("org-9", forwarded.getFirst("X-User-OrgId"));
+        assertEquals("gw-secret", forwarded.getFirst("X-Gateway-Token"));
+        assertEquals("Bearer abc", forwarded.getFirst(HttpHeaders.AUTHORIZATION));
+        assertNull(forwarded.getFirst(HttpHeaders.COOKIE), "only the listed headers are forwarded");
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1202] Marks slow and failing sections degraded and still returns the rest")
+    void shouldDegradeFailedSections() {
+        delays.put("/api/notifications/unread-count", Duration.ofSeconds(5));
+        failing.put("/api/invoices/stats/buyer", true);
+
+        DashboardResponse dashboard = aggregator.aggregate(user("BUYER")).block(Duration.ofSeconds(2));
+
+        assertNotNull(dashboard);
+        assertTrue(dashboard.isDegraded());
+        Map<String, DashboardSection> sections = dashboard.getSections();
+        assertEquals("timeout", sections.get("notifications").getError());
+        assertEquals(DashboardSection.DEGRADED, sections.get("notifications").getStatus());
+        assertEquals("HTTP 503", sections.get("invoices").getError());
+        assertNull(sections.get("invoices").getData());
+        assertEquals(DashboardSection.OK, sections.get("projects").getStatus());
+        assertEquals(DashboardSection.OK, sections.get("conversations").getStatus());
+        assertEquals(1, registry.get("biolab.gateway.dashboard.section")
+                .tag("section", "notifications").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1203] Chooses sections by role")
+    void shouldChooseSectionsByRole() {
+        assertEquals(List.of("projects", "invoices", "notifications", "conversations"),
+                aggregator.sectionsFor(DashboardAggregator.roles("ROLE_BUYER")).stream()
+                        .map(DashboardAggregator.Section::name).toList());
+        assertEquals("/api/invoices/stats/buyer",
+                aggregator.sectionsFor(DashboardAggregator.roles("BUYER")).get(1).path());
+        assertEquals("/api/invoices/stats/supplier",
+                aggregator.sectionsFor(DashboardAggregator.roles("BUYER, SUPPLIER")).get(1).path());
+        assertEquals(List.of("projects", "notifications", "conversations"),
+                aggregator.sectionsFor(DashboardAggregator.roles(null)).stream()
+                        .map(DashboardAggregator.Section::name).toList());
+    }
+}
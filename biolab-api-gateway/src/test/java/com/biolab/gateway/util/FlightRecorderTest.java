@@ -0,0 +1,156 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.filter.LoadBalancerTimingFilter;
+import com.biolab.gateway.filter.RequestLoggingFilter;
+import com.biolab.gateway.filter.UpstreamTimingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Tests for {@link FlightRecorder} and the {@link RequestTimeline} marks set
+ * along a stubbed gateway filter chain.
+ *
+ * @author BioLab Engineering Team
+ */
+class FlightRecorderTest {
+
+    private FlightRecorder recorder;
+    private RequestLoggingFilter loggingFilter;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new FlightRecorder(8);
+        ReflectionTestUtils.setField(recorder, "slowThresholdMs", 100L);
+        loggingFilter = new RequestLoggingFilter(
+                new GatewayRequestMetrics(new SimpleMeterRegistry(), new long[]{100}), recorder);
+        ReflectionTestUtils.setField(loggingFilter, "accessLogEnabled", false);
+    }
+
+    /**
+     * Runs the logging, load-balancer and upstream timing filters around a stub
+     * upstream: the response body is written {@code bodyMs} after the upstream
+     * answered, like {@code NettyWriteResponseFilter} does.
+     */
+    private MockServerWebExchange exchange(HttpStatus status, long connectMs, long firstByteMs, long bodyMs) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("http://gateway/api/projects/42?token=secret"));
+        GatewayFilterChain upstream = e -> Mono.delay(Duration.ofMillis(connectMs))
+                .then(Mono.deferContextual(context -> {
+                    RequestTimeline.connected(context);
+                    return Mono.delay(Duration.ofMillis(firstByteMs));
+                }))
+                .then(Mono.fromRunnable(() -> e.getResponse().setStatusCode(status)));
+        GatewayFilterChain routing = e -> {
+            e.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://10.0.0.7:8083/api/projects/42"));
+            return new UpstreamTimingFilter().filter(e, upstream);
+        };
+        GatewayFilterChain loadBalancing = e -> new LoadBalancerTimingFilter().filter(e, routing);
+        GlobalFilter writeResponse = (e, chain) -> chain.filter(e)
+                .then(Mono.delay(Duration.ofMillis(bodyMs)))
+                .then(Mono.defer(() -> e.getResponse().setComplete()));
+        long before = recorder.recorded();
+        loggingFilter.filter(exchange, e -> writeResponse.filter(e, loadBalancing)).block();
+        awaitCompletion(before);
+        return exchange;
+    }
+
+    /** The logging filter records in {@code doFinally}, which may run just after {@code block()} returns. */
+    private void awaitCompletion(long before) {
+        long deadline = System.currentTimeMillis() + 200;
+        while (recorder.recorded() == before && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static FlightRecorder.Entry entry(String id) {
+        return new FlightRecorder.Entry(Instant.now(), id, "GET", "/api/x", "r", null, "200", 1500, null);
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1701] Records a slow request with its phase breakdown and correlation ID")
+    void shouldRecordSlowRequestPhases() {
+        ServerWebExchange exchange = exchange(HttpStatus.OK, 30, 80, 40);
+
+        List<FlightRecorder.Entry> entries = recorder.snapshot(null);
+        assertEquals(1, entries.size());
+        FlightRecorder.Entry entry = entries.get(0);
+        assertEquals(entry, recorder.snapshot(entry.correlationId()).get(0));
+        assertEquals(36, entry.correlationId().length());
+        assertEquals("/api/projects/42", entry.path());
+        assertEquals("200", entry.status());
+        assertTrue(entry.durationMs() >= 150, "duration " + entry.durationMs());
+
+        RequestTimeline.Phases phases = entry.phases();
+        assertNotNull(phases.filterChainMs());
+        assertNotNull(phases.loadBalancerMs());
+        assertTrue(phases.connectMs() >= 25, "connect " + phases.connectMs());
+        assertTrue(phases.firstByteMs() >= 70, "first byte " + phases.firstByteMs());
+        assertTrue(phases.bodyMs() >= 35, "body " + phases.bodyMs());
+        assertEquals(entry.durationMs(), phases.filterChainMs() + phases.loadBalancerMs() + phases.connectMs()
+                + phases.firstByteMs() + phases.bodyMs(), 0.5);
+        assertTrue(exchange.getAttributes().containsKey(RequestTimeline.ATTR));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1702] Skips fast successful requests but keeps fast failures")
+    void shouldKeepOnlySlowOrFailedRequests() {
+        exchange(HttpStatus.OK, 0, 1, 0);
+        assertEquals(0, recorder.recorded());
+
+        exchange(HttpStatus.SERVICE_UNAVAILABLE, 0, 1, 0);
+        assertEquals(1, recorder.recorded());
+        assertEquals("503", recorder.snapshot(null).get(0).status());
+
+        ReflectionTestUtils.setField(recorder, "enabled", false);
+        assertFalse(recorder.qualifies(TimeUnit.SECONDS.toNanos(5), true));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1703] Keeps the newest entries when concurrent writers wrap the ring")
+    void shouldKeepNewestEntriesUnderConcurrentWrites() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    recorder.record(entry(thread + "-" + i));
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(4_000, recorder.recorded());
+        List<FlightRecorder.Entry> entries = recorder.snapshot(null);
+        assertEquals(8, entries.size());
+        assertEquals(8, entries.stream().map(FlightRecorder.Entry::correlationId).distinct().count());
+
+        recorder.record(entry("latest"));
+        assertEquals("latest", recorder.snapshot(null).get(0).correlationId());
+        assertEquals(1, recorder.snapshot("latest").size());
+    }
+}
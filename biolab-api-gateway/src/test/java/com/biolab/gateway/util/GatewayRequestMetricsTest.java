@@ -0,0 +1,93 @@
+package com.biolab.gateway.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GatewayRequestMetrics}.
+ *
+ * @author BioLab Engineering Team
+ */
+class GatewayRequestMetricsTest {
+
+    private static final long MS = 1_000_000L;
+
+    private SimpleMeterRegistry registry;
+    private GatewayRequestMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new GatewayRequestMetrics(registry, new long[]{500, 50, 100});
+    }
+
+    @Test
+    @DisplayName("[TC-GW-501] Records latency per route, method and status class")
+    void shouldRecordRequestTimerPerTags() {
+        metrics.record("catalog-service", "GET", "2xx", 40 * MS, 30 * MS, 512);
+        metrics.record("catalog-service", "GET", "2xx", 80 * MS, 60 * MS, 256);
+        metrics.record("catalog-service", "POST", "4xx", 10 * MS, 5 * MS, 64);
+
+        Timer get = registry.get("biolab.gateway.requests")
+                .tags("route", "catalog-service", "method", "GET", "status", "2xx").timer();
+        assertEquals(2, get.count());
+        assertEquals(120, get.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get("biolab.gateway.requests")
+                .tags("method", "POST", "status", "4xx").timer().count());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-502] Splits time into upstream and gateway filter-chain time")
+    void shouldSplitUpstreamAndFilterChainTime() {
+        metrics.record("user-service", "GET", "2xx", 100 * MS, 70 * MS, 0);
+        metrics.record(null, "GET", "4xx", 5 * MS, -1, 0);
+
+        assertEquals(70, registry.get("biolab.gateway.upstream").tag("route", "user-service")
+                .timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(30, registry.get("biolab.gateway.filter.chain").tag("route", "user-service")
+                .timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        // Unrouted request: no upstream, the whole time is gateway time
+        assertEquals(0, registry.get("biolab.gateway.upstream").tag("route", GatewayRequestMetrics.NO_ROUTE)
+                .timer().count());
+        assertEquals(5, registry.get("biolab.gateway.filter.chain").tag("route", GatewayRequestMetrics.NO_ROUTE)
+                .timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("[TC-GW-503] Publishes cumulative SLO buckets in ascending order")
+    void shouldPublishSloBuckets() {
+        metrics.record("auth-service", "POST", "2xx", 70 * MS, 60 * MS, 0);
+        metrics.record("auth-service", "POST", "2xx", 700 * MS, 650 * MS, 0);
+
+        CountAtBucket[] buckets = registry.get("biolab.gateway.requests").tag("route", "auth-service")
+                .timer().takeSnapshot().histogramCounts();
+        assertArrayEquals(new double[]{50, 100, 500},
+                Arrays.stream(buckets).mapToDouble(b -> b.bucket(TimeUnit.MILLISECONDS)).toArray());
+        assertArrayEquals(new double[]{0, 1, 1},
+                Arrays.stream(buckets).mapToDouble(CountAtBucket::count).toArray());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-504] Records response size and maps status classes")
+    void shouldRecordResponseSizeAndStatusClass() {
+        metrics.record("document-service", "GET", "2xx", MS, MS, 2048);
+
+        DistributionSummary size = registry.get("biolab.gateway.response.size")
+                .tag("route", "document-service").summary();
+        assertEquals(2048, size.totalAmount(), 0.001);
+        assertEquals("2xx", GatewayRequestMetrics.statusClass(null));
+        assertEquals("3xx", GatewayRequestMetrics.statusClass(304));
+        assertEquals("5xx", GatewayRequestMetrics.statusClass(503));
+        assertEquals("UNKNOWN", GatewayRequestMetrics.statusClass(999));
+    }
+}
@@ -0,0 +1,163 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.util.HierarchicalRateLimiter.Decision;
+import com.biolab.gateway.util.HierarchicalRateLimiter.Limit;
+import com.biolab.gateway.util.HierarchicalRateLimiter.Plan;
+import com.biolab.gateway.util.HierarchicalRateLimiter.Policy;
+import com.biolab.gateway.util.HierarchicalRateLimiter.Scope;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link HierarchicalRateLimiter} against an in-process Redis
+ * stand-in (jedis-mock), exercising the real Lua script over RESP.
+ *
+ * @author BioLab Engineering Team
+ */
+class HierarchicalRateLimiterTest {
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate template;
+
+    /** Refills slowly enough that nothing comes back during a test. */
+    private static final double SLOW = 0.001;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void flush() {
+        template.execute(c -> c.serverCommands().flushAll()).blockLast();
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static Policy policy(Limit user, Limit org, Limit global) {
+        return new Policy(global,
+                Map.of("standard", new Plan(user, org),
+                        "trial", new Plan(user, new Limit(SLOW, 10))),
+                Map.of("org-trial", "trial"),
+                "standard");
+    }
+
+    private HierarchicalRateLimiter limiter(ReactiveStringRedisTemplate redisTemplate, Policy policy) {
+        HierarchicalRateLimiter limiter = new HierarchicalRateLimiter(redisTemplate, policy, registry);
+        ReflectionTestUtils.setField(limiter, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(limiter, "redisTimeoutMs", 5_000L);
+        return limiter;
+    }
+
+    private double reservations(String outcome) {
+        return registry.get("biolab.gateway.rate-limit.reservations").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1401] Spends locally reserved tokens, going to Redis an order of magnitude less often")
+    void shouldReserveTokensInBatches() {
+        HierarchicalRateLimiter limiter = limiter(template,
+                policy(new Limit(SLOW, 1000), new Limit(SLOW, 10_000), new Limit(SLOW, 100_000)));
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire("user:u1", "org-1").block().allowed(), "request " + i);
+        }
+
+        assertEquals(0, reservations("error"));
+        assertTrue(reservations("ok") <= 10, reservations("ok") + " Redis calls for 1000 requests");
+        assertEquals(1000, registry.get("biolab.gateway.rate-limit.requests")
+                .tag("outcome", "allowed").counter().count());
+        assertEquals(3, limiter.localBuckets());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1402] The user limit holds across gateway replicas")
+    void shouldShareUserLimitAcrossReplicas() {
+        Policy policy = policy(new Limit(SLOW, 20), new Limit(SLOW, 1000), new Limit(SLOW, 1000));
+        HierarchicalRateLimiter replicaA = limiter(template, policy);
+        HierarchicalRateLimiter replicaB = limiter(template, policy);
+
+        int allowed = 0;
+        Decision rejected = null;
+        for (int i = 0; i < 60; i++) {
+            Decision decision = (i % 2 == 0 ? replicaA : replicaB).tryAcquire("user:u2", "org-2").block();
+            if (decision.allowed()) {
+                allowed++;
+            } else {
+                rejected = decision;
+            }
+        }
+
+        assertTrue(allowed <= 20, allowed + " requests allowed for a burst of 20");
+        assertTrue(allowed >= 10, "reservations stranded most of the burst: " + allowed);
+        assertNotNull(rejected);
+        assertEquals(Scope.USER, rejected.scope());
+        assertTrue(rejected.retryAfterMs() > 0);
+        assertTrue(replicaA.tryAcquire("user:u3", "org-2").block().allowed(), "other users are unaffected");
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1403] Users of an organisation share the organisation bucket of its plan")
+    void shouldApplyOrganisationPlan() {
+        HierarchicalRateLimiter limiter = limiter(template,
+                policy(new Limit(SLOW, 100), new Limit(SLOW, 1000), new Limit(SLOW, 10_000)));
+
+        int allowed = 0;
+        Decision last = null;
+        for (int i = 0; i < 50; i++) {
+            last = limiter.tryAcquire("user:t" + (i % 5), "org-trial").block();
+            if (last.allowed()) allowed++;
+        }
+
+        assertEquals(10, allowed, "trial plan: 10 tokens for the whole organisation");
+        assertEquals(Scope.ORG, last.scope());
+        assertTrue(limiter.tryAcquire("user:t0", "org-other").block().allowed(), "standard plan is unaffected");
+        assertTrue(limiter.tryAcquire("ip:10.0.0.9", null).block().allowed());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-1404] Fails open when Redis is unreachable")
+    void shouldFailOpenWithoutRedis() {
+        LettuceConnectionFactory unreachable = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", 1));
+        unreachable.afterPropertiesSet();
+        unreachable.start();
+        try {
+            HierarchicalRateLimiter limiter = limiter(new ReactiveStringRedisTemplate(unreachable),
+                    policy(new Limit(SLOW, 1), new Limit(SLOW, 1), new Limit(SLOW, 1)));
+            ReflectionTestUtils.setField(limiter, "redisTimeoutMs", 200L);
+            assertTrue(limiter.tryAcquire("user:u4", "org-4").block().allowed());
+            assertTrue(limiter.tryAcquire("user:u4", "org-4").block().allowed());
+            assertEquals(2, reservations("error"));
+        } finally {
+            unreachable.destroy();
+        }
+    }
+}
@@ -122,4 +122,63 @@ class JwtUtilTest {
     void shouldRejectEmptyToken() {
         assertFalse(jwtUtil.validateToken(""));
     }
+
+    @Test
+    @DisplayName("[TC-GW-010] Should return an immutable claims snapshot for a valid token")
+    void shouldReturnVerifiedClaimsSnapshot() {
+        String token = generateToken(60000);
+        VerifiedClaims claims = jwtUtil.verify(token).orElseThrow();
+        assertEquals("user-uuid-123", claims.subject());
+        assertEquals("test@biolab.com", claims.email());
+        assertEquals(List.of("BUYER"), claims.roles());
+        assertEquals("org-uuid-456", claims.orgId());
+        assertEquals("BUYER", claims.rolesHeader());
+        assertThrows(UnsupportedOperationException.class, () -> claims.roles().add("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-011] Should serve repeated verifications of the same token from the cache")
+    void shouldCacheVerifiedClaims() {
+        String token = generateToken(60000);
+        VerifiedClaims first = jwtUtil.verify(token).orElseThrow();
+        VerifiedClaims second = jwtUtil.verify(token).orElseThrow();
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.cachedTokenCount());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-012] Should not cache rejected tokens")
+    void shouldNotCacheRejectedTokens() {
+        assertTrue(jwtUtil.verify(generateToken(-1000)).isEmpty());
+        assertTrue(jwtUtil.verify("not.a.valid.jwt").isEmpty());
+        assertEquals(0, jwtUtil.cachedTokenCount());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-013] Should keep the claims cache within its configured bound")
+    void shouldBoundClaimsCache() {
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxEntries", 20);
+        for (int i = 0; i < 100; i++) {
+            String token = Jwts.builder()
+                    .subject("user-" + i)
+                    .issuer(ISSUER)
+                    .expiration(new Date(System.currentTimeMillis() + 60000))
+                    .signWith(signingKey)
+                    .compact();
+            assertTrue(jwtUtil.verify(token).isPresent());
+        }
+        assertTrue(jwtUtil.cachedTokenCount() <= 20);
+    }
+
+    @Test
+    @DisplayName("[TC-GW-014] Should reject a token issued by a different issuer")
+    void shouldRejectForeignIssuer() {
+        String token = Jwts.builder()
+                .subject("user-uuid-123")
+                .issuer("someone-else")
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(signingKey)
+                .compact();
+        assertTrue(jwtUtil.verify(token).isEmpty());
+    }
 }
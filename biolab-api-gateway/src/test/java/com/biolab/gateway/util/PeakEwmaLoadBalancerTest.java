@@ -0,0 +1,210 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.util.InstanceLoadTracker.Call;
+import com.biolab.gateway.util.InstanceLoadTracker.InstanceSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PeakEwmaLoadBalancer} and {@link InstanceLoadTracker},
+ * driven by a simulated registry, stub backends and a simulated clock.
+ *
+ * @author BioLab Engineering Team
+ */
+class PeakEwmaLoadBalancerTest {
+
+    private static final long MS = 1_000_000L;
+    private static final String SERVICE = "BIOLAB-CATALOG-SERVICE";
+
+    /** A stub backend: answers after {@code latencyMs}, with 503 if {@code failing}. */
+    private record Backend(long latencyMs, boolean failing) { }
+
+    private record InFlight(Call call, long startMs, long doneMs, boolean failing) { }
+
+    private final SimulatedRegistry registry = new SimulatedRegistry();
+    private final Map<String, Backend> backends = new HashMap<>();
+    private final List<InFlight> inFlight = new ArrayList<>();
+    private long nowMs = 1_000;
+
+    private InstanceLoadTracker tracker;
+    private PeakEwmaLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new InstanceLoadTracker();
+        ReflectionTestUtils.setField(tracker, "clock", (LongSupplier) () -> nowMs * MS);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("registry", registry));
+        loadBalancer = new PeakEwmaLoadBalancer(beans.getBeanProvider(ServiceInstanceListSupplier.class),
+                SERVICE, tracker);
+    }
+
+    private ServiceInstance register(String id, long latencyMs, boolean failing) {
+        ServiceInstance instance = new DefaultServiceInstance(id, SERVICE, id, 8080, false);
+        backends.put(id, new Backend(latencyMs, failing));
+        List<ServiceInstance> next = new ArrayList<>(registry.instances);
+        next.add(instance);
+        registry.instances = next;
+        return instance;
+    }
+
+    private ServiceInstance choose() {
+        return loadBalancer.choose(new DefaultRequest<>()).blockOptional().orElseThrow().getServer();
+    }
+
+    /**
+     * Sends {@code perMs} requests every simulated millisecond for {@code durationMs}
+     * and returns how many each instance received.
+     */
+    private Map<String, Integer> simulate(long durationMs, int perMs) {
+        Map<String, Integer> picks = new HashMap<>();
+        for (long end = nowMs + durationMs; nowMs < end; nowMs++) {
+            for (Iterator<InFlight> it = inFlight.iterator(); it.hasNext(); ) {
+                InFlight call = it.next();
+                if (call.doneMs() > nowMs) continue;
+                if (call.failing()) {
+                    call.call().onFailure();
+                } else {
+                    call.call().onSuccess((call.doneMs() - call.startMs()) * MS);
+                }
+                it.remove();
+            }
+            for (int i = 0; i < perMs; i++) {
+                ServiceInstance instance = choose();
+                picks.merge(instance.getInstanceId(), 1, Integer::sum);
+                Backend backend = backends.get(instance.getInstanceId());
+                long latency = backend.failing() ? 1 : backend.latencyMs();
+                inFlight.add(new InFlight(tracker.start(instance).orElseThrow(), nowMs, nowMs + latency,
+                        backend.failing()));
+            }
+        }
+        return picks;
+    }
+
+    private static double share(Map<String, Integer> picks, String id) {
+        int total = picks.values().stream().mapToInt(Integer::intValue).sum();
+        return (double) picks.getOrDefault(id, 0) / total;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-801] Steers traffic away from a slow replica and reports per-instance scores")
+    void shouldAvoidSlowInstance() {
+        register("catalog-1", 10, false);
+        register("catalog-2", 10, false);
+        register("catalog-3", 10, false);
+        register("catalog-4", 200, false);   // stuck in GC pauses
+
+        Map<String, Integer> picks = simulate(5_000, 2);
+
+        assertTrue(share(picks, "catalog-4") < 0.05, "slow instance share " + share(picks, "catalog-4"));
+        for (String fast : List.of("catalog-1", "catalog-2", "catalog-3")) {
+            assertTrue(share(picks, fast) > 0.25, fast + " share " + share(picks, fast));
+        }
+
+        List<InstanceSnapshot> scores = tracker.snapshot().get(SERVICE);
+        assertEquals(4, scores.size());
+        InstanceSnapshot slow = scores.get(3);
+        assertEquals("catalog-4", slow.instance());
+        assertTrue(slow.latencyMs() > 100, "latency " + slow.latencyMs());
+        assertTrue(slow.score() > scores.get(0).score());
+        assertEquals(1.0, slow.warmUpWeight());
+        assertFalse(slow.ejected());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-802] Ejects an instance after consecutive failures and re-admits it later")
+    void shouldEjectFailingInstance() {
+        register("catalog-1", 10, false);
+        register("catalog-2", 10, false);
+        ServiceInstance broken = register("catalog-3", 10, true);
+        choose();   // let the tracker learn the registry
+
+        for (int i = 0; i < 4; i++) {
+            tracker.start(broken).orElseThrow().onFailure();
+        }
+        assertFalse(tracker.isEjected(broken));
+        tracker.start(broken).orElseThrow().onFailure();
+        assertTrue(tracker.isEjected(broken));
+
+        Map<String, Integer> picks = simulate(29_000, 1);
+        assertEquals(0, picks.getOrDefault("catalog-3", 0));
+
+        simulate(1_001, 1);
+        assertFalse(tracker.isEjected(broken));
+        for (int i = 0; i < 5; i++) {
+            tracker.start(broken).orElseThrow().onFailure();
+        }
+        InstanceSnapshot snapshot = tracker.snapshot().get(SERVICE).get(2);
+        assertTrue(snapshot.ejected());
+        assertTrue(snapshot.ejectedForMs() > 30_000, "second ejection lasts longer: " + snapshot.ejectedForMs());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-803] Ramps up a newly registered instance over the warm-up period")
+    void shouldWarmUpNewInstance() {
+        register("catalog-1", 10, false);
+        register("catalog-2", 10, false);
+        register("catalog-3", 10, false);
+        simulate(5_000, 2);
+
+        register("catalog-4", 10, false);
+        Map<String, Integer> early = simulate(3_000, 2);
+        simulate(27_000, 2);
+        Map<String, Integer> warm = simulate(5_000, 2);
+
+        assertTrue(share(early, "catalog-4") < 0.12, "early share " + share(early, "catalog-4"));
+        assertTrue(share(warm, "catalog-4") > 0.18, "warm share " + share(warm, "catalog-4"));
+        assertEquals(1.0, tracker.snapshot().get(SERVICE).get(3).warmUpWeight());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-804] Ejects at most the allowed share of a service and never leaves it without instances")
+    void shouldLimitEjections() {
+        ServiceInstance first = register("catalog-1", 10, true);
+        ServiceInstance second = register("catalog-2", 10, true);
+        choose();
+
+        for (int i = 0; i < 10; i++) {
+            tracker.start(first).orElseThrow().onFailure();
+            tracker.start(second).orElseThrow().onFailure();
+        }
+        assertTrue(tracker.isEjected(first) ^ tracker.isEjected(second), "exactly one of two may be ejected");
+
+        ServiceInstance ejected = tracker.isEjected(first) ? first : second;
+        ServiceInstance other = ejected == first ? second : first;
+        registry.instances = List.of(ejected);
+        assertEquals(ejected, choose(), "the only instance is used even while ejected");
+        assertTrue(tracker.start(other).isEmpty(), "deregistered instance is no longer tracked");
+    }
+
+    /** Registry whose instance list changes as instances (de)register. */
+    private static final class SimulatedRegistry implements ServiceInstanceListSupplier {
+        volatile List<ServiceInstance> instances = List.of();
+
+        @Override
+        public String getServiceId() {
+            return SERVICE;
+        }
+
+        @Override
+        public Flux<List<ServiceInstance>> get() {
+            return Flux.just(instances);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.biolab.gateway.util;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RedisSlidingWindowLimiter} against an in-process Redis
+ * stand-in (jedis-mock), exercising the real Lua script over RESP.
+ *
+ * @author BioLab Engineering Team
+ */
+class RedisSlidingWindowLimiterTest {
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate template;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void flush() {
+        template.execute(c -> c.serverCommands().flushAll()).blockLast();
+    }
+
+    private RedisSlidingWindowLimiter limiter(int maxAttempts) {
+        RedisSlidingWindowLimiter limiter = new RedisSlidingWindowLimiter(template);
+        ReflectionTestUtils.setField(limiter, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(limiter, "windowMs", 60_000L);
+        return limiter;
+    }
+
+    @Test
+    @DisplayName("[TC-GW-201] Allows attempts up to the limit, then blocks with Retry-After")
+    void shouldBlockAfterLimit() {
+        RedisSlidingWindowLimiter limiter = limiter(3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1").block().allowed());
+        }
+        RedisSlidingWindowLimiter.Decision blocked = limiter.tryAcquire("10.0.0.1").block();
+        assertFalse(blocked.allowed());
+        assertTrue(blocked.retryAfterMs() > 0 && blocked.retryAfterMs() <= 60_000);
+        assertTrue(blocked.retryAfterSeconds() >= 1);
+
+        // Other IPs are unaffected
+        assertTrue(limiter.tryAcquire("10.0.0.2").block().allowed());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-202] The limit is shared by all gateway replicas")
+    void shouldShareLimitAcrossInstances() {
+        RedisSlidingWindowLimiter replicaA = limiter(4);
+        RedisSlidingWindowLimiter replicaB = limiter(4);
+        assertTrue(replicaA.tryAcquire("10.0.0.3").block().allowed());
+        assertTrue(replicaB.tryAcquire("10.0.0.3").block().allowed());
+        assertTrue(replicaA.tryAcquire("10.0.0.3").block().allowed());
+        assertTrue(replicaB.tryAcquire("10.0.0.3").block().allowed());
+        assertFalse(replicaA.tryAcquire("10.0.0.3").block().allowed());
+        assertFalse(replicaB.tryAcquire("10.0.0.3").block().allowed());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-203] Blocked IPs are short-circuited by the local near-cache")
+    void shouldShortCircuitBlockedIpLocally() {
+        RedisSlidingWindowLimiter limiter = limiter(1);
+        assertTrue(limiter.tryAcquire("10.0.0.4").block().allowed());
+        assertFalse(limiter.tryAcquire("10.0.0.4").block().allowed());
+        assertEquals(1, limiter.nearCacheSize());
+
+        // Wipe Redis: the near-cache alone must keep the IP blocked
+        flush();
+        assertFalse(limiter.tryAcquire("10.0.0.4").block().allowed());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-204] Near-cache stays within its configured bound")
+    void shouldBoundNearCache() {
+        RedisSlidingWindowLimiter limiter = limiter(1);
+        ReflectionTestUtils.setField(limiter, "nearCacheMaxEntries", 5);
+        for (int i = 0; i < 20; i++) {
+            String ip = "10.1.0." + i;
+            limiter.tryAcquire(ip).block();
+            assertFalse(limiter.tryAcquire(ip).block().allowed());
+        }
+        assertTrue(limiter.nearCacheSize() <= 5);
+    }
+
+    @Test
+    @DisplayName("[TC-GW-205] Fails open when Redis is unreachable")
+    void shouldFailOpenWithoutRedis() {
+        LettuceConnectionFactory dead = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", 1));
+        dead.afterPropertiesSet();
+        dead.start();
+        try {
+            RedisSlidingWindowLimiter limiter = new RedisSlidingWindowLimiter(new ReactiveStringRedisTemplate(dead));
+            assertTrue(limiter.tryAcquire("10.0.0.5").block().allowed());
+        } finally {
+            dead.destroy();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.biolab.gateway.util;
+
+import com.biolab.gateway.util.ResponseCache.CachedResponse;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ResponseCache} against an in-process Redis stand-in
+ * (jedis-mock). Two instances sharing one Redis play two gateway replicas.
+ *
+ * @author BioLab Engineering Team
+ */
+class ResponseCacheTest {
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate template;
+
+    private ResponseCache replicaA;
+    private ResponseCache replicaB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.execute(c -> c.serverCommands().flushAll()).blockLast();
+        replicaA = new ResponseCache(connectionFactory, template);
+        replicaB = new ResponseCache(connectionFactory, template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaA.stop();
+        replicaB.stop();
+    }
+
+    private static byte[] body(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void awaitRedisKey(String key, boolean present) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (Boolean.TRUE.equals(template.hasKey(key).block()) != present) {
+            assertTrue(System.nanoTime() < deadline, "Redis key state not reached within 5s");
+            LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("[TC-GW-601] Serves from the local tier and shares entries with other replicas via Redis")
+    void shouldShareEntriesAcrossReplicas() {
+        CachedResponse stored = replicaA.put("catalog-service:/api/categories", "application/json",
+                null, body("[{\"id\":1}]"), Duration.ofMinutes(1));
+        awaitRedisKey("biolab:response-cache:catalog-service:/api/categories", true);
+
+        assertSame(stored, replicaA.get("catalog-service:/api/categories").block());
+
+        CachedResponse fromRedis = replicaB.get("catalog-service:/api/categories").block();
+        assertNotNull(fromRedis);
+        assertArrayEquals(stored.body(), fromRedis.body());
+        assertEquals(stored.etag(), fromRedis.etag());
+        assertEquals("application/json", fromRedis.contentType());
+        assertTrue(fromRedis.isFresh(System.currentTimeMillis()));
+        assertEquals(1, replicaB.localSize());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-602] Keeps entries past their TTL as stale copies until the stale window ends")
+    void shouldKeepStaleEntries() {
+        ReflectionTestUtils.setField(replicaA, "staleTtlMs", 60_000L);
+        replicaA.put("k", null, "\"v1\"", body("x"), Duration.ZERO);
+        awaitRedisKey("biolab:response-cache:k", true);
+
+        CachedResponse stale = replicaA.get("k").block();
+        assertNotNull(stale);
+        assertFalse(stale.isFresh(System.currentTimeMillis()));
+
+        // Past the stale window the local copy is dropped and Redis (expired) has none
+        ReflectionTestUtils.setField(replicaA, "staleTtlMs", 0L);
+        template.delete("biolab:response-cache:k").block();
+        assertNull(replicaA.get("k").block());
+        assertEquals(0, replicaA.localSize());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-603] Purges by prefix in Redis and in the local tier of every replica")
+    void shouldPurgeByPrefix() {
+        replicaA.start();
+        replicaB.start();
+        replicaA.put("catalog-service:/api/services", null, null, body("a"), Duration.ofMinutes(1));
+        replicaA.put("catalog-service:/api/categories", null, null, body("b"), Duration.ofMinutes(1));
+        replicaA.put("other:/x", null, null, body("c"), Duration.ofMinutes(1));
+        awaitRedisKey("biolab:response-cache:other:/x", true);
+        awaitRedisKey("biolab:response-cache:catalog-service:/api/categories", true);
+        awaitRedisKey("biolab:response-cache:catalog-service:/api/services", true);
+        replicaB.get("catalog-service:/api/services").block();
+        assertEquals(1, replicaB.localSize());
+
+        // Subscription is asynchronous — purge until replica B has dropped its copy
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        long deleted = replicaA.purge("catalog-service:").block();
+        while (replicaB.localSize() != 0) {
+            assertTrue(System.nanoTime() < deadline, "replica B not purged within 5s");
+            replicaA.purge("catalog-service:").block();
+            LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+        }
+
+        assertEquals(2, deleted);
+        assertNull(replicaA.get("catalog-service:/api/services").block());
+        assertNotNull(replicaA.get("other:/x").block());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-604] Derives strong ETags and matches If-None-Match lists")
+    void shouldMatchEtags() {
+        String etag = ResponseCache.etagOf(body("hello"));
+        assertEquals(etag, ResponseCache.etagOf(body("hello")));
+        assertNotEquals(etag, ResponseCache.etagOf(body("hello!")));
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        CachedResponse entry = new CachedResponse(null, etag, body("hello"), 0, 0);
+        assertTrue(entry.matches("\"other\", W/" + etag));
+        assertTrue(entry.matches("*"));
+        assertFalse(entry.matches("\"other\""));
+        assertFalse(entry.matches(null));
+    }
+}
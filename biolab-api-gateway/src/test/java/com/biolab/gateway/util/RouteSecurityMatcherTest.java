@@ -0,0 +1,113 @@
+package com.biolab.gateway.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RouteSecurityMatcher}.
+ *
+ * <p>Verifies that the compiled trie reproduces the previous prefix/exact
+ * semantics of the JWT, BFF and IP-throttle filters, caches the result on the
+ * exchange, and picks up configuration changes without a restart.</p>
+ *
+ * @author BioLab Engineering Team
+ */
+class RouteSecurityMatcherTest {
+
+    private MockEnvironment environment;
+    private RouteSecurityMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        matcher = new RouteSecurityMatcher(environment);
+        matcher.init();
+    }
+
+    @Test
+    @DisplayName("[TC-GW-101] Every default open prefix matches, with and without suffix")
+    void shouldMatchDefaultOpenPrefixes() {
+        for (String path : RouteSecurityMatcher.DEFAULT_OPEN_PATHS) {
+            assertTrue(matcher.match(path).isOpen(), path);
+            assertTrue(matcher.match(path + "/x").isOpen(), path + "/x");
+        }
+        assertTrue(matcher.match("/api/categories?page=0").isOpen());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-102] Paths outside the open list are protected")
+    void shouldClassifyProtectedPaths() {
+        assertTrue(matcher.match("/api/projects/123").isProtected());
+        assertTrue(matcher.match("/api/auth/me").isProtected());
+        assertTrue(matcher.match("/api/auth").isProtected());
+        assertTrue(matcher.match("/").isProtected());
+        assertTrue(matcher.match("").isProtected());
+        assertSame(RouteSecurity.PROTECTED, matcher.match("/api/services"));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-103] BFF paths match exactly; login paths are throttled")
+    void shouldClassifyBffAndThrottledPaths() {
+        RouteSecurity bffLogin = matcher.match("/api/auth/bff/login");
+        assertTrue(bffLogin.isBff());
+        assertTrue(bffLogin.isOpen());
+        assertTrue(bffLogin.isThrottledAuth());
+
+        assertFalse(matcher.match("/api/auth/bff/login/extra").isBff());
+        assertTrue(matcher.match("/api/auth/bff/logout").isBff());
+        assertFalse(matcher.match("/api/auth/bff/logout").isThrottledAuth());
+
+        assertTrue(matcher.match("/api/auth/login").isThrottledAuth());
+        assertTrue(matcher.match("/api/auth/register").isThrottledAuth());
+        assertFalse(matcher.match("/api/auth/login").isBff());
+        assertFalse(matcher.match("/api/auth/forgot-password").isThrottledAuth());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-104] Classification is computed once and stored on the exchange")
+    void shouldCacheClassificationOnExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/auth/bff/login").build());
+
+        RouteSecurity first = matcher.classify(exchange);
+        assertSame(first, exchange.getAttribute(RouteSecurityMatcher.ATTRIBUTE));
+
+        // A BFF rewrite keeps the original classification
+        var rewritten = exchange.mutate()
+                .request(exchange.getRequest().mutate().path("/api/auth/login").build())
+                .build();
+        assertSame(first, matcher.classify(rewritten));
+        assertTrue(matcher.classify(rewritten).isBff());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-105] Rules are recompiled when route-security properties change")
+    void shouldReloadOnEnvironmentChange() {
+        assertTrue(matcher.match("/api/services").isProtected());
+
+        environment.setProperty("app.route-security.open-paths", "/api/services, /actuator");
+        matcher.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("app.route-security.open-paths")));
+
+        assertTrue(matcher.match("/api/services/42").isOpen());
+        assertTrue(matcher.match("/api/categories").isProtected());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-106] Unrelated environment changes do not trigger a reload")
+    void shouldIgnoreUnrelatedEnvironmentChange() {
+        environment.setProperty("app.route-security.open-paths", "/api/services");
+        matcher.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("app.cors.max-age")));
+
+        assertTrue(matcher.match("/api/categories").isOpen());
+        assertTrue(matcher.match("/api/services").isProtected());
+    }
+}
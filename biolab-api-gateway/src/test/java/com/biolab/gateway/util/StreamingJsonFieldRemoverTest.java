@@ -0,0 +1,97 @@
+package com.biolab.gateway.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StreamingJsonFieldRemover}.
+ *
+ * @author BioLab Engineering Team
+ */
+class StreamingJsonFieldRemoverTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory factory = objectMapper.getFactory();
+    private final DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+
+    /** Feeds {@code json} in chunks of {@code chunkSize} bytes and returns the rewritten body. */
+    private String rewrite(StreamingJsonFieldRemover remover, String json, int chunkSize) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            int len = Math.min(chunkSize, bytes.length - i);
+            DataBuffer chunk = buffers.wrap(Arrays.copyOfRange(bytes, i, i + len));
+            remover.feed(chunk);
+        }
+        return remover.finish().toString(StandardCharsets.UTF_8);
+    }
+
+    private StreamingJsonFieldRemover remover() throws IOException {
+        return new StreamingJsonFieldRemover(factory, "refreshToken", buffers.allocateBuffer(16));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-401] Removes and captures top-level refreshToken, whatever the chunk boundaries")
+    void shouldRemoveTopLevelField() throws IOException {
+        String json = "{\"accessToken\":\"a.b.c\",\"refreshToken\":\"rt-\\u00e9-123\",\"expiresIn\":900,"
+                + "\"user\":{\"email\":\"ü@biolab.com\",\"roles\":[\"BUYER\",\"ADMIN\"]}}";
+        for (int chunkSize : new int[]{1, 3, 7, json.length()}) {
+            StreamingJsonFieldRemover remover = remover();
+            String out = rewrite(remover, json, chunkSize);
+
+            assertTrue(remover.removed());
+            assertEquals("rt-é-123", remover.removedValue());
+            assertEquals("{\"accessToken\":\"a.b.c\",\"expiresIn\":900,"
+                    + "\"user\":{\"email\":\"ü@biolab.com\",\"roles\":[\"BUYER\",\"ADMIN\"]}}", out);
+        }
+    }
+
+    @Test
+    @DisplayName("[TC-GW-402] Leaves nested fields of the same name and null values in place")
+    void shouldKeepNestedAndNullFields() throws IOException {
+        StreamingJsonFieldRemover nested = remover();
+        String json = "{\"data\":{\"refreshToken\":\"inner\"},\"mfaRequired\":true}";
+        assertEquals(json, rewrite(nested, json, 5));
+        assertFalse(nested.removed());
+        assertNull(nested.removedValue());
+
+        StreamingJsonFieldRemover nullValue = remover();
+        String withNull = "{\"refreshToken\":null,\"mfaRequired\":true}";
+        assertEquals(withNull, rewrite(nullValue, withNull, 4));
+        assertNull(nullValue.removedValue());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-403] Drops a structured value without capturing it")
+    void shouldDropStructuredValue() throws IOException {
+        StreamingJsonFieldRemover remover = remover();
+        String out = rewrite(remover, "{\"refreshToken\":{\"value\":[1,{\"x\":2}]},\"ok\":1}", 2);
+
+        assertTrue(remover.removed());
+        assertNull(remover.removedValue());
+        assertEquals("{\"ok\":1}", out);
+    }
+
+    @Test
+    @DisplayName("[TC-GW-404] Copies numbers exactly")
+    void shouldCopyNumbersExactly() throws IOException {
+        String json = "{\"big\":123456789012345678901234567890,\"precise\":0.10000000000000000000001}";
+        assertEquals(json, rewrite(remover(), json, 6));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-405] Fails on malformed or truncated JSON")
+    void shouldFailOnInvalidJson() {
+        assertThrows(IOException.class, () -> rewrite(remover(), "<html>error</html>", 4));
+        assertThrows(IOException.class, () -> rewrite(remover(), "{\"refreshToken\":\"abc\"", 4));
+    }
+}
@@ -0,0 +1,154 @@
+package com.biolab.gateway.util;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TokenRevocationRegistry}: bootstrap from the Redis sorted
+ * sets, live pub/sub updates, and local lookups — against an in-process Redis
+ * stand-in (jedis-mock).
+ *
+ * @author BioLab Engineering Team
+ */
+class TokenRevocationRegistryTest {
+
+    private static final String CHANNEL  = "biolab:token-revocation";
+    private static final String JTI_KEY  = "biolab:revoked:jti";
+    private static final String USER_KEY = "biolab:revoked:user-epoch";
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate template;
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.execute(c -> c.serverCommands().flushAll()).blockLast();
+        registry = new TokenRevocationRegistry(connectionFactory, template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.stop();
+    }
+
+    private static VerifiedClaims claims(String subject, String jti, Instant issuedAt) {
+        return new VerifiedClaims(subject, "u@biolab.com", List.of("BUYER"), null, jti,
+                issuedAt, Instant.now().plusSeconds(600));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("[TC-GW-301] Bootstraps live revocations and skips expired ones at startup")
+    void shouldBootstrapFromRedis() {
+        long now = System.currentTimeMillis();
+        template.opsForZSet().add(JTI_KEY, "jti-live", now + 600_000).block();
+        template.opsForZSet().add(JTI_KEY, "jti-expired", now - 1_000).block();
+        template.opsForZSet().add(USER_KEY, "user-1", now).block();
+
+        registry.start();
+        await(() -> registry.size() == 2);
+
+        assertTrue(registry.isRevoked(claims("user-9", "jti-live", Instant.now())));
+        assertFalse(registry.isRevoked(claims("user-9", "jti-expired", Instant.now())));
+        assertTrue(registry.isRevoked(claims("user-1", "other", Instant.ofEpochMilli(now - 60_000))));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-302] Applies revocations published after startup")
+    void shouldApplyPublishedRevocations() {
+        registry.start();
+        VerifiedClaims token = claims("user-2", "jti-2", Instant.now().minusSeconds(5));
+        assertFalse(registry.isRevoked(token));
+
+        // Subscription is asynchronous — publish until it is received
+        long exp = System.currentTimeMillis() + 600_000;
+        await(() -> {
+            template.convertAndSend(CHANNEL, "jti jti-2 " + exp).block();
+            return registry.isRevoked(token);
+        });
+    }
+
+    @Test
+    @DisplayName("[TC-GW-303] User epoch revokes older tokens but not tokens issued afterwards")
+    void shouldRevokeByUserEpoch() {
+        long epoch = System.currentTimeMillis();
+        registry.apply("user user-3 " + epoch);
+
+        assertTrue(registry.isRevoked(claims("user-3", "a", Instant.ofEpochMilli(epoch - 30_000))));
+        assertFalse(registry.isRevoked(claims("user-3", "b", Instant.ofEpochMilli(epoch + 2_000))));
+        assertFalse(registry.isRevoked(claims("user-4", "c", Instant.ofEpochMilli(epoch - 30_000))));
+    }
+
+    @Test
+    @DisplayName("[TC-GW-304] Prunes entries that can no longer match a live token")
+    void shouldPruneExpiredEntries() {
+        registry.revokeToken("short", System.currentTimeMillis() + 50);
+        registry.revokeUser("user-5", System.currentTimeMillis() - 900_000 + 50);
+        assertEquals(2, registry.size());
+
+        await(() -> { registry.prune(); return registry.size() == 0; });
+    }
+
+    @Test
+    @DisplayName("[TC-GW-305] Ignores malformed messages")
+    void shouldIgnoreMalformedMessages() {
+        registry.apply("garbage");
+        registry.apply("jti x not-a-number");
+        registry.apply("what x 123");
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("[TC-GW-306] Token issued in the epoch's own second (re-login after logout-all) stays valid")
+    void shouldKeepTokenIssuedInEpochSecond() {
+        long epoch = (System.currentTimeMillis() / 1000) * 1000 + 400;     // revoked 400 ms into a second
+        registry.apply("user user-6 " + epoch);
+
+        // Re-login 300 ms later: iat is truncated to the same second as the epoch
+        Instant reissued = Instant.ofEpochSecond((epoch + 300) / 1000);
+        assertFalse(registry.isRevoked(claims("user-6", "fresh", reissued)));
+        assertTrue(registry.isRevoked(claims("user-6", "old", Instant.ofEpochSecond(epoch / 1000 - 1))));
+    }
+}
@@ -8,6 +8,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.*;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -42,4 +44,13 @@ public class AuditEventController {
     public ResponseEntity<AuditEventDto> log(@Valid @RequestBody CreateAuditEventRequest req) {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.logEvent(req));
     }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("@perm.isAdmin() or @perm.hasRole('SERVICE')")
+    @ApiResponses({@ApiResponse(responseCode = "202", description = "Stored"), @ApiResponse(responseCode = "400", description = "Invalid event or batch too large"), @ApiResponse(responseCode = "401", description = "Unauthorized"), @ApiResponse(responseCode = "403", description = "Forbidden")})
+    @Operation(summary = "Ingest a batch of audit events (service-to-service, max 1000)")
+    public ResponseEntity<Map<String, Integer>> ingest(
+            @RequestBody @NotEmpty @Size(max = 1000) List<@Valid CreateAuditEventRequest> events) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("accepted", service.ingestEvents(events)));
+    }
 }
@@ -1,5 +1,16 @@
 package com.biolab.audit.dto;
 import jakarta.validation.constraints.NotBlank;
+import java.time.Instant;
 import java.util.UUID;
+/**
+ * Audit event to record. {@code occurredAt} is set by services shipping
+ * events in bulk ({@code AuditClient}); when absent the ingest time is used.
+ */
 public record CreateAuditEventRequest(UUID userId, @NotBlank String action,
-    @NotBlank String entityType, UUID entityId, String details, String ipAddress) {}
+    @NotBlank String entityType, UUID entityId, String details, String ipAddress, Instant occurredAt) {
+
+    public CreateAuditEventRequest(UUID userId, String action, String entityType, UUID entityId,
+                                   String details, String ipAddress) {
+        this(userId, action, entityType, entityId, details, ipAddress, null);
+    }
+}
@@ -29,6 +29,6 @@ public class AuditEvent {
     @Column(name = "ip_address", length = 45) private String ipAddress;
     @Column(name = "created_at") private Instant createdAt;
 
-    @PrePersist void onCreate() { createdAt = Instant.now(); }
+    @PrePersist void onCreate() { if (createdAt == null) createdAt = Instant.now(); }
 
 }
@@ -37,15 +37,23 @@ public class AuditService {
     }
 
     public AuditEventDto logEvent(CreateAuditEventRequest req) {
-        AuditEvent e = AuditEvent.builder()
-            .userId(req.userId()).action(req.action())
-            .entityType(req.entityType()).entityId(req.entityId())
-            .details(req.details()).ipAddress(req.ipAddress())
-            .build();
+        AuditEvent e = toEvent(req);
         log.info("Audit event logged: user={}, action={}", req.userId(), req.action());
         return toEventDto(eventRepo.save(e));
     }
 
+    /**
+     * Stores a batch shipped by a service's {@code AuditClient} in one
+     * transaction (JDBC-batched inserts), keeping each event's original time.
+     *
+     * @return number of events stored
+     */
+    public int ingestEvents(List<CreateAuditEventRequest> requests) {
+        eventRepo.saveAll(requests.stream().map(this::toEvent).toList());
+        log.debug("Audit events ingested: {}", requests.size());
+        return requests.size();
+    }
+
     @Transactional(readOnly = true)
     public Page<ComplianceAuditDto> listComplianceAudits(Pageable pageable) {
         return compRepo.findByOrderByAuditDateDesc(pageable).map(this::toCompDto);
@@ -91,6 +99,15 @@ public class AuditService {
         return Map.of("totalAudits", compRepo.count(), "totalEvents", eventRepo.count(), "totalPolicies", policyRepo.count());
     }
 
+    private AuditEvent toEvent(CreateAuditEventRequest req) {
+        return AuditEvent.builder()
+            .userId(req.userId()).action(req.action())
+            .entityType(req.entityType()).entityId(req.entityId())
+            .details(req.details()).ipAddress(req.ipAddress())
+            .createdAt(req.occurredAt())
+            .build();
+    }
+
     private AuditEventDto toEventDto(AuditEvent e) {
         return new AuditEventDto(e.getId(), e.getUserId(), e.getAction(), e.getEntityType(), e.getEntityId(), e.getDetails(), e.getIpAddress(), e.getCreatedAt());
     }
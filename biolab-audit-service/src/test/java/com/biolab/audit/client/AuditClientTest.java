@@ -0,0 +1,139 @@
+package com.biolab.audit.client;
+
+import com.biolab.common.audit.AuditClient;
+import com.biolab.common.audit.AuditEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+/**
+ * {@link AuditClient} (biolab-common) against a mocked bulk ingest endpoint:
+ * batching, disk spool while the audit service is down, and drops when the
+ * queue is full.
+ */
+@DisplayName("AuditClient Unit Tests")
+class AuditClientTest {
+
+    private static final String BULK_URL = "http://audit.test/audit/events/bulk";
+
+    @TempDir Path spoolDir;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RestClient.Builder builder;
+    private MockRestServiceServer server;
+    private AuditClient client;
+
+    @BeforeEach void setUp() {
+        builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+    }
+
+    @AfterEach void tearDown() {
+        if (client != null) client.stop();
+    }
+
+    private AuditClient start(int queueCapacity, int batchSize) {
+        client = new AuditClient(builder, mapper, registry);
+        ReflectionTestUtils.setField(client, "url", "http://audit.test");
+        ReflectionTestUtils.setField(client, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(client, "batchSize", batchSize);
+        ReflectionTestUtils.setField(client, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(client, "retryBackoffMs", 50L);
+        ReflectionTestUtils.setField(client, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(client, "applicationName", "biolab-test");
+        client.start();
+        return client;
+    }
+
+    private static AuditEventMessage event(int i) {
+        return new AuditEventMessage(UUID.randomUUID(), "API_POST", "USERS", null,
+                "{\"n\":" + i + "}", "10.0.0.1", Instant.now());
+    }
+
+    private double events(String outcome) {
+        return registry.get("biolab.audit.client.events").tag("outcome", outcome).counter().count();
+    }
+
+    private double dropped(String reason) {
+        return registry.get("biolab.audit.client.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test @DisplayName("[TC-AUD-027] ✅ Ships queued events in one bulk call as the service principal")
+    void shipsBatch() throws InterruptedException {
+        server.expect(ExpectedCount.once(), requestTo(BULK_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-User-Roles", "SERVICE"))
+                .andExpect(header("X-User-Email", "biolab-test@biolab.internal"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].action").value("API_POST"))
+                .andRespond(withStatus(org.springframework.http.HttpStatus.ACCEPTED));
+        start(100, 10);
+
+        for (int i = 0; i < 3; i++) assertThat(client.publish(event(i))).isTrue();
+
+        await(() -> events("sent") == 3);
+        server.verify();
+    }
+
+    @Test @DisplayName("[TC-AUD-028] ✅ Spools to disk while the audit service is down and replays it")
+    void spoolsAndReplays() throws Exception {
+        server.expect(ExpectedCount.once(), requestTo(BULK_URL)).andRespond(withServiceUnavailable());
+        server.expect(ExpectedCount.once(), requestTo(BULK_URL))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andRespond(withSuccess());
+        start(100, 10);
+
+        client.publish(event(1));
+        client.publish(event(2));
+
+        await(() -> events("replayed") == 2);
+        assertThat(events("spooled")).isEqualTo(2);
+        assertThat(events("sent")).isZero();
+        assertThat(registry.get("biolab.audit.client.spool.bytes").gauge().value()).isZero();
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+        server.verify();
+    }
+
+    @Test @DisplayName("[TC-AUD-029] ✅ A full queue drops events without blocking the caller")
+    void dropsWhenQueueFull() throws InterruptedException {
+        server.expect(ExpectedCount.manyTimes(), requestTo(BULK_URL)).andRespond(withSuccess());
+        start(2, 1);
+
+        int accepted = 0;
+        for (int i = 0; i < 200; i++) {
+            if (client.publish(event(i))) accepted++;
+        }
+
+        assertThat(dropped("queue_full")).isPositive().isEqualTo(200 - accepted);
+        int expected = accepted;
+        await(() -> events("sent") == expected);
+    }
+}
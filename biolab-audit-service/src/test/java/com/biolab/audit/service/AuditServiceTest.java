@@ -168,6 +168,27 @@ class AuditServiceTest {
             assertThat(captor.getValue().getUserId()).isNull();
             assertThat(captor.getValue().getEntityId()).isNull();
         }
+
+        @Test
+        @DisplayName("[TC-AUD-026] ✅ Ingest stores a batch in one saveAll and keeps event times")
+        @SuppressWarnings("unchecked")
+        void ingestEvents_SavesBatch() {
+            Instant occurredAt = Instant.parse("2026-03-01T10:15:30Z");
+            List<CreateAuditEventRequest> batch = List.of(
+                new CreateAuditEventRequest(userId, "API_POST", "USERS", null, null, "10.0.0.1", occurredAt),
+                new CreateAuditEventRequest(userId, "API_DELETE", "USERS", userId, null, "10.0.0.1"));
+
+            ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+            when(eventRepo.saveAll(captor.capture())).thenAnswer(inv -> inv.getArgument(0));
+
+            assertThat(service.ingestEvents(batch)).isEqualTo(2);
+
+            verify(eventRepo, never()).save(any());
+            List<AuditEvent> saved = captor.getValue();
+            assertThat(saved).extracting(AuditEvent::getAction).containsExactly("API_POST", "API_DELETE");
+            assertThat(saved.get(0).getCreatedAt()).isEqualTo(occurredAt);
+            assertThat(saved.get(1).getCreatedAt()).isNull();                       // set on persist
+        }
     }
 
     // ══════════════════════════════════════════════════════════════════
@@ -2,6 +2,7 @@ package com.biolab.auth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -23,24 +24,31 @@ import java.util.TimeZone;
  *       {@code EncryptedStringConverter} (needed for PII column encryption)</li>
  *   <li>{@code com.biolab.common.security} — {@code JwtAuthenticationFilter},
  *       {@code SecurityHeadersFilter}, {@code PermissionChecker}</li>
- *   <li>{@code com.biolab.common.logging} — {@code MdcLoggingFilter},
- *       {@code LoggingInterceptor}</li>
+ *   <li>{@code com.biolab.common.logging} — {@code RequestContextLoggingFilter}
+ *       (correlation, MDC, access log)</li>
  * </ul>
  *
+ * <p>{@code com.biolab.common.encryption} is also entity-scanned for the
+ * read-only {@code BlindIndexToken} used by the admin name search.</p>
+ *
  * @author BioLab Engineering Team
  * @version 2.0.0
  */
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableJpaAuditing
+@EntityScan(basePackages = {
+        "com.biolab.auth",
+        "com.biolab.common.encryption"    // BlindIndexToken (name search)
+})
 @EnableScheduling
 @ComponentScan(basePackages = {
         "com.biolab.auth",               // this service
         "com.biolab.common.encryption",  // AesEncryptionService, EncryptedStringConverter, DeterministicStringConverter
         "com.biolab.common.security",    // JwtAuthenticationFilter, SecurityHeadersFilter, PermissionChecker
-        "com.biolab.common.logging",     // MdcLoggingFilter, LoggingInterceptor
+        "com.biolab.common.logging",     // RequestContextLoggingFilter
         "com.biolab.common.rls",         // RlsContextAspect
-        "com.biolab.common.audit"        // AuditInterceptor
+        "com.biolab.common.audit"        // RequestAuditor, AuditClient
 })
 public class AuthServiceApplication {
 
@@ -5,11 +5,11 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * WebMVC configuration for Auth Service.
- * Inherits audit interceptor registration from {@link BaseSecurityConfig}.
+ * Extends {@link BaseSecurityConfig}; auditing runs in RequestContextLoggingFilter.
  *
  * @author BioLab Engineering Team
  */
 @Configuration
 public class WebMvcConfig extends BaseSecurityConfig {
-    // Inherits AuditInterceptor registration from BaseSecurityConfig
+    // Shared MVC settings from BaseSecurityConfig
 }
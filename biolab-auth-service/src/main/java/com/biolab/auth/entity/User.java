@@ -1,20 +1,40 @@
 package com.biolab.auth.entity;
 
+import com.biolab.common.encryption.BlindIndexListener;
+import com.biolab.common.encryption.BlindIndexService;
+import com.biolab.common.encryption.BlindIndexed;
+import com.biolab.common.encryption.LazyEncryptedString;
+import com.biolab.common.encryption.LazyEncryptedStringConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.Instant;
+import java.util.Objects;
 
 /**
  * JPA entity → {@code sec_schema.users}.
  * Core user identity: credentials, lockout state, verification status.
  *
+ * <h3>PII encryption with lazy decryption</h3>
+ * <p>{@code firstName}, {@code lastName} and {@code phone} are stored
+ * AES-256-GCM encrypted (V14), like on the User Service entity, but held as
+ * {@link LazyEncryptedString}: they are decrypted only when their getter is
+ * first called, so login, token refresh and session checks — which never
+ * read them — do no cipher work, and unchanged values are written back
+ * without re-encryption. Getters, setters and the builder take plain text.</p>
+ *
+ * <h3>Name search</h3>
+ * <p>The names are kept in the blind index ({@link BlindIndexListener}) when
+ * the user is created and whenever a name setter changes them.</p>
+ *
  * @author BioLab Engineering Team
+ * @version 2.1.0
  */
 @Entity
+@EntityListeners(BlindIndexListener.class)
 @Table(name = "users", schema = "sec_schema",
         uniqueConstraints = @UniqueConstraint(name = "uq_users_email", columnNames = "email"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-public class User extends BaseEntity {
+public class User extends BaseEntity implements BlindIndexed {
 
     @Column(name = "email", nullable = false, unique = true, length = 255)
     private String email;
@@ -22,14 +42,17 @@ public class User extends BaseEntity {
     @Column(name = "password_hash", nullable = false, length = 255)
     private String passwordHash;
 
-    @Column(name = "first_name", nullable = false, length = 100)
-    private String firstName;
+    @Convert(converter = LazyEncryptedStringConverter.class)
+    @Column(name = "first_name", nullable = false, length = 512)
+    private LazyEncryptedString firstName;
 
-    @Column(name = "last_name", nullable = false, length = 100)
-    private String lastName;
+    @Convert(converter = LazyEncryptedStringConverter.class)
+    @Column(name = "last_name", nullable = false, length = 512)
+    private LazyEncryptedString lastName;
 
-    @Column(name = "phone", length = 30)
-    private String phone;
+    @Convert(converter = LazyEncryptedStringConverter.class)
+    @Column(name = "phone", length = 512)
+    private LazyEncryptedString phone;
 
     @Column(name = "avatar_url", length = 512)
     private String avatarUrl;
@@ -63,6 +86,11 @@ public class User extends BaseEntity {
     @Builder.Default
     private Instant updatedAt = Instant.now();
 
+    /** A name changed since load; see {@link BlindIndexed}. */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private boolean blindIndexStale;
+
     /**
      * Lifecycle callback — ensures updated_at is always set on insert and update.
      * This prevents NOT NULL constraint violations even if the builder or service
@@ -83,6 +111,49 @@ public class User extends BaseEntity {
         this.updatedAt = Instant.now();
     }
 
+    public String getFirstName() { return LazyEncryptedString.plaintextOf(firstName); }
+
+    public String getLastName() { return LazyEncryptedString.plaintextOf(lastName); }
+
+    public String getPhone() { return LazyEncryptedString.plaintextOf(phone); }
+
+    public void setFirstName(String firstName) {
+        LazyEncryptedString replaced = replace(this.firstName, firstName);
+        blindIndexStale |= replaced != this.firstName;
+        this.firstName = replaced;
+    }
+
+    public void setLastName(String lastName) {
+        LazyEncryptedString replaced = replace(this.lastName, lastName);
+        blindIndexStale |= replaced != this.lastName;
+        this.lastName = replaced;
+    }
+
+    public void setPhone(String phone) { this.phone = replace(this.phone, phone); }
+
+    @Override
+    public String blindIndexScope() { return BlindIndexService.SCOPE_USER_NAME; }
+
+    @Override
+    public String[] blindIndexValues() { return new String[] { getFirstName(), getLastName() }; }
+
+    @Override
+    public void blindIndexUpdated() { blindIndexStale = false; }
+
+    /** Keeps the current value (and its stored ciphertext) when the plain text is unchanged. */
+    private static LazyEncryptedString replace(LazyEncryptedString current, String plaintext) {
+        return current != null && Objects.equals(current.get(), plaintext) ? current : LazyEncryptedString.of(plaintext);
+    }
+
+    /** Plain-text builder methods for the encrypted attributes. */
+    public static class UserBuilder {
+        public UserBuilder firstName(String firstName) { this.firstName = LazyEncryptedString.of(firstName); return this; }
+
+        public UserBuilder lastName(String lastName) { this.lastName = LazyEncryptedString.of(lastName); return this; }
+
+        public UserBuilder phone(String phone) { this.phone = LazyEncryptedString.of(phone); return this; }
+    }
+
     /** Returns true if the account is locked AND the lockout has not expired. */
     public boolean isAccountLocked() {
         if (!isLocked) return false;
@@ -0,0 +1,82 @@
+package com.biolab.auth.migration;
+
+import com.biolab.auth.entity.User;
+import com.biolab.auth.repository.UserRepository;
+import com.biolab.common.encryption.BlindIndexListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds the name blind index ({@code sec_schema.blind_index_tokens}, V18)
+ * for existing users.
+ *
+ * <h3>What it does</h3>
+ * <p>Runs on startup when the {@code backfill-blind-index} Spring profile is
+ * active. Pages through all users ordered by id and rewrites each user's
+ * name tokens through {@link BlindIndexListener#index}; each page commits in
+ * its own transaction, so a large table is never held in one. Rewriting is
+ * idempotent — the job can be re-run at any time, and must be after the HMAC
+ * key is rotated.</p>
+ *
+ * <h3>How to run</h3>
+ * <pre>
+ * # One-time after deploying V18 — add the profile and restart, then remove it
+ * SPRING_PROFILES_ACTIVE=backfill-blind-index java -jar biolab-auth-service.jar
+ * </pre>
+ *
+ * <p>Users created or renamed while the job runs are indexed by the listener
+ * on save.</p>
+ *
+ * @author BioLab Engineering Team
+ */
+@Component
+@Profile("backfill-blind-index")
+public class BlindIndexBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlindIndexBackfill.class);
+
+    private final UserRepository userRepository;
+    private final BlindIndexListener blindIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.encryption.blind-index.backfill-page-size:500}")
+    private int pageSize = 500;
+
+    public BlindIndexBackfill(UserRepository userRepository, BlindIndexListener blindIndex,
+                              TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.blindIndex = blindIndex;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("=== Blind index backfill starting ===");
+
+        long indexed = 0;
+        int pageNumber = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            PageRequest request = PageRequest.of(pageNumber++, pageSize, Sort.by("id"));
+            Page<User> page = transactionTemplate.execute(status -> {
+                Page<User> users = userRepository.findAll(request);
+                users.forEach(blindIndex::index);
+                return users;
+            });
+            indexed += page.getNumberOfElements();
+            hasNext = page.hasNext();
+            log.info("Blind index backfill: {} / {} users", indexed, page.getTotalElements());
+        }
+
+        log.info("=== Blind index backfill complete: {} users indexed ===", indexed);
+    }
+}
@@ -1,104 +1,59 @@
 package com.biolab.auth.migration;
 
-import com.biolab.auth.entity.User;
-import com.biolab.auth.repository.UserRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.biolab.common.encryption.ReEncryptionEngine;
+import com.biolab.common.encryption.ReEncryptionEngine.Task;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Base64;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * One-time PII encryption migrator.
+ * PII encryption migrator and key-rotation job for {@code sec_schema.users}.
  *
  * <h3>What it does</h3>
  * <p>Runs on startup when the {@code migrate-pii} Spring profile is active.
- * Scans all User rows and re-saves any whose {@code firstName}, {@code lastName},
- * or {@code phone} columns still contain plain text. The JPA
- * {@link com.biolab.common.encryption.EncryptedStringConverter} transparently
- * encrypts the values on {@code save()}, so no manual encryption is needed here.</p>
+ * Walks the users table with {@link ReEncryptionEngine}: plain-text
+ * {@code first_name}, {@code last_name} and {@code phone} values are
+ * encrypted, and ciphertext of an older key version is re-encrypted with the
+ * current one. Chunks are processed in parallel and committed one by one, so
+ * neither the table nor a long transaction is held; progress (throughput,
+ * ETA) is logged and exported as {@code biolab.encryption.reencryption.*}.</p>
  *
  * <h3>How to run</h3>
  * <pre>
- * # One-time — add the profile and restart the service, then remove it
+ * # Plain-text migration, or after adding a new key version (app.encryption.key=2:...,
+ * # previous key in app.encryption.legacy-keys) — add the profile and restart, then remove it
  * SPRING_PROFILES_ACTIVE=migrate-pii java -jar biolab-auth-service.jar
  * </pre>
  *
- * <p>After migration completes, remove the {@code migrate-pii} profile and
- * optionally remove the plain-text passthrough guard in
- * {@link com.biolab.common.encryption.EncryptedStringConverter}.</p>
+ * <p>Interrupted runs resume from their checkpoint (V19) on the next start.
+ * Other encrypted columns of the table (e.g. {@code email_display}) can be
+ * added through {@code app.encryption.reencryption.user-columns}. After a key
+ * rotation, also rebuild the name search index ({@link BlindIndexBackfill}).</p>
  *
  * @author BioLab Engineering Team
+ * @version 2.0.0
  */
 @Component
 @Profile("migrate-pii")
 public class PiiEncryptionMigrator implements ApplicationRunner {
 
-    private static final Logger log = LoggerFactory.getLogger(PiiEncryptionMigrator.class);
+    static final String TASK_NAME = "users-pii";
 
-    /** Minimum decoded byte length to consider a value already encrypted.
-     *  12 (IV) + 1 (min cipher) + 16 (GCM tag) = 29. */
-    private static final int MIN_ENCRYPTED_BYTES = 29;
+    private final ReEncryptionEngine engine;
 
-    private final UserRepository userRepository;
+    @Value("${app.encryption.reencryption.user-columns:first_name,last_name,phone}")
+    private List<String> columns = List.of("first_name", "last_name", "phone");
 
-    public PiiEncryptionMigrator(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public PiiEncryptionMigrator(ReEncryptionEngine engine) {
+        this.engine = engine;
     }
 
     @Override
-    @Transactional
     public void run(ApplicationArguments args) {
-        log.info("=== PII Encryption Migration starting ===");
-
-        List<User> users = userRepository.findAll();
-        AtomicInteger migrated = new AtomicInteger(0);
-        AtomicInteger skipped  = new AtomicInteger(0);
-
-        for (User user : users) {
-            boolean needsMigration =
-                    needsEncryption(user.getFirstName()) ||
-                    needsEncryption(user.getLastName())  ||
-                    needsEncryption(user.getPhone());
-
-            if (needsMigration) {
-                // EncryptedStringConverter.convertToDatabaseColumn() encrypts on save
-                userRepository.save(user);
-                migrated.incrementAndGet();
-                log.info("Migrated user id={} email={}", user.getId(), maskEmail(user.getEmail()));
-            } else {
-                skipped.incrementAndGet();
-            }
-        }
-
-        log.info("=== PII Encryption Migration complete: {} migrated, {} already encrypted ===",
-                 migrated.get(), skipped.get());
-    }
-
-    /**
-     * Returns true if the value is plain text (not yet encrypted).
-     * Mirrors the heuristic in EncryptedStringConverter.
-     */
-    private boolean needsEncryption(String value) {
-        if (value == null) return false;
-        if (value.length() < 40) return true; // too short to be encrypted
-        try {
-            byte[] decoded = Base64.getDecoder().decode(value);
-            return decoded.length < MIN_ENCRYPTED_BYTES;
-        } catch (IllegalArgumentException e) {
-            return true; // not Base64 → plain text
-        }
-    }
-
-    private String maskEmail(String email) {
-        if (email == null || !email.contains("@")) return "***";
-        int at = email.indexOf('@');
-        return (at > 1 ? email.charAt(0) + "***" : "***") + email.substring(at);
+        engine.run(new Task(TASK_NAME, "sec_schema.users", columns));
     }
 }
@@ -1,6 +1,7 @@
 package com.biolab.auth.repository;
 
 import com.biolab.auth.entity.User;
+import com.biolab.common.encryption.BlindIndexService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,14 +24,12 @@ import java.util.UUID;
  * the converter before running the query, so the comparison is hash-vs-hash.</p>
  *
  * <h3>Admin search</h3>
- * <p>The {@code searchUsers} JPQL query previously searched
- * {@code LOWER(u.email) LIKE ...}. This no longer works against the hash value.
- * The search now targets {@code emailDisplay} (AES-encrypted, decrypted by JPA
- * on read) for the email component, and continues to use firstName/lastName
- * directly (which are decrypted transparently by the converter).</p>
+ * <p>{@code LIKE} cannot match the hashed email nor the AES-GCM encrypted
+ * names. {@code searchUsers} matches names by word prefix through the blind
+ * index (V18); emails are found by exact lookup ({@link #findByEmail}).</p>
  *
  * @author BioLab Engineering Team
- * @version 2.0.0
+ * @version 2.1.0
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
@@ -61,24 +61,29 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     }
 
     /**
-     * Admin search — keyword matched against decrypted firstName, lastName,
-     * and the encrypted emailDisplay field.
+     * Admin search by name — users having every blind-index token of the
+     * search ({@link com.biolab.common.encryption.BlindIndexService#searchTokens}).
+     * The names are AES-GCM ciphertext, so they are matched through
+     * {@code sec_schema.blind_index_tokens} (primary-key lookup) instead of
+     * {@code LIKE} on the columns.
      *
-     * <p>Note: LIKE search on AES-encrypted emailDisplay is only useful if
-     * the admin provides the full email address (the converter encrypts the
-     * full value for comparison). For partial email search, use a dedicated
-     * admin search endpoint that accepts a full email and hashes it for an
-     * exact lookup.</p>
+     * @param nameTokens distinct search tokens, not empty
+     * @param tokenCount {@code nameTokens.size()}
      */
     @Query("SELECT u FROM User u WHERE " +
-           "(:search IS NULL " +
-           " OR LOWER(u.firstName) LIKE LOWER(CONCAT('%',:search,'%')) " +
-           " OR LOWER(u.lastName)  LIKE LOWER(CONCAT('%',:search,'%'))) " +
+           "u.id IN (SELECT t.ownerId FROM BlindIndexToken t " +
+           "         WHERE t.scope = '" + BlindIndexService.SCOPE_USER_NAME + "' AND t.token IN :nameTokens " +
+           "         GROUP BY t.ownerId HAVING COUNT(t.token) = :tokenCount) " +
            "AND (:isActive IS NULL OR u.isActive = :isActive)")
-    Page<User> searchUsers(@Param("search") String search,
+    Page<User> searchUsers(@Param("nameTokens") Collection<String> nameTokens,
+                           @Param("tokenCount") long tokenCount,
                            @Param("isActive") Boolean isActive,
                            Pageable pageable);
 
+    /** Admin listing without a search term. */
+    @Query("SELECT u FROM User u WHERE (:isActive IS NULL OR u.isActive = :isActive)")
+    Page<User> findAllByActive(@Param("isActive") Boolean isActive, Pageable pageable);
+
     /**
      * Exact email lookup for admin endpoints — accepts raw email, hashed by converter.
      * Alias for findByEmail that makes the intent clear in admin service code.
@@ -0,0 +1,96 @@
+package com.biolab.auth.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Publishes access-token revocations to the API Gateway over Redis.
+ *
+ * <p>The gateway validates JWTs locally and never queries
+ * {@code jwt_token_blacklist}, so without this a revoked access token stays
+ * usable until it expires. Two kinds of revocation are published:</p>
+ * <ul>
+ *   <li><b>Token</b> — a single {@code jti} (logout). Stored in the sorted set
+ *       {@code app.jwt.revocation.jti-key} scored by the token's expiry.</li>
+ *   <li><b>User epoch</b> — every access token of a user issued before the
+ *       epoch's second (password change/reset, admin force-logout). Stored in
+ *       {@code app.jwt.revocation.user-key} scored by the epoch.</li>
+ * </ul>
+ *
+ * <p>Each write is followed by a {@code PUBLISH} on
+ * {@code app.jwt.revocation.channel} ({@code "jti <jti> <expMs>"} or
+ * {@code "user <userId> <epochMs>"}) for running gateways; the sorted sets
+ * let a new gateway instance bootstrap the current revocation set. Entries
+ * that can no longer match a live access token are pruned on every write.</p>
+ *
+ * <p>Publishing is best-effort: a Redis failure is logged and never fails the
+ * logout or password flow — the database blacklist remains authoritative for
+ * {@code /api/auth/validate-token}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.jwt.revocation.channel:biolab:token-revocation}")
+    private String channel;
+
+    @Value("${app.jwt.revocation.jti-key:biolab:revoked:jti}")
+    private String jtiKey;
+
+    @Value("${app.jwt.revocation.user-key:biolab:revoked:user-epoch}")
+    private String userKey;
+
+    @Value("${app.jwt.access-token-expiration-ms:900000}")
+    private long accessTokenExpirationMs;
+
+    /**
+     * Revokes one access token until it expires.
+     *
+     * @param jti       the token's {@code jti} claim
+     * @param expiresAt the token's {@code exp} claim
+     */
+    public void publishRevokedToken(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) return;
+        long expMs = expiresAt.toEpochMilli();
+        try {
+            redisTemplate.opsForZSet().add(jtiKey, jti, expMs);
+            redisTemplate.opsForZSet().removeRangeByScore(jtiKey, Double.NEGATIVE_INFINITY,
+                    System.currentTimeMillis());
+            redisTemplate.convertAndSend(channel, "jti " + jti + " " + expMs);
+            log.debug("Published revocation of access token {}", jti);
+        } catch (Exception e) {
+            log.warn("Could not publish access-token revocation {}: {}", jti, e.getMessage());
+        }
+    }
+
+    /**
+     * Revokes every access token of a user issued up to now.
+     *
+     * @param userId the user whose outstanding access tokens are revoked
+     */
+    public void publishUserRevocation(UUID userId) {
+        if (userId == null) return;
+        long epochMs = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().add(userKey, userId.toString(), epochMs);
+            redisTemplate.opsForZSet().removeRangeByScore(userKey, Double.NEGATIVE_INFINITY,
+                    epochMs - accessTokenExpirationMs);
+            redisTemplate.convertAndSend(channel, "user " + userId + " " + epochMs);
+            log.debug("Published access-token revocation epoch for user {}", userId);
+        } catch (Exception e) {
+            log.warn("Could not publish revocation epoch for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.biolab.auth.repository.*;
 import com.biolab.auth.security.ConcurrentSessionManager;
 import com.biolab.auth.security.JwtTokenProvider;
 import com.biolab.auth.security.LoginAnomalyDetector;
+import com.biolab.auth.security.TokenRevocationPublisher;
 import com.biolab.auth.service.AuthService;
 import com.biolab.auth.service.EmailService;
 import io.jsonwebtoken.Claims;
@@ -97,6 +98,9 @@ public class AuthServiceImpl implements AuthService {
      */
     private final ConcurrentSessionManager concurrentSessionManager;
 
+    /** Pushes revoked JTIs / user epochs to the gateway's local revocation set. */
+    private final TokenRevocationPublisher tokenRevocationPublisher;
+
     /**
      * GAP-05: Redis template used for two purposes:
      * <ol>
@@ -522,6 +526,8 @@ public class AuthServiceImpl implements AuthService {
                             .jti(claims.getId()).user(user).tokenType(TokenType.ACCESS)
                             .expiresAt(claims.getExpiration().toInstant())
                             .reason("User logout").build());
+                    tokenRevocationPublisher.publishRevokedToken(
+                            claims.getId(), claims.getExpiration().toInstant());
                     int revoked = refreshTokenRepository.revokeAllByUserId(user.getId());
                     // SESSION FIX: deactivate all UserSession records on logout
                     int deactivated = userSessionRepository.deactivateAllUserSessions(user.getId());
@@ -622,6 +628,7 @@ public class AuthServiceImpl implements AuthService {
         passwordResetTokenRepository.save(resetToken);
 
         int revokedCount = refreshTokenRepository.revokeAllByUserId(user.getId());
+        tokenRevocationPublisher.publishUserRevocation(user.getId());
         log.info("Password reset: user={}, {} refresh tokens revoked", user.getId(), revokedCount);
 
         emailService.sendPasswordChangedEmail(user.getEmail(), user.getFirstName());
@@ -657,6 +664,7 @@ public class AuthServiceImpl implements AuthService {
         passwordHistoryRepository.save(
                 PasswordHistory.builder().user(user).passwordHash(newHash).build());
         refreshTokenRepository.revokeAllByUserId(user.getId());
+        tokenRevocationPublisher.publishUserRevocation(user.getId());
         emailService.sendPasswordChangedEmail(user.getEmail(), user.getFirstName());
 
         log.info("Password changed for user: {}", userId);
@@ -7,6 +7,7 @@ import com.biolab.auth.exception.AuthException;
 import com.biolab.auth.exception.ResourceNotFoundException;
 import com.biolab.auth.repository.RefreshTokenRepository;
 import com.biolab.auth.repository.UserSessionRepository;
+import com.biolab.auth.security.TokenRevocationPublisher;
 import com.biolab.auth.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +41,7 @@ public class SessionServiceImpl implements SessionService {
 
     private final UserSessionRepository sessionRepo;
     private final RefreshTokenRepository refreshTokenRepo;
+    private final TokenRevocationPublisher tokenRevocationPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -94,6 +96,9 @@ public class SessionServiceImpl implements SessionService {
         int deactivatedSessions = sessionRepo.deactivateAllUserSessions(userId);
         log.info("Deactivated {} sessions for user {}", deactivatedSessions, userId);
 
+        // Outstanding access tokens are rejected at the gateway immediately
+        tokenRevocationPublisher.publishUserRevocation(userId);
+
         return revokedTokens + deactivatedSessions;
     }
 
@@ -6,13 +6,16 @@ import com.biolab.auth.entity.User;
 import com.biolab.auth.exception.*;
 import com.biolab.auth.repository.UserRepository;
 import com.biolab.auth.service.UserCrudService;
+import com.biolab.common.encryption.BlindIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /** CRUD implementation for sec_schema.users. */
@@ -21,6 +24,7 @@ public class UserCrudServiceImpl implements UserCrudService {
 
     private final UserRepository repo;
     private final PasswordEncoder passwordEncoder;
+    private final BlindIndexService blindIndexService;
 
     @Override
     public UserResponse create(UserCreateRequest req) {
@@ -48,7 +52,15 @@ public class UserCrudServiceImpl implements UserCrudService {
 
     @Override @Transactional(readOnly = true)
     public PageResponse<UserResponse> search(String search, Boolean isActive, Pageable pageable) {
-        var page = repo.searchUsers(search, isActive, pageable);
+        Page<User> page;
+        if (search == null || search.isBlank()) {
+            page = repo.findAllByActive(isActive, pageable);
+        } else {
+            // Names are encrypted — matched by blind-index tokens, not LIKE
+            List<String> tokens = blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, search);
+            page = tokens.isEmpty() ? Page.empty(pageable)
+                    : repo.searchUsers(tokens, tokens.size(), isActive, pageable);
+        }
         return PageResponse.<UserResponse>builder()
                 .content(page.getContent().stream().map(this::toResponse).toList())
                 .page(page.getNumber()).size(page.getSize())
@@ -0,0 +1,37 @@
+-- ════════════════════════════════════════════════════════════════════════
+-- V18__create_blind_index_tokens.sql
+--
+-- PURPOSE
+--   Side table for blind-index search over AES-GCM encrypted PII columns.
+--
+-- BACKGROUND
+--   first_name / last_name hold randomised AES-256-GCM ciphertext (V14),
+--   so LIKE on those columns never matches and always scans the table.
+--   Instead, every searchable value is split into words, and each word
+--   prefix is stored here as a keyed HMAC token (BlindIndexService).
+--   Admin search hashes the search terms the same way and looks the tokens
+--   up through the primary key.
+--
+--   scope  — which field group a token belongs to (e.g. 'user.name');
+--            tokens of different scopes never match each other.
+--   token  — truncated HMAC-SHA256, Base64url; reveals neither the value
+--            nor the prefix without the key.
+--
+-- EXECUTION NOTES
+--   Rows are written by the services on save. Existing users are indexed
+--   by the auth-service backfill job (profile: backfill-blind-index), which
+--   must also be re-run after the HMAC key is rotated.
+-- ════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE sec_schema.blind_index_tokens (
+    scope           VARCHAR(32)     NOT NULL,
+    token           VARCHAR(32)     NOT NULL,
+    owner_id        UUID            NOT NULL,
+    PRIMARY KEY (scope, token, owner_id)
+);
+
+-- Re-indexing an owner deletes its tokens first
+CREATE INDEX idx_blind_index_owner ON sec_schema.blind_index_tokens(owner_id, scope);
+
+COMMENT ON TABLE sec_schema.blind_index_tokens IS
+    'Keyed HMAC prefix tokens of encrypted PII — indexed lookup for admin search';
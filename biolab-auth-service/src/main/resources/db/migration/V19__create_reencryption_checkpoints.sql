@@ -0,0 +1,34 @@
+-- ════════════════════════════════════════════════════════════════════════
+-- V19__create_reencryption_checkpoints.sql
+--
+-- PURPOSE
+--   Progress of the PII re-encryption jobs (ReEncryptionEngine), so that a
+--   migration or key rotation interrupted by a restart resumes where it
+--   stopped instead of starting over.
+--
+-- BACKGROUND
+--   The engine walks a table by primary key in chunks, re-encrypts the
+--   chunks in parallel and commits each one in its own short transaction.
+--   last_id is the highest id below which every chunk has committed.
+--
+--   key_version — encryption key version the run writes. A finished run is
+--                 not repeated for the same version; a new version (after
+--                 a key rotation) starts the table over.
+--
+-- EXECUTION NOTES
+--   New, empty table — no data is affected.
+-- ════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE sec_schema.reencryption_checkpoints (
+    task            VARCHAR(64)     PRIMARY KEY,
+    key_version     INT             NOT NULL,
+    last_id         UUID,
+    rows_scanned    BIGINT          NOT NULL DEFAULT 0,
+    rows_updated    BIGINT          NOT NULL DEFAULT 0,
+    started_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    completed_at    TIMESTAMP WITH TIME ZONE
+);
+
+COMMENT ON TABLE sec_schema.reencryption_checkpoints IS
+    'Resume points of PII re-encryption jobs (plain-text migration, key rotation)';
@@ -0,0 +1,115 @@
+package com.biolab.auth.entity;
+
+import com.biolab.common.encryption.AesEncryptionService;
+import com.biolab.common.encryption.BlindIndexListener;
+import com.biolab.common.encryption.BlindIndexService;
+import com.biolab.common.encryption.BlindIndexStore;
+import com.biolab.common.encryption.LazyEncryptedStringConverter;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Blind-index tokens of the {@link User} names and their maintenance by
+ * {@link BlindIndexListener} on persist and update.
+ */
+@DisplayName("User name blind index Unit Tests")
+class UserBlindIndexTest {
+
+    private static final String SCOPE = BlindIndexService.SCOPE_USER_NAME;
+
+    private AesEncryptionService encryption;
+    private BlindIndexService blindIndex;
+    private BlindIndexStore store;
+    private BlindIndexListener listener;
+
+    @BeforeEach void setUp() {
+        encryption = new AesEncryptionService();
+        encryption.init();
+        blindIndex = new BlindIndexService(encryption);
+        store = mock(BlindIndexStore.class);
+        listener = new BlindIndexListener(blindIndex, store);
+    }
+
+    private User user(String firstName, String lastName) {
+        User user = User.builder().email("jose@biolab.com").passwordHash("h")
+                .firstName(firstName).lastName(lastName).build();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<String> written(User user) {
+        ArgumentCaptor<Collection<String>> tokens = ArgumentCaptor.forClass(Collection.class);
+        verify(store, atLeastOnce()).replace(eq(user.getId()), eq(SCOPE), tokens.capture());
+        return tokens.getValue();
+    }
+
+    @Test @DisplayName("[TC-AUTH-164] ✅ Search words match as case- and accent-insensitive word prefixes")
+    void searchMatchesWordPrefixes() {
+        Set<String> indexed = blindIndex.indexTokens(SCOPE, "José María", "Van der Berg");
+
+        assertThat(indexed).containsAll(blindIndex.searchTokens(SCOPE, "jos"));
+        assertThat(indexed).containsAll(blindIndex.searchTokens(SCOPE, "MARIA berg"));
+        assertThat(indexed).containsAll(blindIndex.searchTokens(SCOPE, "  van-DER "));
+        assertThat(indexed).doesNotContainAnyElementsOf(blindIndex.searchTokens(SCOPE, "osé"));   // not a prefix
+        assertThat(indexed).doesNotContainAnyElementsOf(blindIndex.searchTokens(SCOPE, "joan"));
+        assertThat(blindIndex.searchTokens(SCOPE, "j")).isEmpty();                              // below min-prefix
+        assertThat(blindIndex.searchTokens("user.phone", "jos"))
+                .doesNotContainAnyElementsOf(blindIndex.searchTokens(SCOPE, "jos"));
+    }
+
+    @Test @DisplayName("[TC-AUTH-165] ✅ Tokens reveal neither the name nor the email hash")
+    void tokensAreKeyed() {
+        List<String> tokens = blindIndex.searchTokens(SCOPE, "jose");
+
+        assertThat(tokens).singleElement().satisfies(token -> {
+            assertThat(token).hasSize(22).doesNotContainIgnoringCase("jose");
+            assertThat(encryption.encryptDeterministic("jose")).doesNotContain(token);
+        });
+        AesEncryptionService otherKey = new AesEncryptionService();
+        otherKey.init();
+        assertThat(new BlindIndexService(otherKey).searchTokens(SCOPE, "jose")).isNotEqualTo(tokens);
+    }
+
+    @Test @DisplayName("[TC-AUTH-166] ✅ New users are indexed; updates only when a name changed")
+    void indexMaintainedOnSave() {
+        User user = user("José", "Díaz");
+        listener.onPersist(user);
+        assertThat(written(user)).containsAll(blindIndex.searchTokens(SCOPE, "jose diaz"));
+
+        clearInvocations(store);
+        user.recordSuccessfulLogin();
+        user.setFirstName("José");                  // unchanged
+        listener.onUpdate(user);
+        verifyNoInteractions(store);
+
+        user.setLastName("Ortega");
+        listener.onUpdate(user);
+        assertThat(written(user)).containsAll(blindIndex.searchTokens(SCOPE, "ort"))
+                .doesNotContainAnyElementsOf(blindIndex.searchTokens(SCOPE, "diaz"));
+        assertThat(user.isBlindIndexStale()).isFalse();
+    }
+
+    @Test @DisplayName("[TC-AUTH-167] ✅ Loaded users are not re-indexed or decrypted by unrelated writes")
+    void loadedUserNotReindexed() {
+        LazyEncryptedStringConverter converter = new LazyEncryptedStringConverter(encryption);
+        User user = User.builder().email("jose@biolab.com").passwordHash("h").build();
+        ReflectionTestUtils.setField(user, "firstName", converter.convertToEntityAttribute(encryption.encrypt("José")));
+        user.setId(UUID.randomUUID());
+
+        user.clearLockout();
+        listener.onUpdate(user);
+
+        verify(store, never()).replace(any(), any(), any());
+    }
+}
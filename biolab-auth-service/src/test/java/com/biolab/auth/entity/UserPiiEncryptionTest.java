@@ -0,0 +1,114 @@
+package com.biolab.auth.entity;
+
+import com.biolab.common.encryption.AesEncryptionService;
+import com.biolab.common.encryption.LazyEncryptedString;
+import com.biolab.common.encryption.LazyEncryptedStringConverter;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Lazy PII decryption on {@link User} through {@link LazyEncryptedStringConverter},
+ * driven the way Hibernate does: column value → attribute on load, attribute →
+ * column on flush.
+ */
+@DisplayName("User PII lazy decryption Unit Tests")
+class UserPiiEncryptionTest {
+
+    /** Counts decryptions. */
+    private static class CountingEncryptionService extends AesEncryptionService {
+        final AtomicInteger decrypts = new AtomicInteger();
+        final AtomicInteger encrypts = new AtomicInteger();
+
+        @Override public String decrypt(String ciphertext) { decrypts.incrementAndGet(); return super.decrypt(ciphertext); }
+        @Override public String encrypt(String plaintext) { encrypts.incrementAndGet(); return super.encrypt(plaintext); }
+    }
+
+    private CountingEncryptionService encryption;
+    private LazyEncryptedStringConverter converter;
+    private String storedFirstName;
+
+    @BeforeEach void setUp() {
+        encryption = new CountingEncryptionService();
+        encryption.init();
+        converter = new LazyEncryptedStringConverter(encryption);
+        storedFirstName = encryption.encrypt("Ana");
+        encryption.encrypts.set(0);
+    }
+
+    /** A user as loaded by Hibernate from the stored column values. */
+    private User load(String firstName, String lastName) {
+        User user = User.builder().email("ana@biolab.com").passwordHash("h").build();
+        ReflectionTestUtils.setField(user, "firstName", converter.convertToEntityAttribute(firstName));
+        ReflectionTestUtils.setField(user, "lastName", converter.convertToEntityAttribute(lastName));
+        return user;
+    }
+
+    private String flushed(User user, String field) {
+        return converter.convertToDatabaseColumn((LazyEncryptedString) ReflectionTestUtils.getField(user, field));
+    }
+
+    @Test @DisplayName("[TC-AUTH-158] ✅ Loading and updating a user without reading PII does no cipher work")
+    void loginPathDoesNoCipherWork() {
+        User user = load(storedFirstName, encryption.encrypt("Rodríguez"));
+        encryption.encrypts.set(0);
+
+        user.recordSuccessfulLogin();
+        assertThat(flushed(user, "firstName")).isEqualTo(storedFirstName);
+
+        assertThat(encryption.decrypts).hasValue(0);
+        assertThat(encryption.encrypts).hasValue(0);
+    }
+
+    @Test @DisplayName("[TC-AUTH-159] ✅ Decrypts on first access only")
+    void decryptsOnceOnAccess() {
+        User user = load(storedFirstName, null);
+
+        assertThat(user.getFirstName()).isEqualTo("Ana");
+        assertThat(user.getFirstName()).isEqualTo("Ana");
+        assertThat(user.getLastName()).isNull();
+        assertThat(encryption.decrypts).hasValue(1);
+    }
+
+    @Test @DisplayName("[TC-AUTH-160] ✅ Setting the same value keeps the stored ciphertext; a new value is encrypted")
+    void setterOnlyReencryptsChanges() {
+        User user = load(storedFirstName, encryption.encrypt("Doe"));
+        Object loaded = ReflectionTestUtils.getField(user, "firstName");
+        encryption.encrypts.set(0);
+
+        user.setFirstName("Ana");
+        assertThat(ReflectionTestUtils.getField(user, "firstName")).isSameAs(loaded);
+        assertThat(flushed(user, "firstName")).isEqualTo(storedFirstName);
+        assertThat(encryption.encrypts).hasValue(0);
+
+        user.setFirstName("Anna");
+        assertThat(ReflectionTestUtils.getField(user, "firstName")).isNotEqualTo(loaded);
+        String written = flushed(user, "firstName");
+        assertThat(written).startsWith("v1:").isNotEqualTo(storedFirstName);
+        assertThat(encryption.decrypt(written)).isEqualTo("Anna");
+    }
+
+    @Test @DisplayName("[TC-AUTH-161] ✅ Plain text at rest is readable and encrypted when the row is written")
+    void plaintextAtRestIsEncryptedOnWrite() {
+        User user = load("Ana", storedFirstName);
+
+        assertThat(user.getFirstName()).isEqualTo("Ana");
+        assertThat(((LazyEncryptedString) ReflectionTestUtils.getField(user, "firstName")).isPlaintextAtRest()).isTrue();
+        assertThat(encryption.decrypt(flushed(user, "firstName"))).isEqualTo("Ana");
+        assertThat(flushed(user, "lastName")).isEqualTo(storedFirstName);
+    }
+
+    @Test @DisplayName("[TC-AUTH-162] ✅ Builder and getters use plain text")
+    void builderTakesPlainText() {
+        User user = User.builder().email("a@b.com").passwordHash("h")
+                .firstName("Jane").lastName("Doe").phone("+1234567890").build();
+
+        assertThat(user.getFirstName()).isEqualTo("Jane");
+        assertThat(user.getPhone()).isEqualTo("+1234567890");
+        assertThat(encryption.decrypt(flushed(user, "lastName"))).isEqualTo("Doe");
+        assertThat(ReflectionTestUtils.getField(user, "phone").toString()).doesNotContain("1234");
+    }
+}
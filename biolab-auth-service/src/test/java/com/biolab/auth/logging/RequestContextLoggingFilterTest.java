@@ -0,0 +1,156 @@
+package com.biolab.auth.logging;
+
+import com.biolab.common.audit.AuditClient;
+import com.biolab.common.audit.AuditEventMessage;
+import com.biolab.common.audit.RequestAuditor;
+import com.biolab.common.logging.RequestContext;
+import com.biolab.common.logging.RequestContextLoggingFilter;
+import com.biolab.common.security.GatewayTokenVerificationFilter;
+import com.biolab.common.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RequestContextLoggingFilter}: one request context feeding the MDC,
+ * the correlation headers and the audit trail. The user comes from
+ * {@link JwtAuthenticationFilter}, after the gateway-token check.
+ */
+@DisplayName("RequestContextLoggingFilter Unit Tests")
+class RequestContextLoggingFilterTest {
+
+    private final AuditClient auditClient = mock(AuditClient.class);
+    private RequestContextLoggingFilter filter;
+
+    @BeforeEach void setUp() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("auditClient", auditClient);
+        beans.addBean("requestAuditor", new RequestAuditor(beans.getBeanProvider(AuditClient.class)));
+        filter = new RequestContextLoggingFilter(beans.getBeanProvider(RequestAuditor.class));
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.7");
+        return request;
+    }
+
+    /** The service's filters after the logging filter: gateway-token check, then JWT headers, then the handler. */
+    private static FilterChain securedChain(FilterChain handler) {
+        GatewayTokenVerificationFilter gatewayToken = new GatewayTokenVerificationFilter();
+        ReflectionTestUtils.setField(gatewayToken, "expectedToken", "gw-secret");
+        JwtAuthenticationFilter jwt = new JwtAuthenticationFilter();
+        return (req, res) -> gatewayToken.doFilter(req, res, (r, s) -> jwt.doFilter(r, s, handler));
+    }
+
+    @Test @DisplayName("[TC-AUTH-174] ✅ Gateway correlation id, client IP and verified user reach MDC, headers and context")
+    void buildsContextOnce() throws Exception {
+        UUID userId = UUID.randomUUID();
+        MockHttpServletRequest request = request("GET", "/api/users/me");
+        request.addHeader("X-Gateway-Token", "gw-secret");
+        request.addHeader("X-Correlation-Id", "corr-123");
+        request.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.2");
+        request.addHeader("X-User-Id", userId.toString());
+        request.addHeader("X-User-OrgId", "org-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Map<String, String>> mdc = new AtomicReference<>();
+
+        filter.doFilter(request, response, securedChain((req, res) -> mdc.set(new HashMap<>(MDC.getCopyOfContextMap()))));
+
+        assertThat(mdc.get()).containsEntry("requestId", "corr-123").containsEntry("traceId", "corr-123")
+                .containsEntry("userId", userId.toString()).containsEntry("orgId", "org-1")
+                .containsEntry("clientIp", "203.0.113.9").containsEntry("uri", "/api/users/me");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+        assertThat(response.getHeader("X-Correlation-Id")).isEqualTo("corr-123");
+        assertThat(response.getHeader("X-Request-ID")).isEqualTo("corr-123");
+        RequestContext context = RequestContext.of(request);
+        assertThat(context.isVerified()).isTrue();
+        assertThat(context.userUuid()).isEqualTo(userId);
+        assertThat(context.status()).isEqualTo(200);
+        assertThat(context.durationMs()).isNotNegative();
+        verifyNoInteractions(auditClient);                                      // GET outside data access
+    }
+
+    @Test @DisplayName("[TC-AUTH-175] ✅ Legacy X-Request-ID is honoured; otherwise a UUID is generated")
+    void correlationIdFallbacks() throws Exception {
+        MockHttpServletRequest legacy = request("GET", "/api/roles");
+        legacy.addHeader("X-Request-ID", "legacy-1");
+        filter.doFilter(legacy, new MockHttpServletResponse(), (req, res) -> { });
+        assertThat(RequestContext.of(legacy).correlationId()).isEqualTo("legacy-1");
+
+        MockHttpServletRequest bare = request("GET", "/api/roles");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(bare, response, (req, res) -> { });
+        String generated = RequestContext.of(bare).correlationId();
+        assertThat(UUID.fromString(generated).version()).isEqualTo(4);
+        assertThat(response.getHeader("X-Correlation-Id")).isEqualTo(generated);
+        assertThat(RequestContext.of(bare).clientIp()).isEqualTo("10.0.0.7");
+    }
+
+    @Test @DisplayName("[TC-AUTH-176] ✅ Mutating API call is published to the audit client from the same context")
+    void auditsMutatingCall() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID targetId = UUID.randomUUID();
+        MockHttpServletRequest request = request("DELETE", "/api/users/" + targetId);
+        request.addHeader("X-Gateway-Token", "gw-secret");
+        request.addHeader("X-Correlation-Id", "corr-9");
+        request.addHeader("X-User-Id", userId.toString());
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                securedChain((req, res) -> ((MockHttpServletResponse) res).setStatus(204)));
+
+        ArgumentCaptor<AuditEventMessage> event = ArgumentCaptor.forClass(AuditEventMessage.class);
+        verify(auditClient).publish(event.capture());
+        assertThat(event.getValue().userId()).isEqualTo(userId);
+        assertThat(event.getValue().action()).isEqualTo("API_DELETE");
+        assertThat(event.getValue().entityType()).isEqualTo("USERS");
+        assertThat(event.getValue().entityId()).isEqualTo(targetId);
+        assertThat(event.getValue().ipAddress()).isEqualTo("10.0.0.7");
+        assertThat(event.getValue().details()).contains("\"status\":204").contains("\"correlationId\":\"corr-9\"");
+        assertThat(event.getValue().occurredAt()).isEqualTo(RequestContext.of(request).startedAt());
+    }
+
+    @Test @DisplayName("[TC-AUTH-177] ❌ Forged X-User-Id without gateway token: 401, not attributed, not audited")
+    void forgedIdentityIsNotAudited() throws Exception {
+        MockHttpServletRequest request = request("DELETE", "/api/users/" + UUID.randomUUID());
+        request.addHeader("X-User-Id", UUID.randomUUID().toString());
+        request.addHeader("X-User-OrgId", "org-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Map<String, String>> mdc = new AtomicReference<>();
+
+        filter.doFilter(request, response, securedChain((req, res) -> fail("handler must not run")));
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        RequestContext context = RequestContext.of(request);
+        assertThat(context.isVerified()).isFalse();
+        assertThat(context.userId()).isNull();
+        assertThat(context.orgId()).isNull();
+        verifyNoInteractions(auditClient);
+
+        // Access log line of the rejected request is not attributed either
+        MockHttpServletRequest forged = request("GET", "/api/users/me");
+        forged.addHeader("X-User-Id", UUID.randomUUID().toString());
+        filter.doFilter(forged, new MockHttpServletResponse(),
+                (req, res) -> mdc.set(new HashMap<>(MDC.getCopyOfContextMap())));
+        assertThat(mdc.get()).containsEntry("userId", "anonymous").containsEntry("orgId", "-");
+
+        // The token check runs ahead of the security chain that holds JwtAuthenticationFilter
+        assertThat(OrderUtils.getOrder(GatewayTokenVerificationFilter.class))
+                .isLessThan(SecurityProperties.DEFAULT_FILTER_ORDER);
+    }
+}
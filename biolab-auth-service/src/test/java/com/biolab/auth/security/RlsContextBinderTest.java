@@ -0,0 +1,113 @@
+package com.biolab.auth.security;
+
+import com.biolab.common.rls.RlsContextBinder;
+import com.biolab.common.security.CurrentUser;
+import com.biolab.common.security.CurrentUserContext;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RlsContextBinder}: RLS variables bound once per transaction, re-bound
+ * only when the context changes, and never sent to a non-PostgreSQL database.
+ */
+@DisplayName("RlsContextBinder Unit Tests")
+class RlsContextBinderTest {
+
+    private final RlsContextBinder binder = new RlsContextBinder();
+    private final UUID userId = UUID.randomUUID();
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @BeforeEach void setUp() throws SQLException {
+        connection = connection("PostgreSQL");
+        statement = connection.prepareStatement(anyString());
+        clearInvocations(connection);
+    }
+
+    @AfterEach void tearDown() {
+        CurrentUserContext.clear();
+    }
+
+    private static Connection connection(String product) throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        return connection;
+    }
+
+    private static Consumer<Work> on(Connection connection) {
+        return work -> {
+            try {
+                work.execute(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    @Test @DisplayName("[TC-AUTH-171] ✅ One set_config per transaction, however many repository calls")
+    void bindsOncePerTransaction() throws SQLException {
+        CurrentUserContext.set(new CurrentUser(userId, "buyer@biolab.com", List.of("BUYER"), "org-1"));
+
+        binder.begin(on(connection));
+        for (int i = 0; i < 10; i++) binder.refresh();
+        binder.end();
+
+        verify(statement, times(1)).executeQuery();
+        verify(statement).setString(1, userId.toString());
+        verify(statement).setString(2, "BUYER");
+        verify(statement).setString(3, "org-1");
+    }
+
+    @Test @DisplayName("[TC-AUTH-172] ✅ Re-binds on a context change; a nested transaction keeps its own binding")
+    void rebindsOnlyWhenContextChanges() throws SQLException {
+        binder.begin(on(connection));                                            // system sentinel
+        verify(statement).setString(1, "__SYSTEM__");
+
+        CurrentUserContext.set(new CurrentUser(userId, "admin@biolab.com", List.of("ADMIN"), null));
+        binder.refresh();
+        binder.refresh();
+        verify(statement, times(2)).executeQuery();
+        verify(statement).setString(2, "ADMIN");
+        verify(statement).setString(3, "");
+
+        Connection inner = connection("PostgreSQL");                            // REQUIRES_NEW
+        binder.begin(on(inner));
+        binder.refresh();
+        binder.end();
+        verify(inner, times(1)).prepareStatement(anyString());
+
+        binder.refresh();                                                        // outer still bound
+        binder.end();
+        binder.refresh();                                                        // no transaction
+        verify(statement, times(2)).executeQuery();
+    }
+
+    @Test @DisplayName("[TC-AUTH-173] ✅ Nothing is sent to a database other than PostgreSQL")
+    void skipsOtherDatabases() throws SQLException {
+        Connection h2 = connection("H2");
+        CurrentUserContext.set(new CurrentUser(userId, "buyer@biolab.com", List.of("BUYER"), null));
+
+        binder.begin(on(h2));
+        binder.refresh();
+        binder.end();
+
+        verify(h2, never()).prepareStatement(anyString());
+    }
+}
@@ -9,6 +9,7 @@ import com.biolab.auth.repository.*;
 import com.biolab.auth.security.ConcurrentSessionManager;
 import com.biolab.auth.security.JwtTokenProvider;
 import com.biolab.auth.security.LoginAnomalyDetector;
+import com.biolab.auth.security.TokenRevocationPublisher;
 import com.biolab.auth.service.EmailService;
 import com.biolab.auth.service.MfaService;
 import io.jsonwebtoken.Claims;
@@ -70,6 +71,7 @@ class AuthServiceImplTest {
     @Mock private LoginAnomalyDetector       anomalyDetector;            // FIX-7
     @Mock private ConcurrentSessionManager   concurrentSessionManager;   // FIX-8
     @Mock private EmailService               emailService;               // FIX-18
+    @Mock private TokenRevocationPublisher   tokenRevocationPublisher;
 
     private User testUser;
     private final UUID   userId      = UUID.randomUUID();
@@ -6,6 +6,7 @@ import com.biolab.auth.entity.*;
 import com.biolab.auth.entity.enums.*;
 import com.biolab.auth.exception.*;
 import com.biolab.auth.repository.*;
+import com.biolab.auth.security.TokenRevocationPublisher;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -410,6 +411,7 @@ class AuthServiceRbacConsentSessionTest {
         @InjectMocks private SessionServiceImpl service;
         @Mock private UserSessionRepository sessionRepo;
         @Mock private RefreshTokenRepository refreshTokenRepo;
+        @Mock private TokenRevocationPublisher tokenRevocationPublisher;
 
         private final UUID userId    = UUID.randomUUID();
         private final UUID sessionId = UUID.randomUUID();
@@ -503,6 +505,7 @@ class AuthServiceRbacConsentSessionTest {
             when(sessionRepo.deactivateAllUserSessions(userId)).thenReturn(2);
 
             assertThat(service.forceLogoutUser(userId)).isEqualTo(5);
+            verify(tokenRevocationPublisher).publishUserRevocation(userId);
         }
 
         @Test @DisplayName("[TC-AUTH-064] ✅ Get session stats returns counts")
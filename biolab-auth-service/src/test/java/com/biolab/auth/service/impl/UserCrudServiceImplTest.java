@@ -5,6 +5,7 @@ import com.biolab.auth.dto.response.*;
 import com.biolab.auth.entity.User;
 import com.biolab.auth.exception.*;
 import com.biolab.auth.repository.UserRepository;
+import com.biolab.common.encryption.BlindIndexService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -26,6 +27,7 @@ class UserCrudServiceImplTest {
     @InjectMocks private UserCrudServiceImpl service;
     @Mock private UserRepository repo;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private BlindIndexService blindIndexService;
 
     private User testUser;
     private final UUID userId = UUID.randomUUID();
@@ -140,7 +142,8 @@ class UserCrudServiceImplTest {
     @DisplayName("[TC-AUTH-150] ✅ Search users returns paginated results")
     void search_ReturnsPaginated() {
         Page<User> page = new PageImpl<>(List.of(testUser), PageRequest.of(0, 10), 1);
-        when(repo.searchUsers("jane", true, PageRequest.of(0, 10))).thenReturn(page);
+        when(blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, "jane")).thenReturn(List.of("tok-jane"));
+        when(repo.searchUsers(List.of("tok-jane"), 1, true, PageRequest.of(0, 10))).thenReturn(page);
 
         PageResponse<UserResponse> resp = service.search("jane", true, PageRequest.of(0, 10));
 
@@ -151,7 +154,8 @@ class UserCrudServiceImplTest {
     @Test
     @DisplayName("[TC-AUTH-151] ✅ Search users returns empty page when no matches")
     void search_Empty() {
-        when(repo.searchUsers("xyz", null, PageRequest.of(0, 10))).thenReturn(Page.empty());
+        when(blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, "xyz")).thenReturn(List.of("tok-xyz"));
+        when(repo.searchUsers(List.of("tok-xyz"), 1, null, PageRequest.of(0, 10))).thenReturn(Page.empty());
 
         PageResponse<UserResponse> resp = service.search("xyz", null, PageRequest.of(0, 10));
 
@@ -159,6 +163,18 @@ class UserCrudServiceImplTest {
         assertThat(resp.getTotalElements()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("[TC-AUTH-163] ✅ Search without a usable term skips the name index")
+    void search_WithoutTerm() {
+        Page<User> page = new PageImpl<>(List.of(testUser), PageRequest.of(0, 10), 1);
+        when(repo.findAllByActive(true, PageRequest.of(0, 10))).thenReturn(page);
+        when(blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, "j")).thenReturn(List.of());
+
+        assertThat(service.search(" ", true, PageRequest.of(0, 10)).getContent()).hasSize(1);
+        assertThat(service.search("j", true, PageRequest.of(0, 10)).getContent()).isEmpty();
+        verify(repo, never()).searchUsers(any(), anyLong(), any(), any());
+    }
+
     // ── UPDATE ──
 
     @Test
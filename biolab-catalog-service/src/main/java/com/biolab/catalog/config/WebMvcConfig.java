@@ -1,7 +1,60 @@
 package com.biolab.catalog.config;
 
 import com.biolab.common.config.BaseSecurityConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebMVC configuration for Catalog Service.
+ *
+ * <p>The public catalog reads — categories, the service listing and single
+ * services — are the same for every caller, so their GETs are sent with
+ * {@code Cache-Control: max-age=<n>, public} instead of the {@code no-store}
+ * the common {@code SecurityHeadersFilter} puts on every API response. That
+ * lets the gateway's response cache store them. The supplier's own
+ * {@code /supplier} and {@code /stats} reads keep {@code no-store}.</p>
+ *
+ * @author BioLab Engineering Team
+ */
 @Configuration
-public class WebMvcConfig extends BaseSecurityConfig { }
+public class WebMvcConfig extends BaseSecurityConfig {
+
+    static final String[] PUBLIC_READ_PATHS = {
+        "/catalog/categories", "/catalog/categories/**",
+        "/catalog/services", "/catalog/services/{id:[0-9a-fA-F-]{36}}"
+    };
+
+    /** Matches the gateway's {@code app.response-cache.catalog.ttl-ms}. */
+    @Value("${app.catalog.public-max-age-seconds:60}")
+    private long publicMaxAgeSeconds = 60;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(publicReadCacheInterceptor()).addPathPatterns(PUBLIC_READ_PATHS);
+    }
+
+    /** Marks GETs cacheable; applied to {@link #PUBLIC_READ_PATHS}. */
+    HandlerInterceptor publicReadCacheInterceptor() {
+        String cacheControl = CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic().getHeaderValue();
+        return new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (HttpMethod.GET.matches(request.getMethod())) {
+                    // Replaces the filter's no-store; the empty Pragma resets its no-cache, as WebContentGenerator does
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                    response.setHeader(HttpHeaders.PRAGMA, "");
+                }
+                return true;
+            }
+        };
+    }
+}
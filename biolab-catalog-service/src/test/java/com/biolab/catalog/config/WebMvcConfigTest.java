@@ -0,0 +1,59 @@
+package com.biolab.catalog.config;
+
+import com.biolab.common.security.SecurityHeadersFilter;
+import org.junit.jupiter.api.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Catalog WebMvcConfig Unit Tests")
+class WebMvcConfigTest {
+
+    private final HandlerInterceptor interceptor = new WebMvcConfig().publicReadCacheInterceptor();
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+
+    /** Response headers as the client sees them: common security headers, then the interceptor. */
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new SecurityHeadersFilter().doFilter(request, response, (req, res) -> {
+            try {
+                interceptor.preHandle(request, response, new Object());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return response;
+    }
+
+    @Test @DisplayName("[TC-CAT-022] ✅ Only caller-independent reads are marked cacheable")
+    void publicReadPaths() {
+        MappedInterceptor mapped = new MappedInterceptor(WebMvcConfig.PUBLIC_READ_PATHS, null, interceptor);
+        assertThat(mapped.matches(request("GET", "/catalog/categories"))).isTrue();
+        assertThat(mapped.matches(request("GET", "/catalog/services"))).isTrue();
+        assertThat(mapped.matches(request("GET", "/catalog/services/" + UUID.randomUUID()))).isTrue();
+        assertThat(mapped.matches(request("GET", "/catalog/services/supplier"))).isFalse();
+        assertThat(mapped.matches(request("GET", "/catalog/services/stats"))).isFalse();
+    }
+
+    @Test @DisplayName("[TC-CAT-023] ✅ Public GET replaces the API no-store; mutations keep it")
+    void replacesNoStore() throws Exception {
+        MockHttpServletResponse read = send(request("GET", "/api/services"));
+        assertThat(read.getHeaders("Cache-Control")).containsExactly("max-age=60, public");
+        assertThat(read.getHeader("Pragma")).isEmpty();
+        assertThat(read.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+
+        MockHttpServletResponse write = send(request("POST", "/api/services"));
+        assertThat(write.getHeaders("Cache-Control")).containsExactly("no-store, no-cache, must-revalidate");
+    }
+}
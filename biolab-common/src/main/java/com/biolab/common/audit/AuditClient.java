@@ -0,0 +1,322 @@
+package com.biolab.common.audit;
+
+import com.biolab.common.security.SecurityConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batching client for the audit service.
+ *
+ * <h3>How events travel</h3>
+ * <ol>
+ *   <li>{@link #publish} puts the event on a bounded in-memory queue and
+ *       returns immediately. It never blocks: when the queue is full the
+ *       event is dropped and counted — request threads never wait on audit
+ *       I/O.</li>
+ *   <li>A single worker thread collects up to {@code batch-size} events, or
+ *       whatever arrived within {@code flush-interval-ms}, and posts them in
+ *       one call to {@code POST /audit/events/bulk}.</li>
+ *   <li>If the audit service is unreachable or fails, the batch goes to a
+ *       disk spool ({@link AuditSpool}) and delivery pauses with exponential
+ *       backoff; batches arriving meanwhile are spooled without a network
+ *       attempt. Once the backoff has passed, spooled batches are replayed
+ *       oldest first, one per worker cycle alongside live traffic. A full
+ *       spool drops batches.</li>
+ * </ol>
+ *
+ * <h3>Metrics</h3>
+ * <ul>
+ *   <li>{@code biolab.audit.client.events{outcome=sent|spooled|replayed}}</li>
+ *   <li>{@code biolab.audit.client.dropped{reason=queue_full|spool_full|rejected|shutdown}}</li>
+ *   <li>{@code biolab.audit.client.queue.size}, {@code biolab.audit.client.spool.bytes}</li>
+ * </ul>
+ *
+ * <h3>Authentication</h3>
+ * <p>Calls carry the service principal ({@code X-User-Roles: SERVICE}) and,
+ * when configured, the gateway token ({@code app.gateway.internal-token}).</p>
+ *
+ * <h3>Configuration</h3>
+ * <pre>
+ * app.audit.client.enabled            true
+ * app.audit.client.url                http://${AUDIT_HOST:localhost}:${AUDIT_PORT:8088}
+ * app.audit.client.queue-capacity     10000
+ * app.audit.client.batch-size         500
+ * app.audit.client.flush-interval-ms  1000
+ * app.audit.client.retry-backoff-ms   1000   (doubles up to retry-backoff-max-ms, 60000)
+ * app.audit.client.spool-dir          ${java.io.tmpdir}/biolab-audit-spool/${spring.application.name}
+ * app.audit.client.spool-max-bytes    268435456
+ * </pre>
+ *
+ * <p>docker-compose sets {@code AUDIT_HOST=audit}; the shared
+ * {@code config-repo/application.yml} also puts the spool under
+ * {@code AUDIT_SPOOL_ROOT}. The temp-dir default does not survive a
+ * container being recreated, so in a container the spool directory must be
+ * a mounted volume ({@code audit_spool} in docker-compose).</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.client.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditClient.class);
+
+    static final String INGEST_PATH = "/audit/events/bulk";
+
+    /** User id of the service principal the client calls the audit service as. */
+    static final UUID SERVICE_PRINCIPAL_ID = new UUID(0L, 0L);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final RestClient.Builder restClientBuilder;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.audit.client.url:http://${AUDIT_HOST:localhost}:${AUDIT_PORT:8088}}")
+    private String url = "http://localhost:8088";
+
+    @Value("${app.audit.client.queue-capacity:10000}")
+    private int queueCapacity = 10_000;
+
+    @Value("${app.audit.client.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.audit.client.flush-interval-ms:1000}")
+    private long flushIntervalMs = 1_000;
+
+    @Value("${app.audit.client.retry-backoff-ms:1000}")
+    private long retryBackoffMs = 1_000;
+
+    @Value("${app.audit.client.retry-backoff-max-ms:60000}")
+    private long retryBackoffMaxMs = 60_000;
+
+    @Value("${app.audit.client.spool-dir:}")
+    private String spoolDir = "";
+
+    @Value("${app.audit.client.spool-max-bytes:268435456}")
+    private long spoolMaxBytes = 256L * 1024 * 1024;
+
+    @Value("${spring.application.name:biolab-service}")
+    private String applicationName = "biolab-service";
+
+    @Value("${app.gateway.internal-token:}")
+    private String gatewayToken = "";
+
+    private BlockingQueue<AuditEventMessage> queue;
+    private AuditSpool spool;
+    private RestClient restClient;
+    private Thread worker;
+    private volatile boolean running;
+
+    // Worker-thread state
+    private long retryAt;
+    private long backoffMs;
+
+    private Counter sent;
+    private Counter spooled;
+    private Counter replayed;
+    private Counter droppedQueueFull;
+    private Counter droppedSpoolFull;
+    private Counter droppedRejected;
+    private Counter droppedShutdown;
+
+    public AuditClient(RestClient.Builder restClientBuilder, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.restClientBuilder = restClientBuilder;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Path directory = spoolDir.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "biolab-audit-spool", applicationName)
+                : Path.of(spoolDir);
+        spool = new AuditSpool(directory, spoolMaxBytes, objectMapper);
+        restClient = restClientBuilder.clone()
+                .baseUrl(url)
+                .defaultHeaders(headers -> {
+                    headers.set(SecurityConstants.HEADER_USER_ID, SERVICE_PRINCIPAL_ID.toString());
+                    headers.set(SecurityConstants.HEADER_USER_EMAIL, applicationName + "@biolab.internal");
+                    headers.set(SecurityConstants.HEADER_USER_ROLES, SecurityConstants.ROLE_SERVICE);
+                    if (!gatewayToken.isBlank()) headers.set(SecurityConstants.HEADER_GATEWAY_TOKEN, gatewayToken);
+                })
+                .build();
+
+        sent = events("sent");
+        spooled = events("spooled");
+        replayed = events("replayed");
+        droppedQueueFull = dropped("queue_full");
+        droppedSpoolFull = dropped("spool_full");
+        droppedRejected = dropped("rejected");
+        droppedShutdown = dropped("shutdown");
+        Gauge.builder("biolab.audit.client.queue.size", queue, BlockingQueue::size)
+                .description("Audit events waiting to be shipped").register(meterRegistry);
+        Gauge.builder("biolab.audit.client.spool.bytes", spool, AuditSpool::bytes)
+                .description("Audit batches spooled to disk").baseUnit("bytes").register(meterRegistry);
+
+        backoffMs = retryBackoffMs;
+        running = true;
+        worker = new Thread(this::work, "audit-client");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Audit client shipping to {}{} (queue {}, batch {}, spool {})",
+                url, INGEST_PATH, queueCapacity, batchSize, directory);
+    }
+
+    /**
+     * Queues an event for delivery. Never blocks.
+     *
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean publish(AuditEventMessage event) {
+        if (queue.offer(event)) return true;
+        droppedQueueFull.increment();
+        return false;
+    }
+
+    /** Ships what is queued, or spools it, and stops the worker. */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker == null) return;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) worker.interrupt();
+        int lost = queue.size();
+        if (lost > 0) {
+            droppedShutdown.increment(lost);
+            log.warn("Audit client stopped with {} undelivered events", lost);
+        }
+    }
+
+    // ─── Worker ──────────────────────────────────────────────────────────
+
+    private void work() {
+        List<AuditEventMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                    batch.clear();
+                }
+                if (running) replay();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit client worker error: {}", e.getMessage(), e);
+                batch.clear();
+            }
+        }
+    }
+
+    /** Fills the batch until it is full or the flush interval since the first event has passed. */
+    private void collect(List<AuditEventMessage> batch) throws InterruptedException {
+        if (!running) {
+            queue.drainTo(batch, batchSize);
+            return;
+        }
+        AuditEventMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) return;
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize && running) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) break;
+            AuditEventMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+    }
+
+    private void deliver(List<AuditEventMessage> batch) {
+        if (System.currentTimeMillis() >= retryAt) {
+            switch (send(batch)) {
+                case DELIVERED -> { sent.increment(batch.size()); return; }
+                case REJECTED -> { return; }
+                case FAILED -> { /* spooled below */ }
+            }
+        }
+        if (spool.append(batch)) {
+            spooled.increment(batch.size());
+        } else {
+            droppedSpoolFull.increment(batch.size());
+            log.error("Audit spool full — {} events dropped", batch.size());
+        }
+    }
+
+    /** Sends the oldest spooled batch, one per worker cycle, while the audit service is reachable. */
+    private void replay() {
+        if (spool.bytes() == 0 || System.currentTimeMillis() < retryAt) return;
+        spool.oldest().ifPresent(segment -> {
+            SendResult result = send(segment.events());
+            if (result != SendResult.FAILED) spool.remove(segment);
+            if (result == SendResult.DELIVERED) replayed.increment(segment.events().size());
+        });
+    }
+
+    private enum SendResult { DELIVERED, REJECTED, FAILED }
+
+    /**
+     * Posts a batch. A rejected batch (400) would be rejected again and is
+     * dropped; any other failure backs off and leaves the batch to the caller.
+     */
+    private SendResult send(List<AuditEventMessage> batch) {
+        try {
+            restClient.post().uri(INGEST_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(batch)
+                    .retrieve()
+                    .toBodilessEntity();
+            backoffMs = retryBackoffMs;
+            return SendResult.DELIVERED;
+        } catch (HttpClientErrorException.BadRequest e) {
+            droppedRejected.increment(batch.size());
+            log.error("Audit service rejected a batch of {} events: {}", batch.size(), e.getMessage());
+            return SendResult.REJECTED;
+        } catch (RestClientException e) {
+            retryAt = System.currentTimeMillis() + backoffMs;
+            log.warn("Audit service unavailable ({}) — spooling, retry in {} ms", e.getMessage(), backoffMs);
+            backoffMs = Math.min(backoffMs * 2, retryBackoffMaxMs);
+            return SendResult.FAILED;
+        }
+    }
+
+    private Counter events(String outcome) {
+        return Counter.builder("biolab.audit.client.events").tag("outcome", outcome)
+                .description("Audit events by delivery outcome").register(meterRegistry);
+    }
+
+    private Counter dropped(String reason) {
+        return Counter.builder("biolab.audit.client.dropped").tag("reason", reason)
+                .description("Audit events lost").register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.biolab.common.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Audit event as shipped by {@link AuditClient} to the audit service's bulk
+ * ingest endpoint ({@code POST /audit/events/bulk}). Field names match the
+ * audit service's {@code CreateAuditEventRequest}.
+ *
+ * @param userId     acting user; null for system events
+ * @param action     what happened (e.g. {@code API_POST}, {@code DOCUMENT_DOWNLOAD})
+ * @param entityType kind of resource acted on (e.g. {@code USERS})
+ * @param entityId   resource id, if the operation targets one
+ * @param details    JSON object with event-specific details; may be null
+ * @param ipAddress  client IP address
+ * @param occurredAt when the event happened — not when it was ingested
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public record AuditEventMessage(
+        UUID    userId,
+        String  action,
+        String  entityType,
+        UUID    entityId,
+        String  details,
+        String  ipAddress,
+        Instant occurredAt
+) {}
@@ -0,0 +1,148 @@
+package com.biolab.common.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Disk spool of audit batches that could not be delivered.
+ *
+ * <p>Each batch is one JSON file, written to a temporary name and moved into
+ * place, so a crash never leaves a half-written batch behind. File names sort
+ * by spool time; {@link #oldest()} hands them back in that order. The spool
+ * is bounded by {@code maxBytes} — a batch that does not fit is refused and
+ * counted as dropped by the caller. Files left by a previous process are
+ * picked up on start.</p>
+ *
+ * <p>Used by the {@link AuditClient} worker thread only; not thread-safe
+ * apart from {@link #bytes()}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+class AuditSpool {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSpool.class);
+    private static final String SUFFIX = ".json";
+    private static final TypeReference<List<AuditEventMessage>> BATCH = new TypeReference<>() {};
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ObjectMapper mapper;
+    private final AtomicLong bytes = new AtomicLong();
+    private long sequence;
+
+    /** A spooled batch and the file it came from. */
+    record Segment(Path file, List<AuditEventMessage> events) {}
+
+    AuditSpool(Path directory, long maxBytes, ObjectMapper mapper) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.mapper = mapper;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = segments()) {
+                files.forEach(file -> bytes.addAndGet(size(file)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit spool " + directory, e);
+        }
+        if (bytes.get() > 0) log.info("Audit spool {} holds {} bytes from a previous run", directory, bytes.get());
+    }
+
+    /**
+     * Writes a batch to disk.
+     *
+     * @return false if the spool is full or the write failed — the batch is lost
+     */
+    boolean append(List<AuditEventMessage> events) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(events);
+            if (bytes.get() + json.length > maxBytes) return false;
+            String name = String.format("%013d-%06d", System.currentTimeMillis(), sequence++ % 1_000_000);
+            Path tmp = directory.resolve(name + ".tmp");
+            Files.write(tmp, json);
+            Files.move(tmp, directory.resolve(name + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            bytes.addAndGet(json.length);
+            return true;
+        } catch (IOException e) {
+            log.error("Audit spool write failed in {}: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    /** The oldest spooled batch, if any. Unreadable files are moved aside. */
+    Optional<Segment> oldest() {
+        while (bytes.get() > 0) {
+            Optional<Path> file;
+            try (Stream<Path> files = segments()) {
+                file = files.min(Path::compareTo);
+            } catch (IOException e) {
+                log.error("Audit spool listing failed in {}: {}", directory, e.getMessage());
+                return Optional.empty();
+            }
+            if (file.isEmpty()) {
+                bytes.set(0);
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new Segment(file.get(), mapper.readValue(file.get().toFile(), BATCH)));
+            } catch (IOException e) {
+                log.error("Unreadable audit spool file {} set aside: {}", file.get(), e.getMessage());
+                if (!quarantine(file.get())) return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Removes a batch after it has been delivered. */
+    void remove(Segment segment) {
+        long size = size(segment.file());
+        try {
+            Files.deleteIfExists(segment.file());
+            bytes.addAndGet(-size);
+        } catch (IOException e) {
+            log.error("Audit spool file {} could not be deleted: {}", segment.file(), e.getMessage());
+        }
+    }
+
+    /** Bytes currently spooled. */
+    long bytes() {
+        return bytes.get();
+    }
+
+    private Stream<Path> segments() throws IOException {
+        return Files.list(directory).filter(file -> file.getFileName().toString().endsWith(SUFFIX));
+    }
+
+    private boolean quarantine(Path file) {
+        long size = size(file);
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".bad"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Audit spool file {} could not be set aside: {}", file, e.getMessage());
+            return false;
+        }
+        bytes.addAndGet(-size);
+        return true;
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
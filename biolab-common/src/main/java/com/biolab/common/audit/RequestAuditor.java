@@ -0,0 +1,109 @@
+package com.biolab.common.audit;
+
+import com.biolab.common.logging.RequestContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Audits API operations for HIPAA compliance, from the
+ * {@link RequestContext} of a completed request.
+ *
+ * <h3>Compliance (Slide 9):</h3>
+ * <ul>
+ *   <li>HIPAA: Complete audit trails — who accessed what, when</li>
+ *   <li>FDA 21 CFR Part 11: Authority checks before operations</li>
+ *   <li>Tamper-proof audit logs (append-only, 7-year retention)</li>
+ * </ul>
+ *
+ * <p>Mutating operations and data access under {@code /api} are written to
+ * the {@code AUDIT} log stream (ELK) and published to the {@link AuditClient},
+ * which ships them to the audit service in the background. Without a client
+ * (e.g. {@code app.audit.client.enabled=false}) only the log line is
+ * written. Requests rejected before authentication are not audited, and
+ * the user is the one {@code JwtAuthenticationFilter} accepted, never a raw
+ * header. Called by
+ * {@link com.biolab.common.logging.RequestContextLoggingFilter}; replaces the
+ * former {@code AuditInterceptor}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class RequestAuditor {
+
+    private static final Logger auditLog = LoggerFactory.getLogger("AUDIT");
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final AuditClient auditClient;
+
+    public RequestAuditor(ObjectProvider<AuditClient> auditClient) {
+        this.auditClient = auditClient.getIfAvailable();
+    }
+
+    /** Audits the request if it is an auditable API operation. */
+    public void audit(RequestContext context) {
+        String method = context.method();
+        String path = context.uri();
+        if (!path.startsWith("/api/") || !(isMutating(method) || isDataAccess(path))) return;
+        // Rejected before authentication (e.g. no gateway token): nothing ran, the access log has it
+        if (!context.isVerified()) return;
+
+        auditLog.info("AUDIT action={} path={} status={} duration={}ms user={} ip={}",
+                method, path, context.status(), context.durationMs(), context.userId(), context.clientIp());
+        if (auditClient != null) auditClient.publish(toEvent(context));
+    }
+
+    private AuditEventMessage toEvent(RequestContext context) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("method", context.method());
+        details.put("path", context.uri());
+        details.put("status", context.status());
+        details.put("durationMs", context.durationMs());
+        details.put("correlationId", context.correlationId());
+        String json;
+        try {
+            json = JSON.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            json = null;
+        }
+        return new AuditEventMessage(context.userUuid(), "API_" + context.method(), entityType(context.uri()),
+                entityId(context.uri()), json, context.clientIp(), context.startedAt());
+    }
+
+    /** First path segment after {@code /api}, e.g. {@code /api/users/{id}/roles} → {@code USERS}. */
+    private String entityType(String path) {
+        int start = "/api/".length();
+        int end = path.indexOf('/', start);
+        String type = (end < 0 ? path.substring(start) : path.substring(start, end)).toUpperCase();
+        if (type.isEmpty()) return "API";
+        return type.length() > 50 ? type.substring(0, 50) : type;
+    }
+
+    /** First UUID in the path, if any. */
+    private UUID entityId(String path) {
+        Matcher matcher = UUID_SEGMENT.matcher(path);
+        return matcher.find() ? UUID.fromString(matcher.group()) : null;
+    }
+
+    private boolean isMutating(String method) {
+        return "POST".equals(method) || "PUT".equals(method)
+            || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    private boolean isDataAccess(String path) {
+        return path.contains("/documents") || path.contains("/download")
+            || path.contains("/export") || path.contains("/audit");
+    }
+}
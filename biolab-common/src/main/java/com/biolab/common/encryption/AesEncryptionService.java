@@ -7,13 +7,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,7 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * This allows multiple key versions to coexist during rotation.
  * Old ciphertexts encrypted with key-version {@code N} remain decryptable
  * while new writes use key-version {@code N+1}.
- * The {@link PiiEncryptionMigrator} re-encrypts old records to the current key version.</p>
+ * The {@link ReEncryptionEngine} re-encrypts old records to the current key version.</p>
  *
  * <h3>Ciphertext format (v1+)</h3>
  * <pre>
@@ -45,14 +43,23 @@ import java.util.concurrent.ConcurrentHashMap;
  * The output is NOT secret; it is used purely for lookups. The display value
  * (firstName, lastName, phone) uses randomised IV as before.</p>
  *
+ * <h3>Throughput</h3>
+ * <p>The cipher work is done by {@link AesGcmEngine}, which keeps
+ * {@code Cipher}/{@code Mac} instances per thread and parses the version
+ * prefix without a regex. {@link #encryptAll(List)} / {@link #decryptAll(List)}
+ * handle a whole column of a result page in one call.</p>
+ *
+ * <h3>Blind index</h3>
+ * <p>{@link #blindToken(String)} backs {@link BlindIndexService}, which makes
+ * the randomised name columns searchable by prefix.</p>
+ *
  * @author BioLab Engineering Team
- * @version 2.0.0
+ * @version 2.2.0
  */
 @Service
 public class AesEncryptionService {
 
     private static final Logger log = LoggerFactory.getLogger(AesEncryptionService.class);
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     /**
      * Primary encryption key (current version).
@@ -80,6 +87,9 @@ public class AesEncryptionService {
     /** Key used for HMAC-based deterministic encryption (email lookup). */
     private SecretKey hmacKey;
 
+    /** Cipher work for the loaded keys; built by {@link #init()}. */
+    private AesGcmEngine engine;
+
     @PostConstruct
     public void init() {
         try {
@@ -112,6 +122,13 @@ public class AesEncryptionService {
                         keyMap.size(), currentVersion);
             }
 
+            // A configured "1:<key>" never replaces the initial version → HMAC with the current key
+            if (hmacKey == null) {
+                hmacKey = keyMap.get(currentVersion);
+            }
+            engine = new AesGcmEngine(keyMap, currentVersion,
+                    new SecretKeySpec(hmacKey.getEncoded(), "HmacSHA256"));
+
         } catch (Exception e) {
             throw new IllegalStateException("Failed to initialise AES encryption", e);
         }
@@ -126,24 +143,7 @@ public class AesEncryptionService {
      * Output format: {@code v{version}:{Base64(IV+ciphertext+tag)}}
      */
     public String encrypt(String plaintext) {
-        if (plaintext == null) return null;
-        try {
-            byte[] iv = new byte[SecurityConstants.GCM_IV_LENGTH];
-            SECURE_RANDOM.nextBytes(iv);
-
-            Cipher cipher = Cipher.getInstance(SecurityConstants.ENCRYPTION_ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, keyMap.get(currentVersion),
-                    new GCMParameterSpec(SecurityConstants.GCM_TAG_LENGTH, iv));
-
-            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            byte[] combined = new byte[iv.length + ciphertext.length];
-            System.arraycopy(iv, 0, combined, 0, iv.length);
-            System.arraycopy(ciphertext, 0, combined, iv.length, ciphertext.length);
-
-            return "v" + currentVersion + ":" + Base64.getEncoder().encodeToString(combined);
-        } catch (Exception e) {
-            throw new RuntimeException("Encryption failed", e);
-        }
+        return engine.encrypt(plaintext);
     }
 
     /**
@@ -151,38 +151,32 @@ public class AesEncryptionService {
      * Supports legacy (unversioned) values for backward compatibility.
      */
     public String decrypt(String ciphertext) {
-        if (ciphertext == null) return null;
-        try {
-            int version = currentVersion;
-            String payload = ciphertext;
-
-            if (ciphertext.matches("^v\\d+:.*")) {
-                int colon = ciphertext.indexOf(':');
-                version = Integer.parseInt(ciphertext.substring(1, colon));
-                payload = ciphertext.substring(colon + 1);
-            }
-
-            SecretKey key = keyMap.get(version);
-            if (key == null) {
-                log.error("No key found for version {}, known versions: {}",
-                        version, keyMap.keySet());
-                throw new RuntimeException("Unknown encryption key version: " + version);
-            }
+        return engine.decrypt(ciphertext);
+    }
 
-            byte[] combined = Base64.getDecoder().decode(payload);
-            byte[] iv       = new byte[SecurityConstants.GCM_IV_LENGTH];
-            byte[] encrypted = new byte[combined.length - iv.length];
-            System.arraycopy(combined, 0, iv, 0, iv.length);
-            System.arraycopy(combined, iv.length, encrypted, 0, encrypted.length);
+    /**
+     * Encrypts a list of values (e.g. one column of a page of rows) with one
+     * cipher instance. {@code null} elements stay {@code null}.
+     */
+    public List<String> encryptAll(List<String> plaintexts) {
+        return engine.encryptAll(plaintexts);
+    }
 
-            Cipher cipher = Cipher.getInstance(SecurityConstants.ENCRYPTION_ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, key,
-                    new GCMParameterSpec(SecurityConstants.GCM_TAG_LENGTH, iv));
+    /**
+     * Decrypts a list of values with one cipher instance; fails on the first
+     * value that cannot be decrypted. {@code null} elements stay {@code null}.
+     */
+    public List<String> decryptAll(List<String> ciphertexts) {
+        return engine.decryptAll(ciphertexts);
+    }
 
-            return new String(cipher.doFinal(encrypted), java.nio.charset.StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            throw new RuntimeException("Decryption failed", e);
-        }
+    /**
+     * Returns true if a stored value is ciphertext ({@code v{n}:} prefix, or
+     * unversioned Base64 long enough for IV + tag) rather than plain text
+     * that still needs migration.
+     */
+    public boolean isEncrypted(String value) {
+        return engine.isEncrypted(value);
     }
 
     // ─────────────────────────────────────────────────────────────────────
@@ -199,27 +193,25 @@ public class AesEncryptionService {
      * display value must be separately encrypted with {@link #encrypt(String)}.
      */
     public String encryptDeterministic(String plaintext) {
-        if (plaintext == null) return null;
-        try {
-            javax.crypto.Mac mac = javax.crypto.Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(hmacKey.getEncoded(), "HmacSHA256"));
-            byte[] hmac = mac.doFinal(
-                    plaintext.toLowerCase().trim()
-                            .getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            return "dv" + currentVersion + ":" + Base64.getEncoder().encodeToString(hmac);
-        } catch (Exception e) {
-            throw new RuntimeException("Deterministic encryption failed", e);
-        }
+        return engine.hmac(plaintext);
+    }
+
+    /**
+     * Keyed blind-index token for {@code input}: a 128-bit truncated
+     * HMAC-SHA256 under a key derived from the HMAC key, Base64url-encoded.
+     * Used by {@link BlindIndexService}; like {@link #encryptDeterministic},
+     * the output leaks equality and changes when the key is rotated.
+     */
+    public String blindToken(String input) {
+        return engine.blindToken(input);
     }
 
     /**
      * Returns true if the stored value is already encrypted with the current key version.
-     * Used by {@link PiiEncryptionMigrator} to skip already-migrated records.
+     * Used by {@link ReEncryptionEngine} to skip already-migrated records.
      */
     public boolean isCurrentVersion(String value) {
-        if (value == null) return false;
-        return value.startsWith("v" + currentVersion + ":") ||
-                value.startsWith("dv" + currentVersion + ":");
+        return engine.isCurrentVersion(value);
     }
 
     /** Returns the current key version number. */
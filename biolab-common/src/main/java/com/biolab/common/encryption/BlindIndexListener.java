@@ -0,0 +1,54 @@
+package com.biolab.common.encryption;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener maintaining the blind index of {@link BlindIndexed}
+ * entities on save — in the same transaction as the row itself.
+ *
+ * <h3>Usage on entity</h3>
+ * <pre>
+ *   &#64;EntityListeners(BlindIndexListener.class)
+ *   public class User extends BaseEntity implements BlindIndexed { ... }
+ * </pre>
+ *
+ * <p>Instantiated by Hibernate through Spring's bean container, hence the
+ * constructor injection.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class BlindIndexListener {
+
+    private final BlindIndexService blindIndexService;
+    private final BlindIndexStore store;
+
+    public BlindIndexListener(BlindIndexService blindIndexService, BlindIndexStore store) {
+        this.blindIndexService = blindIndexService;
+        this.store = store;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof BlindIndexed indexed) {
+            index(indexed);
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof BlindIndexed indexed && indexed.isBlindIndexStale()) {
+            index(indexed);
+        }
+    }
+
+    /** Rewrites the tokens of one entity; also used by backfill jobs. */
+    public void index(BlindIndexed entity) {
+        String scope = entity.blindIndexScope();
+        store.replace(entity.getId(), scope, blindIndexService.indexTokens(scope, entity.blindIndexValues()));
+        entity.blindIndexUpdated();
+    }
+}
@@ -0,0 +1,113 @@
+package com.biolab.common.encryption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Blind index for randomised (AES-GCM) PII columns: makes them searchable by
+ * word prefix without decrypting rows.
+ *
+ * <h3>Tokens</h3>
+ * <p>A value is normalised (accents removed, lower-cased) and split into
+ * words. Every prefix of every word, from {@code min-prefix} up to
+ * {@code max-prefix} characters, becomes one token:
+ * {@link AesEncryptionService#blindToken} of {@code scope + '\0' + prefix}.
+ * Tokens are stored in {@code sec_schema.blind_index_tokens} by
+ * {@link BlindIndexStore}.</p>
+ *
+ * <h3>Search</h3>
+ * <p>Each search word gives one token — its prefix capped at
+ * {@code max-prefix} characters — and a row matches when it has every token
+ * of the search. "jan sm" therefore finds "Jane Smith"; words shorter than
+ * {@code min-prefix} are ignored, and words longer than {@code max-prefix}
+ * match on their first {@code max-prefix} characters.</p>
+ *
+ * <h3>Leakage</h3>
+ * <p>The table reveals which rows share a word prefix within a scope, and the
+ * number of tokens per row hints at word lengths — the accepted trade-off of
+ * a blind index. Tokens change when the HMAC key is rotated; the index must
+ * then be rebuilt.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Service
+public class BlindIndexService {
+
+    /** Scope of the first and last name of a user (auth and user service). */
+    public static final String SCOPE_USER_NAME = "user.name";
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final AesEncryptionService encryptionService;
+
+    /** Shortest indexed (and searchable) prefix. */
+    @Value("${app.encryption.blind-index.min-prefix:2}")
+    private int minPrefix = 2;
+
+    /** Longest indexed prefix; longer search words are cut to it. */
+    @Value("${app.encryption.blind-index.max-prefix:12}")
+    private int maxPrefix = 12;
+
+    public BlindIndexService(AesEncryptionService encryptionService) {
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * Tokens to store for the given values.
+     *
+     * @param scope  field group, e.g. {@link #SCOPE_USER_NAME}
+     * @param values plain-text values; {@code null}s are skipped
+     */
+    public Set<String> indexTokens(String scope, String... values) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            for (String word : words(value)) {
+                for (int length = minPrefix; length <= Math.min(word.length(), maxPrefix); length++) {
+                    tokens.add(token(scope, word.substring(0, length)));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Tokens a row must all have to match {@code search}.
+     *
+     * @return distinct tokens; empty if {@code search} has no word of at least
+     *         {@code min-prefix} characters
+     */
+    public List<String> searchTokens(String scope, String search) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(search)) {
+            if (word.length() >= minPrefix) {
+                tokens.add(token(scope, word.substring(0, Math.min(word.length(), maxPrefix))));
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private String token(String scope, String prefix) {
+        return encryptionService.blindToken(scope + '\0' + prefix);
+    }
+
+    /** Lower-cased, accent-free words of {@code value}. */
+    static List<String> words(String value) {
+        List<String> words = new ArrayList<>();
+        if (value == null || value.isBlank()) return words;
+        String normalised = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("");
+        for (String word : WORD_SEPARATORS.split(normalised.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+}
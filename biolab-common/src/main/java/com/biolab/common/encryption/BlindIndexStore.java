@@ -0,0 +1,43 @@
+package com.biolab.common.encryption;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Writes blind-index tokens to {@code sec_schema.blind_index_tokens} (V18).
+ *
+ * <p>Uses plain JDBC so it can run inside a JPA flush (see
+ * {@link BlindIndexListener}); within a JPA transaction the statements go
+ * through the transaction's connection and commit or roll back with it.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class BlindIndexStore {
+
+    private static final String DELETE_SQL =
+            "DELETE FROM sec_schema.blind_index_tokens WHERE owner_id = ? AND scope = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO sec_schema.blind_index_tokens (scope, token, owner_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlindIndexStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Replaces the tokens of {@code ownerId} in {@code scope}. */
+    public void replace(UUID ownerId, String scope, Collection<String> tokens) {
+        jdbcTemplate.update(DELETE_SQL, ownerId, scope);
+        if (tokens.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, tokens, tokens.size(), (ps, token) -> {
+            ps.setString(1, scope);
+            ps.setString(2, token);
+            ps.setObject(3, ownerId);
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.biolab.common.encryption;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Read-only mapping of {@code sec_schema.blind_index_tokens}, so repository
+ * queries can match tokens in a JPQL subquery. Rows are written by
+ * {@link BlindIndexStore}.
+ *
+ * <pre>
+ *   u.id IN (SELECT t.ownerId FROM BlindIndexToken t
+ *            WHERE t.scope = :scope AND t.token IN :tokens
+ *            GROUP BY t.ownerId HAVING COUNT(t.token) = :tokenCount)
+ * </pre>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Entity
+@Immutable
+@Table(name = "blind_index_tokens", schema = "sec_schema")
+@IdClass(BlindIndexToken.Key.class)
+@Getter @NoArgsConstructor
+public class BlindIndexToken {
+
+    @Id
+    @Column(name = "scope", length = 32)
+    private String scope;
+
+    @Id
+    @Column(name = "token", length = 32)
+    private String token;
+
+    @Id
+    @Column(name = "owner_id")
+    private UUID ownerId;
+
+    /** Composite primary key. */
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String scope;
+        private String token;
+        private UUID ownerId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.biolab.common.encryption;
+
+import java.util.UUID;
+
+/**
+ * An entity with encrypted attributes kept in the blind index by
+ * {@link BlindIndexListener}.
+ *
+ * <p>New entities are always indexed. Updated ones only when
+ * {@link #isBlindIndexStale()} — set by the setters of the indexed
+ * attributes — so that writes which do not touch them (logins, lockouts)
+ * neither decrypt the values nor rewrite the tokens.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public interface BlindIndexed {
+
+    UUID getId();
+
+    /** Scope of the tokens, e.g. {@link BlindIndexService#SCOPE_USER_NAME}. */
+    String blindIndexScope();
+
+    /** Plain-text values to index. */
+    String[] blindIndexValues();
+
+    /** Whether an indexed attribute changed since the entity was loaded or last indexed. */
+    boolean isBlindIndexStale();
+
+    /** Called once the tokens have been written. */
+    void blindIndexUpdated();
+}
@@ -6,8 +6,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
-
 /**
  * JPA {@link AttributeConverter} for transparent AES-256-GCM column encryption.
  *
@@ -17,11 +15,13 @@ import java.util.Base64;
  * <pre>NegativeArraySizeException: -8  (combined.length - IV_LENGTH &lt; 0)</pre>
  *
  * <p>This converter detects unencrypted values by checking whether the stored
- * string is valid Base64 <em>and</em> long enough to contain at least one byte
- * of ciphertext after the 12-byte IV prefix (minimum decoded length = 13 bytes,
- * minimum Base64 length = ceil(13/3)*4 = 20 chars). Values that fail this check
+ * string is valid Base64 <em>and</em> long enough to contain the 12-byte IV
+ * prefix, at least one byte of ciphertext and the 16-byte GCM tag (minimum
+ * decoded length = 29 bytes, minimum Base64 length = ceil(29/3)*4 = 40 chars,
+ * as checked by {@code AesGcmEngine}). Values that fail this check
  * are returned as-is (plain text) and a WARN is logged so operators know which
- * rows still need migration.</p>
+ * rows still need migration. Versioned values ({@code v1:...}) are recognised
+ * by their prefix ({@link AesEncryptionService#isEncrypted(String)}).</p>
  *
  * <p><strong>Remove this passthrough after running the data migration.</strong>
  * See {@code V15__encrypt_existing_pii.sql} and {@code PiiEncryptionMigrator}.</p>
@@ -34,10 +34,6 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
 
     private static final Logger log = LoggerFactory.getLogger(EncryptedStringConverter.class);
 
-    /** Minimum Base64 length for a value that has been encrypted:
-     *  12-byte IV + 1-byte ciphertext minimum + 16-byte GCM tag = 29 bytes → Base64 = 40 chars. */
-    private static final int MIN_ENCRYPTED_BASE64_LENGTH = 40;
-
     private final AesEncryptionService encryptionService;
 
     public EncryptedStringConverter(AesEncryptionService encryptionService) {
@@ -57,7 +53,7 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
     public String convertToEntityAttribute(String dbData) {
         if (dbData == null) return null;
 
-        if (!looksEncrypted(dbData)) {
+        if (!encryptionService.isEncrypted(dbData)) {
             log.warn("PII column contains plain text — row not yet migrated. " +
                      "Run PiiEncryptionMigrator to encrypt existing data. " +
                      "Value length: {}", dbData.length());
@@ -75,20 +71,4 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
             return dbData;
         }
     }
-
-    /**
-     * Heuristic: a value looks encrypted if it is valid Base64 and long enough
-     * to contain IV (12 bytes) + GCM tag (16 bytes) = at least 28 bytes decoded,
-     * which is at least 40 Base64 chars. Plain-text names/phones are always shorter
-     * and/or contain non-Base64 characters (spaces, +, etc. aside from Base64 set).
-     */
-    private boolean looksEncrypted(String value) {
-        if (value.length() < MIN_ENCRYPTED_BASE64_LENGTH) return false;
-        try {
-            byte[] decoded = Base64.getDecoder().decode(value);
-            return decoded.length >= 29; // 12 IV + 1 cipher + 16 GCM tag minimum
-        } catch (IllegalArgumentException e) {
-            return false; // not valid Base64 → definitely plain text
-        }
-    }
 }
@@ -0,0 +1,115 @@
+package com.biolab.common.encryption;
+
+import org.hibernate.annotations.Immutable;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Encrypted PII attribute value that is decrypted on first access.
+ *
+ * <h3>Lazy decryption (opt-in)</h3>
+ * <p>Entity attributes of this type are mapped with
+ * {@link LazyEncryptedStringConverter}: loading a row keeps the stored
+ * ciphertext and does no cipher work; {@link #get()} decrypts on first call
+ * and memoizes the plain text on this instance. Hot paths that load a user
+ * without reading names or phone (login, token refresh, session checks) pay
+ * nothing for them. Entities expose plain-text getters/setters via
+ * {@link #plaintextOf(LazyEncryptedString)} and {@link #of(String)}.</p>
+ *
+ * <h3>Dirty checking</h3>
+ * <p>Values are immutable to Hibernate: an unchanged attribute is the same
+ * instance as its snapshot and is written back as the stored ciphertext —
+ * never re-encrypted. Two values loaded from the database are equal when
+ * their stored strings are; a newly set value is never equal to a loaded
+ * one, so entity setters should keep the current instance when the plain
+ * text did not change.</p>
+ *
+ * <p>Rows still holding plain text (not yet migrated) load as
+ * {@linkplain #isPlaintextAtRest() plain text at rest} and are encrypted the
+ * next time the row is written.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Immutable
+public final class LazyEncryptedString {
+
+    /** Column value as loaded; {@code null} for values set by the application. */
+    private final String stored;
+    private final boolean storedEncrypted;
+    private final UnaryOperator<String> decryptor;
+    private volatile String plaintext;
+
+    private LazyEncryptedString(String stored, boolean storedEncrypted,
+                                UnaryOperator<String> decryptor, String plaintext) {
+        this.stored = stored;
+        this.storedEncrypted = storedEncrypted;
+        this.decryptor = decryptor;
+        this.plaintext = plaintext;
+    }
+
+    /** A value set by the application; encrypted when the entity is written. */
+    public static LazyEncryptedString of(String plaintext) {
+        return plaintext == null ? null : new LazyEncryptedString(null, false, null, plaintext);
+    }
+
+    /** A ciphertext column value, decrypted by {@code decryptor} on first access. */
+    static LazyEncryptedString encrypted(String ciphertext, UnaryOperator<String> decryptor) {
+        return new LazyEncryptedString(ciphertext, true, decryptor, null);
+    }
+
+    /** A column value that is still plain text. */
+    static LazyEncryptedString plaintextAtRest(String value) {
+        return new LazyEncryptedString(value, false, null, value);
+    }
+
+    /** @return the plain text of {@code value}, or {@code null} */
+    public static String plaintextOf(LazyEncryptedString value) {
+        return value == null ? null : value.get();
+    }
+
+    /** Plain text, decrypted on the first call. */
+    public String get() {
+        String value = plaintext;
+        if (value == null) {
+            value = decryptor.apply(stored);
+            plaintext = value;
+        }
+        return value;
+    }
+
+    /** Whether the column still holds plain text that needs encrypting. */
+    public boolean isPlaintextAtRest() {
+        return stored != null && !storedEncrypted;
+    }
+
+    /** Whether the plain text has been decrypted or set (no cipher work left for reads). */
+    public boolean isDecrypted() {
+        return plaintext != null;
+    }
+
+    /** Ciphertext to write back unchanged, or {@code null} if the value must be encrypted. */
+    String storedCiphertext() {
+        return storedEncrypted ? stored : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LazyEncryptedString other)) return false;
+        return Objects.equals(stored, other.stored)
+                && (stored != null || Objects.equals(plaintext, other.plaintext));
+    }
+
+    @Override
+    public int hashCode() {
+        return stored != null ? stored.hashCode() : Objects.hashCode(plaintext);
+    }
+
+    /** Never prints the value. */
+    @Override
+    public String toString() {
+        return "LazyEncryptedString[" + (stored != null ? "stored" : "new") + "]";
+    }
+}
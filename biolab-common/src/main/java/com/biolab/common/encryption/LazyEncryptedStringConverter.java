@@ -0,0 +1,77 @@
+package com.biolab.common.encryption;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA {@link AttributeConverter} for {@link LazyEncryptedString} attributes —
+ * the opt-in, decrypt-on-access counterpart of {@link EncryptedStringConverter}.
+ *
+ * <ul>
+ *   <li>Read: wraps the column value without decrypting it; plain-text
+ *       (unmigrated) values are recognised by
+ *       {@link AesEncryptionService#isEncrypted(String)}.</li>
+ *   <li>Write: loaded ciphertext is written back as-is; values set by the
+ *       application and plain text at rest are encrypted.</li>
+ *   <li>Decryption failures on access fall back to the raw value, logged at
+ *       ERROR, as in {@link EncryptedStringConverter}.</li>
+ * </ul>
+ *
+ * <h3>Usage on entity</h3>
+ * <pre>
+ *   &#64;Convert(converter = LazyEncryptedStringConverter.class)
+ *   &#64;Column(name = "first_name", nullable = false, length = 512)
+ *   private LazyEncryptedString firstName;
+ *
+ *   public String getFirstName() { return LazyEncryptedString.plaintextOf(firstName); }
+ * </pre>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Converter
+@Component
+@Immutable
+public class LazyEncryptedStringConverter implements AttributeConverter<LazyEncryptedString, String> {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyEncryptedStringConverter.class);
+
+    private final AesEncryptionService encryptionService;
+
+    public LazyEncryptedStringConverter(AesEncryptionService encryptionService) {
+        this.encryptionService = encryptionService;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(LazyEncryptedString attribute) {
+        if (attribute == null) return null;
+        String stored = attribute.storedCiphertext();
+        return stored != null ? stored : encryptionService.encrypt(attribute.get());
+    }
+
+    @Override
+    public LazyEncryptedString convertToEntityAttribute(String dbData) {
+        if (dbData == null) return null;
+        if (!encryptionService.isEncrypted(dbData)) {
+            log.warn("PII column contains plain text — row not yet migrated. " +
+                     "It is encrypted on the next write. Value length: {}", dbData.length());
+            return LazyEncryptedString.plaintextAtRest(dbData);
+        }
+        return LazyEncryptedString.encrypted(dbData, this::decrypt);
+    }
+
+    private String decrypt(String ciphertext) {
+        try {
+            return encryptionService.decrypt(ciphertext);
+        } catch (Exception e) {
+            log.error("Decryption failed for stored value (length={}). " +
+                      "Returning raw value. Check ENCRYPTION_KEY is correct. Error: {}",
+                      ciphertext.length(), e.getMessage());
+            return ciphertext;
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.biolab.common.encryption;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Re-encrypts the AES-GCM columns of a table in place: plain text left from
+ * before column encryption is encrypted, and ciphertext of an older key
+ * version is re-encrypted with the current key (key rotation).
+ *
+ * <h3>How a table is walked</h3>
+ * <ul>
+ *   <li>The calling thread reads the table by keyset — {@code WHERE id > ?
+ *       ORDER BY id LIMIT chunk-size} — never loading more than the chunks
+ *       in flight.</li>
+ *   <li>Chunks are re-encrypted on a pool of {@code workers} threads and
+ *       written with one JDBC batch {@code UPDATE} per chunk, in a short
+ *       transaction of its own, so row locks are held for milliseconds.</li>
+ *   <li>Each update is guarded by the values read
+ *       ({@code IS NOT DISTINCT FROM}); a row the application changed in the
+ *       meantime — and therefore wrote with the current key — is left
+ *       alone.</li>
+ *   <li>Progress is checkpointed in {@code sec_schema.reencryption_checkpoints}
+ *       (V19) as the highest id below which every chunk has committed; a run
+ *       stopped by a restart or a failure resumes from there. A finished run
+ *       is not repeated for the same key version.</li>
+ * </ul>
+ *
+ * <p>Values that cannot be decrypted (unknown key version, corrupt data) are
+ * logged with the row id, counted and left unchanged. All statements run with
+ * the {@code __SYSTEM__} RLS sentinel, as in {@code RlsContextBinder}.</p>
+ *
+ * <h3>Meters (tag {@code task})</h3>
+ * <ul>
+ *   <li>{@code biolab.encryption.reencryption.values} (tag {@code outcome}:
+ *       {@code encrypted}, {@code rotated}, {@code failed})</li>
+ *   <li>{@code biolab.encryption.reencryption.progress} — share of rows done</li>
+ *   <li>{@code biolab.encryption.reencryption.throughput} — rows/s of the run</li>
+ *   <li>{@code biolab.encryption.reencryption.eta} — seconds left</li>
+ * </ul>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+public class ReEncryptionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReEncryptionEngine.class);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*(\\.[a-z_][a-z0-9_]*)?");
+
+    private static final String RLS_SYSTEM_SQL =
+            "SELECT set_config('app.current_user_id',     '__SYSTEM__', true), " +
+            "       set_config('app.current_user_role',   '__SYSTEM__', true), " +
+            "       set_config('app.current_user_org_id', '__SYSTEM__', true)";
+
+    private static final String CHECKPOINT_TABLE = "sec_schema.reencryption_checkpoints";
+
+    /**
+     * Columns of one table to re-encrypt.
+     *
+     * @param name    checkpoint key, e.g. {@code users-pii}
+     * @param table   schema-qualified table with a UUID primary key {@code id}
+     * @param columns AES-GCM encrypted ({@link EncryptedStringConverter}) columns
+     */
+    public record Task(String name, String table, List<String> columns) {
+        public Task {
+            if (name == null || name.isBlank() || name.length() > 64) {
+                throw new IllegalArgumentException("Task name must be 1-64 characters: " + name);
+            }
+            if (table == null || !IDENTIFIER.matcher(table).matches()) {
+                throw new IllegalArgumentException("Invalid table: " + table);
+            }
+            if (columns == null || columns.isEmpty()
+                    || columns.stream().anyMatch(c -> c == null || !IDENTIFIER.matcher(c).matches() || c.contains("."))) {
+                throw new IllegalArgumentException("Invalid columns: " + columns);
+            }
+            columns = List.copyOf(columns);
+        }
+    }
+
+    /**
+     * State of a run.
+     *
+     * @param eta time left at the current throughput; {@code null} until known
+     */
+    public record Progress(String task, long scanned, long updated, long total,
+                           double rowsPerSecond, Duration eta, boolean completed) {
+
+        double ratio() {
+            return completed ? 1.0 : total > 0 ? Math.min(1.0, (double) scanned / total) : 0.0;
+        }
+    }
+
+    private final AesEncryptionService encryption;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MeterRegistry registry;
+    private final Map<String, AtomicReference<Progress>> progress = new ConcurrentHashMap<>();
+
+    /** Rows per chunk — one keyset read and one batch update. */
+    @Value("${app.encryption.reencryption.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /** Threads re-encrypting chunks; at most twice as many chunks are in flight. */
+    @Value("${app.encryption.reencryption.workers:4}")
+    private int workers = 4;
+
+    @Value("${app.encryption.reencryption.log-interval-ms:10000}")
+    private long logIntervalMs = 10_000;
+
+    public ReEncryptionEngine(AesEncryptionService encryption, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.encryption = encryption;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.registry = registry;
+    }
+
+    /** Latest progress of {@code taskName} in this process, or {@code null}. */
+    public Progress progress(String taskName) {
+        AtomicReference<Progress> current = progress.get(taskName);
+        return current != null ? current.get() : null;
+    }
+
+    /**
+     * Runs {@code task} to completion, resuming from its checkpoint.
+     *
+     * @return the final progress
+     * @throws IllegalStateException if a chunk could not be written; the
+     *         checkpoint keeps every chunk committed before it
+     */
+    public Progress run(Task task) {
+        int keyVersion = encryption.getCurrentVersion();
+        Run run = start(task, keyVersion);
+        if (run == null) {
+            log.info("Re-encryption {}: already complete for key v{}", task.name(), keyVersion);
+            return progress(task.name());
+        }
+        log.info("Re-encryption {} (key v{}): {} rows in {}, resuming after id {}",
+                task.name(), keyVersion, run.total, task.table(), run.committedId);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "reencrypt-" + task.name() + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int maxInFlight = workers * 2;
+        Semaphore slots = new Semaphore(maxInFlight);
+        try {
+            UUID cursor = run.committedId;
+            while (run.failure.get() == null) {
+                List<Row> rows = readChunk(task, cursor);
+                if (rows.isEmpty()) break;
+                cursor = rows.get(rows.size() - 1).id();
+                Chunk chunk = new Chunk(cursor, rows.size());
+                slots.acquire();
+                run.submitted(chunk);
+                pool.execute(() -> {
+                    try {
+                        chunk.updated = process(task, rows);
+                        run.completed(chunk);
+                    } catch (Throwable e) {
+                        run.failure.compareAndSet(null, e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+            slots.acquire(maxInFlight);                 // all chunks in flight have finished
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.failure.compareAndSet(null, e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (run.failure.get() != null) {
+            throw new IllegalStateException("Re-encryption " + task.name() + " stopped; resumes after id "
+                    + run.committedId, run.failure.get());
+        }
+        jdbcTemplate.update("UPDATE " + CHECKPOINT_TABLE
+                + " SET completed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE task = ?", task.name());
+        Progress done = run.publish(true);
+        log.info("Re-encryption {} complete: {} rows scanned, {} updated, {} rows/s",
+                task.name(), done.scanned(), done.updated(), Math.round(done.rowsPerSecond()));
+        return done;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────
+    // Checkpoint
+    // ─────────────────────────────────────────────────────────────────────
+
+    private record Checkpoint(int keyVersion, UUID lastId, long scanned, long updated, boolean completed) { }
+
+    /** Resumes or (re)starts the checkpoint; {@code null} if the task is already done for this key version. */
+    private Run start(Task task, int keyVersion) {
+        List<Checkpoint> found = jdbcTemplate.query("SELECT key_version, last_id, rows_scanned, rows_updated, completed_at FROM "
+                + CHECKPOINT_TABLE + " WHERE task = ?", (rs, i) -> new Checkpoint(rs.getInt(1),
+                rs.getObject(2, UUID.class), rs.getLong(3), rs.getLong(4), rs.getTimestamp(5) != null), task.name());
+        Checkpoint checkpoint = found.isEmpty() ? null : found.get(0);
+        long total = inSystemContext(readOnlyTransactionTemplate,
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + task.table(), Long.class));
+
+        if (checkpoint != null && checkpoint.keyVersion() == keyVersion) {
+            if (checkpoint.completed()) {
+                progressRef(task).set(new Progress(task.name(), checkpoint.scanned(), checkpoint.updated(),
+                        total, 0, Duration.ZERO, true));
+                return null;
+            }
+            return new Run(task, total, checkpoint.lastId(), checkpoint.scanned(), checkpoint.updated());
+        }
+        jdbcTemplate.update("DELETE FROM " + CHECKPOINT_TABLE + " WHERE task = ?", task.name());
+        jdbcTemplate.update("INSERT INTO " + CHECKPOINT_TABLE + " (task, key_version) VALUES (?, ?)",
+                task.name(), keyVersion);
+        return new Run(task, total, null, 0, 0);
+    }
+
+    private void saveCheckpoint(Task task, UUID lastId, long scanned, long updated) {
+        jdbcTemplate.update("UPDATE " + CHECKPOINT_TABLE + " SET last_id = ?, rows_scanned = ?, rows_updated = ?, "
+                + "updated_at = CURRENT_TIMESTAMP WHERE task = ?", lastId, scanned, updated, task.name());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────
+    // Chunks
+    // ─────────────────────────────────────────────────────────────────────
+
+    private record Row(UUID id, String[] values) { }
+
+    private List<Row> readChunk(Task task, UUID after) {
+        String sql = "SELECT id, " + String.join(", ", task.columns()) + " FROM " + task.table()
+                + (after != null ? " WHERE id > ?" : "") + " ORDER BY id LIMIT ?";
+        Object[] args = after != null ? new Object[] {after, chunkSize} : new Object[] {chunkSize};
+        return inSystemContext(readOnlyTransactionTemplate, () -> jdbcTemplate.query(sql, (rs, i) -> row(rs, task), args));
+    }
+
+    private static Row row(ResultSet rs, Task task) throws SQLException {
+        String[] values = new String[task.columns().size()];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = rs.getString(c + 2);
+        }
+        return new Row(rs.getObject(1, UUID.class), values);
+    }
+
+    /** Re-encrypts and writes one chunk; returns the number of rows updated. */
+    private int process(Task task, List<Row> rows) {
+        int columns = task.columns().size();
+        List<Object[]> batch = new ArrayList<>();
+        for (Row row : rows) {
+            Object[] params = new Object[columns * 2 + 1];
+            boolean changed = false;
+            for (int c = 0; c < columns; c++) {
+                String value = row.values()[c];
+                String next = reEncrypt(task, row.id(), value);
+                changed |= next != null;
+                params[c] = next != null ? next : value;
+                params[columns + 1 + c] = value;
+            }
+            params[columns] = row.id();
+            if (changed) batch.add(params);
+        }
+        if (batch.isEmpty()) return 0;
+
+        String sql = "UPDATE " + task.table() + " SET "
+                + task.columns().stream().map(c -> c + " = ?").collect(Collectors.joining(", "))
+                + " WHERE id = ?"
+                + task.columns().stream().map(c -> " AND " + c + " IS NOT DISTINCT FROM ?").collect(Collectors.joining());
+        int[] counts = inSystemContext(transactionTemplate, () -> jdbcTemplate.batchUpdate(sql, batch));
+        int updated = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) updated++;
+        }
+        return updated;
+    }
+
+    /** @return the value to write, or {@code null} to leave {@code value} unchanged */
+    private String reEncrypt(Task task, UUID id, String value) {
+        if (value == null) return null;
+        try {
+            if (!encryption.isEncrypted(value)) {
+                count(task, "encrypted");
+                return encryption.encrypt(value);
+            }
+            if (!encryption.isCurrentVersion(value)) {
+                String rotated = encryption.encrypt(encryption.decrypt(value));
+                count(task, "rotated");
+                return rotated;
+            }
+            return null;
+        } catch (RuntimeException e) {
+            count(task, "failed");
+            log.warn("Re-encryption {}: value in row {} left unchanged: {}", task.name(), id, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T inSystemContext(TransactionTemplate template, Supplier<T> work) {
+        return template.execute(status -> {
+            jdbcTemplate.queryForList(RLS_SYSTEM_SQL);
+            return work.get();
+        });
+    }
+
+    // ─────────────────────────────────────────────────────────────────────
+    // Metrics
+    // ─────────────────────────────────────────────────────────────────────
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private void count(Task task, String outcome) {
+        counters.computeIfAbsent(task.name() + ':' + outcome, k -> Counter.builder("biolab.encryption.reencryption.values")
+                .description("Column values re-encrypted")
+                .tag("task", task.name())
+                .tag("outcome", outcome)
+                .register(registry)).increment();
+    }
+
+    private AtomicReference<Progress> progressRef(Task task) {
+        return progress.computeIfAbsent(task.name(), name -> {
+            AtomicReference<Progress> ref = new AtomicReference<>();
+            Gauge.builder("biolab.encryption.reencryption.progress", ref, r -> r.get() != null ? r.get().ratio() : 0)
+                    .description("Share of rows re-encrypted").tag("task", name).register(registry);
+            Gauge.builder("biolab.encryption.reencryption.throughput", ref, r -> r.get() != null ? r.get().rowsPerSecond() : 0)
+                    .description("Rows re-encrypted per second").tag("task", name).baseUnit("rows/s").register(registry);
+            Gauge.builder("biolab.encryption.reencryption.eta", ref,
+                            r -> r.get() != null && r.get().eta() != null ? r.get().eta().toSeconds() : Double.NaN)
+                    .description("Estimated time left").tag("task", name).baseUnit("seconds").register(registry);
+            return ref;
+        });
+    }
+
+    // ─────────────────────────────────────────────────────────────────────
+    // Run state
+    // ─────────────────────────────────────────────────────────────────────
+
+    private static final class Chunk {
+        final UUID lastId;
+        final int rows;
+        volatile int updated;
+        volatile boolean done;
+
+        Chunk(UUID lastId, int rows) {
+            this.lastId = lastId;
+            this.rows = rows;
+        }
+    }
+
+    /** One run: chunks in flight in keyset order and the committed watermark. */
+    private final class Run {
+        final Task task;
+        final long total;
+        final long startNanos = System.nanoTime();
+        final long startScanned;
+        final ArrayDeque<Chunk> pending = new ArrayDeque<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        volatile UUID committedId;
+        long scanned;
+        long updated;
+        long lastLogNanos = startNanos;
+
+        Run(Task task, long total, UUID committedId, long scanned, long updated) {
+            this.task = task;
+            this.total = total;
+            this.committedId = committedId;
+            this.scanned = scanned;
+            this.updated = updated;
+            this.startScanned = scanned;
+            publish(false);
+        }
+
+        synchronized void submitted(Chunk chunk) {
+            pending.addLast(chunk);
+        }
+
+        /** Advances the watermark over the chunks done in keyset order and checkpoints it. */
+        synchronized void completed(Chunk chunk) {
+            chunk.done = true;
+            boolean advanced = false;
+            while (!pending.isEmpty() && pending.peekFirst().done) {
+                Chunk head = pending.removeFirst();
+                committedId = head.lastId;
+                scanned += head.rows;
+                updated += head.updated;
+                advanced = true;
+            }
+            if (!advanced) return;
+            saveCheckpoint(task, committedId, scanned, updated);
+            Progress current = publish(false);
+            long now = System.nanoTime();
+            if (now - lastLogNanos >= logIntervalMs * 1_000_000) {
+                lastLogNanos = now;
+                log.info("Re-encryption {}: {}/{} rows, {} updated, {} rows/s, ETA {}", task.name(), current.scanned(),
+                        current.total(), current.updated(), Math.round(current.rowsPerSecond()), current.eta());
+            }
+        }
+
+        synchronized Progress publish(boolean completed) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            double rate = seconds > 0 ? (scanned - startScanned) / seconds : 0;
+            Duration eta = completed ? Duration.ZERO
+                    : rate > 0 ? Duration.ofSeconds((long) Math.ceil(Math.max(0, total - scanned) / rate)) : null;
+            Progress current = new Progress(task.name(), scanned, updated, Math.max(total, scanned), rate, eta, completed);
+            progressRef(task).set(current);
+            return current;
+        }
+    }
+}
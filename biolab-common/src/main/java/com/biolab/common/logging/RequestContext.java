@@ -0,0 +1,167 @@
+package com.biolab.common.logging;
+
+import com.biolab.common.security.SecurityConstants;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What every request-scoped concern needs to know about a request, worked out
+ * once by {@link RequestContextLoggingFilter} and shared by the MDC, the
+ * access log and the audit trail.
+ *
+ * <h3>Sources</h3>
+ * <ul>
+ *   <li>{@code correlationId} — {@code X-Correlation-Id} as set by the
+ *       gateway; the legacy {@code X-Request-ID} is accepted for direct
+ *       calls; otherwise generated</li>
+ *   <li>{@code clientIp} — first {@code X-Forwarded-For} hop, else the peer
+ *       address</li>
+ *   <li>{@code userId} / {@code orgId} — set by
+ *       {@link com.biolab.common.security.JwtAuthenticationFilter} once the
+ *       request is past the gateway-token check, never read here from the
+ *       raw headers; null when anonymous or rejected earlier</li>
+ * </ul>
+ *
+ * <p>Available to any code handling the request through {@link #of}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+public final class RequestContext {
+
+    /** Request attribute the context is stored under. */
+    public static final String ATTRIBUTE = RequestContext.class.getName();
+
+    /** Legacy correlation header, still honoured for direct service calls. */
+    static final String HEADER_REQUEST_ID = "X-Request-ID";
+
+    // MDC keys — requestId/traceId/userId/orgId are the ones the logback encoders export
+    static final String MDC_REQUEST_ID = "requestId";
+    static final String MDC_TRACE_ID   = "traceId";
+    static final String MDC_USER_ID    = "userId";
+    static final String MDC_ORG_ID     = "orgId";
+    static final String MDC_METHOD     = "method";
+    static final String MDC_URI        = "uri";
+    static final String MDC_CLIENT_IP  = "clientIp";
+
+    private final String correlationId;
+    private final String method;
+    private final String uri;
+    private final String clientIp;
+    private String userId;
+    private String orgId;
+    private boolean verified;
+    private final Instant startedAt;
+    private final long startNanos;
+    private int status;
+    private long durationMs = -1;
+
+    private RequestContext(HttpServletRequest request) {
+        this.startNanos = System.nanoTime();
+        this.startedAt = Instant.now();
+        String correlation = header(request, SecurityConstants.HEADER_CORRELATION_ID);
+        if (correlation == null) correlation = header(request, HEADER_REQUEST_ID);
+        this.correlationId = correlation != null ? correlation : newCorrelationId();
+        this.method = request.getMethod();
+        this.uri = request.getRequestURI();
+        this.clientIp = clientIp(request);
+    }
+
+    /** Builds the context of a request and attaches it as {@link #ATTRIBUTE}. */
+    static RequestContext start(HttpServletRequest request) {
+        RequestContext context = new RequestContext(request);
+        request.setAttribute(ATTRIBUTE, context);
+        return context;
+    }
+
+    /** The context of a request, or null outside {@link RequestContextLoggingFilter}. */
+    public static RequestContext of(ServletRequest request) {
+        return (RequestContext) request.getAttribute(ATTRIBUTE);
+    }
+
+    /** Copies the context into the SLF4J MDC of the current thread. */
+    void putMdc() {
+        MDC.put(MDC_REQUEST_ID, correlationId);
+        MDC.put(MDC_TRACE_ID, correlationId);
+        MDC.put(MDC_USER_ID, userId != null ? userId : "anonymous");
+        MDC.put(MDC_ORG_ID, orgId != null ? orgId : "-");
+        MDC.put(MDC_METHOD, method);
+        MDC.put(MDC_URI, uri);
+        MDC.put(MDC_CLIENT_IP, clientIp);
+    }
+
+    /**
+     * Records the identity the security chain accepted — null for an
+     * anonymous request — and updates the MDC. Until this is called the
+     * request has not been authenticated and carries no user.
+     */
+    public void verified(String userId, String orgId) {
+        this.userId = userId;
+        this.orgId = orgId;
+        this.verified = true;
+        MDC.put(MDC_USER_ID, userId != null ? userId : "anonymous");
+        MDC.put(MDC_ORG_ID, orgId != null ? orgId : "-");
+    }
+
+    /** Records the outcome; the duration is taken once, here. */
+    void complete(int status) {
+        this.status = status;
+        this.durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public String correlationId() { return correlationId; }
+    public String method()        { return method; }
+    public String uri()           { return uri; }
+    public String clientIp()      { return clientIp; }
+    public String userId()        { return userId; }
+    public String orgId()         { return orgId; }
+    public Instant startedAt()    { return startedAt; }
+
+    /** Whether the request reached authentication; false when it was rejected before. */
+    public boolean isVerified()   { return verified; }
+
+    /** HTTP status; 0 until the request has completed. */
+    public int status()           { return status; }
+
+    /** Duration in ms; -1 until the request has completed. */
+    public long durationMs()      { return durationMs; }
+
+    /** {@link #userId()} as a UUID, or null when anonymous or malformed. */
+    public UUID userUuid() {
+        if (userId == null) return null;
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String header(HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value != null && !value.isBlank() ? value : null;
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String xff = request.getHeader("X-Forwarded-For");
+        if (xff == null || xff.isBlank()) return request.getRemoteAddr();
+        int comma = xff.indexOf(',');
+        return (comma < 0 ? xff : xff.substring(0, comma)).trim();
+    }
+
+    /**
+     * Random (version 4) UUID from {@link ThreadLocalRandom} — same format as
+     * {@link UUID#randomUUID()} but without contending on the shared
+     * {@code SecureRandom}; correlation IDs need uniqueness, not secrecy.
+     */
+    static String newCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.biolab.common.logging;
+
+import com.biolab.common.audit.RequestAuditor;
+import com.biolab.common.security.SecurityConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Single servlet filter for request correlation, structured logging and
+ * auditing. Builds the request's {@link RequestContext} once — correlation
+ * id, client IP, user, timing — and feeds every consumer from it:
+ * <ul>
+ *   <li>SLF4J MDC — {@code requestId}, {@code traceId} (both the
+ *       correlation id), {@code userId}, {@code orgId}, {@code method},
+ *       {@code uri}, {@code clientIp}</li>
+ *   <li>response headers — {@code X-Correlation-Id} and, for existing
+ *       clients, {@code X-Request-ID}</li>
+ *   <li>access log — one line per request: INFO, WARN for 4xx/5xx, ERROR
+ *       when the request failed with an exception</li>
+ *   <li>audit — {@link RequestAuditor}, for API operations</li>
+ * </ul>
+ *
+ * <p>Replaces {@code MdcLoggingFilter}, {@code LoggingInterceptor} and
+ * {@code AuditInterceptor}, which each generated or parsed the same values
+ * again, with different header names.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestContextLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestContextLoggingFilter.class);
+
+    private final RequestAuditor auditor;
+
+    public RequestContextLoggingFilter(ObjectProvider<RequestAuditor> auditor) {
+        this.auditor = auditor.getIfAvailable();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestContext context = RequestContext.start(request);
+        context.putMdc();
+        response.setHeader(SecurityConstants.HEADER_CORRELATION_ID, context.correlationId());
+        response.setHeader(RequestContext.HEADER_REQUEST_ID, context.correlationId());
+
+        Throwable failure = null;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            int status = response.getStatus();
+            context.complete(failure != null && status < 500 ? 500 : status);
+            accessLog(context, failure);
+            if (auditor != null) auditor.audit(context);
+            MDC.clear();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.equals("/favicon.ico");
+    }
+
+    private void accessLog(RequestContext context, Throwable failure) {
+        if (failure != null) {
+            log.error("HTTP {} {} — {} ({}ms) ERROR: {}", context.method(), context.uri(),
+                    context.status(), context.durationMs(), failure.getMessage());
+        } else if (context.status() >= 400) {
+            log.warn("HTTP {} {} — {} ({}ms)", context.method(), context.uri(),
+                    context.status(), context.durationMs());
+        } else {
+            log.info("HTTP {} {} — {} ({}ms)", context.method(), context.uri(),
+                    context.status(), context.durationMs());
+        }
+    }
+}
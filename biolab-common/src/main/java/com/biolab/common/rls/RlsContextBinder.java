@@ -0,0 +1,183 @@
+package com.biolab.common.rls;
+
+import com.biolab.common.security.CurrentUser;
+import com.biolab.common.security.CurrentUserContext;
+import org.hibernate.jdbc.Work;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Binds the PostgreSQL Row-Level Security (RLS) session variables to a
+ * transaction's connection — once per transaction instead of around every
+ * repository call.
+ *
+ * <h3>Variables</h3>
+ * <ul>
+ *   <li>{@code app.current_user_id}   — UUID of the requesting user</li>
+ *   <li>{@code app.current_user_role} — primary role (BUYER, ADMIN, etc.)</li>
+ *   <li>{@code app.current_user_org_id} — primary organisation UUID</li>
+ * </ul>
+ * <p>Without an authenticated user (scheduled jobs, internal calls) all three
+ * carry the {@code __SYSTEM__} sentinel, so RLS policies can tell a
+ * service-internal call from an anonymous one.</p>
+ *
+ * <h3>Lifecycle</h3>
+ * <ol>
+ *   <li>{@link #begin} — called by {@link RlsJpaDialect} when a JPA
+ *       transaction starts: one {@code set_config} round trip on the
+ *       transaction's connection.</li>
+ *   <li>{@link #refresh} — called by {@link RlsContextAspect} before each
+ *       repository call: no round trip while the user, role and org are the
+ *       ones already on the connection; one if the context has changed
+ *       since.</li>
+ *   <li>{@link #end} — called when the transaction is cleaned up. The
+ *       variables are set with {@code is_local=true}, so PostgreSQL discards
+ *       them at COMMIT / ROLLBACK — before the connection goes back to the
+ *       pool — and no reset query is needed.</li>
+ * </ol>
+ * <p>Transactions are tracked per thread as a stack, so a suspended outer
+ * transaction ({@code REQUIRES_NEW}) keeps its own binding. On databases
+ * other than PostgreSQL (the H2 test profiles) nothing is sent.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.rls-aspect-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class RlsContextBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RlsContextBinder.class);
+
+    /** Sentinel value for unauthenticated / system calls. */
+    static final String SYSTEM_PRINCIPAL = "__SYSTEM__";
+
+    static final String SET_SQL =
+            "SELECT set_config('app.current_user_id',    ?, true), " +
+            "       set_config('app.current_user_role',  ?, true), " +
+            "       set_config('app.current_user_org_id',?, true)";
+
+    /** Open transactions of the current thread, innermost first. */
+    private final ThreadLocal<Deque<Binding>> transactions = new ThreadLocal<>();
+
+    /** Whether the database is PostgreSQL; resolved from the first connection. */
+    private volatile Boolean postgres;
+
+    /**
+     * RLS values of one request context.
+     *
+     * @param userId user UUID, or the sentinel
+     * @param role   primary role, or the sentinel
+     * @param orgId  organisation UUID, empty when the user has none, or the sentinel
+     */
+    public record RlsContext(String userId, String role, String orgId) {
+
+        static final RlsContext SYSTEM = new RlsContext(SYSTEM_PRINCIPAL, SYSTEM_PRINCIPAL, SYSTEM_PRINCIPAL);
+
+        /** Context of the current thread's user, or {@link #SYSTEM} without one. */
+        public static RlsContext current() {
+            return CurrentUserContext.get()
+                    .map(user -> new RlsContext(user.userId().toString(), primaryRole(user),
+                            user.orgId() != null ? user.orgId() : ""))
+                    .orElse(SYSTEM);
+        }
+
+        /**
+         * Returns the primary role for a user.
+         * Priority: SUPER_ADMIN > ADMIN > SUPPLIER > BUYER.
+         */
+        private static String primaryRole(CurrentUser user) {
+            if (user.hasRole("SUPER_ADMIN")) return "SUPER_ADMIN";
+            if (user.hasRole("ADMIN"))       return "ADMIN";
+            if (user.hasRole("SUPPLIER"))    return "SUPPLIER";
+            return user.roles().isEmpty() ? "BUYER" : user.roles().get(0);
+        }
+    }
+
+    /** An open transaction: access to its connection and the context set on it. */
+    private static final class Binding {
+        private final Consumer<Work> connection;
+        private RlsContext context;
+
+        private Binding(Consumer<Work> connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * Binds the current context to a transaction that has just begun.
+     *
+     * @param connection runs work on the transaction's connection
+     *                   (e.g. {@code session::doWork})
+     */
+    public void begin(Consumer<Work> connection) {
+        Binding binding = new Binding(connection);
+        apply(binding, RlsContext.current());
+        Deque<Binding> open = transactions.get();
+        if (open == null) {
+            open = new ArrayDeque<>(2);
+            transactions.set(open);
+        }
+        open.push(binding);
+    }
+
+    /**
+     * Re-binds the innermost open transaction if the current context differs
+     * from the one on its connection. Outside a transaction this does nothing
+     * — the transaction the call starts is bound by {@link #begin}.
+     */
+    public void refresh() {
+        Deque<Binding> open = transactions.get();
+        Binding binding = open != null ? open.peek() : null;
+        if (binding == null) return;
+        RlsContext context = RlsContext.current();
+        if (!context.equals(binding.context)) {
+            log.debug("RLS context changed within transaction — re-binding");
+            apply(binding, context);
+        }
+    }
+
+    /** Forgets the innermost transaction after its commit or rollback. */
+    public void end() {
+        Deque<Binding> open = transactions.get();
+        if (open == null) return;
+        open.poll();
+        if (open.isEmpty()) transactions.remove();
+    }
+
+    private void apply(Binding binding, RlsContext context) {
+        binding.connection.accept(connection -> {
+            if (isPostgres(connection)) {
+                try (PreparedStatement statement = connection.prepareStatement(SET_SQL)) {
+                    statement.setString(1, context.userId());
+                    statement.setString(2, context.role());
+                    statement.setString(3, context.orgId());
+                    try (ResultSet ignored = statement.executeQuery()) {
+                        // set_config returns the values; nothing to read
+                    }
+                }
+            }
+            binding.context = context;
+        });
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        Boolean result = postgres;
+        if (result == null) {
+            result = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            if (!result) log.info("RLS context binding disabled — database is not PostgreSQL");
+            postgres = result;
+        }
+        return result;
+    }
+}
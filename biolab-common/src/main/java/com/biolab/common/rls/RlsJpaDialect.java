@@ -0,0 +1,50 @@
+package com.biolab.common.rls;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Hibernate JPA dialect that binds the RLS context when a JPA transaction
+ * begins and releases it when the transaction is cleaned up.
+ *
+ * <p>{@code JpaTransactionManager} calls {@link #beginTransaction} right
+ * after the connection is checked out for a new transaction and
+ * {@link #cleanupTransaction} after every commit or rollback, which makes the
+ * dialect the one hook that sees every transaction on its own connection.
+ * Installed on the entity manager factory by {@link RlsJpaDialectInstaller}.</p>
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ * @see RlsContextBinder
+ */
+public class RlsJpaDialect extends HibernateJpaDialect {
+
+    private final transient RlsContextBinder binder;
+
+    public RlsJpaDialect(RlsContextBinder binder) {
+        this.binder = binder;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        binder.begin(entityManager.unwrap(Session.class)::doWork);
+        return transactionData;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        try {
+            super.cleanupTransaction(transactionData);
+        } finally {
+            binder.end();
+        }
+    }
+}
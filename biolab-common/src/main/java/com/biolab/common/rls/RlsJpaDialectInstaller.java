@@ -0,0 +1,37 @@
+package com.biolab.common.rls;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the Hibernate JPA dialect of the auto-configured entity manager
+ * factory with {@link RlsJpaDialect}, before the factory is initialised —
+ * the transaction manager picks the dialect up from the factory.
+ *
+ * @author BioLab Engineering Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.rls-aspect-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class RlsJpaDialectInstaller implements BeanPostProcessor {
+
+    private final ObjectProvider<RlsContextBinder> binder;
+
+    public RlsJpaDialectInstaller(ObjectProvider<RlsContextBinder> binder) {
+        this.binder = binder;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof LocalContainerEntityManagerFactoryBean factory
+                && factory.getJpaVendorAdapter() instanceof HibernateJpaVendorAdapter) {
+            factory.setJpaDialect(new RlsJpaDialect(binder.getObject()));
+        }
+        return bean;
+    }
+}
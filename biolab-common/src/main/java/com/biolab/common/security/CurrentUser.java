@@ -11,7 +11,7 @@ import java.util.UUID;
  * <p>{@link #hasRole(String)} and {@link #hasAnyRole(String...)} are
  * already present; this version ensures {@link #roles()} is never null
  * (returns an empty list for anonymous/system contexts) so
- * {@link com.biolab.common.rls.RlsContextAspect} can call
+ * {@link com.biolab.common.rls.RlsContextBinder} can call
  * {@code user.roles().isEmpty()} safely.</p>
  *
  * @param userId  UUID of the authenticated user
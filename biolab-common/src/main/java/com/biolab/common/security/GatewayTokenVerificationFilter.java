@@ -8,6 +8,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -32,17 +34,23 @@ import java.io.IOException;
  * <p>Actuator health probes ({@code /actuator/health}) are excluded so
  * Kubernetes readiness/liveness probes continue to work without the gateway.</p>
  *
+ * <h3>Order</h3>
+ * <p>Runs just before the Spring Security chain, so
+ * {@link JwtAuthenticationFilter} never accepts the {@code X-User-*} headers
+ * of a request that did not come through the gateway.</p>
+ *
  * @author BioLab Engineering Team
  * @version 1.0.0
  */
 @Component
 @ConditionalOnProperty(name = "app.security.gateway-token-required", havingValue = "true")
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
 public class GatewayTokenVerificationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(GatewayTokenVerificationFilter.class);
 
     /** Header name — must match GatewayTokenFilter.HEADER_GATEWAY_TOKEN. */
-    private static final String HEADER_GATEWAY_TOKEN = "X-Gateway-Token";
+    private static final String HEADER_GATEWAY_TOKEN = SecurityConstants.HEADER_GATEWAY_TOKEN;
 
     @Value("${app.gateway.internal-token}")
     private String expectedToken;
@@ -1,5 +1,6 @@
 package com.biolab.common.security;
 
+import com.biolab.common.logging.RequestContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +34,10 @@ import java.util.stream.Collectors;
  * <p>If headers are absent, the request proceeds unauthenticated
  * (open endpoints like actuator/swagger).</p>
  *
+ * <p>The accepted identity is also recorded on the request's
+ * {@link RequestContext}, so logs and the audit trail name the user only
+ * once the request is past {@link GatewayTokenVerificationFilter}.</p>
+ *
  * @author BioLab Engineering Team
  * @version 1.0.0
  */
@@ -51,8 +56,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String email  = request.getHeader(SecurityConstants.HEADER_USER_EMAIL);
             String roles  = request.getHeader(SecurityConstants.HEADER_USER_ROLES);
             String orgId  = request.getHeader(SecurityConstants.HEADER_USER_ORG_ID);
+            boolean identified = userId != null && !userId.isBlank();
 
-            if (userId != null && !userId.isBlank()) {
+            if (identified) {
                 List<String> roleList = (roles != null && !roles.isBlank())
                         ? Arrays.asList(roles.split(","))
                         : Collections.emptyList();
@@ -74,6 +80,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 log.debug("Authenticated user={} roles={} orgId={}", userId, roleList, orgId);
             }
 
+            RequestContext context = RequestContext.of(request);
+            if (context != null) {
+                context.verified(identified ? userId : null, identified ? orgId : null);
+            }
+
             filterChain.doFilter(request, response);
         } finally {
             CurrentUserContext.clear();
@@ -28,12 +28,15 @@ public final class SecurityConstants {
     public static final String HEADER_USER_ROLES    = "X-User-Roles";
     public static final String HEADER_USER_ORG_ID   = "X-User-OrgId";
     public static final String HEADER_CORRELATION_ID = "X-Correlation-Id";
+    public static final String HEADER_GATEWAY_TOKEN = "X-Gateway-Token";
 
     // ─── Role Names (must match sec_schema.roles) ──────────────────
     public static final String ROLE_SUPER_ADMIN = "SUPER_ADMIN";
     public static final String ROLE_ADMIN       = "ADMIN";
     public static final String ROLE_SUPPLIER    = "SUPPLIER";
     public static final String ROLE_BUYER       = "BUYER";
+    /** Internal service principal (e.g. AuditClient) — not assignable to users. */
+    public static final String ROLE_SERVICE     = "SERVICE";
 
     // ─── Token Configuration ───────────────────────────────────────
     public static final String TOKEN_PREFIX  = "Bearer ";
@@ -0,0 +1,189 @@
+package com.biolab.common.benchmark;
+
+import com.biolab.common.encryption.AesEncryptionService;
+import com.biolab.common.security.SecurityConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: {@link AesEncryptionService} on its pooled engine against the
+ * previous implementation (reproduced below in {@code legacy*}), which called
+ * {@code Cipher.getInstance} / {@code Mac.getInstance} per value and matched
+ * the version prefix with a regex.
+ *
+ * <p>The page benchmarks decrypt one PII column of a 50-row user page — what
+ * {@code EncryptedStringConverter} does per value and what
+ * {@link AesEncryptionService#decryptAll(List)} does in one call. Runs with 4
+ * threads, like concurrent request threads.</p>
+ *
+ * <p>Run from {@code biolab-common} (add {@code -prof gc} for allocation per
+ * operation):</p>
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *      com.biolab.common.benchmark.AesEncryptionBenchmark
+ * </pre>
+ *
+ * @author BioLab Engineering Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AesEncryptionBenchmark {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private AesEncryptionService service;
+    private SecretKey key;
+    private String plaintext;
+    private String ciphertext;
+    private List<String> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(SecurityConstants.ENCRYPTION_KEY_SIZE);
+        key = generator.generateKey();
+
+        service = new AesEncryptionService();
+        Field configuredKey = ReflectionUtils.findField(AesEncryptionService.class, "configuredKey");
+        ReflectionUtils.makeAccessible(configuredKey);
+        ReflectionUtils.setField(configuredKey, service, "1:" + Base64.getEncoder().encodeToString(key.getEncoded()));
+        service.init();
+
+        plaintext = "+1 (617) 555-0142";
+        ciphertext = service.encrypt(plaintext);
+        page = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            page.add(service.encrypt("Dr. Ana-Maria Rodríguez " + i));
+        }
+
+        // Both implementations must read each other's output
+        if (!plaintext.equals(legacyDecrypt(ciphertext))
+                || !plaintext.equals(service.decrypt(legacyEncrypt(plaintext)))
+                || !legacyDeterministic("Ana@BioLab.com").equals(service.encryptDeterministic("Ana@BioLab.com"))) {
+            throw new IllegalStateException("Pooled engine is not compatible with the previous implementation");
+        }
+    }
+
+    // ─── Current ───────────────────────────────────────────────────────
+
+    @Benchmark
+    public String encrypt() {
+        return service.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return service.decrypt(ciphertext);
+    }
+
+    @Benchmark
+    public String deterministic() {
+        return service.encryptDeterministic("ana@biolab.com");
+    }
+
+    @Benchmark
+    public List<String> decryptPage() {
+        return service.decryptAll(page);
+    }
+
+    // ─── Previous implementation ───────────────────────────────────────
+
+    @Benchmark
+    public String legacyEncryptOne() throws Exception {
+        return legacyEncrypt(plaintext);
+    }
+
+    @Benchmark
+    public String legacyDecryptOne() throws Exception {
+        return legacyDecrypt(ciphertext);
+    }
+
+    @Benchmark
+    public String legacyDeterministicOne() throws Exception {
+        return legacyDeterministic("ana@biolab.com");
+    }
+
+    @Benchmark
+    public List<String> legacyDecryptPage() throws Exception {
+        List<String> out = new ArrayList<>(page.size());
+        for (String value : page) {
+            out.add(legacyDecrypt(value));
+        }
+        return out;
+    }
+
+    private String legacyEncrypt(String value) throws Exception {
+        byte[] iv = new byte[SecurityConstants.GCM_IV_LENGTH];
+        SECURE_RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(SecurityConstants.ENCRYPTION_ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(SecurityConstants.GCM_TAG_LENGTH, iv));
+        byte[] encrypted = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        byte[] combined = new byte[iv.length + encrypted.length];
+        System.arraycopy(iv, 0, combined, 0, iv.length);
+        System.arraycopy(encrypted, 0, combined, iv.length, encrypted.length);
+        return "v" + 1 + ":" + Base64.getEncoder().encodeToString(combined);
+    }
+
+    private String legacyDecrypt(String value) throws Exception {
+        String payload = value;
+        if (value.matches("^v\\d+:.*")) {
+            int colon = value.indexOf(':');
+            Integer.parseInt(value.substring(1, colon));
+            payload = value.substring(colon + 1);
+        }
+        byte[] combined = Base64.getDecoder().decode(payload);
+        byte[] iv = new byte[SecurityConstants.GCM_IV_LENGTH];
+        byte[] encrypted = new byte[combined.length - iv.length];
+        System.arraycopy(combined, 0, iv, 0, iv.length);
+        System.arraycopy(combined, iv.length, encrypted, 0, encrypted.length);
+        Cipher cipher = Cipher.getInstance(SecurityConstants.ENCRYPTION_ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(SecurityConstants.GCM_TAG_LENGTH, iv));
+        return new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8);
+    }
+
+    private String legacyDeterministic(String value) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getEncoded(), "HmacSHA256"));
+        byte[] hmac = mac.doFinal(value.toLowerCase().trim().getBytes(StandardCharsets.UTF_8));
+        return "dv" + 1 + ":" + Base64.getEncoder().encodeToString(hmac);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AesEncryptionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
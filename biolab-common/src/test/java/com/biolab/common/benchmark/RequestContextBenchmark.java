@@ -0,0 +1,216 @@
+package com.biolab.common.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import com.biolab.common.audit.RequestAuditor;
+import com.biolab.common.logging.RequestContext;
+import com.biolab.common.logging.RequestContextLoggingFilter;
+import com.biolab.common.security.CurrentUser;
+import com.biolab.common.security.CurrentUserContext;
+import com.biolab.common.security.SecurityConstants;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: per-request correlation, MDC, access-log and audit work of
+ * {@link RequestContextLoggingFilter} against the three components it
+ * replaced (reproduced below in {@code legacy*}): {@code MdcLoggingFilter},
+ * {@code AuditInterceptor} and {@code LoggingInterceptor}, which generated
+ * two UUIDs, parsed {@code X-Forwarded-For} twice, filled the MDC twice and
+ * read the clock four times per request.
+ *
+ * <p>The request is an audited {@code POST /api/users/{id}/roles} with the
+ * gateway headers. Log events go to a no-op appender at INFO, so the cost of
+ * building them is measured but nothing is written.</p>
+ *
+ * <p>Run from {@code biolab-common} (add {@code -prof gc} for allocation per
+ * operation):</p>
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *      com.biolab.common.benchmark.RequestContextBenchmark
+ * </pre>
+ *
+ * @author BioLab Engineering Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RequestContextBenchmark {
+
+    private static final Logger legacyMdcLog = LoggerFactory.getLogger("legacy.MdcLoggingFilter");
+    private static final Logger legacyAccessLog = LoggerFactory.getLogger("legacy.LoggingInterceptor");
+    private static final Logger legacyAuditLog = LoggerFactory.getLogger("AUDIT");
+
+    /** Whether the gateway supplied a correlation id ({@code true} for routed traffic). */
+    @Param({"true", "false"})
+    private boolean correlated;
+
+    private RequestContextLoggingFilter filter;
+    private final UUID userId = UUID.randomUUID();
+    private final String path = "/api/users/" + UUID.randomUUID() + "/roles";
+
+    @Setup
+    public void setUp() {
+        LoggerContext logging = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = logging.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        NOPAppender<ILoggingEvent> sink = new NOPAppender<>();
+        sink.setContext(logging);
+        sink.start();
+        root.addAppender(sink);
+        root.setLevel(Level.INFO);
+
+        RequestAuditor auditor = new RequestAuditor(
+                new StaticListableBeanFactory().getBeanProvider(com.biolab.common.audit.AuditClient.class));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("requestAuditor", auditor);
+        filter = new RequestContextLoggingFilter(beans.getBeanProvider(RequestAuditor.class));
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.2");
+        request.addHeader(SecurityConstants.HEADER_USER_ID, userId.toString());
+        request.addHeader(SecurityConstants.HEADER_USER_ORG_ID, "org-1");
+        if (correlated) request.addHeader(SecurityConstants.HEADER_CORRELATION_ID, "c0ffee00-0000-4000-8000-000000000001");
+        return request;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse unifiedFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // JwtAuthenticationFilter records the user before the request is audited
+        FilterChain chain = (req, res) -> RequestContext.of(req).verified(userId.toString(), "org-1");
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyFilterAndInterceptors() {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        legacyMdcFilter(request, response, () -> {
+            // JwtAuthenticationFilter sets the user before the interceptors run
+            CurrentUserContext.set(new CurrentUser(userId, "buyer@biolab.com", List.of("BUYER"), "org-1"));
+            legacyAuditPreHandle(request);
+            legacyLoggingPreHandle(request);
+            legacyLoggingAfterCompletion(request, response);
+            legacyAuditAfterCompletion(request, response);
+            CurrentUserContext.clear();
+        });
+        return response;
+    }
+
+    // ─── Previous implementation ─────────────────────────────────────────
+
+    private void legacyMdcFilter(MockHttpServletRequest request, MockHttpServletResponse response, Runnable chain) {
+        long startTime = System.currentTimeMillis();
+        try {
+            String requestId = legacyHeader(request, "X-Request-ID", UUID.randomUUID().toString().substring(0, 8));
+            MDC.put("requestId", requestId);
+            MDC.put("traceId", legacyHeader(request, "X-Trace-ID", requestId));
+            MDC.put("userId", legacyHeader(request, "X-User-ID", "anonymous"));
+            MDC.put("orgId", legacyHeader(request, "X-Org-ID", "-"));
+            MDC.put("method", request.getMethod());
+            MDC.put("uri", request.getRequestURI());
+            MDC.put("clientIp", legacyClientIp(request));
+            response.setHeader("X-Request-ID", requestId);
+            chain.run();
+        } finally {
+            long duration = System.currentTimeMillis() - startTime;
+            legacyMdcLog.info("HTTP {} {} — {} ({}ms)",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), duration);
+            MDC.clear();
+        }
+    }
+
+    private void legacyAuditPreHandle(MockHttpServletRequest request) {
+        String correlationId = request.getHeader(SecurityConstants.HEADER_CORRELATION_ID);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+        MDC.put("correlationId", correlationId);
+        MDC.put("method", request.getMethod());
+        MDC.put("path", request.getRequestURI());
+        MDC.put("remoteIp", legacyClientIp(request));
+        CurrentUserContext.get().ifPresent(user -> {
+            MDC.put("userId", user.userId().toString());
+            MDC.put("email", user.email());
+            MDC.put("roles", String.join(",", user.roles()));
+        });
+        request.setAttribute("_audit_start", System.currentTimeMillis());
+    }
+
+    private void legacyAuditAfterCompletion(MockHttpServletRequest request, MockHttpServletResponse response) {
+        long start = (long) request.getAttribute("_audit_start");
+        long duration = System.currentTimeMillis() - start;
+        MDC.put("status", String.valueOf(response.getStatus()));
+        MDC.put("durationMs", String.valueOf(duration));
+        legacyAuditLog.info("AUDIT action={} path={} status={} duration={}ms user={} ip={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), duration,
+                MDC.get("userId"), MDC.get("remoteIp"));
+        MDC.clear();
+    }
+
+    private void legacyLoggingPreHandle(MockHttpServletRequest request) {
+        request.setAttribute("x-start-time", System.currentTimeMillis());
+        legacyAccessLog.debug("→ {} {} (params: {})", request.getMethod(), request.getRequestURI(), request.getQueryString());
+    }
+
+    private void legacyLoggingAfterCompletion(MockHttpServletRequest request, MockHttpServletResponse response) {
+        Long start = (Long) request.getAttribute("x-start-time");
+        long duration = start != null ? System.currentTimeMillis() - start : -1;
+        if (response.getStatus() >= 400) {
+            legacyAccessLog.warn("← {} {} — {} ({}ms)", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), duration);
+        }
+    }
+
+    private static String legacyHeader(MockHttpServletRequest request, String name, String fallback) {
+        String value = request.getHeader(name);
+        return (value != null && !value.isBlank()) ? value : fallback;
+    }
+
+    private static String legacyClientIp(MockHttpServletRequest request) {
+        String xff = request.getHeader("X-Forwarded-For");
+        return (xff != null) ? xff.split(",")[0].trim() : request.getRemoteAddr();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestContextBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
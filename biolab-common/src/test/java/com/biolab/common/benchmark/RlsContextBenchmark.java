@@ -0,0 +1,211 @@
+package com.biolab.common.benchmark;
+
+import com.biolab.common.rls.RlsContextBinder;
+import com.biolab.common.security.CurrentUser;
+import com.biolab.common.security.CurrentUserContext;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * JMH benchmark: RLS round trips of one request — a transaction making
+ * {@code calls} repository calls — with the previous per-call aspect
+ * (reproduced below in {@code legacy*}: one {@code set_config} before and one
+ * clearing query after every call) against the per-transaction binding of
+ * {@link RlsContextBinder}.
+ *
+ * <p>The connection is a stub that counts queries and waits
+ * {@code roundTripMicros} per query, standing in for the network hop to
+ * PostgreSQL. The {@code roundTrips} and {@code requests} counters give the
+ * round trips per request: {@code 2 × calls} before, 1 after.</p>
+ *
+ * <p>Run from {@code biolab-common}:</p>
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *      com.biolab.common.benchmark.RlsContextBenchmark
+ * </pre>
+ *
+ * @author BioLab Engineering Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RlsContextBenchmark {
+
+    private static final String LEGACY_SET_SQL =
+            "SELECT set_config('app.current_user_id',    ?, true), " +
+            "       set_config('app.current_user_role',  ?, true), " +
+            "       set_config('app.current_user_org_id',?, true)";
+
+    private static final String LEGACY_CLEAR_SQL =
+            "SELECT set_config('app.current_user_id',    '', true), " +
+            "       set_config('app.current_user_role',  '', true), " +
+            "       set_config('app.current_user_org_id','', true)";
+
+    @Param({"10"})
+    private int calls;
+
+    @Param({"0", "100"})
+    private long roundTripMicros;
+
+    private final RlsContextBinder binder = new RlsContextBinder();
+    private Connection connection;
+    private long queries;
+
+    /** Queries sent and requests completed; JMH reports both per iteration. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long roundTrips;
+        public long requests;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CurrentUserContext.set(new CurrentUser(UUID.randomUUID(), "buyer@biolab.com",
+                List.of("BUYER"), UUID.randomUUID().toString()));
+        connection = stubConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CurrentUserContext.clear();
+    }
+
+    @Benchmark
+    public void perRepositoryCall(Counters counters) throws SQLException {
+        long before = queries;
+        for (int i = 0; i < calls; i++) {
+            legacySet();
+            repositoryCall();
+            legacyClear();
+        }
+        counters.roundTrips += queries - before;
+        counters.requests++;
+    }
+
+    @Benchmark
+    public void perTransaction(Counters counters) {
+        long before = queries;
+        binder.begin(work -> {
+            try {
+                work.execute(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            for (int i = 0; i < calls; i++) {
+                binder.refresh();
+                repositoryCall();
+            }
+        } finally {
+            binder.end();
+        }
+        counters.roundTrips += queries - before;
+        counters.requests++;
+    }
+
+    /** The repository's own query — identical in both variants and not counted. */
+    private void repositoryCall() {
+        networkDelay();
+    }
+
+    private void legacySet() throws SQLException {
+        RlsContextBinder.RlsContext context = RlsContextBinder.RlsContext.current();
+        try (PreparedStatement statement = connection.prepareStatement(LEGACY_SET_SQL)) {
+            statement.setString(1, context.userId());
+            statement.setString(2, context.role());
+            statement.setString(3, context.orgId());
+            statement.executeQuery().close();
+        }
+    }
+
+    private void legacyClear() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LEGACY_CLEAR_SQL)) {
+            statement.executeQuery().close();
+        }
+    }
+
+    private void roundTrip() {
+        queries++;
+        networkDelay();
+    }
+
+    private void networkDelay() {
+        if (roundTripMicros > 0) LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+
+    // ─── JDBC stubs ──────────────────────────────────────────────────────
+
+    private Connection stubConnection() {
+        ResultSet resultSet = stub(ResultSet.class, null);
+        PreparedStatement statement = stub(PreparedStatement.class, (method, args) -> {
+            if (method.startsWith("execute")) {
+                roundTrip();
+                return resultSet;
+            }
+            return null;
+        });
+        DatabaseMetaData metaData = stub(DatabaseMetaData.class,
+                (method, args) -> method.equals("getDatabaseProductName") ? "PostgreSQL" : null);
+        return stub(Connection.class, (method, args) -> switch (method) {
+            case "prepareStatement" -> statement;
+            case "getMetaData" -> metaData;
+            default -> null;
+        });
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result = answer != null ? answer.answer(method.getName(), args) : null;
+            if (result != null) return result;
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) return false;
+            if (returnType == int.class) return 0;
+            if (returnType == long.class) return 0L;
+            return null;
+        }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RlsContextBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -2,6 +2,7 @@ package com.biolab.user;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -24,13 +25,17 @@ import java.util.TimeZone;
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableJpaAuditing
+@EntityScan(basePackages = {
+        "com.biolab.user",
+        "com.biolab.common.encryption"    // BlindIndexToken (name search)
+})
 @ComponentScan(basePackages = {
         "com.biolab.user",                // this service
         "com.biolab.common.encryption",   // AesEncryptionService, EncryptedStringConverter, DeterministicStringConverter
         "com.biolab.common.security",     // JwtAuthenticationFilter, SecurityHeadersFilter, PermissionChecker
-        "com.biolab.common.logging",      // MdcLoggingFilter, LoggingInterceptor
+        "com.biolab.common.logging",      // RequestContextLoggingFilter
         "com.biolab.common.rls",          // RlsContextAspect
-        "com.biolab.common.audit"         // AuditInterceptor
+        "com.biolab.common.audit"         // RequestAuditor, AuditClient
 })
 public class UserServiceApplication {
     public static void main(String[] args) {
@@ -5,11 +5,11 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * WebMVC configuration for User Service.
- * Inherits audit interceptor registration from BaseSecurityConfig.
+ * Extends BaseSecurityConfig; auditing runs in RequestContextLoggingFilter.
  *
  * @author BioLab Engineering Team
  */
 @Configuration
 public class WebMvcConfig extends BaseSecurityConfig {
-    // Inherits AuditInterceptor registration
+    // Shared MVC settings from BaseSecurityConfig
 }
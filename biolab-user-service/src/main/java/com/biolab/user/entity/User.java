@@ -1,10 +1,14 @@
 package com.biolab.user.entity;
 
+import com.biolab.common.encryption.BlindIndexListener;
+import com.biolab.common.encryption.BlindIndexService;
+import com.biolab.common.encryption.BlindIndexed;
 import com.biolab.common.encryption.DeterministicStringConverter;
 import com.biolab.common.encryption.EncryptedStringConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.Instant;
+import java.util.Objects;
 
 /**
  * JPA entity → {@code sec_schema.users}.
@@ -15,13 +19,18 @@ import java.time.Instant;
  * Both services share the same DB table; both must apply identical converters
  * so JPA reads/writes are consistent.</p>
  *
+ * <h3>Name search</h3>
+ * <p>Profile updates that change a name rewrite its blind-index tokens
+ * ({@link BlindIndexListener}), the same way as on the Auth Service entity.</p>
+ *
  * @author BioLab Engineering Team
- * @version 2.0.0
+ * @version 2.1.0
  */
 @Entity
+@EntityListeners(BlindIndexListener.class)
 @Table(name = "users", schema = "sec_schema")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-public class User extends BaseEntity {
+public class User extends BaseEntity implements BlindIndexed {
 
     /** HMAC-SHA256 lookup hash — not displayable. Use emailDisplay. */
     @Convert(converter = DeterministicStringConverter.class)
@@ -79,4 +88,28 @@ public class User extends BaseEntity {
 
     @Column(name = "updated_at")
     private Instant updatedAt;
+
+    /** A name changed since load; see {@link BlindIndexed}. */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private boolean blindIndexStale;
+
+    public void setFirstName(String firstName) {
+        blindIndexStale |= !Objects.equals(this.firstName, firstName);
+        this.firstName = firstName;
+    }
+
+    public void setLastName(String lastName) {
+        blindIndexStale |= !Objects.equals(this.lastName, lastName);
+        this.lastName = lastName;
+    }
+
+    @Override
+    public String blindIndexScope() { return BlindIndexService.SCOPE_USER_NAME; }
+
+    @Override
+    public String[] blindIndexValues() { return new String[] { firstName, lastName }; }
+
+    @Override
+    public void blindIndexUpdated() { blindIndexStale = false; }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.biolab.user.repository;
 
+import com.biolab.common.encryption.BlindIndexService;
 import com.biolab.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,11 +19,11 @@ import java.util.UUID;
  * <h3>Sprint 2/3: Email encryption compatibility</h3>
  * <p>Mirrors the changes in {@code biolab-auth-service} UserRepository.
  * Email lookups work via the deterministic converter (hash comparison).
- * Admin keyword search now targets firstName/lastName only for partial
- * matching; full-email admin lookup uses the exact hash path.</p>
+ * Admin keyword search matches firstName/lastName by word prefix through
+ * the blind index; full-email admin lookup uses the exact hash path.</p>
  *
  * @author BioLab Engineering Team
- * @version 2.0.0
+ * @version 2.1.0
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
@@ -39,15 +41,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     }
 
     /**
-     * Admin search — firstName/lastName partial match only.
-     * Full email lookup uses findByEmail (exact hash match).
+     * Admin search by name — users having every blind-index token of the
+     * search ({@link com.biolab.common.encryption.BlindIndexService#searchTokens}),
+     * matched through {@code sec_schema.blind_index_tokens} because the names
+     * are AES-GCM ciphertext. Full email lookup uses findByEmail (exact hash match).
+     *
+     * @param nameTokens distinct search tokens, not empty
+     * @param tokenCount {@code nameTokens.size()}
      */
     @Query("SELECT u FROM User u WHERE " +
-           "(:search IS NULL " +
-           " OR LOWER(u.firstName) LIKE LOWER(CONCAT('%',:search,'%')) " +
-           " OR LOWER(u.lastName)  LIKE LOWER(CONCAT('%',:search,'%'))) " +
+           "u.id IN (SELECT t.ownerId FROM BlindIndexToken t " +
+           "         WHERE t.scope = '" + BlindIndexService.SCOPE_USER_NAME + "' AND t.token IN :nameTokens " +
+           "         GROUP BY t.ownerId HAVING COUNT(t.token) = :tokenCount) " +
            "AND (:isActive IS NULL OR u.isActive = :isActive)")
-    Page<User> searchUsers(@Param("search") String search,
+    Page<User> searchUsers(@Param("nameTokens") Collection<String> nameTokens,
+                           @Param("tokenCount") long tokenCount,
                            @Param("isActive") Boolean isActive,
                            Pageable pageable);
+
+    /** Admin listing without a search term. */
+    @Query("SELECT u FROM User u WHERE (:isActive IS NULL OR u.isActive = :isActive)")
+    Page<User> findAllByActive(@Param("isActive") Boolean isActive, Pageable pageable);
 }
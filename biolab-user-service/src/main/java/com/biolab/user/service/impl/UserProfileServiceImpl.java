@@ -1,5 +1,6 @@
 package com.biolab.user.service.impl;
 
+import com.biolab.common.encryption.BlindIndexService;
 import com.biolab.user.dto.request.UserUpdateRequest;
 import com.biolab.user.dto.response.*;
 import com.biolab.user.entity.User;
@@ -40,6 +41,7 @@ public class UserProfileServiceImpl implements UserProfileService {
     private final UserRepository              userRepository;
     private final UserRoleRepository          userRoleRepository;
     private final UserOrganizationRepository  userOrgRepository;
+    private final BlindIndexService           blindIndexService;
 
     @Override
     @Transactional(readOnly = true)
@@ -64,7 +66,15 @@ public class UserProfileServiceImpl implements UserProfileService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<UserProfileResponse> search(String search, Boolean isActive, Pageable pageable) {
-        Page<User> page = userRepository.searchUsers(search, isActive, pageable);
+        Page<User> page;
+        if (search == null || search.isBlank()) {
+            page = userRepository.findAllByActive(isActive, pageable);
+        } else {
+            // Names are encrypted — matched by blind-index tokens, not LIKE
+            List<String> tokens = blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, search);
+            page = tokens.isEmpty() ? Page.empty(pageable)
+                    : userRepository.searchUsers(tokens, tokens.size(), isActive, pageable);
+        }
         List<UserProfileResponse> content = page.getContent().stream()
                 .map(this::buildFullProfile)
                 .toList();
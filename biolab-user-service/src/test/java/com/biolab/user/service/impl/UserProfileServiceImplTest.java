@@ -1,5 +1,6 @@
 package com.biolab.user.service.impl;
 
+import com.biolab.common.encryption.BlindIndexService;
 import com.biolab.user.dto.request.UserUpdateRequest;
 import com.biolab.user.dto.response.*;
 import com.biolab.user.entity.*;
@@ -27,6 +28,7 @@ class UserProfileServiceImplTest {
     @Mock private UserRepository userRepository;
     @Mock private UserRoleRepository userRoleRepository;
     @Mock private UserOrganizationRepository userOrgRepository;
+    @Mock private BlindIndexService blindIndexService;
 
     private User testUser;
     private final UUID userId = UUID.randomUUID();
@@ -174,7 +176,8 @@ class UserProfileServiceImplTest {
         @DisplayName("[TC-USR-041] ✅ Should return paginated search results")
         void search_Success() {
             Page<User> page = new PageImpl<>(List.of(testUser), PageRequest.of(0, 10), 1);
-            when(userRepository.searchUsers("jane", true, PageRequest.of(0, 10))).thenReturn(page);
+            when(blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, "jane")).thenReturn(List.of("tok-jane"));
+            when(userRepository.searchUsers(List.of("tok-jane"), 1, true, PageRequest.of(0, 10))).thenReturn(page);
             when(userRoleRepository.findRoleNamesByUserId(userId)).thenReturn(List.of("BUYER"));
             when(userOrgRepository.findByUserId(userId)).thenReturn(List.of());
 
@@ -188,7 +191,8 @@ class UserProfileServiceImplTest {
         @Test
         @DisplayName("[TC-USR-042] ✅ Should return empty results when no matches")
         void search_NoMatch() {
-            when(userRepository.searchUsers("zzz", null, PageRequest.of(0, 10))).thenReturn(Page.empty());
+            when(blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, "zzz")).thenReturn(List.of("tok-zzz"));
+            when(userRepository.searchUsers(List.of("tok-zzz"), 1, null, PageRequest.of(0, 10))).thenReturn(Page.empty());
 
             PageResponse<UserProfileResponse> result = service.search("zzz", null, PageRequest.of(0, 10));
 
@@ -199,12 +203,24 @@ class UserProfileServiceImplTest {
         @Test
         @DisplayName("[TC-USR-043] ✅ Should filter by isActive")
         void search_FilterByActive() {
-            when(userRepository.searchUsers(null, false, PageRequest.of(0, 10))).thenReturn(Page.empty());
+            when(userRepository.findAllByActive(false, PageRequest.of(0, 10))).thenReturn(Page.empty());
 
             PageResponse<UserProfileResponse> result = service.search(null, false, PageRequest.of(0, 10));
 
             assertThat(result.getContent()).isEmpty();
-            verify(userRepository).searchUsers(null, false, PageRequest.of(0, 10));
+            verify(userRepository).findAllByActive(false, PageRequest.of(0, 10));
+            verifyNoInteractions(blindIndexService);
+        }
+
+        @Test
+        @DisplayName("[TC-USR-066] ✅ Should return no results for a term too short to search")
+        void search_TermTooShort() {
+            when(blindIndexService.searchTokens(BlindIndexService.SCOPE_USER_NAME, "j")).thenReturn(List.of());
+
+            PageResponse<UserProfileResponse> result = service.search("j", null, PageRequest.of(0, 10));
+
+            assertThat(result.getContent()).isEmpty();
+            verify(userRepository, never()).searchUsers(any(), anyLong(), any(), any());
         }
     }
 